@@ -0,0 +1,78 @@
+package com.commercetools.project.sync;
+
+import com.commercetools.api.client.ProjectApiRoot;
+import com.commercetools.project.sync.standin.CtpStandInServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures a full category sync of the {@link SyncerFactory} end to end, from a source {@link
+ * CtpStandInServer} with {@code numberOfCategories} categories (a third of them children of
+ * another category) to an empty target stand-in, with the given latency added to every request of
+ * both stand-ins. The clients are built once per iteration like the clients of a run, with their
+ * retry, hedging and metrics middlewares. Run it with {@code ./gradlew jmh -PjmhIncludes=CategorySyncStandInBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CategorySyncStandInBenchmark {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  @Param({"1000"})
+  public int numberOfCategories;
+
+  @Param({"0", "20"})
+  public long latencyInMillis;
+
+  private CtpStandInServer source;
+  private CtpStandInServer target;
+  private ProjectApiRoot sourceClient;
+  private ProjectApiRoot targetClient;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    source = CtpStandInServer.start();
+    target = CtpStandInServer.start();
+    for (int i = 0; i < numberOfCategories; i++) {
+      final ObjectNode draft = OBJECT_MAPPER.createObjectNode().put("key", "category-" + i);
+      draft.putObject("name").put("en", "category " + i);
+      draft.putObject("slug").put("en", "category-" + i);
+      if (i % 3 == 2) {
+        draft.putObject("parent").put("typeId", "category").put("key", "category-" + (i - 1));
+      }
+      source.create("categories", draft);
+    }
+    source.withLatency(Duration.ofMillis(latencyInMillis));
+    target.withLatency(Duration.ofMillis(latencyInMillis));
+    sourceClient = source.createSourceClient();
+    targetClient = target.createTargetClient();
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    sourceClient.close();
+    targetClient.close();
+    source.close();
+    target.close();
+  }
+
+  @Benchmark
+  public void fullCategorySync() {
+    SyncerFactory.of(() -> sourceClient, () -> targetClient, Clock.systemUTC(), false)
+        .sync(new String[] {"categories"}, "benchmark", true, false, null)
+        .join();
+  }
+}
@@ -0,0 +1,77 @@
+package com.commercetools.project.sync.cache;
+
+import com.commercetools.sync.commons.utils.CaffeineReferenceIdToKeyCacheImpl;
+import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the heap retained per entry by the default Caffeine reference id to key cache of
+ * sync-java and by the {@link CompactReferenceIdToKeyCache}, reported as the {@code bytesPerEntry}
+ * counter. Every run fills a new cache with random ids and product keys and measures the used heap
+ * before and after it with forced garbage collections. Run it with {@code ./gradlew jmh
+ * -PjmhIncludes=ReferenceIdToKeyCacheFootprintBenchmark}.
+ *
+ * <p>The entries are kept below the maximum size of the Caffeine default, which would evict
+ * beyond it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReferenceIdToKeyCacheFootprintBenchmark {
+  private static final int GARBAGE_COLLECTIONS = 5;
+
+  @Param({"caffeine", "compact"})
+  public String implementation;
+
+  @Param({"10000"})
+  public int entries;
+
+  private UUID[] ids;
+
+  /** The counter of the heap retained per entry, which JMH reports next to the run time. */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Footprint {
+    public long bytesPerEntry;
+  }
+
+  @Setup
+  public void setup() {
+    ids = new UUID[entries];
+    for (int i = 0; i < entries; i++) {
+      ids[i] = UUID.randomUUID();
+    }
+  }
+
+  @Benchmark
+  public ReferenceIdToKeyCache fill(final Footprint footprint) {
+    final long usedHeapBefore = getUsedHeapAfterGarbageCollection();
+    final ReferenceIdToKeyCache cache =
+        "compact".equals(implementation)
+            ? new CompactReferenceIdToKeyCache(entries)
+            : new CaffeineReferenceIdToKeyCacheImpl();
+    for (int i = 0; i < entries; i++) {
+      cache.add(ids[i].toString(), "product-key-" + i);
+    }
+    footprint.bytesPerEntry = (getUsedHeapAfterGarbageCollection() - usedHeapBefore) / entries;
+    return cache;
+  }
+
+  private static long getUsedHeapAfterGarbageCollection() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < GARBAGE_COLLECTIONS; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,106 @@
+package com.commercetools.project.sync.product;
+
+import static com.commercetools.sync.products.utils.ProductReferenceResolutionUtils.mapToProductDrafts;
+
+import com.commercetools.api.models.common.DiscountedPriceDraft;
+import com.commercetools.api.models.common.PriceDraft;
+import com.commercetools.api.models.common.PriceDraftBuilder;
+import com.commercetools.api.models.product.Product;
+import com.commercetools.api.models.product.ProductDraft;
+import com.commercetools.api.models.product.ProductDraftBuilder;
+import com.commercetools.api.models.product.ProductMixin;
+import com.commercetools.api.models.product.ProductProjection;
+import com.commercetools.api.models.product.ProductProjectionType;
+import com.commercetools.api.models.product.ProductVariantDraft;
+import com.commercetools.api.models.product.ProductVariantDraftBuilder;
+import com.commercetools.project.sync.DraftPostProcessor;
+import com.commercetools.sync.commons.utils.CaffeineReferenceIdToKeyCacheImpl;
+import io.vrap.rmf.base.client.utils.json.JsonUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the removal of the discounted prices from a page of 500 product drafts by rebuilding
+ * every draft, variant and price, as {@code ProductSyncer} did before, with the copy on write
+ * {@link DiscountedPriceRemover}. The drafts are built from the product fixtures of the tests;
+ * with {@code discountedFixtures} set, every tenth product has discounted prices. Run it with
+ * {@code ./gradlew jmh -PjmhIncludes=DiscountedPriceRemoverBenchmark -PjmhProfilers=gc} and
+ * compare the {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiscountedPriceRemoverBenchmark {
+  private static final int PAGE_SIZE = 500;
+  private static final int NUMBER_OF_FIXTURES_WITHOUT_DISCOUNTS = 9;
+  private static final String FIXTURE_WITH_DISCOUNTS = "product-key-10.json";
+
+  @Param({"false", "true"})
+  public boolean discountedFixtures;
+
+  private List<ProductDraft> page;
+
+  @Setup
+  public void setup() throws IOException {
+    final List<ProductProjection> productProjections = new ArrayList<>();
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      final String fixture =
+          discountedFixtures && i % 10 == 9
+              ? FIXTURE_WITH_DISCOUNTS
+              : "product-key-" + (i % NUMBER_OF_FIXTURES_WITHOUT_DISCOUNTS + 1) + ".json";
+      productProjections.add(
+          ProductMixin.toProjection(readFixture(fixture), ProductProjectionType.STAGED));
+    }
+    page = mapToProductDrafts(productProjections, new CaffeineReferenceIdToKeyCacheImpl());
+  }
+
+  private Product readFixture(final String fixture) throws IOException {
+    try (InputStream stream = getClass().getClassLoader().getResourceAsStream(fixture)) {
+      return JsonUtils.fromInputStream(stream, Product.class);
+    }
+  }
+
+  @Benchmark
+  public List<ProductDraft> rebuildAllDrafts() {
+    return page.stream()
+        .map(
+            productDraft ->
+                ProductDraftBuilder.of(productDraft)
+                    .masterVariant(rebuildVariant(productDraft.getMasterVariant()))
+                    .variants(
+                        productDraft.getVariants().stream()
+                            .map(DiscountedPriceRemoverBenchmark::rebuildVariant)
+                            .collect(Collectors.toList()))
+                    .build())
+        .collect(Collectors.toList());
+  }
+
+  private static ProductVariantDraft rebuildVariant(final ProductVariantDraft variant) {
+    final List<PriceDraft> prices =
+        variant.getPrices() == null
+            ? null
+            : variant.getPrices().stream()
+                .map(
+                    price ->
+                        PriceDraftBuilder.of(price).discounted((DiscountedPriceDraft) null).build())
+                .collect(Collectors.toList());
+    return ProductVariantDraftBuilder.of(variant).prices(prices).build();
+  }
+
+  @Benchmark
+  public List<ProductDraft> copyOnWrite() {
+    return DraftPostProcessor.processAll(page, DiscountedPriceRemover.INSTANCE);
+  }
+}
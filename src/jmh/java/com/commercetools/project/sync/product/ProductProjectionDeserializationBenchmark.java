@@ -0,0 +1,113 @@
+package com.commercetools.project.sync.product;
+
+import com.commercetools.api.json.ApiModuleOptions;
+import com.commercetools.api.models.product.ProductProjectionPagedQueryResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vrap.rmf.base.client.utils.json.JsonUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the deserialization of a page of 500 product projections with the default object
+ * mapper and with the object mapper of the source client, which registers the {@link
+ * LeanProductProjectionModule}. Run it with {@code ./gradlew jmh} and compare the {@code
+ * gc.alloc.rate.norm} with {@code -PjmhProfilers=gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductProjectionDeserializationBenchmark {
+  private static final int PAGE_SIZE = 500;
+  private static final int NUMBER_OF_FIXTURES = 10;
+  private static final Set<String> PRODUCT_ONLY_FIELDS =
+      Set.of("masterData", "catalogData", "catalogs", "lastVariantId", "lastMessageSequenceNumber");
+
+  private ObjectMapper defaultMapper;
+  private ObjectMapper leanMapper;
+  private byte[] page;
+
+  @Setup
+  public void setup() throws IOException {
+    final ApiModuleOptions options =
+        ApiModuleOptions.of().withDateAttributeAsString(true).withDateCustomFieldAsString(true);
+    defaultMapper = JsonUtils.createObjectMapper(options);
+    leanMapper =
+        JsonUtils.createObjectMapper(options).registerModule(new LeanProductProjectionModule());
+
+    final ObjectNode response = defaultMapper.createObjectNode();
+    final ArrayNode results = response.putArray("results");
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      results.add(toProductProjection(readFixture(i % NUMBER_OF_FIXTURES + 1), i));
+    }
+    response.put("limit", PAGE_SIZE).put("offset", 0).put("count", PAGE_SIZE);
+    page = defaultMapper.writeValueAsBytes(response);
+  }
+
+  private JsonNode readFixture(final int index) throws IOException {
+    try (InputStream stream =
+        getClass().getClassLoader().getResourceAsStream("product-key-" + index + ".json")) {
+      return defaultMapper.readTree(stream);
+    }
+  }
+
+  /**
+   * Builds a staged product projection from a product fixture and adds the fields which are
+   * skipped by the {@link LeanProductProjectionModule}, as they are returned by the API.
+   */
+  private ObjectNode toProductProjection(final JsonNode product, final int index) {
+    final ObjectNode projection = defaultMapper.createObjectNode();
+    product
+        .fields()
+        .forEachRemaining(
+            field -> {
+              if (!PRODUCT_ONLY_FIELDS.contains(field.getKey())) {
+                projection.set(field.getKey(), field.getValue());
+              }
+            });
+    projection.setAll((ObjectNode) product.get("masterData").get("staged").deepCopy());
+    projection.put("id", product.get("id").asText() + "-" + index);
+    projection.put("key", product.get("key").asText() + "-" + index);
+    projection.putObject("reviewRatingStatistics").put("averageRating", 4.2).put("count", 17);
+    projection.putObject("createdBy").put("isPlatformClient", true);
+    projection.putObject("lastModifiedBy").put("isPlatformClient", true);
+    addAvailability((ObjectNode) projection.get("masterVariant"));
+    projection.withArray("variants").forEach(variant -> addAvailability((ObjectNode) variant));
+    return projection;
+  }
+
+  private static void addAvailability(final ObjectNode variant) {
+    final ObjectNode availability = variant.putObject("availability");
+    availability.put("isOnStock", true).put("availableQuantity", 42).put("version", 3);
+    final ObjectNode channels = availability.putObject("channels");
+    for (int i = 0; i < 5; i++) {
+      channels
+          .putObject("channel-" + i)
+          .put("isOnStock", true)
+          .put("availableQuantity", i)
+          .put("id", "inventory-entry-" + i)
+          .put("version", 1);
+    }
+  }
+
+  @Benchmark
+  public ProductProjectionPagedQueryResponse deserializeWithDefaultMapper() throws IOException {
+    return defaultMapper.readValue(page, ProductProjectionPagedQueryResponse.class);
+  }
+
+  @Benchmark
+  public ProductProjectionPagedQueryResponse deserializeWithLeanMapper() throws IOException {
+    return leanMapper.readValue(page, ProductProjectionPagedQueryResponse.class);
+  }
+}
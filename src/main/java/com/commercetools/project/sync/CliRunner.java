@@ -5,9 +5,11 @@ import static com.commercetools.project.sync.util.SyncUtils.getApplicationName;
 import static com.commercetools.project.sync.util.SyncUtils.getApplicationVersion;
 import static io.vrap.rmf.base.client.utils.CompletableFutureUtils.exceptionallyCompletedFuture;
 import static java.lang.String.format;
+import static org.apache.commons.lang3.StringUtils.isBlank;
 
 import com.commercetools.project.sync.exception.CliException;
 import com.commercetools.project.sync.model.ProductSyncCustomRequest;
+import com.commercetools.project.sync.model.SyncRunOptions;
 import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -30,6 +32,19 @@ final class CliRunner {
   static final String HELP_OPTION_SHORT = "h";
   static final String VERSION_OPTION_SHORT = "v";
   static final String PRODUCT_QUERY_PARAMETERS_OPTION = "productQueryParameters";
+  static final String TARGET_KEY_CACHE_DIRECTORY_OPTION_LONG = "targetKeyCacheDir";
+  static final String REFERENCE_CACHE_DIRECTORY_OPTION_LONG = "referenceCacheDir";
+  static final String DELETE_OPTION_LONG = "delete";
+  static final String DELETE_DRY_RUN_OPTION_LONG = "deleteDryRun";
+  static final String CHANGE_FEED_OPTION_LONG = "changeFeed";
+  static final String GRAPHQL_SOURCE_OPTION_LONG = "graphQlSource";
+  static final String CONSUME_EVENTS_OPTION_LONG = "consumeEvents";
+  static final String MICRO_BATCH_SIZE_OPTION_LONG = "microBatchSize";
+  static final String MICRO_BATCH_LATENCY_OPTION_LONG = "microBatchLatencyMillis";
+  static final String DEAD_LETTER_DIRECTORY_OPTION_LONG = "deadLetterDir";
+  static final String REPLAY_OPTION_LONG = "replay";
+  static final String PRODUCT_TYPE_PARTITIONS_OPTION_LONG = "productTypePartitions";
+  static final String PRICE_FAST_PATH_OPTION_LONG = "priceFastPath";
 
   static final String SYNC_MODULE_OPTION_LONG = "sync";
   static final String RUNNER_NAME_OPTION_LONG = "runnerName";
@@ -61,6 +76,72 @@ final class CliRunner {
       "Pass your customized product fetch limit and a product projection predicate to filter product resources to sync in the JSON format. "
           + "Example: {\"limit\": 100, \"where\": \"published=true\"} could be used to fetch only published "
           + "products to sync and limit max 100 elements in one page. This option must be added after `-s` option.";
+  static final String TARGET_KEY_CACHE_DIRECTORY_OPTION_DESCRIPTION =
+      "Directory where a key to id cache of the target project is persisted between "
+          + "runs. Key lookups on the target project are answered from this cache, which is "
+          + "warm-started by every run and refreshed from the resources the run writes. "
+          + "This option must be added after `-s` option.";
+  static final String REFERENCE_CACHE_DIRECTORY_OPTION_DESCRIPTION =
+      "Directory of a memory-mapped file where the id to key cache of the resources referenced "
+          + "in the source project is kept off heap and between runs, instead of an in-memory "
+          + "cache. Delete the file if keys of the source project were changed. "
+          + "This option must be added after `-s` option.";
+  static final String DELETE_OPTION_DESCRIPTION =
+      "Choose one or more modules (or \"all\") whose resources are deleted from the target "
+          + "project if their key doesn't exist in the source project. The deletion runs after "
+          + "the sync. Inventory entries and custom objects are not supported and skipped by "
+          + "\"all\". This option must be added after `-s` option.";
+  static final String DELETE_DRY_RUN_OPTION_DESCRIPTION =
+      "Only count the resources which would be deleted by the `--delete` option without "
+          + "deleting them. This option must be added after `-s` option.";
+  static final String CHANGE_FEED_OPTION_DESCRIPTION =
+      "Read the resources changed since the last sync from the message feed of the source "
+          + "project, too, and sync them together with the resources queried by their last "
+          + "modification timestamp. Supported by products, customers and inventoryEntries and "
+          + "ignored by a full sync. This option must be added after `-s` option.";
+  static final String GRAPHQL_SOURCE_OPTION_DESCRIPTION =
+      "Read the source products and categories with GraphQL queries which select only the "
+          + "fields needed for the sync, instead of the REST queries. Falls back to the REST "
+          + "queries if a GraphQL query fails. Ignored by the other modules, the change feed and "
+          + "product queries with a custom where predicate. "
+          + "This option must be added after `-s` option.";
+  static final String CONSUME_EVENTS_OPTION_DESCRIPTION =
+      "Instead of syncing all resources, consume the change events appended to the given file of "
+          + "newline delimited JSON events, e.g. {\"resource\": \"products\", \"key\": \"key\"}, "
+          + "and sync the changed resources of the modules of the `-s` option in micro-batches. "
+          + "This option must be added after `-s` option.";
+  static final String MICRO_BATCH_SIZE_OPTION_DESCRIPTION =
+      format(
+          "The number of distinct resources which triggers the sync of a micro-batch of change "
+              + "events. (optional parameter) default: %d.",
+          SyncRunOptions.DEFAULT_MICRO_BATCH_SIZE);
+  static final String MICRO_BATCH_LATENCY_OPTION_DESCRIPTION =
+      format(
+          "The maximum time in milliseconds a change event waits before its micro-batch is "
+              + "synced. (optional parameter) default: %d.",
+          SyncRunOptions.DEFAULT_MICRO_BATCH_LATENCY_MILLIS);
+  static final String DEAD_LETTER_DIRECTORY_OPTION_DESCRIPTION =
+      "The directory where the drafts which failed to sync are written with their error as "
+          + "gzipped newline delimited JSON, one file per module, e.g. "
+          + "<source-project-key>.products.dead-letters.ndjson.gz. The files of a run keep the dead "
+          + "letters of the previous run whose resources aren't synced again. "
+          + "This option must be added after `-s` option.";
+  static final String REPLAY_OPTION_DESCRIPTION =
+      "Instead of syncing all resources, sync only the resources of the dead letters of the "
+          + "previous run in the directory of the `--deadLetterDir` option. The resources which "
+          + "fail again are written as the new dead letters. "
+          + "This option must be added after `-s` option.";
+  static final String PRODUCT_TYPE_PARTITIONS_OPTION_DESCRIPTION =
+      format(
+          "The number of partitions of product types whose products are read and synced "
+              + "concurrently by a sync of products, each with its own query. Requires the sync of "
+              + "products, can't be combined with the GraphQL source and is ignored by the change "
+              + "feed. (optional parameter) default: %d.",
+          SyncRunOptions.DEFAULT_PRODUCT_TYPE_PARTITIONS);
+  static final String PRICE_FAST_PATH_OPTION_DESCRIPTION =
+      "Sync only the prices of the products whose messages in the change feed are all price "
+          + "changes, reading just the sku and prices of their variants. Requires the "
+          + "`--changeFeed` option. This option must be added after `-s` option.";
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CliRunner.class);
 
@@ -131,6 +212,90 @@ final class CliRunner {
             .hasArg()
             .build();
 
+    final Option targetKeyCacheDirectoryOption =
+        Option.builder()
+            .longOpt(TARGET_KEY_CACHE_DIRECTORY_OPTION_LONG)
+            .desc(TARGET_KEY_CACHE_DIRECTORY_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option referenceCacheDirectoryOption =
+        Option.builder()
+            .longOpt(REFERENCE_CACHE_DIRECTORY_OPTION_LONG)
+            .desc(REFERENCE_CACHE_DIRECTORY_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option deleteOption =
+        Option.builder()
+            .longOpt(DELETE_OPTION_LONG)
+            .desc(DELETE_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+    deleteOption.setArgs(Option.UNLIMITED_VALUES);
+
+    final Option deleteDryRunOption =
+        Option.builder()
+            .longOpt(DELETE_DRY_RUN_OPTION_LONG)
+            .desc(DELETE_DRY_RUN_OPTION_DESCRIPTION)
+            .build();
+
+    final Option changeFeedOption =
+        Option.builder()
+            .longOpt(CHANGE_FEED_OPTION_LONG)
+            .desc(CHANGE_FEED_OPTION_DESCRIPTION)
+            .build();
+
+    final Option graphQlSourceOption =
+        Option.builder()
+            .longOpt(GRAPHQL_SOURCE_OPTION_LONG)
+            .desc(GRAPHQL_SOURCE_OPTION_DESCRIPTION)
+            .build();
+
+    final Option consumeEventsOption =
+        Option.builder()
+            .longOpt(CONSUME_EVENTS_OPTION_LONG)
+            .desc(CONSUME_EVENTS_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option microBatchSizeOption =
+        Option.builder()
+            .longOpt(MICRO_BATCH_SIZE_OPTION_LONG)
+            .desc(MICRO_BATCH_SIZE_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option microBatchLatencyOption =
+        Option.builder()
+            .longOpt(MICRO_BATCH_LATENCY_OPTION_LONG)
+            .desc(MICRO_BATCH_LATENCY_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option deadLetterDirectoryOption =
+        Option.builder()
+            .longOpt(DEAD_LETTER_DIRECTORY_OPTION_LONG)
+            .desc(DEAD_LETTER_DIRECTORY_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option replayOption =
+        Option.builder().longOpt(REPLAY_OPTION_LONG).desc(REPLAY_OPTION_DESCRIPTION).build();
+
+    final Option productTypePartitionsOption =
+        Option.builder()
+            .longOpt(PRODUCT_TYPE_PARTITIONS_OPTION_LONG)
+            .desc(PRODUCT_TYPE_PARTITIONS_OPTION_DESCRIPTION)
+            .hasArg()
+            .build();
+
+    final Option priceFastPathOption =
+        Option.builder()
+            .longOpt(PRICE_FAST_PATH_OPTION_LONG)
+            .desc(PRICE_FAST_PATH_OPTION_DESCRIPTION)
+            .build();
+
     final Option helpOption =
         Option.builder(HELP_OPTION_SHORT)
             .longOpt(HELP_OPTION_LONG)
@@ -156,6 +321,19 @@ final class CliRunner {
     options.addOption(versionOption);
     options.addOption(syncProjectSyncCustomObjectsOption);
     options.addOption(productQueryParametersOption);
+    options.addOption(targetKeyCacheDirectoryOption);
+    options.addOption(referenceCacheDirectoryOption);
+    options.addOption(deleteOption);
+    options.addOption(deleteDryRunOption);
+    options.addOption(changeFeedOption);
+    options.addOption(graphQlSourceOption);
+    options.addOption(consumeEventsOption);
+    options.addOption(microBatchSizeOption);
+    options.addOption(microBatchLatencyOption);
+    options.addOption(deadLetterDirectoryOption);
+    options.addOption(replayOption);
+    options.addOption(productTypePartitionsOption);
+    options.addOption(priceFastPathOption);
 
     return options;
   }
@@ -234,12 +412,81 @@ final class CliRunner {
     } catch (CliException e) {
       return exceptionallyCompletedFuture(e);
     }
+
+    final SyncRunOptions syncRunOptions;
+    try {
+      syncRunOptions = parseSyncRunOptions(commandLine);
+    } catch (CliException e) {
+      return exceptionallyCompletedFuture(e);
+    }
+
     return syncerFactory.sync(
         syncOptionValues,
         runnerNameValue,
         isFullSync,
         isSyncProjectSyncCustomObjects,
-        productSyncCustomRequest);
+        productSyncCustomRequest,
+        syncRunOptions);
+  }
+
+  @Nonnull
+  private static SyncRunOptions parseSyncRunOptions(@Nonnull final CommandLine commandLine) {
+    final SyncRunOptions syncRunOptions =
+        SyncRunOptions.of()
+            .withTargetKeyCacheDirectory(
+                commandLine.getOptionValue(TARGET_KEY_CACHE_DIRECTORY_OPTION_LONG))
+            .withReferenceCacheDirectory(
+                commandLine.getOptionValue(REFERENCE_CACHE_DIRECTORY_OPTION_LONG))
+            .withDeleteSyncOptionValues(commandLine.getOptionValues(DELETE_OPTION_LONG))
+            .withDeleteDryRun(commandLine.hasOption(DELETE_DRY_RUN_OPTION_LONG))
+            .withChangeFeedSync(commandLine.hasOption(CHANGE_FEED_OPTION_LONG))
+            .withGraphQlSource(commandLine.hasOption(GRAPHQL_SOURCE_OPTION_LONG))
+            .withChangeEventFile(commandLine.getOptionValue(CONSUME_EVENTS_OPTION_LONG))
+            .withDeadLetterDirectory(commandLine.getOptionValue(DEAD_LETTER_DIRECTORY_OPTION_LONG))
+            .withReplay(commandLine.hasOption(REPLAY_OPTION_LONG))
+            .withPriceFastPath(commandLine.hasOption(PRICE_FAST_PATH_OPTION_LONG));
+    if (syncRunOptions.isReplay() && isBlank(syncRunOptions.getDeadLetterDirectory())) {
+      throw new CliException(
+          format(
+              "The \"--%s\" option requires the directory of the \"--%s\" option.",
+              REPLAY_OPTION_LONG, DEAD_LETTER_DIRECTORY_OPTION_LONG));
+    }
+    if (syncRunOptions.isPriceFastPath() && !syncRunOptions.isChangeFeedSync()) {
+      throw new CliException(
+          format(
+              "The \"--%s\" option requires the \"--%s\" option.",
+              PRICE_FAST_PATH_OPTION_LONG, CHANGE_FEED_OPTION_LONG));
+    }
+    if (commandLine.hasOption(MICRO_BATCH_SIZE_OPTION_LONG)) {
+      syncRunOptions.withMicroBatchSize(
+          (int) parsePositiveNumber(commandLine, MICRO_BATCH_SIZE_OPTION_LONG));
+    }
+    if (commandLine.hasOption(MICRO_BATCH_LATENCY_OPTION_LONG)) {
+      syncRunOptions.withMicroBatchLatencyMillis(
+          parsePositiveNumber(commandLine, MICRO_BATCH_LATENCY_OPTION_LONG));
+    }
+    if (commandLine.hasOption(PRODUCT_TYPE_PARTITIONS_OPTION_LONG)) {
+      syncRunOptions.withProductTypePartitions(
+          (int) parsePositiveNumber(commandLine, PRODUCT_TYPE_PARTITIONS_OPTION_LONG));
+    }
+    return syncRunOptions;
+  }
+
+  private static long parsePositiveNumber(
+      @Nonnull final CommandLine commandLine, @Nonnull final String optionName) {
+    final String optionValue = commandLine.getOptionValue(optionName);
+    try {
+      final long number = Long.parseLong(optionValue.trim());
+      if (number > 0 && number <= Integer.MAX_VALUE) {
+        return number;
+      }
+    } catch (NumberFormatException exception) {
+      // handled below like a non-positive number.
+    }
+    throw new CliException(
+        format(
+            "Wrong argument \"%s\" supplied to \"--%s\" option! It must be a positive number.",
+            optionValue, optionName));
   }
 
   private static void printHelpToStdOut(@Nonnull final Options cliOptions) {
@@ -0,0 +1,25 @@
+package com.commercetools.project.sync;
+
+import java.util.concurrent.CompletionStage;
+import javax.annotation.Nonnull;
+
+/**
+ * Implemented by the syncers which can delete the resources of the target project whose keys don't
+ * exist in the source project, see {@link Syncer#delete(boolean)}. The modules of the other syncers
+ * are rejected by the {@code --delete} option, see {@link SyncModuleOption#supportsDeletion()}.
+ *
+ * @param <PagedQueryT> the type of the query of the target resources.
+ */
+public interface DeletionSupport<PagedQueryT> {
+
+  /**
+   * Returns the query of the target resources which are deleted if their key doesn't exist in the
+   * source project.
+   */
+  @Nonnull
+  PagedQueryT getTargetQuery();
+
+  /** Deletes the target resource with the given id and version. */
+  @Nonnull
+  CompletionStage<?> deleteTargetResource(@Nonnull String id, long version);
+}
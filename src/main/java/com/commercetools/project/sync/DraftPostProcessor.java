@@ -0,0 +1,44 @@
+package com.commercetools.project.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+/**
+ * Changes the drafts of a page after they were transformed from the source resources and before
+ * they are synced, e.g. to strip fields which sync-java doesn't support.
+ *
+ * <p>Post-processors copy on write: a draft which doesn't need a change is returned as is, and a
+ * changed draft shares all unchanged objects with the original one. So a page without anything to
+ * change is passed through without allocations.
+ *
+ * @param <DraftT> the type of the drafts, or of the objects nested in them.
+ */
+@FunctionalInterface
+public interface DraftPostProcessor<DraftT> {
+
+  /** Returns the processed draft, or the given draft itself if nothing needs to be changed. */
+  @Nonnull
+  DraftT process(@Nonnull DraftT draft);
+
+  /**
+   * Processes all elements of the given list with the given post-processor. Returns the given list
+   * itself if no element was changed, otherwise a copy of it with the changed elements.
+   */
+  @Nonnull
+  static <T> List<T> processAll(
+      @Nonnull final List<T> elements, @Nonnull final DraftPostProcessor<T> postProcessor) {
+    List<T> processedElements = null;
+    for (int i = 0; i < elements.size(); i++) {
+      final T element = elements.get(i);
+      final T processedElement = postProcessor.process(element);
+      if (processedElement != element) {
+        if (processedElements == null) {
+          processedElements = new ArrayList<>(elements);
+        }
+        processedElements.set(i, processedElement);
+      }
+    }
+    return processedElements == null ? elements : processedElements;
+  }
+}
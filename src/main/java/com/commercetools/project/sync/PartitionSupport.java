@@ -0,0 +1,34 @@
+package com.commercetools.project.sync;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Implemented by the syncers which can read and sync the source resources in partitions
+ * concurrently. The other syncers are rejected by the {@code --productTypePartitions} option, see
+ * {@link SyncModuleOption#supportsPartitions()}.
+ *
+ * @param <BaseSyncT> the type of the sync of the syncer.
+ */
+public interface PartitionSupport<BaseSyncT> {
+
+  /**
+   * Returns the where predicates which split the source resources of a full sync or a delta sync by
+   * query into disjoint partitions, so every resource matches exactly one of them. The partitions
+   * are read by concurrent cursors instead of the GraphQL or the single REST cursor, and each is
+   * synced by its own sync of {@link #createPartitionSync(int)}. Returns {@code null} if the
+   * resources are not partitioned by this run.
+   */
+  @Nullable
+  CompletionStage<List<String>> getPartitionPredicates();
+
+  /**
+   * Returns a new sync with the options of {@link Syncer#getSync()} for one of the given number of
+   * partitions of {@link #getPartitionPredicates()}, which share the cache budget of the sync of
+   * the syncer.
+   */
+  @Nonnull
+  BaseSyncT createPartitionSync(int partitionCount);
+}
@@ -75,4 +75,20 @@ public enum SyncModuleOption {
   public List<SyncModuleOption> getEssentialSyncOptions() {
     return essentialSyncOptions;
   }
+
+  /**
+   * Returns true if the syncer of the module deletes the target resources whose keys don't exist in
+   * the source project, see {@link DeletionSupport}.
+   */
+  public boolean supportsDeletion() {
+    return this != INVENTORY_ENTRY_SYNC && this != CUSTOM_OBJECT_SYNC;
+  }
+
+  /**
+   * Returns true if the syncer of the module reads and syncs partitions of the source resources,
+   * see {@link PartitionSupport}.
+   */
+  public boolean supportsPartitions() {
+    return this == PRODUCT_SYNC;
+  }
 }
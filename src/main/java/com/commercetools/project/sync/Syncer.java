@@ -1,6 +1,7 @@
 package com.commercetools.project.sync;
 
 import static com.commercetools.api.client.QueryUtils.queryAll;
+import static com.commercetools.project.sync.util.SyncUtils.getCompletionExceptionCause;
 import static com.commercetools.project.sync.util.SyncUtils.getSyncModuleName;
 import static java.lang.String.format;
 
@@ -9,25 +10,51 @@ import com.commercetools.api.client.ProjectApiRoot;
 import com.commercetools.api.models.DomainResource;
 import com.commercetools.api.models.ResourcePagedQueryResponse;
 import com.commercetools.api.models.ResourceUpdateAction;
+import com.commercetools.api.models.WithKey;
 import com.commercetools.api.models.category.Category;
 import com.commercetools.api.models.category.CategoryDraft;
 import com.commercetools.api.models.common.BaseResource;
 import com.commercetools.api.models.custom_object.CustomObject;
 import com.commercetools.api.models.product.ProductDraft;
 import com.commercetools.api.models.product.ProductProjection;
+import com.commercetools.project.sync.cache.CacheBudget;
+import com.commercetools.project.sync.cache.CompactReferenceIdToKeyCache;
+import com.commercetools.project.sync.changefeed.ChangeFeed;
+import com.commercetools.project.sync.changefeed.ChangeFeedReader;
+import com.commercetools.project.sync.deadletter.DeadLetters;
+import com.commercetools.project.sync.deletion.DeletionStatistics;
+import com.commercetools.project.sync.deletion.ExternalKeySorter;
+import com.commercetools.project.sync.deletion.KeySetDifference;
+import com.commercetools.project.sync.graphql.GraphQlSourceReader;
 import com.commercetools.project.sync.model.response.LastSyncCustomObject;
+import com.commercetools.project.sync.model.response.SyncRunRecord;
+import com.commercetools.project.sync.retry.RetryQueue;
+import com.commercetools.project.sync.retry.RetryStatistics;
 import com.commercetools.project.sync.service.CustomObjectService;
+import com.commercetools.project.sync.tuning.PageMetrics;
+import com.commercetools.project.sync.tuning.PageSizeTuner;
+import com.commercetools.project.sync.util.FailureHistogram;
 import com.commercetools.sync.commons.BaseSync;
 import com.commercetools.sync.commons.BaseSyncOptions;
+import com.commercetools.sync.commons.exceptions.SyncException;
 import com.commercetools.sync.commons.helpers.BaseSyncStatistics;
-import com.commercetools.sync.commons.utils.CaffeineReferenceIdToKeyCacheImpl;
 import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
 import io.vrap.rmf.base.client.ApiHttpResponse;
 import java.time.Clock;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import net.logstash.logback.marker.Markers;
@@ -71,17 +98,27 @@ public abstract class Syncer<
     BaseSyncT extends
         BaseSync<ResourceT, ResourceDraftT, ResourceUpdateActionT, SyncStatisticsT, SyncOptionsT>> {
 
-  /* Using default Caffeine cache implementation from sync-java library for caching reference
-   * IdToKey values.
+  /* Caches the keys of the referenced resources by their id for all syncers. Its size is taken
+   * from the cache budget of the heap, unless SyncerFactory replaces it with the memory-mapped
+   * cache of the `--referenceCacheDir` option.
    */
-  protected static final ReferenceIdToKeyCache referenceIdToKeyCache =
-      new CaffeineReferenceIdToKeyCacheImpl();
+  private static volatile ReferenceIdToKeyCache referenceIdToKeyCache =
+      createDefaultReferenceIdToKeyCache();
+
+  private static final int DELETE_BATCH_SIZE = 50;
+  private static final int RESOURCES_PER_FETCH = 100;
+  private static final int RETRY_BATCH_SIZE = 20;
+  private static final int MAX_RETRY_ROUNDS = 3;
+  private static final long INITIAL_RETRY_DELAY_IN_MILLIS = 1000;
 
   private final BaseSyncT sync;
   private final ProjectApiRoot sourceClient;
   private final ProjectApiRoot targetClient;
   private final CustomObjectService customObjectService;
   private final Clock clock;
+  private final AtomicLong retriedResources = new AtomicLong();
+  // Retried resources whose previous failure the statistics of the sync still count.
+  private final AtomicLong resolvedRetries = new AtomicLong();
 
   /**
    * Instantiates a {@link Syncer} which is used to sync resources from a source to a target
@@ -127,6 +164,46 @@ public abstract class Syncer<
    *     logging the result.
    */
   public CompletionStage<Void> sync(@Nullable final String runnerName, final boolean isFullSync) {
+    return sync(runnerName, isFullSync, false);
+  }
+
+  /**
+   * Same as {@link #sync(String, boolean)}, but if {@code isChangeFeedSync} is {@code true} and the
+   * syncer supports it (see {@link #getMessageResourceTypeId()}), a delta sync also reads the
+   * resources changed since the last sync from the message feed of the source project, and syncs
+   * the union of them and the resources of the {@code lastModifiedAt} range predicate.
+   *
+   * @param runnerName the name of the sync runner.
+   * @param isFullSync whether to run a delta sync (based on the last sync timestamp) or a full
+   *     sync.
+   * @param isChangeFeedSync whether a delta sync reads the changed resources from the message feed.
+   * @return completion stage containing no result after the execution of the sync process and
+   *     logging the result.
+   */
+  public CompletionStage<Void> sync(
+      @Nullable final String runnerName, final boolean isFullSync, final boolean isChangeFeedSync) {
+    return sync(runnerName, isFullSync, isChangeFeedSync, false);
+  }
+
+  /**
+   * Same as {@link #sync(String, boolean, boolean)}, but if {@code isGraphQlSource} is {@code
+   * true} and the syncer supports it (see {@link #getGraphQlSourceReader()}), the source resources
+   * of a full sync or a delta sync by query are read with a lean GraphQL query instead of the REST
+   * query.
+   *
+   * @param runnerName the name of the sync runner.
+   * @param isFullSync whether to run a delta sync (based on the last sync timestamp) or a full
+   *     sync.
+   * @param isChangeFeedSync whether a delta sync reads the changed resources from the message feed.
+   * @param isGraphQlSource whether the source resources are read with a lean GraphQL query.
+   * @return completion stage containing no result after the execution of the sync process and
+   *     logging the result.
+   */
+  public CompletionStage<Void> sync(
+      @Nullable final String runnerName,
+      final boolean isFullSync,
+      final boolean isChangeFeedSync,
+      final boolean isGraphQlSource) {
 
     final String sourceProjectKey = sourceClient.getProjectKey();
     final String syncModuleName = getSyncModuleName(sync.getClass());
@@ -141,7 +218,13 @@ public abstract class Syncer<
 
     final CompletionStage<Void> syncStage;
     if (isFullSync) {
-      syncStage = sync(getQuery()).thenAccept(result -> {});
+      syncStage =
+          sync(
+                  getQuery(),
+                  null,
+                  new PageMetrics(PageSizeTuner.DEFAULT_PAGE_SIZE, clock),
+                  isGraphQlSource)
+              .thenAccept(result -> {});
     } else {
       syncStage =
           customObjectService
@@ -149,60 +232,354 @@ public abstract class Syncer<
               .thenCompose(
                   currentCtpTimestamp ->
                       syncResourcesSinceLastSync(
-                          sourceProjectKey, syncModuleName, runnerName, currentCtpTimestamp));
+                          sourceProjectKey,
+                          syncModuleName,
+                          runnerName,
+                          currentCtpTimestamp,
+                          isChangeFeedSync && getMessageResourceTypeId() != null,
+                          isGraphQlSource));
     }
 
-    return syncStage.thenAccept(
-        ignoredResult -> {
-          if (getLoggerInstance().isInfoEnabled()) {
-            getLoggerInstance()
-                .info(
-                    Markers.append("statistics", sync.getStatistics()),
-                    sync.getStatistics().getReportMessage());
-          }
-        });
+    return syncStage
+        .whenComplete(
+            (ignoredResult, throwable) -> RetryQueue.of(sync.getClass()).recordPendingFailures())
+        .thenAccept(
+            ignoredResult -> {
+              if (getLoggerInstance().isInfoEnabled()) {
+                getLoggerInstance()
+                    .info(
+                        Markers.append("statistics", sync.getStatistics()),
+                        getReportMessage(
+                            sync.getStatistics().getReportMessage(),
+                            sync.getStatistics().getProcessed().get(),
+                            sync.getStatistics().getFailed().get(),
+                            resolvedRetries.get()));
+              }
+            });
   }
 
+  /**
+   * Syncs the resources changed since the last sync and persists the new last sync custom object.
+   * The page size of the query is seeded from the run history of the last sync custom object (see
+   * {@link PageSizeTuner#seedPageSize(List)}) and the statistics of this run are appended to it.
+   */
   @Nonnull
   private CompletionStage<Void> syncResourcesSinceLastSync(
       @Nonnull final String sourceProjectKey,
       @Nonnull final String syncModuleName,
       @Nullable final String runnerName,
-      @Nonnull final ZonedDateTime currentCtpTimestamp) {
+      @Nonnull final ZonedDateTime currentCtpTimestamp,
+      final boolean isChangeFeedSync,
+      final boolean isGraphQlSource) {
 
-    return getQueryOfResourcesSinceLastSync(
-            sourceProjectKey, syncModuleName, runnerName, currentCtpTimestamp)
-        .thenCompose(this::sync)
+    FailureHistogram.of(sync.getClass()).clear();
+    final long retriesAtStart = RetryStatistics.getSyncModuleRetries(syncModuleName);
+    final long throttledRetriesAtStart =
+        RetryStatistics.getSyncModuleThrottledRetries(syncModuleName);
+    return customObjectService
+        .getLastSyncCustomObject(sourceProjectKey, syncModuleName, runnerName)
         .thenCompose(
-            syncDurationInMillis ->
-                createNewLastSyncCustomObject(
-                    sourceProjectKey,
-                    syncModuleName,
-                    runnerName,
-                    currentCtpTimestamp,
-                    syncDurationInMillis))
+            customObjectOptional -> {
+              final ZonedDateTime lastSyncTimestamp =
+                  customObjectOptional.map(LastSyncCustomObject::getLastSyncTimestamp).orElse(null);
+              final List<SyncRunRecord> runHistory =
+                  customObjectOptional
+                      .map(LastSyncCustomObject::getRunHistory)
+                      .orElseGet(Collections::emptyList);
+              final PageMetrics pageMetrics =
+                  new PageMetrics(PageSizeTuner.seedPageSize(runHistory), clock);
+              if (pageMetrics.getPageSize() != PageSizeTuner.DEFAULT_PAGE_SIZE
+                  && getLoggerInstance().isInfoEnabled()) {
+                getLoggerInstance()
+                    .info(
+                        format(
+                            "Using the page size %d seeded from the last %d run(s).",
+                            pageMetrics.getPageSize(), runHistory.size()));
+              }
+
+              final CompletionStage<Long> syncStage;
+              if (lastSyncTimestamp == null) {
+                // If there is no last sync custom object, sync all resources
+                syncStage = sync(getQuery(), null, pageMetrics, isGraphQlSource);
+              } else if (isChangeFeedSync) {
+                syncStage = syncChangeFeed(lastSyncTimestamp, currentCtpTimestamp, pageMetrics);
+              } else {
+                syncStage =
+                    sync(
+                        getQueryWithTimeBoundedPredicate(lastSyncTimestamp, currentCtpTimestamp),
+                        getTimeBoundedWhere(lastSyncTimestamp, currentCtpTimestamp),
+                        pageMetrics,
+                        isGraphQlSource);
+              }
+              return syncStage.thenCompose(
+                  syncDurationInMillis ->
+                      createNewLastSyncCustomObject(
+                          sourceProjectKey,
+                          syncModuleName,
+                          runnerName,
+                          currentCtpTimestamp,
+                          syncDurationInMillis,
+                          runHistory,
+                          pageMetrics,
+                          RetryStatistics.getSyncModuleRetries(syncModuleName) - retriesAtStart,
+                          RetryStatistics.getSyncModuleThrottledRetries(syncModuleName)
+                              - throttledRetriesAtStart));
+            })
         .thenAccept(result -> {});
   }
 
+  /**
+   * Reads the resources changed in the given time window from the message feed of the source
+   * project and syncs them together with the resources of the {@code lastModifiedAt} range
+   * predicate of the time window. Most resources have update actions which create no message, e.g.
+   * {@code setAttribute} of products, so the message feed alone would miss their changes. Every
+   * changed resource is synced only once: the resources of the query are synced first, then the
+   * resources of the change feed which the query didn't return are fetched in pages of {@value
+   * #RESOURCES_PER_FETCH} ids. The resources synced by the {@link #syncFastPath(ChangeFeed)} are
+   * skipped by both.
+   */
   @Nonnull
-  private CompletionStage<PagedQueryT> getQueryOfResourcesSinceLastSync(
-      @Nonnull final String sourceProjectKey,
-      @Nonnull final String syncModuleName,
-      @Nullable final String runnerName,
-      @Nonnull final ZonedDateTime currentSyncStartTimestamp) {
+  private CompletionStage<Long> syncChangeFeed(
+      @Nonnull final ZonedDateTime lowerBound,
+      @Nonnull final ZonedDateTime upperBound,
+      @Nonnull final PageMetrics pageMetrics) {
 
-    return customObjectService
-        .getLastSyncCustomObject(sourceProjectKey, syncModuleName, runnerName)
+    final long timeBeforeSync = clock.millis();
+    return ChangeFeedReader.read(sourceClient, getMessageResourceTypeId(), lowerBound, upperBound)
+        .thenCompose(
+            changeFeed -> syncChangedResources(changeFeed, lowerBound, upperBound, pageMetrics))
+        .thenCompose(ignoredResult -> retryTransientFailures())
         .thenApply(
-            customObjectOptional ->
-                customObjectOptional
-                    .map(LastSyncCustomObject::getLastSyncTimestamp)
-                    .map(
-                        lastSyncTimestamp ->
-                            getQueryWithTimeBoundedPredicate(
-                                lastSyncTimestamp, currentSyncStartTimestamp))
-                    // If there is no last sync custom object, use base query to get all resources
-                    .orElseGet(this::getQuery));
+            ignoredResult -> {
+              final long timeAfterSync = clock.millis();
+              return timeAfterSync - timeBeforeSync;
+            });
+  }
+
+  @Nonnull
+  private CompletionStage<Void> syncChangedResources(
+      @Nonnull final ChangeFeed changeFeed,
+      @Nonnull final ZonedDateTime lowerBound,
+      @Nonnull final ZonedDateTime upperBound,
+      @Nonnull final PageMetrics pageMetrics) {
+    if (getLoggerInstance().isInfoEnabled()) {
+      getLoggerInstance()
+          .info(
+              format(
+                  "Read %d messages of %d changed resources from the change feed.",
+                  changeFeed.getMessageCount(), changeFeed.getChangedResourceCount()));
+    }
+    final Set<String> fetchedResourceIds = new HashSet<>();
+    final List<String> feedOnlyResourceIds = new ArrayList<>();
+    final CompletionStage<Void> syncStage =
+        syncFastPath(changeFeed)
+            .thenCompose(
+                fastPathResourceIds -> {
+                  pageMetrics.startFetch();
+                  return queryAll(
+                          getQueryWithTimeBoundedPredicate(lowerBound, upperBound),
+                          (List<ResourceT> page) -> {
+                            pageMetrics.recordFetchedPage();
+                            final List<ResourceT> changedResources =
+                                page.stream()
+                                    .filter(
+                                        resource -> !fastPathResourceIds.contains(resource.getId()))
+                                    .collect(Collectors.toList());
+                            changedResources.forEach(
+                                resource -> fetchedResourceIds.add(resource.getId()));
+                            syncPage(changedResources);
+                            pageMetrics.startFetch();
+                          },
+                          pageMetrics.getPageSize())
+                      .thenCompose(
+                          ignored -> {
+                            changeFeed.getChangedResourceIds().stream()
+                                .filter(id -> !fastPathResourceIds.contains(id))
+                                .filter(id -> !fetchedResourceIds.contains(id))
+                                .forEach(feedOnlyResourceIds::add);
+                            return syncResourcesWithFieldValues(
+                                "id",
+                                feedOnlyResourceIds,
+                                RESOURCES_PER_FETCH,
+                                resource -> fetchedResourceIds.add(resource.getId()),
+                                draft -> {});
+                          });
+                });
+    return syncStage.thenAccept(
+        ignored -> {
+          // changed resources which can't be fetched anymore were deleted in the source project.
+          final long deletedCount =
+              feedOnlyResourceIds.stream().filter(id -> !fetchedResourceIds.contains(id)).count();
+          if (deletedCount > 0 && getLoggerInstance().isInfoEnabled()) {
+            getLoggerInstance()
+                .info(
+                    format(
+                        "%d changed resources don't exist in the source project anymore. Use the "
+                            + "delete option to delete them from the target project.",
+                        deletedCount));
+          }
+        });
+  }
+
+  /**
+   * Syncs the source resources with the given keys, e.g. the resources of a micro-batch of change
+   * events. Keys which don't exist in the source project are ignored.
+   *
+   * @param resourceKeys the keys of the source resources to sync.
+   * @return completion stage containing no result after the execution of the sync process.
+   */
+  @Nonnull
+  public CompletionStage<Void> syncByKeys(@Nonnull final List<String> resourceKeys) {
+    return syncResourcesWithFieldValues(
+            "key", resourceKeys, RESOURCES_PER_FETCH, resource -> {}, draft -> {})
+        .thenCompose(ignored -> retryTransientFailures())
+        .whenComplete(
+            (ignoredResult, throwable) -> RetryQueue.of(sync.getClass()).recordPendingFailures());
+  }
+
+  /**
+   * Syncs the resources in the {@link RetryQueue} of the module once more, i.e. the resources which
+   * failed with a transient error, e.g. a concurrent modification. They are fetched again in
+   * batches of {@value #RETRY_BATCH_SIZE} keys after a delay. Resources which fail with a transient
+   * error again are retried in up to {@value #MAX_RETRY_ROUNDS} rounds, each after twice the delay
+   * of the previous round.
+   *
+   * <p>The failures of the queued resources are only recorded, e.g. as dead letters, if the
+   * retries don't resolve them. When a resource is synced once more, the statistics of the sync
+   * count it again, so the report and the run record of this syncer subtract its previous failure
+   * and count it with the outcome of its last attempt.
+   */
+  @Nonnull
+  private CompletionStage<Void> retryTransientFailures() {
+    return retryTransientFailures(1, INITIAL_RETRY_DELAY_IN_MILLIS);
+  }
+
+  @Nonnull
+  private CompletionStage<Void> retryTransientFailures(final int round, final long delayInMillis) {
+    final RetryQueue retryQueue = RetryQueue.of(sync.getClass());
+    final List<String> keys = retryQueue.drain();
+    if (keys.isEmpty()) {
+      retryQueue.recordPendingFailures();
+      return CompletableFuture.completedFuture(null);
+    }
+    if (round > MAX_RETRY_ROUNDS) {
+      if (getLoggerInstance().isWarnEnabled()) {
+        getLoggerInstance()
+            .warn(
+                format(
+                    "%d resource(s) still failed with a transient error after %d retry rounds.",
+                    keys.size(), MAX_RETRY_ROUNDS));
+      }
+      retryQueue.recordPendingFailures();
+      return CompletableFuture.completedFuture(null);
+    }
+    retriedResources.addAndGet(keys.size());
+    if (getLoggerInstance().isInfoEnabled()) {
+      getLoggerInstance()
+          .info(
+              format(
+                  "Retrying %d resource(s) which failed with a transient error in %d ms "
+                      + "(round %d of %d).",
+                  keys.size(), delayInMillis, round, MAX_RETRY_ROUNDS));
+    }
+    return CompletableFuture.runAsync(
+            () -> {}, CompletableFuture.delayedExecutor(delayInMillis, TimeUnit.MILLISECONDS))
+        .thenCompose(
+            ignored ->
+                syncResourcesWithFieldValues(
+                    "key",
+                    keys,
+                    RETRY_BATCH_SIZE,
+                    resource -> {},
+                    draft -> removePreviousFailure(retryQueue, draft)))
+        .thenCompose(ignored -> retryTransientFailures(round + 1, delayInMillis * 2));
+  }
+
+  /**
+   * Removes the pending failure of the given draft, which is synced once more, and counts it as a
+   * resolved retry, since the statistics of the sync count the draft again with the outcome of the
+   * retry.
+   */
+  private void removePreviousFailure(
+      @Nonnull final RetryQueue retryQueue, @Nonnull final ResourceDraftT draft) {
+    if (draft instanceof WithKey && retryQueue.removePendingFailure(((WithKey) draft).getKey())) {
+      resolvedRetries.incrementAndGet();
+    }
+  }
+
+  /**
+   * Appends the numbers of processed and failed resources without the previous failures of the
+   * retried resources to the given report of the statistics of the sync, if there were any.
+   */
+  @Nonnull
+  static String getReportMessage(
+      @Nonnull final String reportMessage,
+      final long processed,
+      final long failed,
+      final long resolvedRetryCount) {
+    if (resolvedRetryCount == 0) {
+      return reportMessage;
+    }
+    return format(
+        "%s %d of them were synced once more after a transient error, so %d distinct resources "
+            + "were processed and %d failed.",
+        reportMessage,
+        resolvedRetryCount,
+        processed - resolvedRetryCount,
+        failed - resolvedRetryCount);
+  }
+
+  /**
+   * Records the failure of the given draft of the given sync as a dead letter (see {@link
+   * DeadLetters}) and in the {@link FailureHistogram} of the module. If the failure is transient,
+   * the draft is queued in the {@link RetryQueue} of the module instead, and the failure is only
+   * recorded if its retries don't resolve it.
+   */
+  protected static <D, U extends ResourceUpdateAction> void recordFailure(
+      @Nonnull final Class<? extends BaseSync> syncClass,
+      @Nonnull final SyncException exception,
+      @Nonnull final Optional<D> newResourceDraft,
+      @Nullable final List<U> updateActions) {
+    RetryQueue.offer(
+        syncClass,
+        exception,
+        newResourceDraft,
+        () -> {
+          DeadLetters.write(syncClass, exception, newResourceDraft, updateActions);
+          FailureHistogram.record(syncClass, exception);
+        });
+  }
+
+  /**
+   * Fetches the source resources whose field has one of the given values, in pages of the given
+   * number of values, and syncs them. The given consumers get each fetched resource and each draft
+   * before it is synced.
+   */
+  @Nonnull
+  private CompletionStage<Void> syncResourcesWithFieldValues(
+      @Nonnull final String field,
+      @Nonnull final List<String> values,
+      final int valuesPerFetch,
+      @Nonnull final Consumer<ResourceT> fetchedResourceConsumer,
+      @Nonnull final Consumer<ResourceDraftT> draftConsumer) {
+    CompletionStage<Void> syncStage = CompletableFuture.completedFuture(null);
+    for (int index = 0; index < values.size(); index += valuesPerFetch) {
+      final List<String> pageValues =
+          values.subList(index, Math.min(index + valuesPerFetch, values.size()));
+      final PagedQueryT query =
+          (PagedQueryT)
+              getQuery().addWhere(field + " in :values").withPredicateVar("values", pageValues);
+      syncStage =
+          syncStage.thenCompose(
+              ignored ->
+                  queryAll(
+                      query,
+                      (List<ResourceT> page) -> {
+                        page.forEach(fetchedResourceConsumer);
+                        syncPage(sync, page, draftConsumer);
+                      }));
+    }
+    return syncStage;
   }
 
   @Nonnull
@@ -215,11 +592,60 @@ public abstract class Syncer<
             .withPredicateVar("upper", upperBound);
   }
 
+  /**
+   * Returns the predicate of the GraphQL query which is equivalent to the predicate of {@link
+   * #getQueryWithTimeBoundedPredicate(ZonedDateTime, ZonedDateTime)}. GraphQL queries don't support
+   * predicate variables, so the timestamps are inlined.
+   */
   @Nonnull
-  private CompletionStage<Long> sync(@Nonnull final PagedQueryT queryResourcesSinceLastSync) {
+  private static String getTimeBoundedWhere(
+      @Nonnull final ZonedDateTime lowerBound, @Nonnull final ZonedDateTime upperBound) {
+    return format(
+        "lastModifiedAt >= \"%s\" and lastModifiedAt <= \"%s\"",
+        DateTimeFormatter.ISO_INSTANT.format(lowerBound),
+        DateTimeFormatter.ISO_INSTANT.format(upperBound));
+  }
+
+  @Nonnull
+  private CompletionStage<Long> sync(
+      @Nonnull final PagedQueryT queryResourcesSinceLastSync,
+      @Nullable final String graphQlWhere,
+      @Nonnull final PageMetrics pageMetrics,
+      final boolean isGraphQlSource) {
 
     final long timeBeforeSync = clock.millis();
-    return queryAll(queryResourcesSinceLastSync, this::syncPage)
+    final Consumer<List<ResourceT>> pageConsumer =
+        page -> {
+          pageMetrics.recordFetchedPage();
+          syncPage(page);
+          pageMetrics.startFetch();
+        };
+    pageMetrics.startFetch();
+    final PartitionSupport<BaseSyncT> partitionSupport = getPartitionSupport();
+    final CompletionStage<List<String>> partitionPredicates =
+        partitionSupport == null ? null : partitionSupport.getPartitionPredicates();
+    final GraphQlSourceReader<ResourceT> graphQlSourceReader =
+        isGraphQlSource ? getGraphQlSourceReader() : null;
+    final CompletionStage<Void> queryStage;
+    if (partitionPredicates != null) {
+      queryStage =
+          partitionPredicates.thenCompose(
+              predicates ->
+                  syncPartitions(
+                      partitionSupport, queryResourcesSinceLastSync, predicates, pageMetrics));
+    } else if (graphQlSourceReader == null) {
+      queryStage = queryAll(queryResourcesSinceLastSync, pageConsumer, pageMetrics.getPageSize());
+    } else {
+      queryStage =
+          readAllWithRestFallback(
+              graphQlSourceReader,
+              graphQlWhere,
+              queryResourcesSinceLastSync,
+              pageConsumer,
+              pageMetrics);
+    }
+    return queryStage
+        .thenCompose(ignoredResult -> retryTransientFailures())
         .thenApply(
             ignoredResult -> {
               final long timeAfterSync = clock.millis();
@@ -227,13 +653,121 @@ public abstract class Syncer<
             });
   }
 
+  /**
+   * Reads and syncs the partitions of the given query concurrently, each with its own cursor, page
+   * metrics and sync of {@link PartitionSupport#createPartitionSync(int)}, since a sync must not
+   * process batches concurrently. Once all partitions are completed, their statistics and page
+   * metrics are added to the ones of this syncer, so the report and the last sync custom object
+   * cover all partitions.
+   */
+  @Nonnull
+  private CompletionStage<Void> syncPartitions(
+      @Nonnull final PartitionSupport<BaseSyncT> partitionSupport,
+      @Nonnull final PagedQueryT query,
+      @Nonnull final List<String> predicates,
+      @Nonnull final PageMetrics pageMetrics) {
+    if (getLoggerInstance().isInfoEnabled()) {
+      getLoggerInstance()
+          .info(format("Syncing %d partitions of the resources concurrently.", predicates.size()));
+    }
+    final List<BaseSyncT> partitionSyncs = new ArrayList<>();
+    final List<PageMetrics> partitionPageMetrics = new ArrayList<>();
+    final List<CompletableFuture<Void>> partitionStages = new ArrayList<>();
+    for (String predicate : predicates) {
+      final BaseSyncT partitionSync = partitionSupport.createPartitionSync(predicates.size());
+      final PageMetrics partitionMetrics = new PageMetrics(pageMetrics.getPageSize(), clock);
+      partitionSyncs.add(partitionSync);
+      partitionPageMetrics.add(partitionMetrics);
+      partitionMetrics.startFetch();
+      partitionStages.add(
+          queryAll(
+                  (PagedQueryT) query.addWhere(predicate),
+                  (List<ResourceT> page) -> {
+                    partitionMetrics.recordFetchedPage();
+                    syncPage(partitionSync, page);
+                    partitionMetrics.startFetch();
+                  },
+                  pageMetrics.getPageSize())
+              .toCompletableFuture());
+    }
+    return CompletableFuture.allOf(partitionStages.toArray(new CompletableFuture[0]))
+        .thenAccept(
+            ignoredResult -> {
+              for (int index = 0; index < partitionSyncs.size(); index++) {
+                final SyncStatisticsT partitionStatistics =
+                    partitionSyncs.get(index).getStatistics();
+                if (getLoggerInstance().isInfoEnabled()) {
+                  getLoggerInstance()
+                      .info(
+                          format(
+                              "Partition %d of %d: %s",
+                              index + 1,
+                              partitionSyncs.size(),
+                              partitionStatistics.getReportMessage()));
+                }
+                addStatistics(partitionStatistics);
+                pageMetrics.add(partitionPageMetrics.get(index));
+              }
+            });
+  }
+
+  /**
+   * Adds the statistics of another sync, e.g. of a partition, to the statistics of the sync of this
+   * syncer. Syncers whose statistics have further state, e.g. the resources with missing
+   * references, override this method to add it, too.
+   */
+  protected void addStatistics(@Nonnull final SyncStatisticsT otherStatistics) {
+    final SyncStatisticsT statistics = sync.getStatistics();
+    statistics.incrementProcessed(otherStatistics.getProcessed().get());
+    statistics.incrementCreated(otherStatistics.getCreated().get());
+    statistics.incrementUpdated(otherStatistics.getUpdated().get());
+    statistics.incrementFailed(otherStatistics.getFailed().get());
+  }
+
+  /**
+   * Reads the source resources with the given GraphQL reader. If a GraphQL query fails (e.g.
+   * because it exceeds the query complexity limit of the project), the resources are queried again
+   * with the REST query, so resources of already synced pages are synced once more, which doesn't
+   * change them.
+   */
+  @Nonnull
+  private CompletionStage<Void> readAllWithRestFallback(
+      @Nonnull final GraphQlSourceReader<ResourceT> graphQlSourceReader,
+      @Nullable final String graphQlWhere,
+      @Nonnull final PagedQueryT restQuery,
+      @Nonnull final Consumer<List<ResourceT>> pageConsumer,
+      @Nonnull final PageMetrics pageMetrics) {
+    return graphQlSourceReader
+        .readAll(graphQlWhere, pageMetrics.getPageSize(), pageConsumer)
+        .handle((ignoredResult, throwable) -> throwable)
+        .thenCompose(
+            throwable -> {
+              if (throwable == null) {
+                return CompletableFuture.completedFuture(null);
+              }
+              if (getLoggerInstance().isWarnEnabled()) {
+                getLoggerInstance()
+                    .warn(
+                        "Failed to read the source resources with GraphQL. Falling back to the "
+                            + "REST query.",
+                        getCompletionExceptionCause(throwable));
+              }
+              pageMetrics.startFetch();
+              return queryAll(restQuery, pageConsumer, pageMetrics.getPageSize());
+            });
+  }
+
   @Nonnull
   private CompletableFuture<ApiHttpResponse<CustomObject>> createNewLastSyncCustomObject(
       @Nonnull final String sourceProjectKey,
       @Nonnull final String syncModuleName,
       @Nullable final String runnerName,
       @Nonnull final ZonedDateTime newLastSyncTimestamp,
-      final long syncDurationInMillis) {
+      final long syncDurationInMillis,
+      @Nonnull final List<SyncRunRecord> previousRunHistory,
+      @Nonnull final PageMetrics pageMetrics,
+      final long retries,
+      final long throttledRetries) {
 
     /*
      * The 2 minutes is an arbitrary number chosen to account for any potential delays of
@@ -247,18 +781,231 @@ public abstract class Syncer<
     final LastSyncCustomObject<SyncStatisticsT> lastSyncCustomObject =
         LastSyncCustomObject.of(
             lastSyncTimestampMinusBuffer, sync.getStatistics(), syncDurationInMillis);
+    lastSyncCustomObject.appendToRunHistory(
+        previousRunHistory,
+        SyncRunRecord.of(
+                newLastSyncTimestamp,
+                syncDurationInMillis,
+                sync.getStatistics().getProcessed().get() - resolvedRetries.get(),
+                sync.getStatistics().getFailed().get() - resolvedRetries.get(),
+                pageMetrics.getPageSize(),
+                pageMetrics.getPageCount(),
+                pageMetrics.getAverageLatencyInMillis(),
+                pageMetrics.getMaxLatencyInMillis())
+            .withFailureStatistics(
+                FailureHistogram.of(sync.getClass()).getFailuresByCause(),
+                retries,
+                throttledRetries,
+                retriedResources.get()));
 
     return customObjectService.createLastSyncCustomObject(
         sourceProjectKey, syncModuleName, runnerName, lastSyncCustomObject);
   }
 
+  /**
+   * Deletes the resources of the target project whose keys don't exist in the source project.
+   *
+   * <p>The keys of both projects are streamed through an {@link ExternalKeySorter}, which spills
+   * sorted runs to disk, so the memory needed doesn't grow with the number of resources. The sorted
+   * key sets are then compared with a single merge pass and the resources only found in the target
+   * project are deleted in batches of {@value #DELETE_BATCH_SIZE}. Target resources without a key
+   * can't be matched to a source resource and are never deleted.
+   *
+   * @param isDryRun if {@code true}, the resources to delete are only counted but not deleted.
+   * @return completion stage containing no result after the deletion and logging its summary.
+   */
+  @Nonnull
+  public CompletionStage<Void> delete(final boolean isDryRun) {
+    final String syncModuleName = getSyncModuleName(sync.getClass());
+    final DeletionSupport<PagedQueryT> deletionSupport = getDeletionSupport();
+    if (deletionSupport == null) {
+      if (getLoggerInstance().isWarnEnabled()) {
+        getLoggerInstance()
+            .warn(format("%s doesn't support deleting resources of the target.", syncModuleName));
+      }
+      return CompletableFuture.completedFuture(null);
+    }
+
+    final PagedQueryT targetQuery = deletionSupport.getTargetQuery();
+    final DeletionStatistics statistics = new DeletionStatistics(isDryRun);
+    final ExternalKeySorter sourceKeys = ExternalKeySorter.of();
+    final ExternalKeySorter targetRecords = ExternalKeySorter.of();
+    return queryAll(getQuery(), page -> addKeys(sourceKeys, page, null))
+        .thenCompose(
+            ignored -> queryAll(targetQuery, page -> addKeys(targetRecords, page, statistics)))
+        .thenAccept(
+            ignored -> {
+              final BatchDeleter batchDeleter = new BatchDeleter(deletionSupport, statistics);
+              KeySetDifference.forEachOnlyInTarget(
+                  sourceKeys.sort(), targetRecords.sort(), batchDeleter::add);
+              batchDeleter.flush();
+            })
+        .whenComplete(
+            (ignored, throwable) -> {
+              sourceKeys.close();
+              targetRecords.close();
+            })
+        .thenAccept(
+            ignored -> {
+              if (getLoggerInstance().isInfoEnabled()) {
+                getLoggerInstance()
+                    .info(
+                        Markers.append("deletionStatistics", statistics),
+                        statistics.getReportMessage(syncModuleName));
+              }
+            });
+  }
+
+  /**
+   * Adds the keys of the given resources to the sorter. If statistics are given, the resources are
+   * target resources and their id and version are appended to the key, since they are needed to
+   * delete the resource.
+   */
+  private static void addKeys(
+      @Nonnull final ExternalKeySorter sorter,
+      @Nonnull final List<? extends BaseResource> page,
+      @Nullable final DeletionStatistics targetStatistics) {
+    for (BaseResource resource : page) {
+      final String key = resource instanceof WithKey ? ((WithKey) resource).getKey() : null;
+      if (key == null || key.isEmpty()) {
+        if (targetStatistics != null) {
+          targetStatistics.incrementWithoutKey();
+        }
+      } else if (targetStatistics == null) {
+        sorter.add(key);
+      } else {
+        sorter.add(key + "\t" + resource.getId() + "\t" + resource.getVersion());
+      }
+    }
+  }
+
+  /** Collects the target records to delete and deletes them in parallel once a batch is full. */
+  private final class BatchDeleter {
+    private final DeletionSupport<PagedQueryT> deletionSupport;
+    private final DeletionStatistics statistics;
+    private final List<String> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+
+    private BatchDeleter(
+        @Nonnull final DeletionSupport<PagedQueryT> deletionSupport,
+        @Nonnull final DeletionStatistics statistics) {
+      this.deletionSupport = deletionSupport;
+      this.statistics = statistics;
+    }
+
+    private void add(@Nonnull final String targetRecord) {
+      statistics.incrementOnlyInTarget();
+      if (statistics.isDryRun()) {
+        return;
+      }
+      batch.add(targetRecord);
+      if (batch.size() >= DELETE_BATCH_SIZE) {
+        flush();
+      }
+    }
+
+    private void flush() {
+      if (batch.isEmpty()) {
+        return;
+      }
+      final CompletableFuture<?>[] deletions =
+          batch.stream().map(this::deleteTargetRecord).toArray(CompletableFuture[]::new);
+      CompletableFuture.allOf(deletions).join();
+      batch.clear();
+    }
+
+    @Nonnull
+    private CompletableFuture<Void> deleteTargetRecord(@Nonnull final String targetRecord) {
+      final String[] fields = targetRecord.split("\t");
+      return deletionSupport
+          .deleteTargetResource(fields[1], Long.parseLong(fields[2]))
+          .toCompletableFuture()
+          .handle(
+              (result, throwable) -> {
+                if (throwable == null) {
+                  statistics.incrementDeleted();
+                } else {
+                  statistics.incrementFailed();
+                  getLoggerInstance()
+                      .error(
+                          format("Failed to delete the resource with key '%s'.", fields[0]),
+                          throwable);
+                }
+                return null;
+              });
+    }
+  }
+
   /**
    * Given a {@link List} representing a page of resources of type {@code T}, this method creates a
    * {@link CompletableFuture} of each sync process on the given page as a batch.
    */
   @Nonnull
   private SyncStatisticsT syncPage(@Nonnull final List<ResourceT> page) {
-    return transform(page).thenCompose(sync::sync).toCompletableFuture().join();
+    return syncPage(sync, page);
+  }
+
+  /**
+   * Same as {@link #syncPage(List)}, but the page is synced by the given sync instead of the sync
+   * of this syncer, e.g. by the sync of a partition.
+   */
+  @Nonnull
+  protected SyncStatisticsT syncPage(
+      @Nonnull final BaseSyncT targetSync, @Nonnull final List<ResourceT> page) {
+    return syncPage(targetSync, page, draft -> {});
+  }
+
+  @Nonnull
+  private SyncStatisticsT syncPage(
+      @Nonnull final BaseSyncT targetSync,
+      @Nonnull final List<ResourceT> page,
+      @Nonnull final Consumer<ResourceDraftT> draftConsumer) {
+    refreshReferenceKeys(page);
+    return transform(page)
+        .thenApply(this::postProcess)
+        .thenApply(
+            drafts -> {
+              drafts.forEach(draftConsumer);
+              markSynced(drafts);
+              return drafts;
+            })
+        .thenCompose(targetSync::sync)
+        .toCompletableFuture()
+        .join();
+  }
+
+  /**
+   * Marks the resources of the given drafts as synced by this run, so their dead letters of the
+   * previous run are replaced by the outcome of this run.
+   */
+  private void markSynced(@Nonnull final List<ResourceDraftT> drafts) {
+    final String syncModuleName = getSyncModuleName(sync.getClass());
+    for (ResourceDraftT draft : drafts) {
+      if (draft instanceof WithKey) {
+        DeadLetters.markSynced(syncModuleName, ((WithKey) draft).getKey());
+      }
+    }
+  }
+
+  /**
+   * Adds the keys of the fetched resources to the reference id to key cache, which is kept between
+   * runs with the {@code --referenceCacheDir} option. A resource whose key was changed is fetched
+   * again by the next delta sync, so this replaces the outdated key of its cached entry.
+   */
+  static void refreshReferenceKeys(@Nonnull final List<? extends BaseResource> page) {
+    for (BaseResource resource : page) {
+      final String key = resource instanceof WithKey ? ((WithKey) resource).getKey() : null;
+      if (key != null && !key.isEmpty()) {
+        referenceIdToKeyCache.add(resource.getId(), key);
+      }
+    }
+  }
+
+  @Nonnull
+  private List<ResourceDraftT> postProcess(@Nonnull final List<ResourceDraftT> drafts) {
+    final DraftPostProcessor<ResourceDraftT> draftPostProcessor = getDraftPostProcessor();
+    return draftPostProcessor == null
+        ? drafts
+        : DraftPostProcessor.processAll(drafts, draftPostProcessor);
   }
 
   /**
@@ -276,6 +1023,71 @@ public abstract class Syncer<
   @Nonnull
   protected abstract PagedQueryT getQuery();
 
+  /**
+   * Returns the type id of the resources in the message feed (e.g. "product"), which is needed to
+   * read the changed resources from the change feed. Syncers of resources without messages, or
+   * whose update actions mostly create no message (e.g. categories), return {@code null}, which is
+   * the default, and only query the changed resources.
+   */
+  @Nullable
+  protected String getMessageResourceTypeId() {
+    return null;
+  }
+
+  /**
+   * Returns the reader of the source resources with a lean GraphQL query, which is used instead of
+   * {@link #getQuery()} by full syncs and delta syncs by query if the GraphQL source is enabled.
+   * Syncers which don't support it return {@code null}, which is the default, and always use the
+   * REST query.
+   */
+  @Nullable
+  protected GraphQlSourceReader<ResourceT> getGraphQlSourceReader() {
+    return null;
+  }
+
+  /**
+   * Returns the post-processor which is applied to the drafts of every page after {@link
+   * #transform(List)} and before they are synced. Syncers whose drafts don't need to be changed
+   * return {@code null}, which is the default.
+   */
+  @Nullable
+  protected DraftPostProcessor<ResourceDraftT> getDraftPostProcessor() {
+    return null;
+  }
+
+  /**
+   * Syncs the resources of the given change feed which a syncer can sync with less data than the
+   * regular path, e.g. products with only price changes, and returns the ids of the synced
+   * resources. The other changed resources are fetched and synced as usual. Syncers without a fast
+   * path sync no resources, which is the default.
+   */
+  @Nonnull
+  protected CompletionStage<Set<String>> syncFastPath(@Nonnull final ChangeFeed changeFeed) {
+    return CompletableFuture.completedFuture(Collections.emptySet());
+  }
+
+  /** Returns true if this syncer reads and syncs partitions, see {@link PartitionSupport}. */
+  public boolean supportsPartitions() {
+    return this instanceof PartitionSupport;
+  }
+
+  /** Returns true if this syncer deletes target resources, see {@link DeletionSupport}. */
+  public boolean supportsDeletion() {
+    return this instanceof DeletionSupport;
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private PartitionSupport<BaseSyncT> getPartitionSupport() {
+    return supportsPartitions() ? (PartitionSupport<BaseSyncT>) this : null;
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  private DeletionSupport<PagedQueryT> getDeletionSupport() {
+    return supportsDeletion() ? (DeletionSupport<PagedQueryT>) this : null;
+  }
+
   public BaseSyncT getSync() {
     return sync;
   }
@@ -287,4 +1099,24 @@ public abstract class Syncer<
   public ProjectApiRoot getSourceClient() {
     return sourceClient;
   }
+
+  @Nonnull
+  public ProjectApiRoot getTargetClient() {
+    return targetClient;
+  }
+
+  @Nonnull
+  protected static ReferenceIdToKeyCache getReferenceIdToKeyCache() {
+    return referenceIdToKeyCache;
+  }
+
+  /** Replaces the reference id to key cache of the syncers which are built afterwards. */
+  static void setReferenceIdToKeyCache(@Nonnull final ReferenceIdToKeyCache cache) {
+    referenceIdToKeyCache = cache;
+  }
+
+  @Nonnull
+  static ReferenceIdToKeyCache createDefaultReferenceIdToKeyCache() {
+    return new CompactReferenceIdToKeyCache(CacheBudget.current().getReferenceCacheSize());
+  }
 }
@@ -3,7 +3,11 @@ package com.commercetools.project.sync;
 import static com.commercetools.project.sync.util.CtpClientUtils.CTP_SOURCE_CLIENT;
 import static com.commercetools.project.sync.util.CtpClientUtils.CTP_TARGET_CLIENT;
 
+import ch.qos.logback.classic.LoggerContext;
+import com.commercetools.project.sync.event.ChangeEventConsumption;
 import java.time.Clock;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
 
 public class SyncerApplication {
 
@@ -13,10 +17,29 @@ public class SyncerApplication {
    * @param args all args
    */
   public static void main(final String[] args) {
-    CliRunner.of()
-        .run(
-            args,
-            SyncerFactory.of(
-                () -> CTP_SOURCE_CLIENT, () -> CTP_TARGET_CLIENT, Clock.systemDefaultZone()));
+    final SyncerFactory syncerFactory =
+        SyncerFactory.of(
+            () -> CTP_SOURCE_CLIENT, () -> CTP_TARGET_CLIENT, Clock.systemDefaultZone());
+    // On termination, the change events already appended to the file are still synced, and the
+    // asynchronous log appender is stopped only afterwards, so the log lines of the last
+    // micro-batch and of the run summary are flushed.
+    Runtime.getRuntime()
+        .addShutdownHook(
+            new Thread(
+                () -> {
+                  syncerFactory
+                      .getChangeEventConsumption()
+                      .ifPresent(ChangeEventConsumption::close);
+                  stopLogging();
+                },
+                "syncer-shutdown"));
+    CliRunner.of().run(args, syncerFactory);
+  }
+
+  private static void stopLogging() {
+    final ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+    if (loggerFactory instanceof LoggerContext) {
+      ((LoggerContext) loggerFactory).stop();
+    }
   }
 }
@@ -1,5 +1,8 @@
 package com.commercetools.project.sync;
 
+import static com.commercetools.project.sync.CliRunner.DELETE_OPTION_LONG;
+import static com.commercetools.project.sync.CliRunner.GRAPHQL_SOURCE_OPTION_LONG;
+import static com.commercetools.project.sync.CliRunner.PRODUCT_TYPE_PARTITIONS_OPTION_LONG;
 import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_ALL;
 import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_DESCRIPTION;
 import static com.commercetools.project.sync.CliRunner.SYNC_MODULE_OPTION_LONG;
@@ -13,28 +16,56 @@ import com.commercetools.api.client.ProjectApiRoot;
 import com.commercetools.api.models.ResourcePagedQueryResponse;
 import com.commercetools.api.models.ResourceUpdateAction;
 import com.commercetools.api.models.common.BaseResource;
+import com.commercetools.project.sync.cache.CacheBudget;
+import com.commercetools.project.sync.cache.CacheStatistics;
+import com.commercetools.project.sync.cache.MappedReferenceIdToKeyCache;
+import com.commercetools.project.sync.cache.TargetKeyCache;
+import com.commercetools.project.sync.cache.TargetKeyCacheMiddleware;
 import com.commercetools.project.sync.cartdiscount.CartDiscountSyncer;
 import com.commercetools.project.sync.category.CategorySyncer;
 import com.commercetools.project.sync.customer.CustomerSyncer;
 import com.commercetools.project.sync.customobject.CustomObjectSyncer;
+import com.commercetools.project.sync.deadletter.DeadLetterFile;
+import com.commercetools.project.sync.deadletter.DeadLetters;
+import com.commercetools.project.sync.event.ChangeEventConsumer;
+import com.commercetools.project.sync.event.ChangeEventConsumption;
+import com.commercetools.project.sync.event.ChangeEventQueue;
+import com.commercetools.project.sync.event.FileChangeEventQueue;
+import com.commercetools.project.sync.event.MicroBatchCoalescer;
 import com.commercetools.project.sync.exception.CliException;
+import com.commercetools.project.sync.hedging.HedgingStatistics;
+import com.commercetools.project.sync.http.EndpointMetrics;
+import com.commercetools.project.sync.http.EndpointStatistics;
+import com.commercetools.project.sync.http.HttpClientMetrics;
 import com.commercetools.project.sync.inventoryentry.InventoryEntrySyncer;
+import com.commercetools.project.sync.logging.DropCountingAsyncAppender;
+import com.commercetools.project.sync.logging.DroppedLogEvents;
 import com.commercetools.project.sync.model.ProductSyncCustomRequest;
+import com.commercetools.project.sync.model.SyncRunOptions;
 import com.commercetools.project.sync.product.ProductSyncer;
 import com.commercetools.project.sync.producttype.ProductTypeSyncer;
+import com.commercetools.project.sync.retry.RetryStatistics;
 import com.commercetools.project.sync.shoppinglist.ShoppingListSyncer;
 import com.commercetools.project.sync.state.StateSyncer;
 import com.commercetools.project.sync.taxcategory.TaxCategorySyncer;
 import com.commercetools.project.sync.type.TypeSyncer;
+import com.commercetools.project.sync.util.ErrorAggregator;
 import com.commercetools.sync.commons.BaseSync;
 import com.commercetools.sync.commons.BaseSyncOptions;
 import com.commercetools.sync.commons.helpers.BaseSyncStatistics;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
@@ -42,12 +73,21 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import net.logstash.logback.marker.Markers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public final class SyncerFactory {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SyncerFactory.class);
+  private static final String TARGET_KEY_CACHE_FILE_SUFFIX = ".target-keys.tsv.gz";
+  private static final String REFERENCE_CACHE_FILE_SUFFIX = ".reference-keys.bin";
+  private static final String DEAD_LETTER_FILE_SUFFIX = ".dead-letters.ndjson.gz";
+
   private final Supplier<ProjectApiRoot> targetClientSupplier;
   private final Supplier<ProjectApiRoot> sourceClientSupplier;
   private final Clock clock;
   private final boolean shouldCloseClients;
+  private volatile ChangeEventConsumption changeEventConsumption;
 
   private SyncerFactory(
       @Nonnull final Supplier<ProjectApiRoot> sourceClient,
@@ -84,14 +124,82 @@ public final class SyncerFactory {
       final boolean isFullSync,
       final boolean isSyncProjectSyncCustomObjects,
       @Nullable final ProductSyncCustomRequest productSyncCustomRequest) {
+    return sync(
+        syncOptionValues,
+        runnerNameOptionValue,
+        isFullSync,
+        isSyncProjectSyncCustomObjects,
+        productSyncCustomRequest,
+        SyncRunOptions.of());
+  }
+
+  @Nonnull
+  CompletableFuture<Void> sync(
+      @Nonnull final String[] syncOptionValues,
+      @Nullable final String runnerNameOptionValue,
+      final boolean isFullSync,
+      final boolean isSyncProjectSyncCustomObjects,
+      @Nullable final ProductSyncCustomRequest productSyncCustomRequest,
+      @Nonnull final SyncRunOptions syncRunOptions) {
 
     final List<SyncModuleOption> syncModuleOptions;
+    final List<SyncModuleOption> deleteModuleOptions;
     try {
       syncModuleOptions = validateAndCollectSyncOptionValues(syncOptionValues);
+      final String[] deleteOptionValues = syncRunOptions.getDeleteSyncOptionValues();
+      deleteModuleOptions =
+          deleteOptionValues == null
+              ? new ArrayList<>()
+              : validateAndCollectDeleteOptionValues(deleteOptionValues);
+      validateProductTypePartitions(syncModuleOptions, syncRunOptions);
     } catch (CliException exception) {
       return exceptionallyCompletedFuture(exception);
     }
 
+    final Map<SyncModuleOption, List<String>> deadLetterKeys;
+    final List<DeadLetterFile> deadLetterFiles;
+    try {
+      deadLetterKeys =
+          syncRunOptions.isReplay()
+              ? readDeadLetterKeys(syncModuleOptions, syncRunOptions)
+              : new HashMap<>();
+      deadLetterFiles = activateDeadLetterFiles(syncModuleOptions, syncRunOptions);
+    } catch (UncheckedIOException exception) {
+      return exceptionallyCompletedFuture(exception);
+    }
+
+    final MappedReferenceIdToKeyCache referenceCache;
+    try {
+      referenceCache = openReferenceCache(syncRunOptions);
+    } catch (UncheckedIOException exception) {
+      closeDeadLetterFiles(deadLetterFiles);
+      return exceptionallyCompletedFuture(exception);
+    }
+    final TargetKeyCache targetKeyCache = loadTargetKeyCache(syncRunOptions);
+    ErrorAggregator.clearAll();
+
+    if (syncRunOptions.isReplay()) {
+      return replayDeadLetters(
+              syncModuleOptions,
+              deadLetterKeys,
+              runnerNameOptionValue,
+              isSyncProjectSyncCustomObjects)
+          .whenComplete(
+              (syncResult, throwable) ->
+                  completeRun(targetKeyCache, referenceCache, deadLetterFiles));
+    }
+
+    if (syncRunOptions.getChangeEventFile() != null) {
+      return consumeChangeEvents(
+              syncModuleOptions,
+              runnerNameOptionValue,
+              isSyncProjectSyncCustomObjects,
+              syncRunOptions)
+          .whenComplete(
+              (syncResult, throwable) ->
+                  completeRun(targetKeyCache, referenceCache, deadLetterFiles));
+    }
+
     final Collection<List<SyncModuleOption>> groupedSyncModuleOptions =
         groupSyncModuleOptions(syncModuleOptions);
     CompletableFuture<Void> stagedSyncersToRunSequentially =
@@ -106,15 +214,443 @@ public final class SyncerFactory {
                       isFullSync,
                       isSyncProjectSyncCustomObjects,
                       syncOptions,
-                      productSyncCustomRequest));
+                      productSyncCustomRequest,
+                      syncRunOptions));
+    }
+
+    // Resources are deleted in the reverse order of the sync, so referencing resources (e.g.
+    // products) are deleted before the resources they reference (e.g. categories).
+    final List<List<SyncModuleOption>> groupedDeleteModuleOptions =
+        new ArrayList<>(groupSyncModuleOptions(deleteModuleOptions));
+    Collections.reverse(groupedDeleteModuleOptions);
+    for (List<SyncModuleOption> deleteOptions : groupedDeleteModuleOptions) {
+      stagedSyncersToRunSequentially =
+          stagedSyncersToRunSequentially.thenCompose(
+              ignore ->
+                  chainDeleteExecution(
+                      runnerNameOptionValue,
+                      isSyncProjectSyncCustomObjects,
+                      deleteOptions,
+                      syncRunOptions.isDeleteDryRun()));
     }
 
     return stagedSyncersToRunSequentially.whenComplete(
-        (syncResult, throwable) -> {
-          if (shouldCloseClients) {
-            closeClients();
-          }
-        });
+        (syncResult, throwable) -> completeRun(targetKeyCache, referenceCache, deadLetterFiles));
+  }
+
+  private void completeRun(
+      @Nullable final TargetKeyCache targetKeyCache,
+      @Nullable final MappedReferenceIdToKeyCache referenceCache,
+      @Nonnull final List<DeadLetterFile> deadLetterFiles) {
+    if (targetKeyCache != null) {
+      persistTargetKeyCache(targetKeyCache);
+    }
+    closeDeadLetterFiles(deadLetterFiles);
+    logClientStatistics();
+    logCacheStatistics();
+    logErrorStatistics();
+    logDroppedLogEvents();
+    if (referenceCache != null) {
+      closeReferenceCache(referenceCache);
+    }
+    if (shouldCloseClients) {
+      closeClients();
+    }
+  }
+
+  /**
+   * Consumes the change events of the file given in the {@link SyncRunOptions} on the thread of a
+   * {@link ChangeEventConsumption} until it is closed. The events are coalesced into
+   * micro-batches, whose resources are synced by the syncers of the given modules, module by module
+   * in the staged order of a sync, so referenced resources are synced before the resources which
+   * reference them. The keys of a module batch which fails as a whole are written to the dead
+   * letters of the module. Events of other modules are skipped.
+   */
+  @Nonnull
+  private CompletableFuture<Void> consumeChangeEvents(
+      @Nonnull final List<SyncModuleOption> syncModuleOptions,
+      @Nullable final String runnerNameOptionValue,
+      final boolean isSyncProjectSyncCustomObjects,
+      @Nonnull final SyncRunOptions syncRunOptions) {
+    final Map<String, Syncer<?, ?, ?, ?, ?, ?, ?, ?, ?>> syncers = new HashMap<>();
+    CacheBudget.allocateFor(syncModuleOptions.size());
+    for (SyncModuleOption syncModuleOption : syncModuleOptions) {
+      syncers.put(
+          syncModuleOption.getSyncOptionValue(),
+          buildSyncer(
+              syncModuleOption, runnerNameOptionValue, isSyncProjectSyncCustomObjects, null));
+    }
+
+    final ChangeEventQueue queue;
+    try {
+      queue = FileChangeEventQueue.of(Paths.get(syncRunOptions.getChangeEventFile()), true);
+    } catch (UncheckedIOException exception) {
+      return exceptionallyCompletedFuture(exception);
+    }
+    final ChangeEventConsumer consumer =
+        new ChangeEventConsumer(
+            queue,
+            new MicroBatchCoalescer(
+                syncRunOptions.getMicroBatchSize(),
+                Duration.ofMillis(syncRunOptions.getMicroBatchLatencyMillis()),
+                clock),
+            (syncOptionValue, resourceKeys) -> {
+              final Syncer<?, ?, ?, ?, ?, ?, ?, ?, ?> syncer = syncers.get(syncOptionValue);
+              if (syncer == null) {
+                if (LOGGER.isWarnEnabled()) {
+                  LOGGER.warn(
+                      format(
+                          "Skipped %d change event(s) of the module \"%s\", which is not synced.",
+                          resourceKeys.size(), syncOptionValue));
+                }
+                return CompletableFuture.completedFuture(null);
+              }
+              ErrorAggregator.startNewSamples();
+              final String syncModuleName =
+                  SyncModuleOption.getSyncModuleOptionBySyncOptionValue(syncOptionValue)
+                      .getSyncModuleName();
+              return syncer
+                  .syncByKeys(resourceKeys)
+                  .whenComplete(
+                      (ignoredResult, throwable) -> {
+                        if (throwable != null) {
+                          DeadLetters.writeKeys(syncModuleName, resourceKeys, throwable);
+                        }
+                      });
+            },
+            groupSyncModuleOptions(syncModuleOptions).stream()
+                .map(
+                    stage ->
+                        stage.stream()
+                            .map(SyncModuleOption::getSyncOptionValue)
+                            .collect(Collectors.toList()))
+                .collect(Collectors.toList()),
+            clock);
+
+    final ChangeEventConsumption consumption = ChangeEventConsumption.start(consumer, queue);
+    changeEventConsumption = consumption;
+    return consumption.getCompletion();
+  }
+
+  /**
+   * Returns the handle of the change event consumer started by the last {@link #sync} with a change
+   * event file, if any. Closing it on termination stops the consumer after the events already
+   * appended to the file are synced.
+   */
+  @Nonnull
+  public Optional<ChangeEventConsumption> getChangeEventConsumption() {
+    return Optional.ofNullable(changeEventConsumption);
+  }
+
+  /**
+   * Syncs the resources with the given dead letter keys of the previous run again, module by module
+   * in the staged order of a sync, so referenced resources are replayed before the resources which
+   * reference them. The keys are fetched in batches by {@link Syncer#syncByKeys(List)}; the last
+   * sync timestamps of the modules are not changed.
+   */
+  @Nonnull
+  private CompletableFuture<Void> replayDeadLetters(
+      @Nonnull final List<SyncModuleOption> syncModuleOptions,
+      @Nonnull final Map<SyncModuleOption, List<String>> deadLetterKeys,
+      @Nullable final String runnerNameOptionValue,
+      final boolean isSyncProjectSyncCustomObjects) {
+    CompletableFuture<Void> stagedReplays = CompletableFuture.completedFuture(null);
+    for (List<SyncModuleOption> syncOptions : groupSyncModuleOptions(syncModuleOptions)) {
+      stagedReplays =
+          stagedReplays.thenCompose(
+              ignore -> {
+                CacheBudget.allocateFor(syncOptions.size());
+                final List<CompletableFuture<Void>> replaysToRunParallel = new ArrayList<>();
+                for (SyncModuleOption syncModuleOption : syncOptions) {
+                  replaysToRunParallel.add(
+                      replayDeadLetters(
+                          syncModuleOption,
+                          deadLetterKeys.getOrDefault(syncModuleOption, new ArrayList<>()),
+                          runnerNameOptionValue,
+                          isSyncProjectSyncCustomObjects));
+                }
+                return CompletableFuture.allOf(
+                    replaysToRunParallel.toArray(new CompletableFuture[0]));
+              });
+    }
+    return stagedReplays;
+  }
+
+  @Nonnull
+  private CompletableFuture<Void> replayDeadLetters(
+      @Nonnull final SyncModuleOption syncModuleOption,
+      @Nonnull final List<String> keys,
+      @Nullable final String runnerNameOptionValue,
+      final boolean isSyncProjectSyncCustomObjects) {
+    if (LOGGER.isInfoEnabled()) {
+      LOGGER.info(
+          format(
+              "Replaying %d dead letter(s) of the %s.",
+              keys.size(), syncModuleOption.getSyncModuleName()));
+    }
+    if (keys.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    final Syncer<?, ?, ?, ?, ?, ?, ?, ?, ?> syncer =
+        buildSyncer(syncModuleOption, runnerNameOptionValue, isSyncProjectSyncCustomObjects, null);
+    return syncer
+        .syncByKeys(keys)
+        .thenAccept(
+            ignore -> {
+              if (LOGGER.isInfoEnabled()) {
+                LOGGER.info(
+                    Markers.append("statistics", syncer.getSync().getStatistics()),
+                    syncer.getSync().getStatistics().getReportMessage());
+              }
+            })
+        .toCompletableFuture();
+  }
+
+  /**
+   * Reads the keys of the dead letter files of the previous run of the given modules from the
+   * directory given in the {@link SyncRunOptions}. It must be called before the files are replaced
+   * by {@link #activateDeadLetterFiles(List, SyncRunOptions)}.
+   */
+  @Nonnull
+  private Map<SyncModuleOption, List<String>> readDeadLetterKeys(
+      @Nonnull final List<SyncModuleOption> syncModuleOptions,
+      @Nonnull final SyncRunOptions syncRunOptions) {
+    final Map<SyncModuleOption, List<String>> deadLetterKeys = new HashMap<>();
+    for (SyncModuleOption syncModuleOption : syncModuleOptions) {
+      deadLetterKeys.put(
+          syncModuleOption,
+          DeadLetterFile.readKeys(getDeadLetterFile(syncModuleOption, syncRunOptions)));
+    }
+    return deadLetterKeys;
+  }
+
+  /**
+   * Creates the dead letter files of the given modules in the directory given in the {@link
+   * SyncRunOptions} and lets the error callbacks of the syncers write the failed drafts to them.
+   * Except for a replay, the dead letters of the previous run whose resources are not synced again
+   * are kept in the files.
+   *
+   * @return the activated files, which are empty if no dead letter directory is set.
+   */
+  @Nonnull
+  private List<DeadLetterFile> activateDeadLetterFiles(
+      @Nonnull final List<SyncModuleOption> syncModuleOptions,
+      @Nonnull final SyncRunOptions syncRunOptions) {
+    final List<DeadLetterFile> deadLetterFiles = new ArrayList<>();
+    if (isBlank(syncRunOptions.getDeadLetterDirectory())) {
+      return deadLetterFiles;
+    }
+    try {
+      for (SyncModuleOption syncModuleOption : syncModuleOptions) {
+        final Path file = getDeadLetterFile(syncModuleOption, syncRunOptions);
+        // a replay syncs all dead letters of the previous run, other runs keep the ones they
+        // don't sync again.
+        final DeadLetterFile deadLetterFile =
+            syncRunOptions.isReplay()
+                ? DeadLetterFile.create(file)
+                : DeadLetterFile.createKeepingUnsynced(file);
+        deadLetterFiles.add(deadLetterFile);
+        DeadLetters.activate(syncModuleOption.getSyncModuleName(), deadLetterFile);
+      }
+    } catch (UncheckedIOException exception) {
+      closeDeadLetterFiles(deadLetterFiles);
+      throw exception;
+    }
+    return deadLetterFiles;
+  }
+
+  @Nonnull
+  private Path getDeadLetterFile(
+      @Nonnull final SyncModuleOption syncModuleOption,
+      @Nonnull final SyncRunOptions syncRunOptions) {
+    final String sourceProjectKey = sourceClientSupplier.get().getProjectKey();
+    return Paths.get(syncRunOptions.getDeadLetterDirectory())
+        .resolve(
+            sourceProjectKey
+                + "."
+                + syncModuleOption.getSyncOptionValue()
+                + DEAD_LETTER_FILE_SUFFIX);
+  }
+
+  private static void closeDeadLetterFiles(@Nonnull final List<DeadLetterFile> deadLetterFiles) {
+    for (SyncModuleOption syncModuleOption : SyncModuleOption.values()) {
+      DeadLetters.deactivate(syncModuleOption.getSyncModuleName());
+    }
+    for (DeadLetterFile deadLetterFile : deadLetterFiles) {
+      try {
+        deadLetterFile.close();
+        if (LOGGER.isInfoEnabled()) {
+          LOGGER.info(
+              format(
+                  "Wrote %d dead letter(s) to '%s'.",
+                  deadLetterFile.getDeadLetters(), deadLetterFile.getFile()));
+        }
+      } catch (UncheckedIOException exception) {
+        LOGGER.warn(exception.getMessage(), exception);
+      }
+    }
+  }
+
+  /**
+   * Loads the persisted key to (id, version) cache of the target project from the directory given
+   * in the {@link SyncRunOptions} and activates it for the target client.
+   *
+   * @return the activated cache or {@code null} if no cache directory is set.
+   */
+  @Nullable
+  private TargetKeyCache loadTargetKeyCache(@Nonnull final SyncRunOptions syncRunOptions) {
+    final String cacheDirectory = syncRunOptions.getTargetKeyCacheDirectory();
+    if (isBlank(cacheDirectory)) {
+      return null;
+    }
+    final String targetProjectKey = targetClientSupplier.get().getProjectKey();
+    final TargetKeyCache targetKeyCache =
+        TargetKeyCache.load(
+            Paths.get(cacheDirectory).resolve(targetProjectKey + TARGET_KEY_CACHE_FILE_SUFFIX));
+    TargetKeyCacheMiddleware.activate(targetKeyCache);
+    if (LOGGER.isInfoEnabled()) {
+      LOGGER.info(
+          format(
+              "Loaded %d entries of the target key cache from '%s'.",
+              targetKeyCache.size(), targetKeyCache.getFile()));
+    }
+    return targetKeyCache;
+  }
+
+  /**
+   * Opens the memory-mapped reference id to key cache of the source project in the directory given
+   * in the {@link SyncRunOptions} and lets the syncers use it instead of the in-memory cache.
+   *
+   * @return the opened cache or {@code null} if no cache directory is set.
+   */
+  @Nullable
+  private MappedReferenceIdToKeyCache openReferenceCache(
+      @Nonnull final SyncRunOptions syncRunOptions) {
+    final String cacheDirectory = syncRunOptions.getReferenceCacheDirectory();
+    if (isBlank(cacheDirectory)) {
+      return null;
+    }
+    final String sourceProjectKey = sourceClientSupplier.get().getProjectKey();
+    final MappedReferenceIdToKeyCache referenceCache =
+        MappedReferenceIdToKeyCache.open(
+            Paths.get(cacheDirectory).resolve(sourceProjectKey + REFERENCE_CACHE_FILE_SUFFIX));
+    Syncer.setReferenceIdToKeyCache(referenceCache);
+    if (LOGGER.isInfoEnabled()) {
+      LOGGER.info(
+          format(
+              "Opened the reference id to key cache with %d entries from '%s'.",
+              referenceCache.getSize(), referenceCache.getFile()));
+    }
+    return referenceCache;
+  }
+
+  private static void closeReferenceCache(
+      @Nonnull final MappedReferenceIdToKeyCache referenceCache) {
+    Syncer.setReferenceIdToKeyCache(Syncer.createDefaultReferenceIdToKeyCache());
+    try {
+      referenceCache.close();
+    } catch (UncheckedIOException exception) {
+      LOGGER.warn(exception.getMessage(), exception);
+    }
+  }
+
+  private static void logClientStatistics() {
+    for (HttpClientMetrics httpClientMetrics : HttpClientMetrics.getAll()) {
+      if (LOGGER.isInfoEnabled()) {
+        LOGGER.info(httpClientMetrics.getReportMessage());
+      }
+    }
+    for (RetryStatistics retryStatistics : RetryStatistics.getAll()) {
+      if (retryStatistics.getRetries() + retryStatistics.getDeniedRetries() > 0
+          && LOGGER.isInfoEnabled()) {
+        LOGGER.info(
+            Markers.append("retryStatistics", retryStatistics.getRetriesByResource()),
+            retryStatistics.getReportMessage());
+      }
+    }
+    final Map<String, Long> retriesBySyncModule = RetryStatistics.getRetriesBySyncModule();
+    if (!retriesBySyncModule.isEmpty() && LOGGER.isInfoEnabled()) {
+      LOGGER.info(
+          Markers.append("retriesBySyncModule", retriesBySyncModule),
+          format("Retries per sync module: %s", retriesBySyncModule));
+    }
+    for (HedgingStatistics hedgingStatistics : HedgingStatistics.getAll()) {
+      if (hedgingStatistics.getHedgedRequests() + hedgingStatistics.getDeniedHedgedRequests() > 0
+          && LOGGER.isInfoEnabled()) {
+        LOGGER.info(hedgingStatistics.getReportMessage());
+      }
+    }
+    for (EndpointMetrics endpointMetrics : EndpointMetrics.getAll()) {
+      if (endpointMetrics.getFirstRequestUptimeInMillis() >= 0 && LOGGER.isInfoEnabled()) {
+        LOGGER.info(
+            Markers.append(
+                "firstRequestUptimeInMillis", endpointMetrics.getFirstRequestUptimeInMillis()),
+            format(
+                "The first request of the %s client was sent %d ms after the start of the JVM.",
+                endpointMetrics.getClientName(), endpointMetrics.getFirstRequestUptimeInMillis()));
+      }
+      for (EndpointStatistics endpointStatistics : endpointMetrics.getEndpointStatistics()) {
+        if (LOGGER.isInfoEnabled()) {
+          LOGGER.info(
+              Markers.append("endpoint", endpointStatistics.getEndpoint())
+                  .and(
+                      Markers.append(
+                          "responsesByStatusCode", endpointStatistics.getResponsesByStatusCode())),
+              endpointStatistics.getReportMessage(endpointMetrics.getClientName()));
+        }
+      }
+    }
+  }
+
+  private static void logCacheStatistics() {
+    if (LOGGER.isInfoEnabled()) {
+      LOGGER.info(CacheBudget.current().getReportMessage());
+      if (Syncer.getReferenceIdToKeyCache() instanceof CacheStatistics) {
+        LOGGER.info(
+            ((CacheStatistics) Syncer.getReferenceIdToKeyCache())
+                .getReportMessage("reference id to key cache"));
+      }
+    }
+  }
+
+  private static void logErrorStatistics() {
+    for (ErrorAggregator errorAggregator : ErrorAggregator.getAll()) {
+      if (errorAggregator.getErrors() > 0 && LOGGER.isInfoEnabled()) {
+        LOGGER.info(
+            Markers.append("errorsByType", errorAggregator.getErrorsByType())
+                .and(DropCountingAsyncAppender.NEVER_DISCARDED),
+            errorAggregator.getReportMessage());
+      }
+    }
+  }
+
+  private static void logDroppedLogEvents() {
+    if (DroppedLogEvents.getDroppedEvents() > 0 && LOGGER.isWarnEnabled()) {
+      LOGGER.warn(
+          Markers.append("droppedLogEventsByLevel", DroppedLogEvents.getDroppedEventsByLevel())
+              .and(DropCountingAsyncAppender.NEVER_DISCARDED),
+          DroppedLogEvents.getReportMessage());
+    }
+  }
+
+  private static void persistTargetKeyCache(@Nonnull final TargetKeyCache targetKeyCache) {
+    TargetKeyCacheMiddleware.deactivate();
+    try {
+      targetKeyCache.persist();
+      if (LOGGER.isInfoEnabled()) {
+        LOGGER.info(
+            format(
+                "Persisted %d entries of the target key cache to '%s' "
+                    + "(%d hits, %d misses and %d invalidations in this run).",
+                targetKeyCache.size(),
+                targetKeyCache.getFile(),
+                targetKeyCache.getHits(),
+                targetKeyCache.getMisses(),
+                targetKeyCache.getInvalidations()));
+      }
+    } catch (UncheckedIOException exception) {
+      LOGGER.warn(exception.getMessage(), exception);
+    }
   }
 
   @Nonnull
@@ -123,8 +659,10 @@ public final class SyncerFactory {
       final boolean isFullSync,
       final boolean isSyncProjectSyncCustomObjects,
       final List<SyncModuleOption> syncOptions,
-      @Nullable final ProductSyncCustomRequest productSyncCustomRequest) {
+      @Nullable final ProductSyncCustomRequest productSyncCustomRequest,
+      @Nonnull final SyncRunOptions syncRunOptions) {
     final List<CompletableFuture<Void>> syncersToRunParallel = new ArrayList<>();
+    CacheBudget.allocateFor(syncOptions.size());
 
     for (SyncModuleOption syncOptionValue : syncOptions) {
       Syncer<
@@ -142,14 +680,40 @@ public final class SyncerFactory {
                   syncOptionValue,
                   runnerNameOptionValue,
                   isSyncProjectSyncCustomObjects,
-                  productSyncCustomRequest);
+                  productSyncCustomRequest,
+                  syncRunOptions);
       syncersToRunParallel.add(
-          syncer.sync(runnerNameOptionValue, isFullSync).toCompletableFuture());
+          syncer
+              .sync(
+                  runnerNameOptionValue,
+                  isFullSync,
+                  syncRunOptions.isChangeFeedSync(),
+                  syncRunOptions.isGraphQlSource())
+              .toCompletableFuture());
     }
 
     return CompletableFuture.allOf(syncersToRunParallel.toArray(new CompletableFuture[0]));
   }
 
+  @Nonnull
+  private CompletableFuture<Void> chainDeleteExecution(
+      @Nullable final String runnerNameOptionValue,
+      final boolean isSyncProjectSyncCustomObjects,
+      final List<SyncModuleOption> deleteOptions,
+      final boolean isDryRun) {
+    final List<CompletableFuture<Void>> deletionsToRunParallel = new ArrayList<>();
+
+    for (SyncModuleOption deleteOptionValue : deleteOptions) {
+      deletionsToRunParallel.add(
+          buildSyncer(
+                  deleteOptionValue, runnerNameOptionValue, isSyncProjectSyncCustomObjects, null)
+              .delete(isDryRun)
+              .toCompletableFuture());
+    }
+
+    return CompletableFuture.allOf(deletionsToRunParallel.toArray(new CompletableFuture[0]));
+  }
+
   @Nonnull
   private static List<SyncModuleOption> validateAndCollectSyncOptionValues(
       @Nonnull final String[] syncOptionValues) {
@@ -181,6 +745,57 @@ public final class SyncerFactory {
     }
   }
 
+  /**
+   * Same as {@link #validateAndCollectSyncOptionValues(String[])}, but only for the modules which
+   * support the deletion of target resources: "all" selects only these modules, and any other
+   * module is rejected.
+   */
+  @Nonnull
+  private static List<SyncModuleOption> validateAndCollectDeleteOptionValues(
+      @Nonnull final String[] deleteOptionValues) {
+    final List<SyncModuleOption> deleteModuleOptions =
+        validateAndCollectSyncOptionValues(deleteOptionValues);
+    if (deleteOptionValues.length == 1 && SYNC_MODULE_OPTION_ALL.equals(deleteOptionValues[0])) {
+      return deleteModuleOptions.stream()
+          .filter(SyncModuleOption::supportsDeletion)
+          .collect(Collectors.toList());
+    }
+    for (SyncModuleOption deleteModuleOption : deleteModuleOptions) {
+      if (!deleteModuleOption.supportsDeletion()) {
+        throw new CliException(
+            format(
+                "The module \"%s\" doesn't support the \"--%s\" option.",
+                deleteModuleOption.getSyncOptionValue(), DELETE_OPTION_LONG));
+      }
+    }
+    return deleteModuleOptions;
+  }
+
+  /**
+   * Rejects partitions if none of the given modules supports them, or if they are combined with the
+   * GraphQL source, which reads with a single cursor and would be ignored by a partitioned sync.
+   */
+  private static void validateProductTypePartitions(
+      @Nonnull final List<SyncModuleOption> syncModuleOptions,
+      @Nonnull final SyncRunOptions syncRunOptions) {
+    if (syncRunOptions.getProductTypePartitions() > SyncRunOptions.DEFAULT_PRODUCT_TYPE_PARTITIONS
+        && syncModuleOptions.stream().noneMatch(SyncModuleOption::supportsPartitions)) {
+      throw new CliException(
+          format(
+              "The \"--%s\" option requires a synced module which supports partitions, e.g. "
+                  + "\"%s\".",
+              PRODUCT_TYPE_PARTITIONS_OPTION_LONG,
+              SyncModuleOption.PRODUCT_SYNC.getSyncOptionValue()));
+    }
+    if (syncRunOptions.getProductTypePartitions() > SyncRunOptions.DEFAULT_PRODUCT_TYPE_PARTITIONS
+        && syncRunOptions.isGraphQlSource()) {
+      throw new CliException(
+          format(
+              "The \"--%s\" option can't be combined with the \"--%s\" option.",
+              PRODUCT_TYPE_PARTITIONS_OPTION_LONG, GRAPHQL_SOURCE_OPTION_LONG));
+    }
+  }
+
   private static void isSyncOptionValueAll(String syncOptionValue) {
     if (("all").equalsIgnoreCase(syncOptionValue)) {
       final String errorMessage =
@@ -302,6 +917,35 @@ public final class SyncerFactory {
           @Nonnull final String runnerNameOptionValue,
           final boolean syncProjectSyncCustomObjects,
           @Nullable final ProductSyncCustomRequest productSyncCustomRequest) {
+    return buildSyncer(
+        syncModuleOption,
+        runnerNameOptionValue,
+        syncProjectSyncCustomObjects,
+        productSyncCustomRequest,
+        SyncRunOptions.of());
+  }
+
+  /**
+   * Same as {@link #buildSyncer(SyncModuleOption, String, boolean, ProductSyncCustomRequest)}, but
+   * a product syncer is built with the product type partitions and the price fast path of the
+   * given options.
+   */
+  private Syncer<
+          ? extends BaseResource,
+          ? extends ResourceUpdateAction<?>,
+          ?,
+          ?,
+          ? extends BaseSyncStatistics,
+          ? extends BaseSyncOptions<?, ?, ?>,
+          ? extends PagedQueryResourceRequest<?, ?, ?>,
+          ? extends ResourcePagedQueryResponse<?>,
+          ? extends BaseSync<?, ?, ?, ?, ?>>
+      buildSyncer(
+          @Nonnull final SyncModuleOption syncModuleOption,
+          @Nonnull final String runnerNameOptionValue,
+          final boolean syncProjectSyncCustomObjects,
+          @Nullable final ProductSyncCustomRequest productSyncCustomRequest,
+          @Nonnull final SyncRunOptions syncRunOptions) {
 
     Syncer<
             ? extends BaseResource,
@@ -333,7 +977,9 @@ public final class SyncerFactory {
                 sourceClientSupplier.get(),
                 targetClientSupplier.get(),
                 clock,
-                productSyncCustomRequest);
+                productSyncCustomRequest,
+                syncRunOptions.getProductTypePartitions(),
+                syncRunOptions.isPriceFastPath());
         break;
       case INVENTORY_ENTRY_SYNC:
         syncer =
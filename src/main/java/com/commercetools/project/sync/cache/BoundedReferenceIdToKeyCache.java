@@ -0,0 +1,101 @@
+package com.commercetools.project.sync.cache;
+
+import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ReferenceIdToKeyCache} which keeps at most {@code maxSize} entries and evicts the least
+ * recently used entry beyond that. Unlike the Caffeine cache of sync-java, it counts its hits,
+ * misses and evictions, so they can be reported at the end of a run. A lookup is counted on {@link
+ * #containsKey(String)}, which the reference resolution of sync-java calls before {@link
+ * #get(String)}.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class BoundedReferenceIdToKeyCache implements ReferenceIdToKeyCache, CacheStatistics {
+  private final long maxSize;
+  private final Map<String, String> keysById;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  public BoundedReferenceIdToKeyCache(final long maxSize) {
+    this.maxSize = maxSize;
+    this.keysById =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+            if (size() > BoundedReferenceIdToKeyCache.this.maxSize) {
+              evictions++;
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  @Override
+  public synchronized void add(@Nonnull final String id, @Nonnull final String key) {
+    keysById.put(id, key);
+  }
+
+  @Override
+  public synchronized void addAll(@Nonnull final Map<String, String> idToKeyValues) {
+    idToKeyValues.forEach(keysById::put);
+  }
+
+  @Override
+  public synchronized void remove(@Nonnull final String id) {
+    keysById.remove(id);
+  }
+
+  @Override
+  public synchronized boolean containsKey(@Nonnull final String id) {
+    final boolean isCached = keysById.containsKey(id);
+    if (isCached) {
+      hits++;
+    } else {
+      misses++;
+    }
+    return isCached;
+  }
+
+  @Nullable
+  @Override
+  public synchronized String get(@Nonnull final String id) {
+    return keysById.get(id);
+  }
+
+  @Override
+  public synchronized void clearCache() {
+    keysById.clear();
+  }
+
+  @Override
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  @Override
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  @Override
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  @Override
+  public synchronized long getSize() {
+    return keysById.size();
+  }
+
+  @Override
+  public long getMaxSize() {
+    return maxSize;
+  }
+}
@@ -0,0 +1,105 @@
+package com.commercetools.project.sync.cache;
+
+import static java.lang.String.format;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Sizes the caches of a run from the maximum heap instead of fixed entry counts, so a small
+ * container doesn't run out of memory and a large one can cache more.
+ *
+ * <p>{@value #CACHE_HEAP_FRACTION} of the maximum heap is reserved for caches. The shared reference
+ * id to key cache of the syncers gets {@value #REFERENCE_CACHE_SHARE} of it, and the rest is split
+ * between the modules which sync concurrently, whose sync options size the key to id caches of
+ * sync-java with it. An entry is estimated at {@value #ESTIMATED_BYTES_PER_ENTRY} bytes (an id, a
+ * key and the map entry), and every cache size is kept between {@value #MIN_CACHE_SIZE} (the
+ * default of sync-java) and {@value #MAX_CACHE_SIZE} entries.
+ *
+ * <p>{@code SyncerFactory} allocates the budget with {@link #allocateFor(int)} before it builds the
+ * syncers of a stage, and the syncers read their cache size from {@link #current()}.
+ */
+public final class CacheBudget {
+  static final double CACHE_HEAP_FRACTION = 0.4;
+  static final double REFERENCE_CACHE_SHARE = 0.5;
+  static final long ESTIMATED_BYTES_PER_ENTRY = 200;
+  static final long MIN_CACHE_SIZE = 10_000;
+  static final long MAX_CACHE_SIZE = 10_000_000;
+  private static final long BYTES_PER_MEBIBYTE = 1024 * 1024;
+
+  private static volatile CacheBudget current = of(1);
+
+  private final long maxHeapInBytes;
+  private final int concurrentModules;
+
+  CacheBudget(final long maxHeapInBytes, final int concurrentModules) {
+    this.maxHeapInBytes = maxHeapInBytes;
+    this.concurrentModules = Math.max(1, concurrentModules);
+  }
+
+  @Nonnull
+  static CacheBudget of(final int concurrentModules) {
+    return new CacheBudget(Runtime.getRuntime().maxMemory(), concurrentModules);
+  }
+
+  /** Returns the budget of the syncers which are built now. */
+  @Nonnull
+  public static CacheBudget current() {
+    return current;
+  }
+
+  /**
+   * Allocates the cache budget for the given number of modules which sync concurrently, e.g. the
+   * modules of a stage, and makes it the {@link #current()} budget.
+   */
+  @Nonnull
+  public static CacheBudget allocateFor(final int concurrentModules) {
+    current = of(concurrentModules);
+    return current;
+  }
+
+  /** Returns the maximum number of entries of the reference id to key cache of all syncers. */
+  public long getReferenceCacheSize() {
+    return toCacheSize(getCacheBudgetInBytes() * REFERENCE_CACHE_SHARE);
+  }
+
+  /** Returns the cache size for the sync options of each of the concurrently syncing modules. */
+  public long getSyncOptionsCacheSize() {
+    return toCacheSize(getCacheBudgetInBytes() * (1 - REFERENCE_CACHE_SHARE) / concurrentModules);
+  }
+
+  /**
+   * Returns the cache size for the sync options of each of the given number of partitions of a
+   * module, which share the given sync options cache size of the module. It is kept at least at
+   * {@value #MIN_CACHE_SIZE} entries.
+   */
+  public static long getPartitionCacheSize(
+      final long syncOptionsCacheSize, final int partitionCount) {
+    return Math.max(MIN_CACHE_SIZE, syncOptionsCacheSize / Math.max(1, partitionCount));
+  }
+
+  public int getConcurrentModules() {
+    return concurrentModules;
+  }
+
+  private double getCacheBudgetInBytes() {
+    return maxHeapInBytes * CACHE_HEAP_FRACTION;
+  }
+
+  private static long toCacheSize(final double budgetInBytes) {
+    final long cacheSize = (long) (budgetInBytes / ESTIMATED_BYTES_PER_ENTRY);
+    return Math.max(MIN_CACHE_SIZE, Math.min(MAX_CACHE_SIZE, cacheSize));
+  }
+
+  @Nonnull
+  public String getReportMessage() {
+    return format(
+        "Cache budget: %d MiB of the maximum heap of %d MiB, %d entries for the reference id to "
+            + "key cache and %d entries per module for the sync option caches of %d concurrent "
+            + "module(s).",
+        (long) getCacheBudgetInBytes() / BYTES_PER_MEBIBYTE,
+        maxHeapInBytes / BYTES_PER_MEBIBYTE,
+        getReferenceCacheSize(),
+        getSyncOptionsCacheSize(),
+        concurrentModules);
+  }
+}
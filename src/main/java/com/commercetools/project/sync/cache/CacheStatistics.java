@@ -0,0 +1,39 @@
+package com.commercetools.project.sync.cache;
+
+import static java.lang.String.format;
+
+import javax.annotation.Nonnull;
+
+/** Counts the lookups and evictions of a size-bounded cache, to be reported at the end of a run. */
+public interface CacheStatistics {
+
+  long getHits();
+
+  long getMisses();
+
+  long getEvictions();
+
+  long getSize();
+
+  long getMaxSize();
+
+  /** Returns the share of the lookups which were answered from the cache, between 0 and 1. */
+  default double getHitRate() {
+    final long lookups = getHits() + getMisses();
+    return lookups == 0 ? 0 : (double) getHits() / lookups;
+  }
+
+  @Nonnull
+  default String getReportMessage(@Nonnull final String cacheName) {
+    return format(
+        "Cache summary of the %s: %d of max %d entries, %d hits and %d misses (%.1f%% hit rate) "
+            + "and %d evictions.",
+        cacheName,
+        getSize(),
+        getMaxSize(),
+        getHits(),
+        getMisses(),
+        getHitRate() * 100,
+        getEvictions());
+  }
+}
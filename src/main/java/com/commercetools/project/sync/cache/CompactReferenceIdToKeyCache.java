@@ -0,0 +1,297 @@
+package com.commercetools.project.sync.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
+import java.util.Arrays;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ReferenceIdToKeyCache} with a small footprint per entry for catalogs with millions of
+ * references. Instead of a map of id strings to key strings, the ids are parsed into the two {@code
+ * long}s of their UUID and the keys are kept as UTF-8 bytes in open addressing tables, so an entry
+ * costs neither the id string nor a map entry object. A key which is added again for the same id
+ * keeps its stored bytes.
+ *
+ * <p>The entries are split between {@value #PARTITIONS} partitions by the hash of their id, each
+ * with its own lock and its own share of {@code maxSize}. A full partition evicts with the clock
+ * (second chance) algorithm, which skips the entries looked up since it last passed them. Ids which
+ * aren't lowercase UUIDs are kept in a {@link BoundedReferenceIdToKeyCache}.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class CompactReferenceIdToKeyCache implements ReferenceIdToKeyCache, CacheStatistics {
+  static final int PARTITIONS = 16;
+  private static final double LOAD_FACTOR = 0.75;
+
+  private final long maxSize;
+  private final Partition[] partitions;
+  private final BoundedReferenceIdToKeyCache otherIds;
+
+  public CompactReferenceIdToKeyCache(final long maxSize) {
+    this.maxSize = maxSize;
+    final int partitionSize = (int) Math.max(1, (maxSize + PARTITIONS - 1) / PARTITIONS);
+    this.partitions = new Partition[PARTITIONS];
+    for (int i = 0; i < PARTITIONS; i++) {
+      partitions[i] = new Partition(partitionSize);
+    }
+    this.otherIds = new BoundedReferenceIdToKeyCache(partitionSize);
+  }
+
+  @Override
+  public void add(@Nonnull final String id, @Nonnull final String key) {
+    if (ReferenceIds.isUuid(id)) {
+      final long mostSigBits = ReferenceIds.mostSigBits(id);
+      final long leastSigBits = ReferenceIds.leastSigBits(id);
+      partitionOf(mostSigBits, leastSigBits).put(mostSigBits, leastSigBits, key.getBytes(UTF_8));
+    } else {
+      otherIds.add(id, key);
+    }
+  }
+
+  @Override
+  public void addAll(@Nonnull final Map<String, String> idToKeyValues) {
+    idToKeyValues.forEach(this::add);
+  }
+
+  @Override
+  public void remove(@Nonnull final String id) {
+    if (ReferenceIds.isUuid(id)) {
+      final long mostSigBits = ReferenceIds.mostSigBits(id);
+      final long leastSigBits = ReferenceIds.leastSigBits(id);
+      partitionOf(mostSigBits, leastSigBits).remove(mostSigBits, leastSigBits);
+    } else {
+      otherIds.remove(id);
+    }
+  }
+
+  @Override
+  public boolean containsKey(@Nonnull final String id) {
+    if (ReferenceIds.isUuid(id)) {
+      final long mostSigBits = ReferenceIds.mostSigBits(id);
+      final long leastSigBits = ReferenceIds.leastSigBits(id);
+      return partitionOf(mostSigBits, leastSigBits).containsKey(mostSigBits, leastSigBits);
+    }
+    return otherIds.containsKey(id);
+  }
+
+  @Nullable
+  @Override
+  public String get(@Nonnull final String id) {
+    if (ReferenceIds.isUuid(id)) {
+      final long mostSigBits = ReferenceIds.mostSigBits(id);
+      final long leastSigBits = ReferenceIds.leastSigBits(id);
+      final byte[] key = partitionOf(mostSigBits, leastSigBits).get(mostSigBits, leastSigBits);
+      return key == null ? null : new String(key, UTF_8);
+    }
+    return otherIds.get(id);
+  }
+
+  @Override
+  public void clearCache() {
+    for (Partition partition : partitions) {
+      partition.clear();
+    }
+    otherIds.clearCache();
+  }
+
+  @Override
+  public long getHits() {
+    long hits = otherIds.getHits();
+    for (Partition partition : partitions) {
+      hits += partition.getHits();
+    }
+    return hits;
+  }
+
+  @Override
+  public long getMisses() {
+    long misses = otherIds.getMisses();
+    for (Partition partition : partitions) {
+      misses += partition.getMisses();
+    }
+    return misses;
+  }
+
+  @Override
+  public long getEvictions() {
+    long evictions = otherIds.getEvictions();
+    for (Partition partition : partitions) {
+      evictions += partition.getEvictions();
+    }
+    return evictions;
+  }
+
+  @Override
+  public long getSize() {
+    long size = otherIds.getSize();
+    for (Partition partition : partitions) {
+      size += partition.getSize();
+    }
+    return size;
+  }
+
+  @Override
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  @Nonnull
+  private Partition partitionOf(final long mostSigBits, final long leastSigBits) {
+    final long hash = ReferenceIds.hash(mostSigBits, leastSigBits);
+    return partitions[(int) (hash >>> 60) & (PARTITIONS - 1)];
+  }
+
+  /** An open addressing table with linear probing, which is full at {@code maxSize} entries. */
+  private static final class Partition {
+    private final int maxSize;
+    private final int mask;
+    private final long[] mostSigBits;
+    private final long[] leastSigBits;
+    private final byte[][] keys;
+    private final boolean[] referenced;
+    private int size;
+    private int clockHand;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    Partition(final int maxSize) {
+      this.maxSize = maxSize;
+      final int capacity = Integer.highestOneBit((int) Math.ceil(maxSize / LOAD_FACTOR)) << 1;
+      this.mask = capacity - 1;
+      this.mostSigBits = new long[capacity];
+      this.leastSigBits = new long[capacity];
+      this.keys = new byte[capacity][];
+      this.referenced = new boolean[capacity];
+    }
+
+    synchronized void put(final long msb, final long lsb, @Nonnull final byte[] key) {
+      int slot = find(msb, lsb);
+      if (slot >= 0) {
+        if (!Arrays.equals(keys[slot], key)) {
+          keys[slot] = key;
+        }
+        return;
+      }
+      if (size == maxSize) {
+        evict();
+        slot = find(msb, lsb);
+      }
+      slot = -slot - 1;
+      mostSigBits[slot] = msb;
+      leastSigBits[slot] = lsb;
+      keys[slot] = key;
+      referenced[slot] = false;
+      size++;
+    }
+
+    synchronized void remove(final long msb, final long lsb) {
+      final int slot = find(msb, lsb);
+      if (slot >= 0) {
+        removeAt(slot);
+      }
+    }
+
+    synchronized boolean containsKey(final long msb, final long lsb) {
+      final int slot = find(msb, lsb);
+      if (slot >= 0) {
+        referenced[slot] = true;
+        hits++;
+        return true;
+      }
+      misses++;
+      return false;
+    }
+
+    @Nullable
+    synchronized byte[] get(final long msb, final long lsb) {
+      final int slot = find(msb, lsb);
+      if (slot < 0) {
+        return null;
+      }
+      referenced[slot] = true;
+      return keys[slot];
+    }
+
+    synchronized void clear() {
+      Arrays.fill(keys, null);
+      Arrays.fill(referenced, false);
+      size = 0;
+    }
+
+    synchronized long getHits() {
+      return hits;
+    }
+
+    synchronized long getMisses() {
+      return misses;
+    }
+
+    synchronized long getEvictions() {
+      return evictions;
+    }
+
+    synchronized int getSize() {
+      return size;
+    }
+
+    /** Returns the slot of the id, or {@code -slot - 1} of the empty slot to insert it into. */
+    private int find(final long msb, final long lsb) {
+      int slot = homeSlot(msb, lsb);
+      while (keys[slot] != null) {
+        if (mostSigBits[slot] == msb && leastSigBits[slot] == lsb) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -slot - 1;
+    }
+
+    private int homeSlot(final long msb, final long lsb) {
+      final long hash = ReferenceIds.hash(msb, lsb);
+      return (int) (hash ^ hash >>> 32) & mask;
+    }
+
+    private void evict() {
+      while (true) {
+        final int slot = clockHand;
+        clockHand = (clockHand + 1) & mask;
+        if (keys[slot] != null) {
+          if (referenced[slot]) {
+            referenced[slot] = false;
+          } else {
+            removeAt(slot);
+            evictions++;
+            return;
+          }
+        }
+      }
+    }
+
+    /**
+     * Removes the entry of the slot and shifts the following entries of the probe sequence back,
+     * so that no lookup stops at the freed slot before reaching its entry.
+     */
+    private void removeAt(final int slot) {
+      int free = slot;
+      int next = (free + 1) & mask;
+      while (keys[next] != null) {
+        final int home = homeSlot(mostSigBits[next], leastSigBits[next]);
+        if (((next - home) & mask) >= ((next - free) & mask)) {
+          mostSigBits[free] = mostSigBits[next];
+          leastSigBits[free] = leastSigBits[next];
+          keys[free] = keys[next];
+          referenced[free] = referenced[next];
+          free = next;
+        }
+        next = (next + 1) & mask;
+      }
+      keys[free] = null;
+      referenced[free] = false;
+      size--;
+    }
+  }
+}
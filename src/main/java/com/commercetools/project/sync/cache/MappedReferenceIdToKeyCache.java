@@ -0,0 +1,359 @@
+package com.commercetools.project.sync.cache;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ReferenceIdToKeyCache} stored off heap in a memory-mapped file, for catalogs whose
+ * references don't fit into the heap. The entries don't cause garbage collections and are kept in
+ * the file for the next run.
+ *
+ * <p>The file is an open addressing table with linear probing over fixed-size slots of {@value
+ * #SLOT_BYTES} bytes, each holding the two {@code long}s of a UUID id, the length of the key and
+ * its UTF-8 bytes. The table of {@value #DEFAULT_CAPACITY} slots is mapped in segments and created
+ * as a sparse file, so only the pages of used slots take disk space and memory. The table is full
+ * at {@value #LOAD_FACTOR} of its slots; the entries which don't fit then, as well as ids which
+ * aren't lowercase UUIDs and keys longer than {@value #MAX_KEY_BYTES} bytes, are not cached and
+ * their keys are fetched again by sync-java. Adds which are rejected by a full table are counted
+ * as evictions.
+ *
+ * <p>The entries are not invalidated by time. Instead, the syncers add the keys of all resources
+ * they fetch, so the key of a resource which was changed in the source project replaces its entry
+ * once the resource is synced again. This class is thread-safe.
+ */
+public final class MappedReferenceIdToKeyCache
+    implements ReferenceIdToKeyCache, CacheStatistics, Closeable {
+  static final int DEFAULT_CAPACITY = 1 << 25;
+  static final int SLOT_BYTES = 128;
+  static final int MAX_KEY_BYTES = SLOT_BYTES - 2 * Long.BYTES - Short.BYTES;
+  static final double LOAD_FACTOR = 0.75;
+  private static final long MAGIC = 0x5245464b45595331L;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 64;
+  private static final int VERSION_OFFSET = 8;
+  private static final int SLOT_BYTES_OFFSET = 12;
+  private static final int CAPACITY_OFFSET = 16;
+  private static final int SIZE_OFFSET = 24;
+  private static final int MAX_SEGMENT_SLOTS = 1 << 20;
+  private static final int KEY_LENGTH_OFFSET = 2 * Long.BYTES;
+  private static final int KEY_OFFSET = KEY_LENGTH_OFFSET + Short.BYTES;
+
+  private final Path file;
+  private final FileChannel channel;
+  private final MappedByteBuffer header;
+  private final MappedByteBuffer[] segments;
+  private final int mask;
+  private final int segmentShift;
+  private final long maxSize;
+  private long size;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  private MappedReferenceIdToKeyCache(
+      @Nonnull final Path file, @Nonnull final FileChannel channel, final int capacity)
+      throws IOException {
+    this.file = file;
+    this.channel = channel;
+    this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+    final int tableCapacity;
+    if (hasValidHeader()) {
+      tableCapacity = (int) header.getLong(CAPACITY_OFFSET);
+      size = header.getLong(SIZE_OFFSET);
+    } else {
+      // A file of another version or a foreign file is not fatal, the cache starts empty.
+      channel.truncate(HEADER_BYTES);
+      tableCapacity = capacity;
+      header.putLong(0, MAGIC);
+      header.putInt(VERSION_OFFSET, VERSION);
+      header.putInt(SLOT_BYTES_OFFSET, SLOT_BYTES);
+      header.putLong(CAPACITY_OFFSET, tableCapacity);
+      header.putLong(SIZE_OFFSET, 0);
+    }
+    this.mask = tableCapacity - 1;
+    this.maxSize = (long) (tableCapacity * LOAD_FACTOR);
+    final int segmentSlots = Math.min(tableCapacity, MAX_SEGMENT_SLOTS);
+    this.segmentShift = Integer.numberOfTrailingZeros(segmentSlots);
+    this.segments = new MappedByteBuffer[tableCapacity / segmentSlots];
+    final long segmentBytes = (long) segmentSlots * SLOT_BYTES;
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] =
+          channel.map(
+              FileChannel.MapMode.READ_WRITE, HEADER_BYTES + i * segmentBytes, segmentBytes);
+    }
+  }
+
+  /**
+   * Opens the cache stored in the given file with {@value #DEFAULT_CAPACITY} slots. If the file
+   * exists, the cache starts with its entries, otherwise the file is created.
+   *
+   * @param file the file the cache is stored in.
+   * @return the opened cache, which has to be closed after the run.
+   * @throws UncheckedIOException if the file can't be opened or mapped.
+   */
+  @Nonnull
+  public static MappedReferenceIdToKeyCache open(@Nonnull final Path file) {
+    return open(file, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Opens the cache stored in the given file. The capacity is rounded up to a power of two and is
+   * only used for a new file; an existing file keeps its capacity.
+   */
+  @Nonnull
+  static MappedReferenceIdToKeyCache open(@Nonnull final Path file, final int capacity) {
+    FileChannel channel = null;
+    try {
+      final Path directory = file.toAbsolutePath().getParent();
+      if (directory != null) {
+        Files.createDirectories(directory);
+      }
+      channel =
+          FileChannel.open(
+              file,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      final int tableCapacity = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+      return new MappedReferenceIdToKeyCache(file, channel, tableCapacity);
+    } catch (IOException exception) {
+      closeQuietly(channel);
+      throw new UncheckedIOException(
+          format("Failed to open the reference id to key cache file '%s'.", file), exception);
+    }
+  }
+
+  private boolean hasValidHeader() throws IOException {
+    if (channel.size() < HEADER_BYTES) {
+      return false;
+    }
+    final long capacity = header.getLong(CAPACITY_OFFSET);
+    return header.getLong(0) == MAGIC
+        && header.getInt(VERSION_OFFSET) == VERSION
+        && header.getInt(SLOT_BYTES_OFFSET) == SLOT_BYTES
+        && capacity > 1
+        && capacity <= Integer.MAX_VALUE
+        && Long.bitCount(capacity) == 1;
+  }
+
+  @Nonnull
+  public Path getFile() {
+    return file;
+  }
+
+  @Override
+  public synchronized void add(@Nonnull final String id, @Nonnull final String key) {
+    final byte[] keyBytes = key.getBytes(UTF_8);
+    if (!ReferenceIds.isUuid(id) || keyBytes.length == 0 || keyBytes.length > MAX_KEY_BYTES) {
+      return;
+    }
+    final long msb = ReferenceIds.mostSigBits(id);
+    final long lsb = ReferenceIds.leastSigBits(id);
+    int slot = find(msb, lsb);
+    if (slot < 0 && size >= maxSize) {
+      evictions++;
+      return;
+    }
+    final boolean isNewEntry = slot < 0;
+    if (isNewEntry) {
+      slot = -slot - 1;
+    }
+    final MappedByteBuffer segment = segmentOf(slot);
+    final int offset = offsetOf(slot);
+    if (isNewEntry) {
+      segment.putLong(offset, msb);
+      segment.putLong(offset + Long.BYTES, lsb);
+      setSize(size + 1);
+    }
+    segment.putShort(offset + KEY_LENGTH_OFFSET, (short) keyBytes.length);
+    for (int i = 0; i < keyBytes.length; i++) {
+      segment.put(offset + KEY_OFFSET + i, keyBytes[i]);
+    }
+  }
+
+  @Override
+  public void addAll(@Nonnull final Map<String, String> idToKeyValues) {
+    idToKeyValues.forEach(this::add);
+  }
+
+  @Override
+  public synchronized void remove(@Nonnull final String id) {
+    if (ReferenceIds.isUuid(id)) {
+      final int slot = find(ReferenceIds.mostSigBits(id), ReferenceIds.leastSigBits(id));
+      if (slot >= 0) {
+        removeAt(slot);
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean containsKey(@Nonnull final String id) {
+    final boolean isCached =
+        ReferenceIds.isUuid(id)
+            && find(ReferenceIds.mostSigBits(id), ReferenceIds.leastSigBits(id)) >= 0;
+    if (isCached) {
+      hits++;
+    } else {
+      misses++;
+    }
+    return isCached;
+  }
+
+  @Nullable
+  @Override
+  public synchronized String get(@Nonnull final String id) {
+    if (!ReferenceIds.isUuid(id)) {
+      return null;
+    }
+    final int slot = find(ReferenceIds.mostSigBits(id), ReferenceIds.leastSigBits(id));
+    if (slot < 0) {
+      return null;
+    }
+    final MappedByteBuffer segment = segmentOf(slot);
+    final int offset = offsetOf(slot);
+    final byte[] keyBytes = new byte[keyLengthOf(slot)];
+    for (int i = 0; i < keyBytes.length; i++) {
+      keyBytes[i] = segment.get(offset + KEY_OFFSET + i);
+    }
+    return new String(keyBytes, UTF_8);
+  }
+
+  /** Removes all entries, which only writes the pages of the used slots. */
+  @Override
+  public synchronized void clearCache() {
+    long remainingEntries = size;
+    for (int slot = 0; slot <= mask && remainingEntries > 0; slot++) {
+      if (keyLengthOf(slot) != 0) {
+        segmentOf(slot).putShort(offsetOf(slot) + KEY_LENGTH_OFFSET, (short) 0);
+        remainingEntries--;
+      }
+    }
+    setSize(0);
+  }
+
+  @Override
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  @Override
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  @Override
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  @Override
+  public synchronized long getSize() {
+    return size;
+  }
+
+  @Override
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /** Writes the changed pages of the file to the disk and closes it. */
+  @Override
+  public synchronized void close() {
+    header.force();
+    for (MappedByteBuffer segment : segments) {
+      segment.force();
+    }
+    try {
+      channel.close();
+    } catch (IOException exception) {
+      throw new UncheckedIOException(
+          format("Failed to close the reference id to key cache file '%s'.", file), exception);
+    }
+  }
+
+  /** Returns the slot of the id, or {@code -slot - 1} of the empty slot to insert it into. */
+  private int find(final long msb, final long lsb) {
+    int slot = homeSlot(msb, lsb);
+    while (keyLengthOf(slot) != 0) {
+      final MappedByteBuffer segment = segmentOf(slot);
+      final int offset = offsetOf(slot);
+      if (segment.getLong(offset) == msb && segment.getLong(offset + Long.BYTES) == lsb) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -slot - 1;
+  }
+
+  /**
+   * Removes the entry of the slot and shifts the following entries of the probe sequence back, so
+   * that no lookup stops at the freed slot before reaching its entry.
+   */
+  private void removeAt(final int slot) {
+    int free = slot;
+    int next = (free + 1) & mask;
+    while (keyLengthOf(next) != 0) {
+      final MappedByteBuffer segment = segmentOf(next);
+      final int offset = offsetOf(next);
+      final int home = homeSlot(segment.getLong(offset), segment.getLong(offset + Long.BYTES));
+      if (((next - home) & mask) >= ((next - free) & mask)) {
+        final MappedByteBuffer freeSegment = segmentOf(free);
+        final int freeOffset = offsetOf(free);
+        final int bytesToMove = KEY_OFFSET + keyLengthOf(next);
+        for (int i = 0; i < bytesToMove; i++) {
+          freeSegment.put(freeOffset + i, segment.get(offset + i));
+        }
+        free = next;
+      }
+      next = (next + 1) & mask;
+    }
+    segmentOf(free).putShort(offsetOf(free) + KEY_LENGTH_OFFSET, (short) 0);
+    setSize(size - 1);
+  }
+
+  private int homeSlot(final long msb, final long lsb) {
+    final long hash = ReferenceIds.hash(msb, lsb);
+    return (int) (hash ^ hash >>> 32) & mask;
+  }
+
+  private int keyLengthOf(final int slot) {
+    return segmentOf(slot).getShort(offsetOf(slot) + KEY_LENGTH_OFFSET);
+  }
+
+  @Nonnull
+  private MappedByteBuffer segmentOf(final int slot) {
+    return segments[slot >>> segmentShift];
+  }
+
+  private int offsetOf(final int slot) {
+    return (slot & ((1 << segmentShift) - 1)) * SLOT_BYTES;
+  }
+
+  private void setSize(final long size) {
+    this.size = size;
+    header.putLong(SIZE_OFFSET, size);
+  }
+
+  private static void closeQuietly(@Nullable final FileChannel channel) {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException exception) {
+        // the exception of opening the file is thrown instead.
+      }
+    }
+  }
+}
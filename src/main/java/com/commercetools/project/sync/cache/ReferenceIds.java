@@ -0,0 +1,51 @@
+package com.commercetools.project.sync.cache;
+
+import javax.annotation.Nonnull;
+
+/** Parses the UUID ids of the API into the two {@code long}s of the reference id caches. */
+final class ReferenceIds {
+  private static final int UUID_LENGTH = 36;
+
+  /**
+   * Returns true for ids in the canonical lowercase form of the API, which can be parsed into a
+   * UUID and formatted back without loss.
+   */
+  static boolean isUuid(@Nonnull final String id) {
+    if (id.length() != UUID_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < UUID_LENGTH; i++) {
+      final char character = id.charAt(i);
+      final boolean isValid =
+          i == 8 || i == 13 || i == 18 || i == 23
+              ? character == '-'
+              : (character >= '0' && character <= '9') || (character >= 'a' && character <= 'f');
+      if (!isValid) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static long mostSigBits(@Nonnull final String uuid) {
+    return parseHex(uuid, 0, 8) << 32 | parseHex(uuid, 9, 13) << 16 | parseHex(uuid, 14, 18);
+  }
+
+  static long leastSigBits(@Nonnull final String uuid) {
+    return parseHex(uuid, 19, 23) << 48 | parseHex(uuid, 24, UUID_LENGTH);
+  }
+
+  static long hash(final long mostSigBits, final long leastSigBits) {
+    return (mostSigBits ^ leastSigBits) * 0x9E3779B97F4A7C15L;
+  }
+
+  private static long parseHex(@Nonnull final String value, final int from, final int to) {
+    long result = 0;
+    for (int i = from; i < to; i++) {
+      result = result << 4 | Character.digit(value.charAt(i), 16);
+    }
+    return result;
+  }
+
+  private ReferenceIds() {}
+}
@@ -0,0 +1,222 @@
+package com.commercetools.project.sync.cache;
+
+import static java.lang.String.format;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A key to id cache of the resources of the target project, which is persisted to a local file
+ * after a run and loaded again (warm-started) by the next run.
+ *
+ * <p>Entries are grouped by resource type, which is the name of the GraphQL query field of the
+ * resource (e.g. "categories", "productTypes"). The versions of the resources are not cached, since
+ * the sync always fetches the resources it updates.
+ */
+public final class TargetKeyCache {
+  private static final String FIELD_SEPARATOR = "\t";
+
+  private final Path file;
+  private final ConcurrentMap<String, ConcurrentMap<String, Entry>> entriesByResourceType =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Entry> entriesById = new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  private TargetKeyCache(@Nonnull final Path file) {
+    this.file = file;
+  }
+
+  /**
+   * Creates a cache backed by the given file. If the file exists, the cache is warm-started with
+   * its content, otherwise the cache starts empty and the file is created on {@link #persist()}.
+   *
+   * @param file the (gzipped) file the cache is loaded from and persisted to.
+   * @return the loaded cache.
+   */
+  @Nonnull
+  public static TargetKeyCache load(@Nonnull final Path file) {
+    final TargetKeyCache cache = new TargetKeyCache(file);
+    if (Files.exists(file)) {
+      try (BufferedReader reader =
+          new BufferedReader(
+              new InputStreamReader(
+                  new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          final String[] fields = line.split(FIELD_SEPARATOR);
+          if (fields.length == 3) {
+            cache.put(fields[0], fields[1], fields[2]);
+          }
+        }
+      } catch (IOException exception) {
+        // A corrupt cache file is not fatal, the cache is rebuilt from the run.
+        cache.clear();
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * Writes all entries of the cache to its file. The content is written to a temporary file first
+   * which then replaces the cache file, so a crashing run never leaves a half written cache behind.
+   */
+  public void persist() {
+    try {
+      final Path parent = file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      final Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+      try (BufferedWriter writer =
+          new BufferedWriter(
+              new OutputStreamWriter(
+                  new GZIPOutputStream(Files.newOutputStream(tempFile)), StandardCharsets.UTF_8))) {
+        for (Entry entry : entriesById.values()) {
+          writer.write(
+              String.join(
+                  FIELD_SEPARATOR, entry.getResourceType(), entry.getKey(), entry.getId()));
+          writer.newLine();
+        }
+      }
+      Files.move(
+          tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(
+          format("Failed to persist the target key cache to '%s'.", file), exception);
+    }
+  }
+
+  @Nonnull
+  public Optional<Entry> get(@Nonnull final String resourceType, @Nonnull final String key) {
+    final Map<String, Entry> entries = entriesByResourceType.get(resourceType);
+    final Entry entry = entries == null ? null : entries.get(key);
+    if (entry == null) {
+      misses.incrementAndGet();
+    } else {
+      hits.incrementAndGet();
+    }
+    return Optional.ofNullable(entry);
+  }
+
+  @Nonnull
+  public Optional<Entry> getById(@Nonnull final String id) {
+    return Optional.ofNullable(entriesById.get(id));
+  }
+
+  /**
+   * Adds or replaces the entry of the given resource key. If the key was cached with another id,
+   * e.g. of a deleted and recreated resource, the entry of the other id is removed.
+   */
+  public synchronized void put(
+      @Nonnull final String resourceType, @Nonnull final String key, @Nonnull final String id) {
+    final ConcurrentMap<String, Entry> entries =
+        entriesByResourceType.computeIfAbsent(resourceType, type -> new ConcurrentHashMap<>());
+    final Entry existingEntry = entries.get(key);
+    if (existingEntry != null) {
+      if (existingEntry.getId().equals(id)) {
+        return;
+      }
+      entriesById.remove(existingEntry.getId());
+    }
+    final Entry newEntry = new Entry(resourceType, key, id);
+    entries.put(key, newEntry);
+    final Entry replacedEntry = entriesById.put(id, newEntry);
+    if (replacedEntry != null && !replacedEntry.getKey().equals(key)) {
+      // the key of the resource was changed, so the old key must not resolve to this id anymore.
+      entriesByResourceType
+          .getOrDefault(replacedEntry.getResourceType(), new ConcurrentHashMap<>())
+          .remove(replacedEntry.getKey(), replacedEntry);
+    }
+  }
+
+  /**
+   * Removes the entry of the resource with the given id, e.g. after the resource was deleted or
+   * after a failed update showed that the cached entry may be stale.
+   *
+   * @return the removed entry, or {@code null} if there was no entry for this id.
+   */
+  @Nullable
+  public synchronized Entry invalidateById(@Nonnull final String id) {
+    final Entry entry = entriesById.remove(id);
+    if (entry != null) {
+      invalidations.incrementAndGet();
+      final Map<String, Entry> entries = entriesByResourceType.get(entry.getResourceType());
+      if (entries != null) {
+        entries.remove(entry.getKey(), entry);
+      }
+    }
+    return entry;
+  }
+
+  public synchronized void clear() {
+    entriesByResourceType.clear();
+    entriesById.clear();
+  }
+
+  public int size() {
+    return entriesById.size();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getInvalidations() {
+    return invalidations.get();
+  }
+
+  @Nonnull
+  public Path getFile() {
+    return file;
+  }
+
+  public static final class Entry {
+    private final String resourceType;
+    private final String key;
+    private final String id;
+
+    Entry(@Nonnull final String resourceType, @Nonnull final String key, @Nonnull final String id) {
+      this.resourceType = resourceType;
+      this.key = key;
+      this.id = id;
+    }
+
+    @Nonnull
+    public String getResourceType() {
+      return resourceType;
+    }
+
+    @Nonnull
+    public String getKey() {
+      return key;
+    }
+
+    @Nonnull
+    public String getId() {
+      return id;
+    }
+  }
+}
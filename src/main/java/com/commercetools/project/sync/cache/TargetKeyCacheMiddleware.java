@@ -0,0 +1,394 @@
+package com.commercetools.project.sync.cache;
+
+import static com.commercetools.project.sync.util.SyncUtils.getCompletionExceptionCause;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vrap.rmf.base.client.ApiHttpException;
+import io.vrap.rmf.base.client.ApiHttpMethod;
+import io.vrap.rmf.base.client.ApiHttpRequest;
+import io.vrap.rmf.base.client.ApiHttpResponse;
+import io.vrap.rmf.base.client.http.Middleware;
+import io.vrap.rmf.base.client.utils.json.JsonUtils;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A middleware of the target client which connects the requests of the sync modules to the
+ * currently active {@link TargetKeyCache}:
+ *
+ * <ul>
+ *   <li>GraphQL key to id lookups (e.g. resolving category keys of product drafts) are answered
+ *       from the cache if all requested keys are cached. Otherwise the request is sent and the
+ *       response is used to fill the cache.
+ *   <li>Resources written (created or updated) by the run refresh their cache entry with the id of
+ *       the response. Deleted resources are removed from the cache.
+ *   <li>A version conflict (409) or a missing resource (404) on an update or deletion invalidates
+ *       the cached entry of the resource and re-reads the resource to verify its id. A resource
+ *       which doesn't exist anymore thus stays removed from the cache.
+ *   <li>A bad request (400) of a create or update, e.g. because a referenced resource doesn't exist
+ *       (anymore), invalidates the cached entries of the ids named in its errors and re-reads the
+ *       resources by their keys, so a resource which was deleted and recreated in the target
+ *       project is cached with its new id.
+ * </ul>
+ *
+ * <p>If no cache is active the middleware only passes the requests through.
+ */
+public final class TargetKeyCacheMiddleware implements Middleware {
+  private static final Logger LOGGER = LoggerFactory.getLogger(TargetKeyCacheMiddleware.class);
+
+  private static final Pattern GRAPHQL_KEY_LOOKUP =
+      Pattern.compile(
+          "^[^{]*\\{\\s*(\\w+)\\s*\\(.*\\)\\s*\\{\\s*results\\s*\\{"
+              + "\\s*(?:id\\s+key|key\\s+id)\\s*}\\s*}\\s*}\\s*$",
+          Pattern.DOTALL);
+  private static final Pattern KEY_IN_PREDICATE =
+      Pattern.compile("\\bkey\\s+in\\s*\\(([^)]*)\\)", Pattern.DOTALL);
+  private static final Pattern ID_PAGINATION_PREDICATE = Pattern.compile("\\bid\\s*>");
+  private static final Pattern QUOTED_VALUE = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"");
+  private static final Pattern RESOURCE_PATH =
+      Pattern.compile("^/([^/]+)/([a-z-]+)(?:/([^/?]+))?/?$");
+  private static final Pattern RESOURCE_ID =
+      Pattern.compile("\\b[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\b");
+  private static final int BAD_REQUEST = 400;
+  private static final int NOT_FOUND = 404;
+  private static final int VERSION_CONFLICT = 409;
+
+  private static volatile TargetKeyCache activeCache;
+
+  private final ObjectMapper objectMapper = JsonUtils.getConfiguredObjectMapper();
+
+  /** Makes the given cache the one used by all target clients with this middleware. */
+  public static void activate(@Nonnull final TargetKeyCache cache) {
+    activeCache = cache;
+  }
+
+  public static void deactivate() {
+    activeCache = null;
+  }
+
+  @Override
+  public CompletableFuture<ApiHttpResponse<byte[]>> invoke(
+      @Nonnull final ApiHttpRequest request,
+      @Nonnull final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next) {
+    final TargetKeyCache cache = activeCache;
+    if (cache == null || request.getUri() == null) {
+      return next.apply(request);
+    }
+    final String path = request.getUri().getPath();
+    if (path.endsWith("/graphql") && ApiHttpMethod.POST.equals(request.getMethod())) {
+      return invokeGraphQl(cache, request, next);
+    }
+    final Matcher resourcePath = RESOURCE_PATH.matcher(path);
+    if (resourcePath.matches()
+        && (ApiHttpMethod.POST.equals(request.getMethod())
+            || ApiHttpMethod.DELETE.equals(request.getMethod()))) {
+      final String resourceType = toResourceType(resourcePath.group(2));
+      return next.apply(request)
+          .whenComplete(
+              (response, throwable) ->
+                  onWriteCompleted(cache, request, resourceType, response, throwable, next));
+    }
+    return next.apply(request);
+  }
+
+  @Nonnull
+  private CompletableFuture<ApiHttpResponse<byte[]>> invokeGraphQl(
+      @Nonnull final TargetKeyCache cache,
+      @Nonnull final ApiHttpRequest request,
+      @Nonnull final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next) {
+    final Optional<KeyLookup> keyLookupOptional = parseKeyLookup(request.getBody());
+    if (keyLookupOptional.isEmpty()) {
+      return next.apply(request);
+    }
+    final KeyLookup keyLookup = keyLookupOptional.get();
+    final List<TargetKeyCache.Entry> cachedEntries = new ArrayList<>();
+    for (String key : keyLookup.keys) {
+      final Optional<TargetKeyCache.Entry> entry = cache.get(keyLookup.resourceType, key);
+      if (entry.isEmpty()) {
+        return next.apply(request)
+            .thenApply(
+                response -> {
+                  cacheKeyLookupResponse(cache, keyLookup.resourceType, response);
+                  return response;
+                });
+      }
+      cachedEntries.add(entry.get());
+    }
+    return CompletableFuture.completedFuture(
+        new ApiHttpResponse<>(200, null, buildKeyLookupResponse(keyLookup, cachedEntries)));
+  }
+
+  @Nonnull
+  private Optional<KeyLookup> parseKeyLookup(@Nullable final byte[] body) {
+    if (body == null) {
+      return Optional.empty();
+    }
+    try {
+      final JsonNode graphQlRequest = objectMapper.readTree(body);
+      final String query = graphQlRequest.path("query").asText("");
+      final Matcher queryMatcher = GRAPHQL_KEY_LOOKUP.matcher(query);
+      if (!queryMatcher.matches()) {
+        return Optional.empty();
+      }
+      final StringBuilder predicates = new StringBuilder(query);
+      graphQlRequest
+          .path("variables")
+          .forEach(variable -> predicates.append(' ').append(variable.asText("")));
+      if (ID_PAGINATION_PREDICATE.matcher(predicates).find()) {
+        // following pages of a lookup are always answered by the target project.
+        return Optional.empty();
+      }
+      final Matcher keyInMatcher = KEY_IN_PREDICATE.matcher(predicates);
+      if (!keyInMatcher.find()) {
+        return Optional.empty();
+      }
+      final List<String> keys = new ArrayList<>();
+      final Matcher valueMatcher =
+          QUOTED_VALUE.matcher(keyInMatcher.group(1).replace("\\\"", "\""));
+      while (valueMatcher.find()) {
+        keys.add(valueMatcher.group(1));
+      }
+      return keys.isEmpty()
+          ? Optional.empty()
+          : Optional.of(new KeyLookup(queryMatcher.group(1), keys));
+    } catch (IOException exception) {
+      return Optional.empty();
+    }
+  }
+
+  private void cacheKeyLookupResponse(
+      @Nonnull final TargetKeyCache cache,
+      @Nonnull final String resourceType,
+      @Nullable final ApiHttpResponse<byte[]> response) {
+    final JsonNode results = readBody(response).path("data").path(resourceType).path("results");
+    results.forEach(
+        result -> {
+          final String id = result.path("id").asText(null);
+          final String key = result.path("key").asText(null);
+          if (id != null && key != null) {
+            cache.put(resourceType, key, id);
+          }
+        });
+  }
+
+  @Nonnull
+  private byte[] buildKeyLookupResponse(
+      @Nonnull final KeyLookup keyLookup, @Nonnull final List<TargetKeyCache.Entry> entries) {
+    final ObjectNode responseNode = objectMapper.createObjectNode();
+    final ArrayNode results =
+        responseNode.putObject("data").putObject(keyLookup.resourceType).putArray("results");
+    entries.forEach(
+        entry -> results.addObject().put("id", entry.getId()).put("key", entry.getKey()));
+    try {
+      return objectMapper.writeValueAsBytes(responseNode);
+    } catch (IOException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  private void onWriteCompleted(
+      @Nonnull final TargetKeyCache cache,
+      @Nonnull final ApiHttpRequest request,
+      @Nonnull final String resourceType,
+      @Nullable final ApiHttpResponse<byte[]> response,
+      @Nullable final Throwable throwable,
+      @Nonnull final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next) {
+    final int statusCode = getStatusCode(response, throwable);
+    if (statusCode == VERSION_CONFLICT || statusCode == NOT_FOUND) {
+      final String id = RESOURCE_PATH.matcher(request.getUri().getPath()).replaceFirst("$3");
+      final TargetKeyCache.Entry staleEntry = cache.invalidateById(id);
+      if (staleEntry != null) {
+        final URI uri = request.getUri();
+        verifyEntry(
+            cache,
+            URI.create(uri.getScheme() + "://" + uri.getAuthority() + uri.getPath()),
+            request,
+            resourceType,
+            next);
+      }
+      return;
+    }
+    if (statusCode == BAD_REQUEST) {
+      invalidateReferencedEntries(cache, request, getErrorBody(response, throwable), next);
+      return;
+    }
+    if (throwable != null || statusCode < 200 || statusCode >= 300) {
+      return;
+    }
+    final JsonNode resource = readBody(response);
+    final String id = resource.path("id").asText(null);
+    if (id == null) {
+      return;
+    }
+    if (ApiHttpMethod.DELETE.equals(request.getMethod())) {
+      cache.invalidateById(id);
+      return;
+    }
+    final String key = resource.path("key").asText(null);
+    if (key != null) {
+      cache.put(resourceType, key, id);
+    }
+  }
+
+  /**
+   * Fallback after a bad request: a cached id named in the errors, e.g. of a referenced category
+   * which was deleted and recreated, is invalidated, and the resource is re-read by its key. Ids
+   * which aren't cached are ignored, since they weren't resolved from the cache.
+   */
+  private void invalidateReferencedEntries(
+      @Nonnull final TargetKeyCache cache,
+      @Nonnull final ApiHttpRequest request,
+      @Nonnull final String errorBody,
+      @Nonnull final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next) {
+    final URI uri = request.getUri();
+    final String projectKey = RESOURCE_PATH.matcher(uri.getPath()).replaceFirst("$1");
+    final Matcher idMatcher = RESOURCE_ID.matcher(errorBody);
+    while (idMatcher.find()) {
+      final TargetKeyCache.Entry staleEntry = cache.invalidateById(idMatcher.group());
+      if (staleEntry != null) {
+        verifyEntry(
+            cache,
+            URI.create(
+                uri.getScheme()
+                    + "://"
+                    + uri.getAuthority()
+                    + "/"
+                    + projectKey
+                    + "/"
+                    + toPathSegment(staleEntry.getResourceType())
+                    + "/key="
+                    + URLEncoder.encode(staleEntry.getKey(), StandardCharsets.UTF_8)),
+            request,
+            staleEntry.getResourceType(),
+            next);
+      }
+    }
+  }
+
+  /**
+   * Re-reads a resource with a stale cache entry from the given URI of the target project, so the
+   * next run is warm-started with the verified id instead of the stale entry. If the resource
+   * doesn't exist anymore, its entry stays removed.
+   */
+  private void verifyEntry(
+      @Nonnull final TargetKeyCache cache,
+      @Nonnull final URI resourceUri,
+      @Nonnull final ApiHttpRequest request,
+      @Nonnull final String resourceType,
+      @Nonnull final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next) {
+    final ApiHttpRequest verificationRequest =
+        new ApiHttpRequest(ApiHttpMethod.GET, resourceUri, request.getHeaders(), (byte[]) null);
+    next.apply(verificationRequest)
+        .whenComplete(
+            (response, throwable) -> {
+              final int statusCode = getStatusCode(response, throwable);
+              if (statusCode < 200 || statusCode >= 300) {
+                if (throwable != null && statusCode != NOT_FOUND) {
+                  LOGGER.debug("Failed to verify the target key cache entry.", throwable);
+                }
+                return;
+              }
+              final JsonNode resource = readBody(response);
+              final String id = resource.path("id").asText(null);
+              final String key = resource.path("key").asText(null);
+              if (id != null && key != null) {
+                cache.put(resourceType, key, id);
+              }
+            });
+  }
+
+  private static int getStatusCode(
+      @Nullable final ApiHttpResponse<byte[]> response, @Nullable final Throwable throwable) {
+    if (throwable != null) {
+      final Throwable cause = getCompletionExceptionCause(throwable);
+      return cause instanceof ApiHttpException ? ((ApiHttpException) cause).getStatusCode() : 0;
+    }
+    return response == null ? 0 : response.getStatusCode();
+  }
+
+  @Nonnull
+  private static String getErrorBody(
+      @Nullable final ApiHttpResponse<byte[]> response, @Nullable final Throwable throwable) {
+    if (throwable != null) {
+      final Throwable cause = getCompletionExceptionCause(throwable);
+      return cause instanceof ApiHttpException
+          ? Optional.ofNullable(((ApiHttpException) cause).getBody()).orElse("")
+          : "";
+    }
+    return response == null || response.getBody() == null
+        ? ""
+        : new String(response.getBody(), StandardCharsets.UTF_8);
+  }
+
+  @Nonnull
+  private JsonNode readBody(@Nullable final ApiHttpResponse<byte[]> response) {
+    if (response == null || response.getBody() == null) {
+      return objectMapper.missingNode();
+    }
+    try {
+      return objectMapper.readTree(response.getBody());
+    } catch (IOException exception) {
+      return objectMapper.missingNode();
+    }
+  }
+
+  /**
+   * Converts the REST path segment of a resource to the name of its GraphQL query field, e.g.
+   * "product-types" to "productTypes", which is the resource type used in the {@link
+   * TargetKeyCache}.
+   */
+  @Nonnull
+  static String toResourceType(@Nonnull final String pathSegment) {
+    final StringBuilder resourceType = new StringBuilder(pathSegment.length());
+    boolean upperCaseNext = false;
+    for (char character : pathSegment.toCharArray()) {
+      if (character == '-') {
+        upperCaseNext = true;
+      } else {
+        resourceType.append(upperCaseNext ? Character.toUpperCase(character) : character);
+        upperCaseNext = false;
+      }
+    }
+    return resourceType.toString();
+  }
+
+  /** The reverse of {@link #toResourceType(String)}, e.g. "productTypes" to "product-types". */
+  @Nonnull
+  static String toPathSegment(@Nonnull final String resourceType) {
+    final StringBuilder pathSegment = new StringBuilder(resourceType.length() + 4);
+    for (char character : resourceType.toCharArray()) {
+      if (Character.isUpperCase(character)) {
+        pathSegment.append('-').append(Character.toLowerCase(character));
+      } else {
+        pathSegment.append(character);
+      }
+    }
+    return pathSegment.toString();
+  }
+
+  private static final class KeyLookup {
+    private final String resourceType;
+    private final List<String> keys;
+
+    private KeyLookup(@Nonnull final String resourceType, @Nonnull final List<String> keys) {
+      this.resourceType = resourceType;
+      this.keys = keys;
+    }
+  }
+}
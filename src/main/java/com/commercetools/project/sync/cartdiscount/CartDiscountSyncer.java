@@ -11,7 +11,9 @@ import com.commercetools.api.models.cart_discount.CartDiscountDraft;
 import com.commercetools.api.models.cart_discount.CartDiscountPagedQueryResponse;
 import com.commercetools.api.models.cart_discount.CartDiscountUpdateAction;
 import com.commercetools.api.predicates.query.cart_discount.CartDiscountQueryBuilderDsl;
+import com.commercetools.project.sync.DeletionSupport;
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.cache.CacheBudget;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.cartdiscounts.CartDiscountSync;
@@ -39,7 +41,8 @@ public final class CartDiscountSyncer
         CartDiscountSyncOptions,
         ByProjectKeyCartDiscountsGet,
         CartDiscountPagedQueryResponse,
-        CartDiscountSync> {
+        CartDiscountSync>
+    implements DeletionSupport<ByProjectKeyCartDiscountsGet> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CartDiscountSyncer.class);
 
@@ -65,14 +68,17 @@ public final class CartDiscountSyncer
             Optional<CartDiscount>,
             List<CartDiscountUpdateAction>>
         logErrorCallback =
-            (exception, newResourceDraft, oldResource, updateActions) ->
-                logErrorCallback(LOGGER, "cart discount", exception, oldResource, updateActions);
+            (exception, newResourceDraft, oldResource, updateActions) -> {
+              logErrorCallback(LOGGER, "cart discount", exception, oldResource, updateActions);
+              recordFailure(CartDiscountSync.class, exception, newResourceDraft, updateActions);
+            };
     final TriConsumer<SyncException, Optional<CartDiscountDraft>, Optional<CartDiscount>>
         logWarningCallback =
             (exception, newResourceDraft, oldResource) ->
                 logWarningCallback(LOGGER, "cart discount", exception, oldResource);
     final CartDiscountSyncOptions syncOptions =
         CartDiscountSyncOptionsBuilder.of(targetClient)
+            .cacheSize(CacheBudget.current().getSyncOptionsCacheSize())
             .errorCallback(logErrorCallback)
             .warningCallback(logWarningCallback)
             .build();
@@ -89,7 +95,7 @@ public final class CartDiscountSyncer
   @Nonnull
   protected CompletionStage<List<CartDiscountDraft>> transform(
       @Nonnull final List<CartDiscount> page) {
-    return toCartDiscountDrafts(getSourceClient(), referenceIdToKeyCache, page);
+    return toCartDiscountDrafts(getSourceClient(), getReferenceIdToKeyCache(), page);
   }
 
   @Nonnull
@@ -98,6 +104,18 @@ public final class CartDiscountSyncer
     return getSourceClient().cartDiscounts().get();
   }
 
+  @Nonnull
+  @Override
+  public ByProjectKeyCartDiscountsGet getTargetQuery() {
+    return getTargetClient().cartDiscounts().get();
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<?> deleteTargetResource(@Nonnull final String id, final long version) {
+    return getTargetClient().cartDiscounts().withId(id).delete().withVersion(version).execute();
+  }
+
   @Nonnull
   @Override
   protected Logger getLoggerInstance() {
@@ -11,7 +11,10 @@ import com.commercetools.api.models.category.CategoryDraft;
 import com.commercetools.api.models.category.CategoryPagedQueryResponse;
 import com.commercetools.api.models.category.CategoryUpdateAction;
 import com.commercetools.api.predicates.query.category.CategoryQueryBuilderDsl;
+import com.commercetools.project.sync.DeletionSupport;
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.cache.CacheBudget;
+import com.commercetools.project.sync.graphql.GraphQlSourceReader;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.categories.CategorySync;
@@ -39,7 +42,8 @@ public final class CategorySyncer
         CategorySyncOptions,
         ByProjectKeyCategoriesGet,
         CategoryPagedQueryResponse,
-        CategorySync> {
+        CategorySync>
+    implements DeletionSupport<ByProjectKeyCategoriesGet> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CategorySyncer.class);
 
@@ -61,14 +65,17 @@ public final class CategorySyncer
     final QuadConsumer<
             SyncException, Optional<CategoryDraft>, Optional<Category>, List<CategoryUpdateAction>>
         logErrorCallback =
-            (exception, newResourceDraft, oldResource, updateActions) ->
-                logErrorCallback(LOGGER, "category", exception, oldResource, updateActions);
+            (exception, newResourceDraft, oldResource, updateActions) -> {
+              logErrorCallback(LOGGER, "category", exception, oldResource, updateActions);
+              recordFailure(CategorySync.class, exception, newResourceDraft, updateActions);
+            };
     final TriConsumer<SyncException, Optional<CategoryDraft>, Optional<Category>>
         logWarningCallback =
             (exception, newResourceDraft, oldResource) ->
                 logWarningCallback(LOGGER, "category", exception, oldResource);
     final CategorySyncOptions syncOptions =
         CategorySyncOptionsBuilder.of(targetClient)
+            .cacheSize(CacheBudget.current().getSyncOptionsCacheSize())
             .errorCallback(logErrorCallback)
             .warningCallback(logWarningCallback)
             .build();
@@ -83,7 +90,7 @@ public final class CategorySyncer
   @Override
   @Nonnull
   protected CompletionStage<List<CategoryDraft>> transform(@Nonnull final List<Category> page) {
-    return toCategoryDrafts(getSourceClient(), referenceIdToKeyCache, page);
+    return toCategoryDrafts(getSourceClient(), getReferenceIdToKeyCache(), page);
   }
 
   @Nonnull
@@ -92,6 +99,24 @@ public final class CategorySyncer
     return getSourceClient().categories().get();
   }
 
+  @Nonnull
+  @Override
+  protected GraphQlSourceReader<Category> getGraphQlSourceReader() {
+    return GraphQlSourceReader.ofCategories(getSourceClient(), getReferenceIdToKeyCache());
+  }
+
+  @Nonnull
+  @Override
+  public ByProjectKeyCategoriesGet getTargetQuery() {
+    return getTargetClient().categories().get();
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<?> deleteTargetResource(@Nonnull final String id, final long version) {
+    return getTargetClient().categories().withId(id).delete().withVersion(version).execute();
+  }
+
   @Nonnull
   @Override
   protected Logger getLoggerInstance() {
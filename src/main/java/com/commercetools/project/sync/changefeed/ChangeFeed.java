@@ -0,0 +1,173 @@
+package com.commercetools.project.sync.changefeed;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The resources changed in a time window of the message feed of a project. Repeated messages of
+ * the same resource are collapsed into one entry, which keeps the highest sequence number and the
+ * latest known key of the resource, so every changed resource is fetched only once. The types of
+ * the messages of each resource are kept as well, so resources with only certain kinds of changes,
+ * e.g. price changes, can be synced differently, together with the resource versions of the
+ * messages, which tell whether every update of the resource created a message.
+ */
+public final class ChangeFeed {
+  private final Map<String, ChangedResource> changedResourcesById = new LinkedHashMap<>();
+  private long messageCount;
+
+  /**
+   * Adds a message of the resource with the given id to the feed.
+   *
+   * @param resourceId the id of the resource the message is about.
+   * @param sequenceNumber the sequence number of the message, which is unique and increasing per
+   *     resource.
+   * @param resourceKey the key of the resource when the message was created, if any.
+   */
+  public void add(
+      @Nonnull final String resourceId,
+      final long sequenceNumber,
+      @Nullable final String resourceKey) {
+    add(resourceId, sequenceNumber, resourceKey, null);
+  }
+
+  /**
+   * Same as {@link #add(String, long, String)}, but also keeps the type of the message, e.g.
+   * "ProductPriceChanged". A message without a type is a change of an unknown kind.
+   */
+  public void add(
+      @Nonnull final String resourceId,
+      final long sequenceNumber,
+      @Nullable final String resourceKey,
+      @Nullable final String messageType) {
+    add(resourceId, sequenceNumber, resourceKey, messageType, null);
+  }
+
+  /**
+   * Same as {@link #add(String, long, String, String)}, but also keeps the version of the resource
+   * which the message is about. A message without a resource version makes the versions of the
+   * resource unknown.
+   */
+  public void add(
+      @Nonnull final String resourceId,
+      final long sequenceNumber,
+      @Nullable final String resourceKey,
+      @Nullable final String messageType,
+      @Nullable final Long resourceVersion) {
+    messageCount++;
+    ChangedResource changedResource = changedResourcesById.get(resourceId);
+    if (changedResource == null) {
+      changedResource = new ChangedResource(sequenceNumber, resourceKey);
+      changedResourcesById.put(resourceId, changedResource);
+    } else if (sequenceNumber > changedResource.sequenceNumber) {
+      changedResource.sequenceNumber = sequenceNumber;
+      if (resourceKey != null) {
+        changedResource.resourceKey = resourceKey;
+      }
+    }
+    if (messageType == null) {
+      changedResource.hasUnknownMessageType = true;
+    } else {
+      changedResource.messageTypes.add(messageType);
+    }
+    if (resourceVersion == null) {
+      changedResource.hasUnknownResourceVersion = true;
+    } else {
+      changedResource.resourceVersions.add(resourceVersion);
+    }
+  }
+
+  /** Returns the ids of the changed resources, each id only once. */
+  @Nonnull
+  public List<String> getChangedResourceIds() {
+    return new ArrayList<>(changedResourcesById.keySet());
+  }
+
+  /** Returns the highest sequence number of the messages of the given resource. */
+  @Nonnull
+  public Optional<Long> getSequenceNumber(@Nonnull final String resourceId) {
+    return Optional.ofNullable(changedResourcesById.get(resourceId))
+        .map(changedResource -> changedResource.sequenceNumber);
+  }
+
+  @Nonnull
+  public Optional<String> getResourceKey(@Nonnull final String resourceId) {
+    return Optional.ofNullable(changedResourcesById.get(resourceId))
+        .map(changedResource -> changedResource.resourceKey);
+  }
+
+  /**
+   * Returns the ids of the changed resources whose messages all have one of the given types, e.g.
+   * the resources with only price changes.
+   */
+  @Nonnull
+  public List<String> getChangedResourceIdsWithOnlyMessageTypes(
+      @Nonnull final Set<String> messageTypes) {
+    return changedResourcesById.entrySet().stream()
+        .filter(
+            entry ->
+                !entry.getValue().hasUnknownMessageType
+                    && messageTypes.containsAll(entry.getValue().messageTypes))
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the lowest resource version of the messages of the given resource, i.e. the version of
+   * its first change in the feed, unless the version of one of its messages is unknown.
+   */
+  @Nonnull
+  public Optional<Long> getFirstResourceVersion(@Nonnull final String resourceId) {
+    return Optional.ofNullable(changedResourcesById.get(resourceId))
+        .filter(changedResource -> !changedResource.hasUnknownResourceVersion)
+        .map(changedResource -> changedResource.resourceVersions.first());
+  }
+
+  /**
+   * Returns true if the messages of the given resource cover every version of the resource from
+   * its {@link #getFirstResourceVersion(String) first version} in the feed up to the given current
+   * version, i.e. if every update of the resource since its first message in the feed created a
+   * message, and the resource wasn't updated after its last message.
+   */
+  public boolean hasMessagesOfAllVersionsUpTo(
+      @Nonnull final String resourceId, final long currentVersion) {
+    final ChangedResource changedResource = changedResourcesById.get(resourceId);
+    if (changedResource == null || changedResource.hasUnknownResourceVersion) {
+      return false;
+    }
+    final NavigableSet<Long> resourceVersions = changedResource.resourceVersions;
+    return resourceVersions.last() == currentVersion
+        && resourceVersions.size() == currentVersion - resourceVersions.first() + 1;
+  }
+
+  public long getMessageCount() {
+    return messageCount;
+  }
+
+  public int getChangedResourceCount() {
+    return changedResourcesById.size();
+  }
+
+  private static final class ChangedResource {
+    private long sequenceNumber;
+    private String resourceKey;
+    private final Set<String> messageTypes = new HashSet<>();
+    private boolean hasUnknownMessageType;
+    private final NavigableSet<Long> resourceVersions = new TreeSet<>();
+    private boolean hasUnknownResourceVersion;
+
+    private ChangedResource(final long sequenceNumber, @Nullable final String resourceKey) {
+      this.sequenceNumber = sequenceNumber;
+      this.resourceKey = resourceKey;
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package com.commercetools.project.sync.changefeed;
+
+import static com.commercetools.api.client.QueryUtils.queryAll;
+import static java.lang.String.format;
+
+import com.commercetools.api.client.ProjectApiRoot;
+import com.commercetools.api.models.common.Reference;
+import com.commercetools.api.models.message.Message;
+import com.commercetools.api.models.message.UserProvidedIdentifiers;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+/**
+ * Reads the messages of one resource type from the message feed of a project, in addition to
+ * querying the resources with a {@code lastModifiedAt} range predicate.
+ *
+ * <p>Note: Messages have to be enabled in the project settings, and only update actions which
+ * create a message are visible in the feed, so the feed alone doesn't cover all changes.
+ */
+public final class ChangeFeedReader {
+  private static final int RESOURCES_PER_VERSION_QUERY = 20;
+
+  /**
+   * Reads the messages of the resources with the given type id created within the given time
+   * window and collapses them into a {@link ChangeFeed}.
+   *
+   * <p>The messages are paged by id, not by sequence number, since their order doesn't matter:
+   * the {@link ChangeFeed} keeps the highest sequence number of each resource regardless of the
+   * order in which its messages are added, and the changed resources are fetched in their current
+   * state.
+   *
+   * @param client the client of the project whose message feed is read.
+   * @param resourceTypeId the type id of the resources, e.g. "product" or "customer".
+   * @param lowerBound the inclusive lower bound of the message creation time.
+   * @param upperBound the inclusive upper bound of the message creation time.
+   * @return a completion stage containing the changed resources of the time window.
+   */
+  @Nonnull
+  public static CompletionStage<ChangeFeed> read(
+      @Nonnull final ProjectApiRoot client,
+      @Nonnull final String resourceTypeId,
+      @Nonnull final ZonedDateTime lowerBound,
+      @Nonnull final ZonedDateTime upperBound) {
+    final ChangeFeed changeFeed = new ChangeFeed();
+    return queryAll(
+            client
+                .messages()
+                .get()
+                .withWhere(
+                    "resource(typeId = :typeId) and createdAt >= :lower and createdAt <= :upper")
+                .withPredicateVar("typeId", resourceTypeId)
+                .withPredicateVar("lower", lowerBound)
+                .withPredicateVar("upper", upperBound),
+            (List<Message> page) -> page.forEach(message -> addMessage(changeFeed, message)))
+        .thenApply(ignored -> changeFeed);
+  }
+
+  private static void addMessage(
+      @Nonnull final ChangeFeed changeFeed, @Nonnull final Message message) {
+    final String resourceId =
+        Optional.ofNullable(message.getResource()).map(Reference::getId).orElse(null);
+    if (resourceId == null) {
+      return;
+    }
+    final Long sequenceNumber = message.getSequenceNumber();
+    changeFeed.add(
+        resourceId,
+        sequenceNumber == null ? 0L : sequenceNumber,
+        Optional.ofNullable(message.getResourceUserProvidedIdentifiers())
+            .map(UserProvidedIdentifiers::getKey)
+            .orElse(null),
+        message.getType(),
+        message.getResourceVersion());
+  }
+
+  /**
+   * Returns the ids of the given resources which have a message of the given version, e.g. to
+   * check that the update before the first message of a resource in a {@link ChangeFeed} created a
+   * message, too. The messages are queried for {@value #RESOURCES_PER_VERSION_QUERY} resources at
+   * a time.
+   *
+   * @param client the client of the project whose message feed is read.
+   * @param versionsByResourceId the version of each resource whose message is looked for.
+   * @return a completion stage containing the ids of the resources with a message of the version.
+   */
+  @Nonnull
+  public static CompletionStage<Set<String>> readResourceIdsWithMessagesOfVersions(
+      @Nonnull final ProjectApiRoot client, @Nonnull final Map<String, Long> versionsByResourceId) {
+    final Set<String> resourceIds = ConcurrentHashMap.newKeySet();
+    final List<String> versionPredicates =
+        versionsByResourceId.entrySet().stream()
+            .map(
+                entry ->
+                    format(
+                        "(resource(id = \"%s\") and resourceVersion = %d)",
+                        entry.getKey(), entry.getValue()))
+            .collect(Collectors.toList());
+    CompletionStage<Void> readStage = CompletableFuture.completedFuture(null);
+    for (int index = 0; index < versionPredicates.size(); index += RESOURCES_PER_VERSION_QUERY) {
+      final String where =
+          String.join(
+              " or ",
+              versionPredicates.subList(
+                  index, Math.min(index + RESOURCES_PER_VERSION_QUERY, versionPredicates.size())));
+      readStage =
+          readStage.thenCompose(
+              ignored ->
+                  queryAll(
+                      client.messages().get().withWhere(where),
+                      (List<Message> page) ->
+                          page.stream()
+                              .map(Message::getResource)
+                              .filter(Objects::nonNull)
+                              .forEach(resource -> resourceIds.add(resource.getId()))));
+    }
+    return readStage.thenApply(ignored -> resourceIds);
+  }
+
+  private ChangeFeedReader() {}
+}
@@ -11,7 +11,9 @@ import com.commercetools.api.models.customer.CustomerDraft;
 import com.commercetools.api.models.customer.CustomerPagedQueryResponse;
 import com.commercetools.api.models.customer.CustomerUpdateAction;
 import com.commercetools.api.predicates.query.customer.CustomerQueryBuilderDsl;
+import com.commercetools.project.sync.DeletionSupport;
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.cache.CacheBudget;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.commons.exceptions.SyncException;
@@ -39,7 +41,8 @@ public final class CustomerSyncer
         CustomerSyncOptions,
         ByProjectKeyCustomersGet,
         CustomerPagedQueryResponse,
-        CustomerSync> {
+        CustomerSync>
+    implements DeletionSupport<ByProjectKeyCustomersGet> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CustomerSyncer.class);
 
@@ -59,14 +62,17 @@ public final class CustomerSyncer
     final QuadConsumer<
             SyncException, Optional<CustomerDraft>, Optional<Customer>, List<CustomerUpdateAction>>
         logErrorCallback =
-            (exception, newResourceDraft, oldResource, updateActions) ->
-                logErrorCallback(LOGGER, "customer", exception, oldResource, updateActions);
+            (exception, newResourceDraft, oldResource, updateActions) -> {
+              logErrorCallback(LOGGER, "customer", exception, oldResource, updateActions);
+              recordFailure(CustomerSync.class, exception, newResourceDraft, updateActions);
+            };
     final TriConsumer<SyncException, Optional<CustomerDraft>, Optional<Customer>>
         logWarningCallback =
             (exception, newResourceDraft, oldResource) ->
                 logWarningCallback(LOGGER, "customer", exception, oldResource);
     final CustomerSyncOptions customerSyncOptions =
         CustomerSyncOptionsBuilder.of(targetClient)
+            .cacheSize(CacheBudget.current().getSyncOptionsCacheSize())
             .errorCallback(logErrorCallback)
             .warningCallback(logWarningCallback)
             .build();
@@ -81,7 +87,7 @@ public final class CustomerSyncer
   @Nonnull
   @Override
   protected CompletionStage<List<CustomerDraft>> transform(@Nonnull final List<Customer> page) {
-    return toCustomerDrafts(getSourceClient(), referenceIdToKeyCache, page);
+    return toCustomerDrafts(getSourceClient(), getReferenceIdToKeyCache(), page);
   }
 
   @Nonnull
@@ -90,6 +96,24 @@ public final class CustomerSyncer
     return getSourceClient().customers().get();
   }
 
+  @Nonnull
+  @Override
+  protected String getMessageResourceTypeId() {
+    return "customer";
+  }
+
+  @Nonnull
+  @Override
+  public ByProjectKeyCustomersGet getTargetQuery() {
+    return getTargetClient().customers().get();
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<?> deleteTargetResource(@Nonnull final String id, final long version) {
+    return getTargetClient().customers().withId(id).delete().withVersion(version).execute();
+  }
+
   @Nonnull
   @Override
   protected Logger getLoggerInstance() {
@@ -13,6 +13,7 @@ import com.commercetools.api.models.custom_object.CustomObjectPagedQueryResponse
 import com.commercetools.api.predicates.query.custom_object.CustomObjectQueryBuilderDsl;
 import com.commercetools.project.sync.SyncModuleOption;
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.cache.CacheBudget;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.project.sync.util.SyncUtils;
@@ -138,6 +139,7 @@ public final class CustomObjectSyncer
               updateActions = updateActions == null ? Collections.emptyList() : updateActions;
               logErrorCallback(
                   LOGGER, "customObject", exception, resourceIdentifier, updateActions);
+              recordFailure(CustomObjectSync.class, exception, newResourceDraft, updateActions);
             };
     final TriConsumer<SyncException, Optional<CustomObjectDraft>, Optional<CustomObject>>
         logWarningCallback =
@@ -147,6 +149,7 @@ public final class CustomObjectSyncer
             };
     final CustomObjectSyncOptions syncOptions =
         CustomObjectSyncOptionsBuilder.of(targetClient)
+            .cacheSize(CacheBudget.current().getSyncOptionsCacheSize())
             .errorCallback(logErrorCallback)
             .warningCallback(logWarningCallback)
             .build();
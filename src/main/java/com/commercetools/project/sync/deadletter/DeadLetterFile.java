@@ -0,0 +1,260 @@
+package com.commercetools.project.sync.deadletter;
+
+import static java.lang.String.format;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vrap.rmf.base.client.utils.json.JsonUtils;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A gzipped file of newline delimited JSON dead letters, one per resource which failed to sync,
+ * e.g. {@code {"key":"product-key","errorType":"ReferenceResolutionException","message":"...",
+ * "updateActions":"...","draft":{...}}}. The keys of a dead letter file are re-synced by the replay
+ * mode of the CLI.
+ *
+ * <p>A file created by {@link #createKeepingUnsynced(Path)} keeps the dead letters of the previous
+ * run whose resources are not synced again by the current run, e.g. by a delta sync which only
+ * reads the changed resources.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class DeadLetterFile implements Closeable {
+  private static final String PREVIOUS_FILE_SUFFIX = ".previous";
+
+  private final Path file;
+  private final BufferedWriter writer;
+  private final ObjectMapper objectMapper = JsonUtils.getConfiguredObjectMapper();
+  private final Path previousFile;
+  private final Set<String> unsyncedPreviousKeys = ConcurrentHashMap.newKeySet();
+  private long deadLetters;
+
+  private DeadLetterFile(
+      @Nonnull final Path file,
+      @Nonnull final BufferedWriter writer,
+      @Nullable final Path previousFile) {
+    this.file = file;
+    this.writer = writer;
+    this.previousFile = previousFile;
+    if (previousFile != null) {
+      unsyncedPreviousKeys.addAll(readKeys(previousFile));
+    }
+  }
+
+  /**
+   * Creates the given file, or replaces it if it exists, so it only holds the dead letters of the
+   * current run.
+   */
+  @Nonnull
+  public static DeadLetterFile create(@Nonnull final Path file) {
+    return create(file, false);
+  }
+
+  /**
+   * Same as {@link #create(Path)}, but the dead letters of the previous run in the file are kept
+   * unless their resources are {@link #markSynced(String) synced} by the current run. They are
+   * appended to the file when it is closed.
+   */
+  @Nonnull
+  public static DeadLetterFile createKeepingUnsynced(@Nonnull final Path file) {
+    return create(file, true);
+  }
+
+  @Nonnull
+  private static DeadLetterFile create(
+      @Nonnull final Path file, final boolean isKeepingUnsyncedDeadLetters) {
+    try {
+      final Path parent = file.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      Path previousFile = null;
+      if (isKeepingUnsyncedDeadLetters && Files.exists(file)) {
+        previousFile = file.resolveSibling(file.getFileName() + PREVIOUS_FILE_SUFFIX);
+        Files.move(file, previousFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+      return new DeadLetterFile(
+          file,
+          new BufferedWriter(
+              new OutputStreamWriter(
+                  new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8)),
+          previousFile);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(
+          format("Failed to create the dead letter file '%s'.", file), exception);
+    }
+  }
+
+  /**
+   * Returns the distinct keys of the dead letters of the given file in the order they were
+   * written. A missing file has no keys, and the keys of a file which is cut off, e.g. by a crashed
+   * run, are read up to the cut. Dead letters without a key are skipped.
+   */
+  @Nonnull
+  public static List<String> readKeys(@Nonnull final Path file) {
+    final Set<String> keys = new LinkedHashSet<>();
+    if (!Files.exists(file)) {
+      return new ArrayList<>(keys);
+    }
+    final ObjectMapper objectMapper = JsonUtils.getConfiguredObjectMapper();
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        final String key = readKey(objectMapper, line);
+        if (key != null) {
+          keys.add(key);
+        }
+      }
+    } catch (IOException exception) {
+      // the dead letters before the cut are still replayed.
+    }
+    return new ArrayList<>(keys);
+  }
+
+  @Nullable
+  private static String readKey(
+      @Nonnull final ObjectMapper objectMapper, @Nonnull final String line) {
+    if (line.isBlank()) {
+      return null;
+    }
+    try {
+      return objectMapper.readTree(line).path("key").asText(null);
+    } catch (IOException exception) {
+      return null;
+    }
+  }
+
+  /**
+   * Appends a dead letter to the file.
+   *
+   * @param key the key of the resource, or {@code null} if it has none.
+   * @param errorType the type of the error, see {@code ErrorAggregator}.
+   * @param message the message of the error.
+   * @param updateActions the rendered update actions which failed, if any.
+   * @param draft the draft of the resource which failed to sync, if known.
+   */
+  public synchronized void write(
+      @Nullable final String key,
+      @Nonnull final String errorType,
+      @Nullable final String message,
+      @Nonnull final String updateActions,
+      @Nullable final Object draft) {
+    final ObjectNode deadLetter = objectMapper.createObjectNode();
+    deadLetter.put("key", key);
+    deadLetter.put("errorType", errorType);
+    deadLetter.put("message", message);
+    deadLetter.put("updateActions", updateActions);
+    deadLetter.set("draft", toJson(draft));
+    try {
+      writeLine(objectMapper.writeValueAsString(deadLetter));
+    } catch (IOException exception) {
+      throw new UncheckedIOException(
+          format("Failed to write to the dead letter file '%s'.", file), exception);
+    }
+  }
+
+  /**
+   * Marks the resource with the given key as synced by the current run, so its dead letter of the
+   * previous run is not kept. Its new dead letter, if it fails again, is written by {@link
+   * #write(String, String, String, String, Object)}.
+   */
+  public void markSynced(@Nonnull final String key) {
+    unsyncedPreviousKeys.remove(key);
+  }
+
+  private void writeLine(@Nonnull final String line) {
+    try {
+      writer.write(line);
+      writer.newLine();
+      deadLetters++;
+    } catch (IOException exception) {
+      throw new UncheckedIOException(
+          format("Failed to write to the dead letter file '%s'.", file), exception);
+    }
+  }
+
+  /**
+   * Appends the first dead letter of each resource of the previous run which wasn't synced by the
+   * current run, and deletes the file of the previous run.
+   */
+  private void appendUnsyncedDeadLetters() throws IOException {
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(previousFile)),
+                StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null && !unsyncedPreviousKeys.isEmpty()) {
+        final String key = readKey(objectMapper, line);
+        if (key != null && unsyncedPreviousKeys.remove(key)) {
+          writeLine(line);
+        }
+      }
+    } catch (IOException exception) {
+      // the dead letters before the cut of a crashed run are still kept.
+    }
+    Files.deleteIfExists(previousFile);
+  }
+
+  @Nullable
+  private JsonNode toJson(@Nullable final Object draft) {
+    if (draft == null) {
+      return null;
+    }
+    try {
+      return objectMapper.valueToTree(draft);
+    } catch (IllegalArgumentException exception) {
+      // the key and the error are enough to replay the resource.
+      return null;
+    }
+  }
+
+  public synchronized long getDeadLetters() {
+    return deadLetters;
+  }
+
+  @Nonnull
+  public Path getFile() {
+    return file;
+  }
+
+  /**
+   * Appends the kept dead letters of the previous run, flushes the dead letters and completes the
+   * gzip stream.
+   */
+  @Override
+  public synchronized void close() {
+    try {
+      if (previousFile != null) {
+        appendUnsyncedDeadLetters();
+      }
+      writer.close();
+    } catch (IOException exception) {
+      throw new UncheckedIOException(
+          format("Failed to close the dead letter file '%s'.", file), exception);
+    }
+  }
+}
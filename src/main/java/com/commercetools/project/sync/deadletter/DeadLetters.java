@@ -0,0 +1,125 @@
+package com.commercetools.project.sync.deadletter;
+
+import static java.lang.String.format;
+
+import com.commercetools.api.models.ResourceUpdateAction;
+import com.commercetools.api.models.WithKey;
+import com.commercetools.project.sync.util.ErrorAggregator;
+import com.commercetools.project.sync.util.SyncUtils;
+import com.commercetools.sync.commons.BaseSync;
+import com.commercetools.sync.commons.exceptions.SyncException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Routes the failed drafts of the error callbacks of the syncers to the {@link DeadLetterFile} of
+ * their sync module, e.g. "ProductSync". The files are activated for the modules of a run which
+ * has a dead letter directory; without an active file, failed drafts are only logged.
+ */
+public final class DeadLetters {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DeadLetters.class);
+  private static final Map<String, DeadLetterFile> FILES_BY_SYNC_MODULE_NAME =
+      new ConcurrentHashMap<>();
+
+  private DeadLetters() {}
+
+  /** Writes the failed drafts of the given sync module, e.g. "ProductSync", to the given file. */
+  public static void activate(
+      @Nonnull final String syncModuleName, @Nonnull final DeadLetterFile deadLetterFile) {
+    FILES_BY_SYNC_MODULE_NAME.put(syncModuleName, deadLetterFile);
+  }
+
+  /**
+   * Stops writing the failed drafts of the given sync module.
+   *
+   * @return the file which was active for the module, or {@code null} if there was none.
+   */
+  @Nullable
+  public static DeadLetterFile deactivate(@Nonnull final String syncModuleName) {
+    return FILES_BY_SYNC_MODULE_NAME.remove(syncModuleName);
+  }
+
+  /**
+   * Writes a dead letter for the failed draft of the given sync to the active file of the sync
+   * module, if there is one. The key of the dead letter is the key of the draft; drafts without a
+   * key can't be replayed. A dead letter which can't be written is logged and dropped, so the sync
+   * continues.
+   */
+  public static <D, U extends ResourceUpdateAction> void write(
+      @Nonnull final Class<? extends BaseSync> syncClass,
+      @Nonnull final SyncException exception,
+      @Nonnull final Optional<D> newResourceDraft,
+      @Nullable final List<U> updateActions) {
+    final DeadLetterFile deadLetterFile =
+        FILES_BY_SYNC_MODULE_NAME.get(SyncUtils.getSyncModuleName(syncClass));
+    if (deadLetterFile == null) {
+      return;
+    }
+    final D draft = newResourceDraft.orElse(null);
+    try {
+      deadLetterFile.write(
+          draft instanceof WithKey ? ((WithKey) draft).getKey() : null,
+          ErrorAggregator.getErrorType(exception),
+          exception.getMessage(),
+          SyncUtils.renderUpdateActions(updateActions),
+          draft);
+    } catch (UncheckedIOException writeException) {
+      if (LOGGER.isWarnEnabled()) {
+        LOGGER.warn(
+            format("Failed to write the dead letter of a %s.", syncClass.getSimpleName()),
+            writeException);
+      }
+    }
+  }
+
+  /**
+   * Marks the resource with the given key as synced by the given sync module, e.g. "ProductSync",
+   * so the active file of the module doesn't keep its dead letter of the previous run.
+   */
+  public static void markSynced(@Nonnull final String syncModuleName, @Nullable final String key) {
+    final DeadLetterFile deadLetterFile = FILES_BY_SYNC_MODULE_NAME.get(syncModuleName);
+    if (deadLetterFile != null && key != null) {
+      deadLetterFile.markSynced(key);
+    }
+  }
+
+  /**
+   * Writes a dead letter for each of the given keys to the active file of the given sync module,
+   * e.g. "ProductSync", if there is one. It is used for resources which failed to sync as a whole,
+   * e.g. a micro-batch of change events whose source resources couldn't be fetched, so there is
+   * neither a draft nor update actions.
+   */
+  public static void writeKeys(
+      @Nonnull final String syncModuleName,
+      @Nonnull final List<String> keys,
+      @Nonnull final Throwable throwable) {
+    final DeadLetterFile deadLetterFile = FILES_BY_SYNC_MODULE_NAME.get(syncModuleName);
+    if (deadLetterFile == null) {
+      return;
+    }
+    final Throwable cause = SyncUtils.getCompletionExceptionCause(throwable);
+    try {
+      for (String key : keys) {
+        deadLetterFile.write(
+            key,
+            cause.getClass().getSimpleName(),
+            cause.getMessage(),
+            SyncUtils.renderUpdateActions(null),
+            null);
+      }
+    } catch (UncheckedIOException writeException) {
+      if (LOGGER.isWarnEnabled()) {
+        LOGGER.warn(
+            format("Failed to write the dead letters of a failed batch of %s.", syncModuleName),
+            writeException);
+      }
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.commercetools.project.sync.deletion;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+
+/** Counts the results of deleting the target resources which don't exist in the source project. */
+public final class DeletionStatistics {
+  private final boolean isDryRun;
+  private final AtomicLong onlyInTarget = new AtomicLong();
+  private final AtomicLong deleted = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong withoutKey = new AtomicLong();
+
+  public DeletionStatistics(final boolean isDryRun) {
+    this.isDryRun = isDryRun;
+  }
+
+  public void incrementOnlyInTarget() {
+    onlyInTarget.incrementAndGet();
+  }
+
+  public void incrementDeleted() {
+    deleted.incrementAndGet();
+  }
+
+  public void incrementFailed() {
+    failed.incrementAndGet();
+  }
+
+  public void incrementWithoutKey() {
+    withoutKey.incrementAndGet();
+  }
+
+  public boolean isDryRun() {
+    return isDryRun;
+  }
+
+  public long getOnlyInTarget() {
+    return onlyInTarget.get();
+  }
+
+  public long getDeleted() {
+    return deleted.get();
+  }
+
+  public long getFailed() {
+    return failed.get();
+  }
+
+  public long getWithoutKey() {
+    return withoutKey.get();
+  }
+
+  @Nonnull
+  public String getReportMessage(@Nonnull final String syncModuleName) {
+    if (isDryRun) {
+      return format(
+          "Deletion summary of %s (dry run): %d resource(s) of the target project don't exist in the "
+              + "source project and would be deleted (%d target resource(s) without key are kept).",
+          syncModuleName, getOnlyInTarget(), getWithoutKey());
+    }
+    return format(
+        "Deletion summary of %s: %d resource(s) of the target project don't exist in the source "
+            + "project (%d deleted and %d failed to delete, %d target resource(s) without key are "
+            + "kept).",
+        syncModuleName, getOnlyInTarget(), getDeleted(), getFailed(), getWithoutKey());
+  }
+}
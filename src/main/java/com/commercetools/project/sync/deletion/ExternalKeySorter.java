@@ -0,0 +1,209 @@
+package com.commercetools.project.sync.deletion;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import javax.annotation.Nonnull;
+
+/**
+ * Sorts an unbounded number of records by their key with a bounded amount of memory.
+ *
+ * <p>A record is a line of text whose key is the part before the first tab character (or the whole
+ * line, if it has no tab). Records are buffered in memory until {@code maxRecordsInMemory} is
+ * reached, then the buffer is sorted and spilled to a temporary file as a sorted run. {@link
+ * #sort()} merges all runs with a k-way merge and streams the records in key order, so at most one
+ * buffered record per run is held in memory while iterating.
+ *
+ * <p>This class is not thread-safe. {@link #close()} deletes the temporary files.
+ */
+public final class ExternalKeySorter implements Closeable {
+  public static final int DEFAULT_MAX_RECORDS_IN_MEMORY = 500_000;
+  static final char KEY_SEPARATOR = '\t';
+
+  private static final Comparator<String> BY_KEY =
+      Comparator.comparing(ExternalKeySorter::getKey).thenComparing(Comparator.naturalOrder());
+
+  private final int maxRecordsInMemory;
+  private final Path tempDirectory;
+  private final List<String> buffer = new ArrayList<>();
+  private final List<Path> runs = new ArrayList<>();
+  private final List<BufferedReader> openReaders = new ArrayList<>();
+
+  ExternalKeySorter(final int maxRecordsInMemory, @Nonnull final Path tempDirectory) {
+    this.maxRecordsInMemory = maxRecordsInMemory;
+    this.tempDirectory = tempDirectory;
+  }
+
+  @Nonnull
+  public static ExternalKeySorter of() {
+    return new ExternalKeySorter(
+        DEFAULT_MAX_RECORDS_IN_MEMORY, Paths.get(System.getProperty("java.io.tmpdir")));
+  }
+
+  @Nonnull
+  static String getKey(@Nonnull final String record) {
+    final int separatorIndex = record.indexOf(KEY_SEPARATOR);
+    return separatorIndex < 0 ? record : record.substring(0, separatorIndex);
+  }
+
+  public void add(@Nonnull final String record) {
+    buffer.add(record);
+    if (buffer.size() >= maxRecordsInMemory) {
+      spill();
+    }
+  }
+
+  /**
+   * Returns an iterator over all added records sorted by their key. Records with the same key are
+   * returned only once.
+   */
+  @Nonnull
+  public Iterator<String> sort() {
+    buffer.sort(BY_KEY);
+    if (runs.isEmpty()) {
+      return new DistinctKeyIterator(buffer.iterator());
+    }
+    spill();
+    final List<Iterator<String>> runIterators = new ArrayList<>();
+    try {
+      for (Path run : runs) {
+        final BufferedReader reader = Files.newBufferedReader(run, StandardCharsets.UTF_8);
+        openReaders.add(reader);
+        runIterators.add(reader.lines().iterator());
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to read a sorted run of keys.", exception);
+    }
+    return new DistinctKeyIterator(new MergingIterator(runIterators));
+  }
+
+  private void spill() {
+    if (buffer.isEmpty()) {
+      return;
+    }
+    buffer.sort(BY_KEY);
+    try {
+      final Path run = Files.createTempFile(tempDirectory, "project-sync-keys", ".run");
+      runs.add(run);
+      try (BufferedWriter writer = Files.newBufferedWriter(run, StandardCharsets.UTF_8)) {
+        for (String record : buffer) {
+          writer.write(record);
+          writer.newLine();
+        }
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to spill a sorted run of keys to disk.", exception);
+    }
+    buffer.clear();
+  }
+
+  int getNumberOfRuns() {
+    return runs.size();
+  }
+
+  @Override
+  public void close() {
+    buffer.clear();
+    for (BufferedReader reader : openReaders) {
+      try {
+        reader.close();
+      } catch (IOException ignored) {
+        // the run file is deleted below anyway.
+      }
+    }
+    openReaders.clear();
+    for (Path run : runs) {
+      try {
+        Files.deleteIfExists(run);
+      } catch (IOException ignored) {
+        run.toFile().deleteOnExit();
+      }
+    }
+    runs.clear();
+  }
+
+  /** Merges sorted iterators into one sorted iterator with a priority queue of their heads. */
+  private static final class MergingIterator implements Iterator<String> {
+    private final PriorityQueue<Head> heads =
+        new PriorityQueue<>((first, second) -> BY_KEY.compare(first.record, second.record));
+
+    private MergingIterator(@Nonnull final List<Iterator<String>> iterators) {
+      iterators.stream().filter(Iterator::hasNext).map(Head::new).forEach(heads::add);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !heads.isEmpty();
+    }
+
+    @Override
+    public String next() {
+      final Head head = heads.poll();
+      if (head == null) {
+        throw new NoSuchElementException();
+      }
+      final String record = head.record;
+      if (head.iterator.hasNext()) {
+        head.record = head.iterator.next();
+        heads.add(head);
+      }
+      return record;
+    }
+  }
+
+  private static final class Head {
+    private final Iterator<String> iterator;
+    private String record;
+
+    private Head(@Nonnull final Iterator<String> iterator) {
+      this.iterator = iterator;
+      this.record = iterator.next();
+    }
+  }
+
+  /** Skips records whose key equals the key of the previously returned record. */
+  private static final class DistinctKeyIterator implements Iterator<String> {
+    private final Iterator<String> sortedRecords;
+    private String nextRecord;
+    private String lastKey;
+
+    private DistinctKeyIterator(@Nonnull final Iterator<String> sortedRecords) {
+      this.sortedRecords = sortedRecords;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (nextRecord == null && sortedRecords.hasNext()) {
+        final String record = sortedRecords.next();
+        final String key = getKey(record);
+        if (!key.equals(lastKey)) {
+          nextRecord = record;
+          lastKey = key;
+        }
+      }
+      return nextRecord != null;
+    }
+
+    @Override
+    public String next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final String record = nextRecord;
+      nextRecord = null;
+      return record;
+    }
+  }
+}
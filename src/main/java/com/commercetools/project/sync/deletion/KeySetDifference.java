@@ -0,0 +1,42 @@
+package com.commercetools.project.sync.deletion;
+
+import static com.commercetools.project.sync.deletion.ExternalKeySorter.getKey;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+
+public final class KeySetDifference {
+
+  /**
+   * Walks both sorted record streams once, in the manner of a merge join, and passes every target
+   * record whose key doesn't exist in the source records to the given consumer. Both iterators must
+   * return their records sorted by key (e.g. by {@link ExternalKeySorter#sort()}).
+   *
+   * @param sortedSourceRecords the source records sorted by key.
+   * @param sortedTargetRecords the target records sorted by key.
+   * @param onlyInTargetConsumer the consumer of the target records missing in the source.
+   * @return the number of target records passed to the consumer.
+   */
+  public static long forEachOnlyInTarget(
+      @Nonnull final Iterator<String> sortedSourceRecords,
+      @Nonnull final Iterator<String> sortedTargetRecords,
+      @Nonnull final Consumer<String> onlyInTargetConsumer) {
+    long onlyInTargetCount = 0;
+    String sourceKey = sortedSourceRecords.hasNext() ? getKey(sortedSourceRecords.next()) : null;
+    while (sortedTargetRecords.hasNext()) {
+      final String targetRecord = sortedTargetRecords.next();
+      final String targetKey = getKey(targetRecord);
+      while (sourceKey != null && sourceKey.compareTo(targetKey) < 0) {
+        sourceKey = sortedSourceRecords.hasNext() ? getKey(sortedSourceRecords.next()) : null;
+      }
+      if (!targetKey.equals(sourceKey)) {
+        onlyInTargetConsumer.accept(targetRecord);
+        onlyInTargetCount++;
+      }
+    }
+    return onlyInTargetCount;
+  }
+
+  private KeySetDifference() {}
+}
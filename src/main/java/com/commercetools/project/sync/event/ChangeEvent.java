@@ -0,0 +1,57 @@
+package com.commercetools.project.sync.event;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+
+/**
+ * A change of a source resource which should be synced to the target project with a low latency,
+ * e.g. a price or stock update.
+ */
+public final class ChangeEvent {
+  private final String syncOptionValue;
+  private final String resourceKey;
+
+  private ChangeEvent(@Nonnull final String syncOptionValue, @Nonnull final String resourceKey) {
+    this.syncOptionValue = syncOptionValue;
+    this.resourceKey = resourceKey;
+  }
+
+  /**
+   * @param syncOptionValue the sync module of the changed resource, e.g. "products" or
+   *     "inventoryEntries".
+   * @param resourceKey the key of the changed resource.
+   * @return the change event.
+   */
+  @Nonnull
+  public static ChangeEvent of(
+      @Nonnull final String syncOptionValue, @Nonnull final String resourceKey) {
+    return new ChangeEvent(syncOptionValue, resourceKey);
+  }
+
+  @Nonnull
+  public String getSyncOptionValue() {
+    return syncOptionValue;
+  }
+
+  @Nonnull
+  public String getResourceKey() {
+    return resourceKey;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ChangeEvent)) {
+      return false;
+    }
+    final ChangeEvent that = (ChangeEvent) o;
+    return syncOptionValue.equals(that.syncOptionValue) && resourceKey.equals(that.resourceKey);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(syncOptionValue, resourceKey);
+  }
+}
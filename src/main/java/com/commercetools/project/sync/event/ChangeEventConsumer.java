@@ -0,0 +1,155 @@
+package com.commercetools.project.sync.event;
+
+import static java.lang.String.format;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Consumes a {@link ChangeEventQueue} until it is drained, coalesces the events with a {@link
+ * MicroBatchCoalescer} and syncs every flushed micro-batch with the given {@link BatchSyncer}. The
+ * modules of a micro-batch are synced in the given stages, e.g. categories before the products
+ * which reference them, like the modules of a sync.
+ */
+public final class ChangeEventConsumer {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChangeEventConsumer.class);
+
+  private final ChangeEventQueue queue;
+  private final MicroBatchCoalescer coalescer;
+  private final BatchSyncer batchSyncer;
+  private final List<List<String>> stages;
+  private final Clock clock;
+  private long flushedBatchCount;
+
+  /**
+   * Syncs the resources with the given keys of one sync module, e.g. "products". If the stage
+   * completes exceptionally, the batch syncer is expected to have recorded the keys, e.g. as dead
+   * letters.
+   */
+  @FunctionalInterface
+  public interface BatchSyncer {
+    @Nonnull
+    CompletionStage<Void> sync(@Nonnull String syncOptionValue, @Nonnull List<String> resourceKeys);
+  }
+
+  /**
+   * Instantiates a consumer of the given queue.
+   *
+   * @param queue the queue of the change events.
+   * @param coalescer the coalescer of the change events into micro-batches.
+   * @param batchSyncer the syncer of the resources of one module of a micro-batch.
+   * @param stages the sync option values of the modules, e.g. "products", in groups which are
+   *     synced one after another. The modules of a group are synced in parallel, and modules which
+   *     are in no group are synced after the last group.
+   * @param clock the clock to measure the duration of the sync of a micro-batch.
+   */
+  public ChangeEventConsumer(
+      @Nonnull final ChangeEventQueue queue,
+      @Nonnull final MicroBatchCoalescer coalescer,
+      @Nonnull final BatchSyncer batchSyncer,
+      @Nonnull final List<List<String>> stages,
+      @Nonnull final Clock clock) {
+    this.queue = queue;
+    this.coalescer = coalescer;
+    this.batchSyncer = batchSyncer;
+    this.stages = stages;
+    this.clock = clock;
+  }
+
+  /**
+   * Polls and syncs events until the queue is drained. A micro-batch is flushed once it is full or
+   * its oldest event reached the maximum latency, and the remaining events are flushed once the
+   * queue is drained.
+   *
+   * @throws InterruptedException if the thread was interrupted while waiting for events.
+   */
+  public void consume() throws InterruptedException {
+    while (!queue.isDrained()) {
+      final List<ChangeEvent> events =
+          queue.poll(coalescer.getRemainingCapacity(), coalescer.getTimeUntilFlush());
+      events.forEach(coalescer::add);
+      if (coalescer.shouldFlush()) {
+        flush();
+      }
+    }
+    if (!coalescer.isEmpty()) {
+      flush();
+    }
+    queue.close();
+  }
+
+  private void flush() {
+    final int resourceCount = coalescer.size();
+    final long timeBeforeFlush = clock.millis();
+    final Map<String, List<String>> batch = coalescer.flush();
+    for (List<String> stage : getBatchStages(batch.keySet())) {
+      final CompletableFuture<?>[] syncs =
+          stage.stream()
+              .map(syncOptionValue -> syncModuleBatch(syncOptionValue, batch.get(syncOptionValue)))
+              .toArray(CompletableFuture[]::new);
+      CompletableFuture.allOf(syncs).join();
+    }
+    flushedBatchCount++;
+    if (LOGGER.isInfoEnabled()) {
+      LOGGER.info(
+          format(
+              "Synced micro-batch %d with %d resource(s) in %d ms (%d event(s) coalesced so far).",
+              flushedBatchCount,
+              resourceCount,
+              clock.millis() - timeBeforeFlush,
+              coalescer.getCoalescedEventCount()));
+    }
+  }
+
+  /** Returns the non-empty stages of the given modules of a micro-batch, in the order of sync. */
+  @Nonnull
+  private List<List<String>> getBatchStages(@Nonnull final Set<String> batchSyncOptionValues) {
+    final List<List<String>> batchStages = new ArrayList<>();
+    final Set<String> unstagedSyncOptionValues = new LinkedHashSet<>(batchSyncOptionValues);
+    for (List<String> stage : stages) {
+      final List<String> batchStage =
+          stage.stream().filter(batchSyncOptionValues::contains).collect(Collectors.toList());
+      if (!batchStage.isEmpty()) {
+        batchStages.add(batchStage);
+        unstagedSyncOptionValues.removeAll(batchStage);
+      }
+    }
+    if (!unstagedSyncOptionValues.isEmpty()) {
+      batchStages.add(new ArrayList<>(unstagedSyncOptionValues));
+    }
+    return batchStages;
+  }
+
+  @Nonnull
+  private CompletableFuture<Void> syncModuleBatch(
+      @Nonnull final String syncOptionValue, @Nonnull final List<String> resourceKeys) {
+    return batchSyncer
+        .sync(syncOptionValue, resourceKeys)
+        .toCompletableFuture()
+        .exceptionally(
+            throwable -> {
+              // a failed batch must not stop the consumer. The keys are logged, and recorded by
+              // the batch syncer, so they can be replayed.
+              LOGGER.error(
+                  format(
+                      "Failed to sync a micro-batch of %d %s with the keys %s.",
+                      resourceKeys.size(), syncOptionValue, resourceKeys),
+                  throwable);
+              return null;
+            });
+  }
+
+  public long getFlushedBatchCount() {
+    return flushedBatchCount;
+  }
+}
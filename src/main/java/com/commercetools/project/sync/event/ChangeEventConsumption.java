@@ -0,0 +1,90 @@
+package com.commercetools.project.sync.event;
+
+import static java.lang.String.format;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The handle of a {@link ChangeEventConsumer} which runs on its own thread, so the blocking
+ * consumption doesn't occupy a thread of the common pool, which runs the delayed retries of the
+ * sync. Closing the handle closes the queue, so the events which were already appended are still
+ * synced, and waits until the consumer and the stages depending on its completion are finished.
+ */
+public final class ChangeEventConsumption implements Closeable {
+  static final String THREAD_NAME = "change-event-consumer";
+  private static final long TERMINATION_TIMEOUT_IN_SECONDS = 60;
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChangeEventConsumption.class);
+
+  private final ChangeEventQueue queue;
+  private final ExecutorService executor;
+  private final CompletableFuture<Void> completion;
+
+  private ChangeEventConsumption(
+      @Nonnull final ChangeEventQueue queue,
+      @Nonnull final ExecutorService executor,
+      @Nonnull final CompletableFuture<Void> completion) {
+    this.queue = queue;
+    this.executor = executor;
+    this.completion = completion;
+  }
+
+  /** Starts the given consumer of the given queue on a new thread. */
+  @Nonnull
+  public static ChangeEventConsumption start(
+      @Nonnull final ChangeEventConsumer consumer, @Nonnull final ChangeEventQueue queue) {
+    final ExecutorService executor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, THREAD_NAME);
+              thread.setDaemon(true);
+              return thread;
+            });
+    final CompletableFuture<Void> completion =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                consumer.consume();
+              } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(exception);
+              }
+            },
+            executor);
+    executor.shutdown();
+    return new ChangeEventConsumption(queue, executor, completion);
+  }
+
+  /** Returns the stage which completes once the queue is closed and all its events are synced. */
+  @Nonnull
+  public CompletableFuture<Void> getCompletion() {
+    return completion;
+  }
+
+  /**
+   * Closes the queue and waits up to {@value #TERMINATION_TIMEOUT_IN_SECONDS} seconds until its
+   * remaining events are synced.
+   */
+  @Override
+  public void close() {
+    queue.close();
+    try {
+      if (!executor.awaitTermination(TERMINATION_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)
+          && LOGGER.isWarnEnabled()) {
+        LOGGER.warn(
+            format(
+                "The change event consumer didn't finish within %d seconds.",
+                TERMINATION_TIMEOUT_IN_SECONDS));
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
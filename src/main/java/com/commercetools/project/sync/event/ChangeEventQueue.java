@@ -0,0 +1,27 @@
+package com.commercetools.project.sync.event;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+/** A queue of {@link ChangeEvent}s which is consumed by the {@link ChangeEventConsumer}. */
+public interface ChangeEventQueue extends Closeable {
+
+  /**
+   * Waits up to the given timeout for events and returns at most {@code maxEvents} of them.
+   *
+   * @param maxEvents the maximum number of events to return.
+   * @param timeout the maximum time to wait if no event is available.
+   * @return the polled events, or an empty list if no event arrived within the timeout.
+   * @throws InterruptedException if the thread was interrupted while waiting.
+   */
+  @Nonnull
+  List<ChangeEvent> poll(int maxEvents, @Nonnull Duration timeout) throws InterruptedException;
+
+  /** Returns {@code true} if the queue is closed and all of its events were polled. */
+  boolean isDrained();
+
+  @Override
+  void close();
+}
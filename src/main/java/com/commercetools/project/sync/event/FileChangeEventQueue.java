@@ -0,0 +1,175 @@
+package com.commercetools.project.sync.event;
+
+import static java.lang.String.format;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vrap.rmf.base.client.utils.json.JsonUtils;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ChangeEventQueue} backed by a file of newline delimited JSON events, e.g. {@code
+ * {"resource": "products", "key": "product-key"}}. In follow mode, events appended to the file are
+ * polled as they arrive (like {@code tail -f}) until the queue is closed. Otherwise, the queue is
+ * drained at the end of the file.
+ */
+public final class FileChangeEventQueue implements ChangeEventQueue {
+  private static final Logger LOGGER = LoggerFactory.getLogger(FileChangeEventQueue.class);
+  private static final long FOLLOW_INTERVAL_MILLIS = 50;
+
+  private final Path file;
+  private final boolean isFollow;
+  private final BufferedReader reader;
+  private final ObjectMapper objectMapper = JsonUtils.getConfiguredObjectMapper();
+  private final StringBuilder partialLine = new StringBuilder();
+  private boolean isEndOfFile;
+  private volatile boolean isClosed;
+  private boolean isReaderClosed;
+
+  private FileChangeEventQueue(@Nonnull final Path file, final boolean isFollow) {
+    this.file = file;
+    this.isFollow = isFollow;
+    try {
+      this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(
+          format("Failed to open the change event file '%s'.", file), exception);
+    }
+  }
+
+  /**
+   * @param file the file of newline delimited JSON events.
+   * @param isFollow whether events appended to the file are polled until the queue is closed.
+   * @return the queue reading the events of the file.
+   */
+  @Nonnull
+  public static FileChangeEventQueue of(@Nonnull final Path file, final boolean isFollow) {
+    return new FileChangeEventQueue(file, isFollow);
+  }
+
+  /**
+   * Polls the events appended to the file. While no event is available, the poll waits on the
+   * monitor of the queue, which releases it, so {@link #close()} is not blocked and wakes the poll
+   * up.
+   */
+  @Nonnull
+  @Override
+  public synchronized List<ChangeEvent> poll(final int maxEvents, @Nonnull final Duration timeout)
+      throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + timeout.toMillis();
+    final List<ChangeEvent> events = new ArrayList<>();
+    while (true) {
+      readEvents(events, maxEvents);
+      if (isDrained()) {
+        closeReader();
+      }
+      final long remainingMillis = deadline - System.currentTimeMillis();
+      if (!events.isEmpty() || isDrained() || remainingMillis <= 0) {
+        return events;
+      }
+      wait(Math.min(FOLLOW_INTERVAL_MILLIS, remainingMillis));
+    }
+  }
+
+  private void readEvents(@Nonnull final List<ChangeEvent> events, final int maxEvents) {
+    if (isReaderClosed) {
+      return;
+    }
+    try {
+      while (events.size() < maxEvents && reader.ready()) {
+        final int character = reader.read();
+        if (character < 0) {
+          break;
+        }
+        if (character == '\n') {
+          addEvent(events, partialLine.toString());
+          partialLine.setLength(0);
+        } else {
+          partialLine.append((char) character);
+        }
+      }
+      // Without follow mode or after closing, a last line without a line break is complete.
+      isEndOfFile = !reader.ready();
+      if (isEndOfFile
+          && (!isFollow || isClosed)
+          && partialLine.length() > 0
+          && events.size() < maxEvents) {
+        addEvent(events, partialLine.toString());
+        partialLine.setLength(0);
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException(
+          format("Failed to read the change event file '%s'.", file), exception);
+    }
+  }
+
+  private void addEvent(@Nonnull final List<ChangeEvent> events, @Nonnull final String line) {
+    final ChangeEvent event = parseEvent(line);
+    if (event != null) {
+      events.add(event);
+    }
+  }
+
+  @Nullable
+  private ChangeEvent parseEvent(@Nonnull final String line) {
+    if (line.isBlank()) {
+      return null;
+    }
+    try {
+      final JsonNode eventNode = objectMapper.readTree(line);
+      final String resource = eventNode.path("resource").asText(null);
+      final String key = eventNode.path("key").asText(null);
+      if (resource != null && key != null) {
+        return ChangeEvent.of(resource, key);
+      }
+    } catch (IOException exception) {
+      // an invalid line is skipped like a line without resource or key.
+    }
+    if (LOGGER.isWarnEnabled()) {
+      LOGGER.warn(format("Skipped invalid change event '%s' of file '%s'.", line, file));
+    }
+    return null;
+  }
+
+  @Override
+  public synchronized boolean isDrained() {
+    return (isClosed || !isFollow) && isEndOfFile && partialLine.length() == 0;
+  }
+
+  /**
+   * Closes the queue. In follow mode, the events already written to the file are still polled until
+   * the end of the file is reached.
+   */
+  @Override
+  public synchronized void close() {
+    isClosed = true;
+    if (isDrained()) {
+      closeReader();
+    }
+    notifyAll();
+  }
+
+  private void closeReader() {
+    if (isReaderClosed) {
+      return;
+    }
+    isReaderClosed = true;
+    try {
+      reader.close();
+    } catch (IOException exception) {
+      LOGGER.warn(format("Failed to close the change event file '%s'.", file), exception);
+    }
+  }
+}
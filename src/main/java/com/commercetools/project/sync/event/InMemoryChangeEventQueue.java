@@ -0,0 +1,50 @@
+package com.commercetools.project.sync.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+/** A {@link ChangeEventQueue} held in memory, e.g. to feed events of an in-process producer. */
+public final class InMemoryChangeEventQueue implements ChangeEventQueue {
+  private final BlockingQueue<ChangeEvent> events = new LinkedBlockingQueue<>();
+  private volatile boolean isClosed;
+
+  /**
+   * Adds the event to the queue.
+   *
+   * @throws IllegalStateException if the queue is already closed.
+   */
+  public void offer(@Nonnull final ChangeEvent event) {
+    if (isClosed) {
+      throw new IllegalStateException("The change event queue is closed.");
+    }
+    events.add(event);
+  }
+
+  @Nonnull
+  @Override
+  public List<ChangeEvent> poll(final int maxEvents, @Nonnull final Duration timeout)
+      throws InterruptedException {
+    final List<ChangeEvent> polledEvents = new ArrayList<>();
+    final ChangeEvent firstEvent = events.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    if (firstEvent != null) {
+      polledEvents.add(firstEvent);
+      events.drainTo(polledEvents, maxEvents - 1);
+    }
+    return polledEvents;
+  }
+
+  @Override
+  public boolean isDrained() {
+    return isClosed && events.isEmpty();
+  }
+
+  @Override
+  public void close() {
+    isClosed = true;
+  }
+}
@@ -0,0 +1,109 @@
+package com.commercetools.project.sync.event;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+
+/**
+ * Coalesces {@link ChangeEvent}s per resource key into micro-batches. Repeated events of the same
+ * resource within a batch are collapsed into one, so a resource is synced once per batch no matter
+ * how often it changed. A batch should be flushed once it contains {@code maxBatchSize} resources
+ * or once its oldest event waited for {@code maxLatency}, whichever comes first.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class MicroBatchCoalescer {
+  private final int maxBatchSize;
+  private final Duration maxLatency;
+  private final Clock clock;
+  private final Map<String, Set<String>> resourceKeysBySyncOptionValue = new LinkedHashMap<>();
+  private int size;
+  private long coalescedEventCount;
+  private long oldestEventMillis;
+
+  /**
+   * @param maxBatchSize the number of distinct resources which triggers a flush.
+   * @param maxLatency the maximum time an event waits in the batch before it is flushed.
+   * @param clock the clock to measure the latency with.
+   */
+  public MicroBatchCoalescer(
+      final int maxBatchSize, @Nonnull final Duration maxLatency, @Nonnull final Clock clock) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("The micro-batch size must be at least 1.");
+    }
+    this.maxBatchSize = maxBatchSize;
+    this.maxLatency = maxLatency;
+    this.clock = clock;
+  }
+
+  public void add(@Nonnull final ChangeEvent event) {
+    if (size == 0) {
+      oldestEventMillis = clock.millis();
+    }
+    final boolean isNewResource =
+        resourceKeysBySyncOptionValue
+            .computeIfAbsent(event.getSyncOptionValue(), value -> new LinkedHashSet<>())
+            .add(event.getResourceKey());
+    if (isNewResource) {
+      size++;
+    } else {
+      coalescedEventCount++;
+    }
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Returns the number of distinct resources in the current batch. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns the number of events which were collapsed into an already batched resource. */
+  public long getCoalescedEventCount() {
+    return coalescedEventCount;
+  }
+
+  public boolean shouldFlush() {
+    return size >= maxBatchSize || (size > 0 && getTimeUntilFlush().isZero());
+  }
+
+  /**
+   * Returns how long the current batch may still wait for more events before it has to be flushed,
+   * or the maximum latency if the batch is empty.
+   */
+  @Nonnull
+  public Duration getTimeUntilFlush() {
+    if (size == 0) {
+      return maxLatency;
+    }
+    final long remainingMillis = oldestEventMillis + maxLatency.toMillis() - clock.millis();
+    return Duration.ofMillis(Math.max(0, remainingMillis));
+  }
+
+  /** Returns the number of resources which can be added before the batch is full. */
+  public int getRemainingCapacity() {
+    return Math.max(0, maxBatchSize - size);
+  }
+
+  /**
+   * Returns the keys of the batched resources grouped by their sync module and starts a new batch.
+   */
+  @Nonnull
+  public Map<String, List<String>> flush() {
+    final Map<String, List<String>> batch = new LinkedHashMap<>();
+    resourceKeysBySyncOptionValue.forEach(
+        (syncOptionValue, resourceKeys) ->
+            batch.put(syncOptionValue, new ArrayList<>(resourceKeys)));
+    resourceKeysBySyncOptionValue.clear();
+    size = 0;
+    return batch;
+  }
+}
@@ -0,0 +1,69 @@
+package com.commercetools.project.sync.graphql;
+
+import static com.commercetools.project.sync.graphql.GraphQlConversions.ASSETS_SELECTION;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.CUSTOM_FIELDS_SELECTION;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.REFERENCE_SELECTION;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.copyAssets;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.copyCustomFields;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.copyFields;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.copyLocalizedStrings;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.copyReference;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.selectLocalizedStrings;
+
+import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import javax.annotation.Nonnull;
+
+/** Selects and converts the fields of categories which are needed to build category drafts. */
+final class CategoryGraphQlConverter implements GraphQlResourceConverter {
+  private static final String[] LOCALIZED_STRINGS = {
+    "name", "slug", "description", "metaTitle", "metaDescription", "metaKeywords"
+  };
+
+  @Nonnull
+  @Override
+  public String getQueryFieldName() {
+    return "categories";
+  }
+
+  @Nonnull
+  @Override
+  public String getResultSelection() {
+    return "id version key createdAt lastModifiedAt orderHint externalId "
+        + selectLocalizedStrings(LOCALIZED_STRINGS)
+        + ("parent " + REFERENCE_SELECTION + " ")
+        + (CUSTOM_FIELDS_SELECTION + " ")
+        + ASSETS_SELECTION;
+  }
+
+  @Override
+  public int getMaxPageSize() {
+    return 500;
+  }
+
+  @Nonnull
+  @Override
+  public ObjectNode toRestResource(
+      @Nonnull final JsonNode graphQlResource,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    final ObjectNode category = JsonNodeFactory.instance.objectNode();
+    copyFields(
+        graphQlResource,
+        category,
+        "id",
+        "version",
+        "key",
+        "createdAt",
+        "lastModifiedAt",
+        "orderHint",
+        "externalId");
+    copyLocalizedStrings(graphQlResource, category, LOCALIZED_STRINGS);
+    category.putArray("ancestors");
+    copyReference(graphQlResource, category, "parent", "category", referenceIdToKeyCache);
+    copyCustomFields(graphQlResource, category, referenceIdToKeyCache);
+    copyAssets(graphQlResource, category, referenceIdToKeyCache);
+    return category;
+  }
+}
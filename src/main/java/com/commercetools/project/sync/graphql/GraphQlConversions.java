@@ -0,0 +1,141 @@
+package com.commercetools.project.sync.graphql;
+
+import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import javax.annotation.Nonnull;
+
+/** Converts the GraphQL representation of the fields shared by resources to the REST one. */
+final class GraphQlConversions {
+  static final String LOCALIZED_STRING_SELECTION = "{ locale value }";
+  static final String REFERENCE_SELECTION = "{ id key }";
+  static final String CUSTOM_FIELDS_SELECTION =
+      "custom { type " + REFERENCE_SELECTION + " customFieldsRaw { name value } }";
+  static final String ASSETS_SELECTION =
+      "assets { id key sources { uri key dimensions { width height } contentType } "
+          + ("nameAllLocales " + LOCALIZED_STRING_SELECTION + " ")
+          + ("descriptionAllLocales " + LOCALIZED_STRING_SELECTION + " ")
+          + ("tags " + CUSTOM_FIELDS_SELECTION + " }");
+
+  private static final String LOCALIZED_STRING_SUFFIX = "AllLocales";
+
+  /** Copies the given fields if they are not null. */
+  static void copyFields(
+      @Nonnull final JsonNode from, @Nonnull final ObjectNode to, @Nonnull final String... names) {
+    for (String name : names) {
+      final JsonNode value = from.get(name);
+      if (value != null && !value.isNull()) {
+        to.set(name, value);
+      }
+    }
+  }
+
+  /**
+   * Returns the selection of the localized strings with the given names, e.g. {@code
+   * nameAllLocales { locale value }} for "name".
+   */
+  @Nonnull
+  static String selectLocalizedStrings(@Nonnull final String... names) {
+    final StringBuilder selection = new StringBuilder();
+    for (String name : names) {
+      selection
+          .append(name)
+          .append(LOCALIZED_STRING_SUFFIX)
+          .append(' ')
+          .append(LOCALIZED_STRING_SELECTION)
+          .append(' ');
+    }
+    return selection.toString();
+  }
+
+  /**
+   * Copies the given localized strings from their GraphQL representation, a list of locale and
+   * value pairs (e.g. "nameAllLocales"), to the REST one, an object of values by locale (e.g.
+   * "name").
+   */
+  static void copyLocalizedStrings(
+      @Nonnull final JsonNode from, @Nonnull final ObjectNode to, @Nonnull final String... names) {
+    for (String name : names) {
+      final JsonNode localizedValues = from.get(name + LOCALIZED_STRING_SUFFIX);
+      if (localizedValues != null && localizedValues.isArray()) {
+        final ObjectNode localizedString = to.putObject(name);
+        localizedValues.forEach(
+            localizedValue ->
+                localizedString.set(
+                    localizedValue.path("locale").asText(), localizedValue.get("value")));
+      }
+    }
+  }
+
+  /**
+   * Copies the referenced resource with the given name, which is selected with its id and key, as
+   * a reference with the given type id and adds its key to the cache.
+   */
+  static void copyReference(
+      @Nonnull final JsonNode from,
+      @Nonnull final ObjectNode to,
+      @Nonnull final String name,
+      @Nonnull final String typeId,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    final JsonNode referencedResource = from.get(name);
+    if (referencedResource != null && !referencedResource.isNull()) {
+      to.set(name, toReference(referencedResource, typeId, referenceIdToKeyCache));
+    }
+  }
+
+  @Nonnull
+  static ObjectNode toReference(
+      @Nonnull final JsonNode referencedResource,
+      @Nonnull final String typeId,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    final String id = referencedResource.path("id").asText();
+    final JsonNode key = referencedResource.get("key");
+    if (key != null && !key.isNull()) {
+      referenceIdToKeyCache.add(id, key.asText());
+    }
+    return JsonNodeFactory.instance.objectNode().put("typeId", typeId).put("id", id);
+  }
+
+  /**
+   * Copies the custom fields, whose GraphQL representation is a list of name and raw value pairs.
+   * Reference values of custom fields are kept as they are and are resolved by the transformation
+   * to drafts.
+   */
+  static void copyCustomFields(
+      @Nonnull final JsonNode from,
+      @Nonnull final ObjectNode to,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    final JsonNode custom = from.get("custom");
+    if (custom == null || custom.isNull()) {
+      return;
+    }
+    final ObjectNode restCustom = to.putObject("custom");
+    copyReference(custom, restCustom, "type", "type", referenceIdToKeyCache);
+    final ObjectNode fields = restCustom.putObject("fields");
+    custom
+        .path("customFieldsRaw")
+        .forEach(field -> fields.set(field.path("name").asText(), field.get("value")));
+  }
+
+  static void copyAssets(
+      @Nonnull final JsonNode from,
+      @Nonnull final ObjectNode to,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    final JsonNode assets = from.get("assets");
+    if (assets == null || !assets.isArray()) {
+      return;
+    }
+    final ArrayNode restAssets = to.putArray("assets");
+    assets.forEach(
+        asset -> {
+          final ObjectNode restAsset = restAssets.addObject();
+          copyFields(asset, restAsset, "id", "key", "sources", "tags");
+          copyLocalizedStrings(asset, restAsset, "name", "description");
+          copyCustomFields(asset, restAsset, referenceIdToKeyCache);
+        });
+  }
+
+  private GraphQlConversions() {}
+}
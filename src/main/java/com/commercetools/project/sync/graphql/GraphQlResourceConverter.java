@@ -0,0 +1,36 @@
+package com.commercetools.project.sync.graphql;
+
+import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import javax.annotation.Nonnull;
+
+/**
+ * Selects the fields of a resource which are needed to build its draft in a GraphQL query and
+ * converts the selected fields to the representation of the resource in the REST API.
+ */
+interface GraphQlResourceConverter {
+
+  /** Returns the name of the GraphQL query field of the resources, e.g. "categories". */
+  @Nonnull
+  String getQueryFieldName();
+
+  /** Returns the selection of the fields of a resource in the GraphQL query. */
+  @Nonnull
+  String getResultSelection();
+
+  /**
+   * Returns the maximum number of resources of a GraphQL query page, which keeps the complexity of
+   * the query below the limit of the API.
+   */
+  int getMaxPageSize();
+
+  /**
+   * Converts a resource of the GraphQL response to its representation in the REST API. The keys of
+   * the referenced resources, which are selected together with their ids, are added to the given
+   * cache, so they don't have to be fetched again to build the draft of the resource.
+   */
+  @Nonnull
+  ObjectNode toRestResource(
+      @Nonnull JsonNode graphQlResource, @Nonnull ReferenceIdToKeyCache referenceIdToKeyCache);
+}
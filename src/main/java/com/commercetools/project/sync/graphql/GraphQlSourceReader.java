@@ -0,0 +1,190 @@
+package com.commercetools.project.sync.graphql;
+
+import static java.lang.String.format;
+
+import com.commercetools.api.client.ProjectApiRoot;
+import com.commercetools.api.json.ApiModuleOptions;
+import com.commercetools.api.models.category.Category;
+import com.commercetools.api.models.graph_ql.GraphQLError;
+import com.commercetools.api.models.graph_ql.GraphQLRequest;
+import com.commercetools.api.models.graph_ql.GraphQLRequestBuilder;
+import com.commercetools.api.models.graph_ql.GraphQLResponse;
+import com.commercetools.api.models.graph_ql.GraphQLVariablesMapBuilder;
+import com.commercetools.api.models.product.ProductProjection;
+import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vrap.rmf.base.client.ApiHttpResponse;
+import io.vrap.rmf.base.client.utils.json.JsonUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Reads the source resources with a GraphQL query which selects only the fields needed to build
+ * their drafts. Compared to the REST query, the responses are several times smaller, as e.g. the
+ * published product data and unused fields are not returned. Referenced resources are selected
+ * with their id and key, and their keys are added to the reference id to key cache, so the
+ * transformation to drafts doesn't have to query them.
+ *
+ * <p>The resources are converted to their REST representation, so they are synced exactly like
+ * the resources of the REST query. They are read in pages sorted by id, like {@code
+ * QueryUtils.queryAll} does.
+ */
+public final class GraphQlSourceReader<ResourceT> {
+  private static final ObjectMapper OBJECT_MAPPER =
+      JsonUtils.createObjectMapper(
+          ApiModuleOptions.of().withDateAttributeAsString(true).withDateCustomFieldAsString(true));
+
+  private final ProjectApiRoot sourceClient;
+  private final GraphQlResourceConverter converter;
+  private final ReferenceIdToKeyCache referenceIdToKeyCache;
+  private final Class<ResourceT> resourceClass;
+  private final String query;
+
+  GraphQlSourceReader(
+      @Nonnull final ProjectApiRoot sourceClient,
+      @Nonnull final GraphQlResourceConverter converter,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache,
+      @Nonnull final Class<ResourceT> resourceClass) {
+    this.sourceClient = sourceClient;
+    this.converter = converter;
+    this.referenceIdToKeyCache = referenceIdToKeyCache;
+    this.resourceClass = resourceClass;
+    this.query =
+        format(
+            "query fetchLeanResources($where: String, $limit: Int) "
+                + "{ %s(where: $where, limit: $limit, sort: [\"id asc\"]) { results { %s } } }",
+            converter.getQueryFieldName(), converter.getResultSelection());
+  }
+
+  /** Returns a reader of the staged product projections of the source products. */
+  @Nonnull
+  public static GraphQlSourceReader<ProductProjection> ofProducts(
+      @Nonnull final ProjectApiRoot sourceClient,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    return new GraphQlSourceReader<>(
+        sourceClient,
+        new ProductGraphQlConverter(),
+        referenceIdToKeyCache,
+        ProductProjection.class);
+  }
+
+  /**
+   * Returns a reader of staged product projections which only hold the key, sku and prices of the
+   * variants of the source products, see {@link ProductPriceGraphQlConverter}.
+   */
+  @Nonnull
+  public static GraphQlSourceReader<ProductProjection> ofProductPrices(
+      @Nonnull final ProjectApiRoot sourceClient,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    return new GraphQlSourceReader<>(
+        sourceClient,
+        new ProductPriceGraphQlConverter(),
+        referenceIdToKeyCache,
+        ProductProjection.class);
+  }
+
+  @Nonnull
+  public static GraphQlSourceReader<Category> ofCategories(
+      @Nonnull final ProjectApiRoot sourceClient,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    return new GraphQlSourceReader<>(
+        sourceClient, new CategoryGraphQlConverter(), referenceIdToKeyCache, Category.class);
+  }
+
+  /**
+   * Reads all source resources matching the given predicate and passes them page by page to the
+   * given consumer. The stage completes exceptionally if a GraphQL query fails.
+   *
+   * @param where the query predicate of the resources or {@code null} to read all resources.
+   * @param pageSize the number of resources per page, which is capped by the maximum page size of
+   *     the resource.
+   * @param pageConsumer the consumer of the pages.
+   * @return a stage which completes after the last page was consumed.
+   */
+  @Nonnull
+  public CompletionStage<Void> readAll(
+      @Nullable final String where,
+      final int pageSize,
+      @Nonnull final Consumer<List<ResourceT>> pageConsumer) {
+    return readPages(where, null, Math.min(pageSize, converter.getMaxPageSize()), pageConsumer);
+  }
+
+  @Nonnull
+  private CompletionStage<Void> readPages(
+      @Nullable final String where,
+      @Nullable final String lastId,
+      final int pageSize,
+      @Nonnull final Consumer<List<ResourceT>> pageConsumer) {
+    final GraphQLVariablesMapBuilder variables =
+        GraphQLVariablesMapBuilder.of().addValue("limit", pageSize);
+    final String pageWhere = getPageWhere(where, lastId);
+    if (pageWhere != null) {
+      variables.addValue("where", pageWhere);
+    }
+    final GraphQLRequest request =
+        GraphQLRequestBuilder.of().query(query).variables(variables.build()).build();
+
+    return sourceClient
+        .graphql()
+        .post(request)
+        .execute()
+        .thenApply(ApiHttpResponse::getBody)
+        .thenCompose(
+            response -> {
+              final List<JsonNode> results = getResults(response);
+              if (results.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+              }
+              pageConsumer.accept(toResources(results));
+              if (results.size() < pageSize) {
+                return CompletableFuture.completedFuture(null);
+              }
+              final String lastIdOfPage = results.get(results.size() - 1).path("id").asText();
+              return readPages(where, lastIdOfPage, pageSize, pageConsumer);
+            });
+  }
+
+  @Nullable
+  static String getPageWhere(@Nullable final String where, @Nullable final String lastId) {
+    if (lastId == null) {
+      return where;
+    }
+    final String idPredicate = format("id > \"%s\"", lastId);
+    return where == null ? idPredicate : format("(%s) and %s", where, idPredicate);
+  }
+
+  @Nonnull
+  private List<JsonNode> getResults(@Nullable final GraphQLResponse response) {
+    if (response == null) {
+      throw new IllegalStateException(
+          format("The GraphQL query of %s returned no response.", converter.getQueryFieldName()));
+    }
+    final List<GraphQLError> errors = response.getErrors();
+    if (errors != null && !errors.isEmpty()) {
+      throw new IllegalStateException(
+          format(
+              "The GraphQL query of %s failed: %s",
+              converter.getQueryFieldName(),
+              errors.stream().map(GraphQLError::getMessage).collect(Collectors.joining("; "))));
+    }
+    final JsonNode data = OBJECT_MAPPER.valueToTree(response.getData());
+    final List<JsonNode> results = new ArrayList<>();
+    data.path(converter.getQueryFieldName()).path("results").forEach(results::add);
+    return results;
+  }
+
+  @Nonnull
+  List<ResourceT> toResources(@Nonnull final List<JsonNode> results) {
+    return results.stream()
+        .map(result -> converter.toRestResource(result, referenceIdToKeyCache))
+        .map(resource -> OBJECT_MAPPER.convertValue(resource, resourceClass))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,194 @@
+package com.commercetools.project.sync.graphql;
+
+import static com.commercetools.project.sync.graphql.GraphQlConversions.ASSETS_SELECTION;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.CUSTOM_FIELDS_SELECTION;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.REFERENCE_SELECTION;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.copyAssets;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.copyCustomFields;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.copyFields;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.copyLocalizedStrings;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.copyReference;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.selectLocalizedStrings;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.toReference;
+
+import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import javax.annotation.Nonnull;
+
+/**
+ * Selects and converts the fields of the staged product data which are needed to build product
+ * drafts. The result is the staged product projection of a product.
+ */
+final class ProductGraphQlConverter implements GraphQlResourceConverter {
+  private static final String[] LOCALIZED_STRINGS = {
+    "name", "slug", "description", "metaTitle", "metaDescription", "metaKeywords"
+  };
+  private static final String MONEY_SELECTION =
+      "{ type currencyCode centAmount fractionDigits ... on HighPrecisionMoney { preciseAmount } }";
+  static final String PRICE_SELECTION =
+      "prices { id key value "
+          + MONEY_SELECTION
+          + (" country customerGroup " + REFERENCE_SELECTION)
+          + (" channel " + REFERENCE_SELECTION)
+          + (" validFrom validUntil tiers { minimumQuantity value " + MONEY_SELECTION + " } ")
+          + (CUSTOM_FIELDS_SELECTION + " }");
+  private static final String VARIANT_SELECTION =
+      "{ id key sku "
+          + (PRICE_SELECTION + " ")
+          + "images { url label dimensions { width height } } "
+          + (ASSETS_SELECTION + " ")
+          + "attributesRaw { name value } }";
+  private static final String PRODUCT_DATA_SELECTION =
+      "{ "
+          + selectLocalizedStrings(LOCALIZED_STRINGS)
+          + "searchKeywords { locale searchKeywords { text "
+          + "suggestTokenizer { type ... on CustomSuggestTokenizer { inputs } } } } "
+          + ("categories " + REFERENCE_SELECTION + " ")
+          + "categoryOrderHints { categoryId orderHint } "
+          + ("masterVariant " + VARIANT_SELECTION + " ")
+          + ("variants " + VARIANT_SELECTION + " }");
+
+  @Nonnull
+  @Override
+  public String getQueryFieldName() {
+    return "products";
+  }
+
+  @Nonnull
+  @Override
+  public String getResultSelection() {
+    return "id version key createdAt lastModifiedAt priceMode "
+        + ("productType " + REFERENCE_SELECTION + " ")
+        + ("taxCategory " + REFERENCE_SELECTION + " ")
+        + ("state " + REFERENCE_SELECTION + " ")
+        + ("masterData { published hasStagedChanges staged " + PRODUCT_DATA_SELECTION + " }");
+  }
+
+  @Override
+  public int getMaxPageSize() {
+    return 100;
+  }
+
+  @Nonnull
+  @Override
+  public ObjectNode toRestResource(
+      @Nonnull final JsonNode graphQlResource,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    final ObjectNode productProjection = JsonNodeFactory.instance.objectNode();
+    copyFields(
+        graphQlResource,
+        productProjection,
+        "id",
+        "version",
+        "key",
+        "createdAt",
+        "lastModifiedAt",
+        "priceMode");
+    copyReference(
+        graphQlResource, productProjection, "productType", "product-type", referenceIdToKeyCache);
+    copyReference(
+        graphQlResource, productProjection, "taxCategory", "tax-category", referenceIdToKeyCache);
+    copyReference(graphQlResource, productProjection, "state", "state", referenceIdToKeyCache);
+
+    final JsonNode masterData = graphQlResource.path("masterData");
+    copyFields(masterData, productProjection, "published", "hasStagedChanges");
+    final JsonNode staged = masterData.path("staged");
+    copyLocalizedStrings(staged, productProjection, LOCALIZED_STRINGS);
+    copySearchKeywords(staged, productProjection);
+    final ArrayNode categories = productProjection.putArray("categories");
+    staged
+        .path("categories")
+        .forEach(
+            category -> categories.add(toReference(category, "category", referenceIdToKeyCache)));
+    final ObjectNode categoryOrderHints = productProjection.putObject("categoryOrderHints");
+    staged
+        .path("categoryOrderHints")
+        .forEach(
+            orderHint ->
+                categoryOrderHints.set(
+                    orderHint.path("categoryId").asText(), orderHint.get("orderHint")));
+    productProjection.set(
+        "masterVariant", toRestVariant(staged.path("masterVariant"), referenceIdToKeyCache));
+    final ArrayNode variants = productProjection.putArray("variants");
+    staged
+        .path("variants")
+        .forEach(variant -> variants.add(toRestVariant(variant, referenceIdToKeyCache)));
+    return productProjection;
+  }
+
+  private static void copySearchKeywords(
+      @Nonnull final JsonNode staged, @Nonnull final ObjectNode productProjection) {
+    final ObjectNode searchKeywords = productProjection.putObject("searchKeywords");
+    staged
+        .path("searchKeywords")
+        .forEach(
+            localizedKeywords -> {
+              final ArrayNode keywords =
+                  searchKeywords.putArray(localizedKeywords.path("locale").asText());
+              localizedKeywords
+                  .path("searchKeywords")
+                  .forEach(
+                      keyword -> {
+                        final ObjectNode restKeyword = keywords.addObject();
+                        copyFields(keyword, restKeyword, "text");
+                        final JsonNode suggestTokenizer = keyword.get("suggestTokenizer");
+                        if (suggestTokenizer != null && !suggestTokenizer.isNull()) {
+                          copyFields(
+                              suggestTokenizer,
+                              restKeyword.putObject("suggestTokenizer"),
+                              "type",
+                              "inputs");
+                        }
+                      });
+            });
+  }
+
+  @Nonnull
+  private static ObjectNode toRestVariant(
+      @Nonnull final JsonNode variant,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    final ObjectNode restVariant = JsonNodeFactory.instance.objectNode();
+    copyFields(variant, restVariant, "id", "key", "sku", "images");
+    final ArrayNode prices = restVariant.putArray("prices");
+    variant.path("prices").forEach(price -> prices.add(toRestPrice(price, referenceIdToKeyCache)));
+    copyAssets(variant, restVariant, referenceIdToKeyCache);
+    final JsonNode attributes = variant.get("attributesRaw");
+    if (attributes != null && !attributes.isNull()) {
+      restVariant.set("attributes", attributes);
+    }
+    return restVariant;
+  }
+
+  @Nonnull
+  static ObjectNode toRestPrice(
+      @Nonnull final JsonNode price, @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    final ObjectNode restPrice = JsonNodeFactory.instance.objectNode();
+    copyFields(price, restPrice, "id", "key", "country", "validFrom", "validUntil");
+    restPrice.set("value", toRestMoney(price.path("value")));
+    copyReference(price, restPrice, "customerGroup", "customer-group", referenceIdToKeyCache);
+    copyReference(price, restPrice, "channel", "channel", referenceIdToKeyCache);
+    final JsonNode tiers = price.get("tiers");
+    if (tiers != null && tiers.isArray()) {
+      final ArrayNode restTiers = restPrice.putArray("tiers");
+      tiers.forEach(
+          tier -> {
+            final ObjectNode restTier = restTiers.addObject();
+            copyFields(tier, restTier, "minimumQuantity");
+            restTier.set("value", toRestMoney(tier.path("value")));
+          });
+    }
+    copyCustomFields(price, restPrice, referenceIdToKeyCache);
+    return restPrice;
+  }
+
+  @Nonnull
+  private static ObjectNode toRestMoney(@Nonnull final JsonNode money) {
+    final ObjectNode restMoney = JsonNodeFactory.instance.objectNode();
+    copyFields(
+        money, restMoney, "type", "currencyCode", "centAmount", "fractionDigits", "preciseAmount");
+    return restMoney;
+  }
+}
@@ -0,0 +1,87 @@
+package com.commercetools.project.sync.graphql;
+
+import static com.commercetools.project.sync.graphql.GraphQlConversions.REFERENCE_SELECTION;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.copyFields;
+import static com.commercetools.project.sync.graphql.GraphQlConversions.copyReference;
+import static com.commercetools.project.sync.graphql.ProductGraphQlConverter.PRICE_SELECTION;
+import static com.commercetools.project.sync.graphql.ProductGraphQlConverter.toRestPrice;
+
+import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import javax.annotation.Nonnull;
+
+/**
+ * Selects and converts only the fields of the staged product data which are needed to sync the
+ * prices of a product: the product type, the published flag and the key, sku and prices of each
+ * variant. The result is a staged product projection whose names, slugs, categories, attributes,
+ * images and assets are empty, so it must only be synced with a sync filter of price actions.
+ */
+final class ProductPriceGraphQlConverter implements GraphQlResourceConverter {
+  private static final String VARIANT_SELECTION = "{ id key sku " + PRICE_SELECTION + " }";
+
+  @Nonnull
+  @Override
+  public String getQueryFieldName() {
+    return "products";
+  }
+
+  @Nonnull
+  @Override
+  public String getResultSelection() {
+    return "id version key createdAt lastModifiedAt "
+        + ("productType " + REFERENCE_SELECTION + " ")
+        + "masterData { published staged { "
+        + ("masterVariant " + VARIANT_SELECTION + " ")
+        + ("variants " + VARIANT_SELECTION + " } }");
+  }
+
+  @Override
+  public int getMaxPageSize() {
+    return 100;
+  }
+
+  @Nonnull
+  @Override
+  public ObjectNode toRestResource(
+      @Nonnull final JsonNode graphQlResource,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    final ObjectNode productProjection = JsonNodeFactory.instance.objectNode();
+    copyFields(
+        graphQlResource, productProjection, "id", "version", "key", "createdAt", "lastModifiedAt");
+    copyReference(
+        graphQlResource, productProjection, "productType", "product-type", referenceIdToKeyCache);
+    productProjection.putObject("name");
+    productProjection.putObject("slug");
+    productProjection.putArray("categories");
+    productProjection.putObject("categoryOrderHints");
+    productProjection.putObject("searchKeywords");
+
+    final JsonNode masterData = graphQlResource.path("masterData");
+    copyFields(masterData, productProjection, "published");
+    final JsonNode staged = masterData.path("staged");
+    productProjection.set(
+        "masterVariant", toRestVariant(staged.path("masterVariant"), referenceIdToKeyCache));
+    final ArrayNode variants = productProjection.putArray("variants");
+    staged
+        .path("variants")
+        .forEach(variant -> variants.add(toRestVariant(variant, referenceIdToKeyCache)));
+    return productProjection;
+  }
+
+  @Nonnull
+  private static ObjectNode toRestVariant(
+      @Nonnull final JsonNode variant,
+      @Nonnull final ReferenceIdToKeyCache referenceIdToKeyCache) {
+    final ObjectNode restVariant = JsonNodeFactory.instance.objectNode();
+    copyFields(variant, restVariant, "id", "key", "sku");
+    final ArrayNode prices = restVariant.putArray("prices");
+    variant.path("prices").forEach(price -> prices.add(toRestPrice(price, referenceIdToKeyCache)));
+    restVariant.putArray("attributes");
+    restVariant.putArray("images");
+    restVariant.putArray("assets");
+    return restVariant;
+  }
+}
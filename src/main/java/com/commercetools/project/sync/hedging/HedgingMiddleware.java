@@ -0,0 +1,198 @@
+package com.commercetools.project.sync.hedging;
+
+import static com.commercetools.project.sync.util.SyncUtils.getCompletionExceptionCause;
+import static java.lang.String.format;
+
+import com.commercetools.project.sync.retry.RetryBudget;
+import io.vrap.rmf.base.client.ApiHttpMethod;
+import io.vrap.rmf.base.client.ApiHttpRequest;
+import io.vrap.rmf.base.client.ApiHttpResponse;
+import io.vrap.rmf.base.client.http.Middleware;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hedges idempotent GET requests against tail latency: if a request hasn't answered within the
+ * 95th percentile of the latencies observed for its resource (e.g. "product-projections"), the
+ * same request is sent once more and the response which arrives first is used. The response of the
+ * other request is discarded.
+ *
+ * <ul>
+ *   <li>Latencies are tracked per resource over the last {@value #LATENCY_WINDOW} successful
+ *       requests. Requests of a resource are not hedged before {@value #MIN_SAMPLES} latencies were
+ *       observed.
+ *   <li>Every hedged request takes one from a {@link RetryBudget}, which allows at most the
+ *       configured percentage of the GET requests as extra requests. Once it is exhausted, requests
+ *       are not hedged anymore.
+ *   <li>If one of both requests fails, the other one is awaited. If both fail, the failure of the
+ *       request which failed last is returned.
+ * </ul>
+ *
+ * <p>As only one page of a paged query is read at a time, a single slow page stalls the sync of a
+ * whole module, so hedging mostly helps the source client.
+ */
+public final class HedgingMiddleware implements Middleware {
+  private static final Logger LOGGER = LoggerFactory.getLogger(HedgingMiddleware.class);
+
+  static final double HEDGE_PERCENTILE = 0.95;
+  static final int LATENCY_WINDOW = 1000;
+  static final int MIN_SAMPLES = 20;
+  static final long MIN_HEDGE_DELAY_IN_MILLIS = 20;
+  private static final long MIN_HEDGED_REQUESTS = 10;
+  private static final Pattern RESOURCE_PATH = Pattern.compile("^/[^/]+/([^/?]+)");
+
+  private final Map<String, LatencyTracker> latenciesByResource = new ConcurrentHashMap<>();
+  private final RetryBudget hedgingBudget;
+  private final HedgingStatistics statistics;
+  private final LongFunction<Executor> delayedExecutor;
+  private final Clock clock;
+
+  HedgingMiddleware(
+      @Nonnull final RetryBudget hedgingBudget,
+      @Nonnull final HedgingStatistics statistics,
+      @Nonnull final LongFunction<Executor> delayedExecutor,
+      @Nonnull final Clock clock) {
+    this.hedgingBudget = hedgingBudget;
+    this.statistics = statistics;
+    this.delayedExecutor = delayedExecutor;
+    this.clock = clock;
+  }
+
+  /**
+   * Creates a hedging middleware.
+   *
+   * @param clientName the name of the client, e.g. "source", whose {@link HedgingStatistics} count
+   *     the hedged requests.
+   * @param maxHedgedRequestsPercent the maximum number of hedged requests in percent of the GET
+   *     requests.
+   * @return the hedging middleware.
+   */
+  @Nonnull
+  public static HedgingMiddleware of(
+      @Nonnull final String clientName, final int maxHedgedRequestsPercent) {
+    return new HedgingMiddleware(
+        RetryBudget.of(MIN_HEDGED_REQUESTS, maxHedgedRequestsPercent / 100.0),
+        HedgingStatistics.of(clientName),
+        delayInMillis -> CompletableFuture.delayedExecutor(delayInMillis, TimeUnit.MILLISECONDS),
+        Clock.systemUTC());
+  }
+
+  @Override
+  public CompletableFuture<ApiHttpResponse<byte[]>> invoke(
+      @Nonnull final ApiHttpRequest request,
+      @Nonnull final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next) {
+    if (!ApiHttpMethod.GET.equals(request.getMethod())) {
+      return next.apply(request);
+    }
+    hedgingBudget.recordRequest();
+    final LatencyTracker latencies =
+        latenciesByResource.computeIfAbsent(
+            getResource(request),
+            resource -> new LatencyTracker(LATENCY_WINDOW, MIN_SAMPLES, HEDGE_PERCENTILE));
+    final Long hedgeDelayInMillis = latencies.getPercentileInMillis();
+    if (hedgeDelayInMillis == null) {
+      return send(request, next, latencies);
+    }
+
+    final CompletableFuture<ApiHttpResponse<byte[]>> result = new CompletableFuture<>();
+    final AtomicInteger pendingRequests = new AtomicInteger(1);
+    send(request, next, latencies)
+        .whenComplete(
+            (response, throwable) ->
+                complete(result, pendingRequests, response, throwable, false));
+    delayedExecutor
+        .apply(Math.max(MIN_HEDGE_DELAY_IN_MILLIS, hedgeDelayInMillis))
+        .execute(() -> hedge(request, next, latencies, result, pendingRequests));
+    return result;
+  }
+
+  private void hedge(
+      @Nonnull final ApiHttpRequest request,
+      @Nonnull final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next,
+      @Nonnull final LatencyTracker latencies,
+      @Nonnull final CompletableFuture<ApiHttpResponse<byte[]>> result,
+      @Nonnull final AtomicInteger pendingRequests) {
+    if (result.isDone()) {
+      return;
+    }
+    if (!hedgingBudget.tryAcquire()) {
+      statistics.incrementDeniedHedgedRequests();
+      return;
+    }
+    pendingRequests.incrementAndGet();
+    if (result.isDone()) {
+      // the original request failed or answered in the meantime.
+      return;
+    }
+    statistics.incrementHedgedRequests();
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          format(
+              "Hedging %s %s after %d ms.",
+              request.getMethod(), request.getUri(), latencies.getPercentileInMillis()));
+    }
+    send(request, next, latencies)
+        .whenComplete(
+            (response, throwable) -> complete(result, pendingRequests, response, throwable, true));
+  }
+
+  @Nonnull
+  private CompletableFuture<ApiHttpResponse<byte[]>> send(
+      @Nonnull final ApiHttpRequest request,
+      @Nonnull final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next,
+      @Nonnull final LatencyTracker latencies) {
+    final long sentAtInMillis = clock.millis();
+    return next.apply(request)
+        .whenComplete(
+            (response, throwable) -> {
+              if (throwable == null) {
+                latencies.record(clock.millis() - sentAtInMillis);
+              }
+            });
+  }
+
+  /**
+   * Completes the result with the first successful response. A failure completes the result only
+   * if no other request is pending anymore.
+   */
+  private void complete(
+      @Nonnull final CompletableFuture<ApiHttpResponse<byte[]>> result,
+      @Nonnull final AtomicInteger pendingRequests,
+      final ApiHttpResponse<byte[]> response,
+      final Throwable throwable,
+      final boolean isHedgedRequest) {
+    if (throwable == null) {
+      if (result.complete(response) && isHedgedRequest) {
+        statistics.incrementWonHedgedRequests();
+      }
+    } else if (pendingRequests.decrementAndGet() == 0) {
+      result.completeExceptionally(getCompletionExceptionCause(throwable));
+    }
+  }
+
+  @Nonnull
+  private static String getResource(@Nonnull final ApiHttpRequest request) {
+    if (request.getUri() == null) {
+      return "unknown";
+    }
+    final Matcher resourcePath = RESOURCE_PATH.matcher(request.getUri().getPath());
+    return resourcePath.find() ? resourcePath.group(1) : "unknown";
+  }
+
+  @Nonnull
+  public HedgingStatistics getStatistics() {
+    return statistics;
+  }
+}
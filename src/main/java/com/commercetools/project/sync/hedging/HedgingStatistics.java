@@ -0,0 +1,78 @@
+package com.commercetools.project.sync.hedging;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+
+/**
+ * Counts the hedged requests of a client. There is one instance per client name, so the hedging of
+ * the source and the target client can be reported at the end of a run.
+ */
+public final class HedgingStatistics {
+  private static final Map<String, HedgingStatistics> STATISTICS_BY_CLIENT_NAME =
+      new ConcurrentHashMap<>();
+
+  private final String clientName;
+  private final LongAdder hedgedRequests = new LongAdder();
+  private final LongAdder wonHedgedRequests = new LongAdder();
+  private final LongAdder deniedHedgedRequests = new LongAdder();
+
+  private HedgingStatistics(@Nonnull final String clientName) {
+    this.clientName = clientName;
+  }
+
+  /** Returns the statistics of the client with the given name, e.g. "source" or "target". */
+  @Nonnull
+  public static HedgingStatistics of(@Nonnull final String clientName) {
+    return STATISTICS_BY_CLIENT_NAME.computeIfAbsent(clientName, HedgingStatistics::new);
+  }
+
+  @Nonnull
+  public static Collection<HedgingStatistics> getAll() {
+    return new ArrayList<>(STATISTICS_BY_CLIENT_NAME.values());
+  }
+
+  void incrementHedgedRequests() {
+    hedgedRequests.increment();
+  }
+
+  void incrementWonHedgedRequests() {
+    wonHedgedRequests.increment();
+  }
+
+  void incrementDeniedHedgedRequests() {
+    deniedHedgedRequests.increment();
+  }
+
+  @Nonnull
+  public String getClientName() {
+    return clientName;
+  }
+
+  public long getHedgedRequests() {
+    return hedgedRequests.sum();
+  }
+
+  /** Returns the number of hedged requests which answered before the original request. */
+  public long getWonHedgedRequests() {
+    return wonHedgedRequests.sum();
+  }
+
+  /** Returns the number of hedged requests which were not sent because the budget was exhausted. */
+  public long getDeniedHedgedRequests() {
+    return deniedHedgedRequests.sum();
+  }
+
+  @Nonnull
+  public String getReportMessage() {
+    return format(
+        "Hedging summary of the %s client: %d hedged requests (%d answered first) and %d hedged "
+            + "requests denied by the hedging budget.",
+        clientName, getHedgedRequests(), getWonHedgedRequests(), getDeniedHedgedRequests());
+  }
+}
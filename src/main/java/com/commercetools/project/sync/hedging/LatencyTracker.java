@@ -0,0 +1,52 @@
+package com.commercetools.project.sync.hedging;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the latencies of the last {@code capacity} requests in a ring buffer and estimates a
+ * percentile of them. The percentile is recomputed every {@value #RECOMPUTE_INTERVAL} recorded
+ * latencies, so reading it doesn't sort the buffer on every request.
+ *
+ * <p>This class is thread-safe.
+ */
+final class LatencyTracker {
+  static final int RECOMPUTE_INTERVAL = 16;
+
+  private final long[] latenciesInMillis;
+  private final int minSamples;
+  private final double percentile;
+  private int size;
+  private int nextIndex;
+  private int recordedSinceRecompute;
+  private Long cachedPercentileInMillis;
+
+  LatencyTracker(final int capacity, final int minSamples, final double percentile) {
+    this.latenciesInMillis = new long[capacity];
+    this.minSamples = minSamples;
+    this.percentile = percentile;
+  }
+
+  synchronized void record(final long latencyInMillis) {
+    latenciesInMillis[nextIndex] = latencyInMillis;
+    nextIndex = (nextIndex + 1) % latenciesInMillis.length;
+    size = Math.min(size + 1, latenciesInMillis.length);
+    if (++recordedSinceRecompute >= RECOMPUTE_INTERVAL || cachedPercentileInMillis == null) {
+      recordedSinceRecompute = 0;
+      cachedPercentileInMillis = size < minSamples ? null : computePercentile();
+    }
+  }
+
+  /** Returns the percentile of the recorded latencies, or {@code null} with too few samples. */
+  @Nullable
+  synchronized Long getPercentileInMillis() {
+    return cachedPercentileInMillis;
+  }
+
+  private long computePercentile() {
+    final long[] sortedLatencies = Arrays.copyOf(latenciesInMillis, size);
+    Arrays.sort(sortedLatencies);
+    final int index = (int) Math.ceil(percentile * size) - 1;
+    return sortedLatencies[Math.max(0, Math.min(index, size - 1))];
+  }
+}
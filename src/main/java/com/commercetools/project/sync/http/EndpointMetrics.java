@@ -0,0 +1,81 @@
+package com.commercetools.project.sync.http;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+/**
+ * Groups the {@link EndpointStatistics} of the requests of a client by endpoint. There is one
+ * instance per client name, so the endpoints which dominate the source and the target side of a
+ * run can be reported at the end of it. It also keeps the JVM uptime at the first request of the
+ * client, the startup time which the runtime image of the Docker build is measured by.
+ */
+public final class EndpointMetrics {
+  private static final Map<String, EndpointMetrics> METRICS_BY_CLIENT_NAME =
+      new ConcurrentHashMap<>();
+  private static final long NO_REQUEST = -1;
+
+  private final String clientName;
+  private final Map<String, EndpointStatistics> statisticsByEndpoint = new ConcurrentHashMap<>();
+  private final AtomicLong firstRequestUptimeInMillis = new AtomicLong(NO_REQUEST);
+
+  private EndpointMetrics(@Nonnull final String clientName) {
+    this.clientName = clientName;
+  }
+
+  /** Returns the metrics of the client with the given name, e.g. "source" or "target". */
+  @Nonnull
+  public static EndpointMetrics of(@Nonnull final String clientName) {
+    return METRICS_BY_CLIENT_NAME.computeIfAbsent(clientName, EndpointMetrics::new);
+  }
+
+  @Nonnull
+  public static Collection<EndpointMetrics> getAll() {
+    return new ArrayList<>(METRICS_BY_CLIENT_NAME.values());
+  }
+
+  void recordRequestStart(final long uptimeInMillis) {
+    firstRequestUptimeInMillis.compareAndSet(NO_REQUEST, uptimeInMillis);
+  }
+
+  void record(
+      @Nonnull final String endpoint,
+      final long latencyInMillis,
+      final long requestBytes,
+      final long responseBytes,
+      final int statusCode) {
+    statisticsByEndpoint
+        .computeIfAbsent(endpoint, EndpointStatistics::new)
+        .record(latencyInMillis, requestBytes, responseBytes, statusCode);
+  }
+
+  @Nonnull
+  public String getClientName() {
+    return clientName;
+  }
+
+  /**
+   * Returns the milliseconds between the start of the JVM and the first request of the client, or
+   * -1 if the client hasn't sent a request.
+   */
+  public long getFirstRequestUptimeInMillis() {
+    return firstRequestUptimeInMillis.get();
+  }
+
+  /** Returns the statistics of all endpoints, the one with the highest total latency first. */
+  @Nonnull
+  public List<EndpointStatistics> getEndpointStatistics() {
+    return statisticsByEndpoint.values().stream()
+        .sorted(
+            Comparator.comparingLong(EndpointStatistics::getTotalLatencyInMillis)
+                .reversed()
+                .thenComparing(EndpointStatistics::getEndpoint))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,160 @@
+package com.commercetools.project.sync.http;
+
+import static com.commercetools.project.sync.util.SyncUtils.getCompletionExceptionCause;
+
+import io.vrap.rmf.base.client.ApiHttpException;
+import io.vrap.rmf.base.client.ApiHttpRequest;
+import io.vrap.rmf.base.client.ApiHttpResponse;
+import io.vrap.rmf.base.client.http.Middleware;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Records the latency, the request and response bytes and the status code of every request of a
+ * client in the {@link EndpointMetrics} of the client, grouped by HTTP method and resource path
+ * template. The template replaces the project key, ids, keys and custom object containers with
+ * placeholders, e.g. {@code POST /categories/{id}} or {@code GET /categories/key={key}}, and names
+ * the queried field of GraphQL requests, e.g. {@code POST /graphql {categories}}.
+ *
+ * <p>It is the last middleware of a client, so every request sent to the API is recorded,
+ * including retries and hedged requests, but not the key lookups answered by the target key cache.
+ */
+public final class EndpointMetricsMiddleware implements Middleware {
+  private static final String UNKNOWN_PATH = "/unknown";
+  private static final String CUSTOM_OBJECTS = "custom-objects";
+  private static final String GRAPHQL_PATH = "/graphql";
+  private static final int MAX_GRAPHQL_PREFIX_LENGTH = 1_000;
+  private static final Pattern GRAPHQL_QUERY_FIELD = Pattern.compile("\\{\\s*(\\w+)\\s*[({]");
+
+  private final EndpointMetrics metrics;
+  private final LongSupplier nanoTime;
+  private final LongSupplier uptimeInMillis;
+
+  EndpointMetricsMiddleware(
+      @Nonnull final EndpointMetrics metrics,
+      @Nonnull final LongSupplier nanoTime,
+      @Nonnull final LongSupplier uptimeInMillis) {
+    this.metrics = metrics;
+    this.nanoTime = nanoTime;
+    this.uptimeInMillis = uptimeInMillis;
+  }
+
+  /**
+   * Creates a middleware which records the requests of the client with the given name, e.g.
+   * "source", in its {@link EndpointMetrics}.
+   */
+  @Nonnull
+  public static EndpointMetricsMiddleware of(@Nonnull final String clientName) {
+    return new EndpointMetricsMiddleware(
+        EndpointMetrics.of(clientName),
+        System::nanoTime,
+        () -> ManagementFactory.getRuntimeMXBean().getUptime());
+  }
+
+  @Override
+  public CompletableFuture<ApiHttpResponse<byte[]>> invoke(
+      @Nonnull final ApiHttpRequest request,
+      @Nonnull final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next) {
+    if (metrics.getFirstRequestUptimeInMillis() < 0) {
+      metrics.recordRequestStart(uptimeInMillis.getAsLong());
+    }
+    final long startNanos = nanoTime.getAsLong();
+    return next.apply(request)
+        .whenComplete(
+            (response, throwable) -> {
+              final long latencyInMillis =
+                  TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - startNanos);
+              final ApiHttpException exception = getApiHttpException(throwable);
+              final ApiHttpResponse<byte[]> completedResponse = throwable == null ? response : null;
+              final byte[] responseBody =
+                  exception != null
+                      ? exception.getBody()
+                      : completedResponse == null ? null : completedResponse.getBody();
+              final int statusCode =
+                  exception != null
+                      ? exception.getStatusCode()
+                      : completedResponse == null ? 0 : completedResponse.getStatusCode();
+              metrics.record(
+                  toEndpoint(request),
+                  latencyInMillis,
+                  getLength(request.getBody()),
+                  getLength(responseBody),
+                  statusCode);
+            });
+  }
+
+  @Nullable
+  private static ApiHttpException getApiHttpException(@Nullable final Throwable throwable) {
+    if (throwable == null) {
+      return null;
+    }
+    final Throwable cause = getCompletionExceptionCause(throwable);
+    return cause instanceof ApiHttpException ? (ApiHttpException) cause : null;
+  }
+
+  private static long getLength(@Nullable final byte[] body) {
+    return body == null ? 0 : body.length;
+  }
+
+  @Nonnull
+  static String toEndpoint(@Nonnull final ApiHttpRequest request) {
+    final String pathTemplate = toPathTemplate(request.getUri());
+    final String method = String.valueOf(request.getMethod());
+    if (!GRAPHQL_PATH.equals(pathTemplate) || request.getBody() == null) {
+      return method + " " + pathTemplate;
+    }
+    final String body =
+        new String(
+            request.getBody(),
+            0,
+            Math.min(request.getBody().length, MAX_GRAPHQL_PREFIX_LENGTH),
+            StandardCharsets.UTF_8);
+    final Matcher queryField = GRAPHQL_QUERY_FIELD.matcher(body);
+    return queryField.find()
+        ? method + " " + pathTemplate + " {" + queryField.group(1) + "}"
+        : method + " " + pathTemplate;
+  }
+
+  /**
+   * Returns the path of the given URI without the project key, with placeholders for the ids, keys
+   * and custom object containers, e.g. {@code /products/{id}/images} for {@code
+   * /project-key/products/1234/images}.
+   */
+  @Nonnull
+  static String toPathTemplate(@Nullable final URI uri) {
+    if (uri == null || uri.getPath() == null) {
+      return UNKNOWN_PATH;
+    }
+    final String[] segments = uri.getPath().replaceFirst("^/", "").split("/");
+    if (segments.length < 2) {
+      return UNKNOWN_PATH;
+    }
+    final StringBuilder template = new StringBuilder("/").append(segments[1]);
+    for (int i = 2; i < segments.length; i++) {
+      template.append('/');
+      if (segments[i].startsWith("key=")) {
+        template.append("key={key}");
+      } else if (CUSTOM_OBJECTS.equals(segments[1])) {
+        template.append(i == 2 ? "{container}" : "{key}");
+      } else {
+        // ids and sub-resources alternate, e.g. /products/{id}/images
+        template.append(i % 2 == 0 ? "{id}" : segments[i]);
+      }
+    }
+    return template.toString();
+  }
+
+  @Nonnull
+  public EndpointMetrics getMetrics() {
+    return metrics;
+  }
+}
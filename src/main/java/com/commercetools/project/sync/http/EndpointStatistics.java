@@ -0,0 +1,147 @@
+package com.commercetools.project.sync.http;
+
+import static java.lang.String.format;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+/**
+ * Records the requests of a client to one endpoint, i.e. an HTTP method and a resource path
+ * template such as {@code GET /categories/key={key}}: a histogram of the latencies, the bytes sent
+ * and received and the number of responses per status code.
+ *
+ * <p>The latencies are counted in buckets with the upper bounds of {@code
+ * BUCKET_BOUNDS_IN_MILLIS}, so a percentile is reported as the upper bound of the bucket it falls
+ * into.
+ */
+public final class EndpointStatistics {
+  static final long[] BUCKET_BOUNDS_IN_MILLIS = {
+    1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000, 60_000
+  };
+  private static final double BYTES_PER_MEBIBYTE = 1024 * 1024;
+
+  private final String endpoint;
+  private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_IN_MILLIS.length + 1];
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder totalLatencyInMillis = new LongAdder();
+  private final AtomicLong maxLatencyInMillis = new AtomicLong();
+  private final LongAdder requestBytes = new LongAdder();
+  private final LongAdder responseBytes = new LongAdder();
+  private final Map<Integer, LongAdder> responsesByStatusCode = new ConcurrentHashMap<>();
+
+  EndpointStatistics(@Nonnull final String endpoint) {
+    this.endpoint = endpoint;
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  void record(
+      final long latencyInMillis,
+      final long sentBytes,
+      final long receivedBytes,
+      final int statusCode) {
+    buckets[getBucketIndex(latencyInMillis)].increment();
+    requests.increment();
+    totalLatencyInMillis.add(latencyInMillis);
+    maxLatencyInMillis.accumulateAndGet(latencyInMillis, Math::max);
+    requestBytes.add(sentBytes);
+    responseBytes.add(receivedBytes);
+    responsesByStatusCode.computeIfAbsent(statusCode, key -> new LongAdder()).increment();
+  }
+
+  private static int getBucketIndex(final long latencyInMillis) {
+    for (int i = 0; i < BUCKET_BOUNDS_IN_MILLIS.length; i++) {
+      if (latencyInMillis <= BUCKET_BOUNDS_IN_MILLIS[i]) {
+        return i;
+      }
+    }
+    return BUCKET_BOUNDS_IN_MILLIS.length;
+  }
+
+  /** Returns the HTTP method and the resource path template, e.g. {@code GET /categories}. */
+  @Nonnull
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  public long getRequests() {
+    return requests.sum();
+  }
+
+  public long getTotalLatencyInMillis() {
+    return totalLatencyInMillis.sum();
+  }
+
+  public long getMaxLatencyInMillis() {
+    return maxLatencyInMillis.get();
+  }
+
+  /**
+   * Returns the upper bound of the histogram bucket of the given percentile (between 0 and 1) of
+   * the latencies, or the maximum latency if it is beyond the last bucket.
+   */
+  public long getLatencyPercentileInMillis(final double percentile) {
+    final long[] counts = new long[buckets.length];
+    long total = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      counts[i] = buckets[i].sum();
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(percentile * total));
+    long cumulativeCount = 0;
+    for (int i = 0; i < BUCKET_BOUNDS_IN_MILLIS.length; i++) {
+      cumulativeCount += counts[i];
+      if (cumulativeCount >= rank) {
+        return Math.min(BUCKET_BOUNDS_IN_MILLIS[i], getMaxLatencyInMillis());
+      }
+    }
+    return getMaxLatencyInMillis();
+  }
+
+  public long getRequestBytes() {
+    return requestBytes.sum();
+  }
+
+  public long getResponseBytes() {
+    return responseBytes.sum();
+  }
+
+  /** Returns the number of responses per status code, sorted by status code. */
+  @Nonnull
+  public Map<Integer, Long> getResponsesByStatusCode() {
+    return responsesByStatusCode.entrySet().stream()
+        .collect(
+            Collectors.toMap(
+                Map.Entry::getKey,
+                entry -> entry.getValue().sum(),
+                (first, second) -> first,
+                TreeMap::new));
+  }
+
+  @Nonnull
+  public String getReportMessage(@Nonnull final String clientName) {
+    return format(
+        "Endpoint summary of the %s client for %s: %d requests %s, latency p50 %d ms, p95 %d ms, "
+            + "p99 %d ms, max %d ms, total %d ms, %.2f MiB sent and %.2f MiB received.",
+        clientName,
+        endpoint,
+        getRequests(),
+        getResponsesByStatusCode(),
+        getLatencyPercentileInMillis(0.5),
+        getLatencyPercentileInMillis(0.95),
+        getLatencyPercentileInMillis(0.99),
+        getMaxLatencyInMillis(),
+        getTotalLatencyInMillis(),
+        getRequestBytes() / BYTES_PER_MEBIBYTE,
+        getResponseBytes() / BYTES_PER_MEBIBYTE);
+  }
+}
@@ -0,0 +1,103 @@
+package com.commercetools.project.sync.http;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+
+/**
+ * Tracks the utilization of the dispatcher and the connection pool of the HTTP client of one side
+ * of the sync. Every {@link #sample()} records the running and queued requests and the open
+ * connections, so the peaks can be compared with the configured {@link HttpClientSettings} at the
+ * end of a run.
+ */
+public final class HttpClientMetrics {
+  private static final Map<String, HttpClientMetrics> METRICS_BY_CLIENT_NAME =
+      new ConcurrentHashMap<>();
+
+  private final String clientName;
+  private final Dispatcher dispatcher;
+  private final ConnectionPool connectionPool;
+  private final AtomicInteger peakRunningRequests = new AtomicInteger();
+  private final AtomicInteger peakQueuedRequests = new AtomicInteger();
+  private final AtomicInteger peakConnections = new AtomicInteger();
+
+  HttpClientMetrics(
+      @Nonnull final String clientName,
+      @Nonnull final Dispatcher dispatcher,
+      @Nonnull final ConnectionPool connectionPool) {
+    this.clientName = clientName;
+    this.dispatcher = dispatcher;
+    this.connectionPool = connectionPool;
+  }
+
+  /**
+   * Registers the metrics of the client with the given name, e.g. "source", replacing the metrics
+   * of a previous client with the same name.
+   */
+  @Nonnull
+  public static HttpClientMetrics register(
+      @Nonnull final String clientName,
+      @Nonnull final Dispatcher dispatcher,
+      @Nonnull final ConnectionPool connectionPool) {
+    final HttpClientMetrics metrics = new HttpClientMetrics(clientName, dispatcher, connectionPool);
+    METRICS_BY_CLIENT_NAME.put(clientName, metrics);
+    return metrics;
+  }
+
+  @Nonnull
+  public static Collection<HttpClientMetrics> getAll() {
+    return new ArrayList<>(METRICS_BY_CLIENT_NAME.values());
+  }
+
+  /** Records the current utilization of the dispatcher and the connection pool. */
+  public void sample() {
+    peakRunningRequests.accumulateAndGet(dispatcher.runningCallsCount(), Math::max);
+    peakQueuedRequests.accumulateAndGet(dispatcher.queuedCallsCount(), Math::max);
+    peakConnections.accumulateAndGet(connectionPool.connectionCount(), Math::max);
+  }
+
+  @Nonnull
+  public String getClientName() {
+    return clientName;
+  }
+
+  public int getPeakRunningRequests() {
+    return peakRunningRequests.get();
+  }
+
+  public int getPeakQueuedRequests() {
+    return peakQueuedRequests.get();
+  }
+
+  public int getPeakConnections() {
+    return peakConnections.get();
+  }
+
+  /** Returns the peak of running requests relative to the maximum requests of the dispatcher. */
+  public double getPeakUtilization() {
+    final int maxRequests = dispatcher.getMaxRequests();
+    return maxRequests == 0 ? 0 : (double) getPeakRunningRequests() / maxRequests;
+  }
+
+  @Nonnull
+  public String getReportMessage() {
+    return format(
+        "HTTP client summary of the %s client: peak of %d running requests of max %d (%.0f%% "
+            + "utilization), peak of %d queued requests and peak of %d connections (%d idle "
+            + "now).",
+        clientName,
+        getPeakRunningRequests(),
+        dispatcher.getMaxRequests(),
+        getPeakUtilization() * 100,
+        getPeakQueuedRequests(),
+        getPeakConnections(),
+        connectionPool.idleConnectionCount());
+  }
+}
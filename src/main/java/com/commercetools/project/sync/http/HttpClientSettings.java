@@ -0,0 +1,249 @@
+package com.commercetools.project.sync.http;
+
+import static java.lang.String.format;
+
+import com.commercetools.project.sync.retry.RetryMiddleware;
+import java.time.Duration;
+import java.util.Properties;
+import javax.annotation.Nonnull;
+
+/**
+ * The settings of the HTTP client of one side (source or target) of the sync: the concurrency of
+ * its dispatcher, its connection pool, its timeouts, its retry and its hedging policy. Each setting
+ * can be overridden with a property with the prefix of the side (e.g. {@code target.maxRequests})
+ * or with the matching environment variable (e.g. {@code TARGET_MAX_REQUESTS}).
+ */
+public final class HttpClientSettings {
+  public static final String MAX_REQUESTS = "maxRequests";
+  public static final String MAX_REQUESTS_PER_HOST = "maxRequestsPerHost";
+  public static final String MAX_IDLE_CONNECTIONS = "maxIdleConnections";
+  public static final String KEEP_ALIVE_MILLIS = "keepAliveMillis";
+  public static final String CONNECT_TIMEOUT_MILLIS = "connectTimeoutMillis";
+  public static final String READ_TIMEOUT_MILLIS = "readTimeoutMillis";
+  public static final String WRITE_TIMEOUT_MILLIS = "writeTimeoutMillis";
+  public static final String MAX_RETRIES = "maxRetries";
+  public static final String RETRY_INITIAL_DELAY_MILLIS = "retryInitialDelayMillis";
+  public static final String RETRY_MAX_DELAY_MILLIS = "retryMaxDelayMillis";
+  public static final String MAX_HEDGED_REQUESTS_PERCENT = "maxHedgedRequestsPercent";
+
+  private static final String[] SETTING_NAMES = {
+    MAX_REQUESTS,
+    MAX_REQUESTS_PER_HOST,
+    MAX_IDLE_CONNECTIONS,
+    KEEP_ALIVE_MILLIS,
+    CONNECT_TIMEOUT_MILLIS,
+    READ_TIMEOUT_MILLIS,
+    WRITE_TIMEOUT_MILLIS,
+    MAX_RETRIES,
+    RETRY_INITIAL_DELAY_MILLIS,
+    RETRY_MAX_DELAY_MILLIS,
+    MAX_HEDGED_REQUESTS_PERCENT
+  };
+
+  /**
+   * The defaults of the source client, which mostly sends paged queries one after another and
+   * reference lookups, so it needs fewer concurrent requests but tolerates slow pages.
+   */
+  public static final HttpClientSettings SOURCE_DEFAULTS =
+      new HttpClientSettings(
+          64,
+          64,
+          16,
+          Duration.ofMinutes(5),
+          Duration.ofSeconds(10),
+          Duration.ofSeconds(120),
+          Duration.ofSeconds(30),
+          RetryMiddleware.DEFAULT_MAX_RETRIES,
+          RetryMiddleware.DEFAULT_INITIAL_DELAY,
+          RetryMiddleware.DEFAULT_MAX_DELAY,
+          0);
+
+  /**
+   * The defaults of the target client, which sends bursts of concurrent creates and updates of
+   * every synced page.
+   */
+  public static final HttpClientSettings TARGET_DEFAULTS =
+      new HttpClientSettings(
+          200,
+          200,
+          64,
+          Duration.ofMinutes(5),
+          Duration.ofSeconds(10),
+          Duration.ofSeconds(60),
+          Duration.ofSeconds(60),
+          RetryMiddleware.DEFAULT_MAX_RETRIES,
+          RetryMiddleware.DEFAULT_INITIAL_DELAY,
+          RetryMiddleware.DEFAULT_MAX_DELAY,
+          0);
+
+  private final int maxRequests;
+  private final int maxRequestsPerHost;
+  private final int maxIdleConnections;
+  private final Duration keepAlive;
+  private final Duration connectTimeout;
+  private final Duration readTimeout;
+  private final Duration writeTimeout;
+  private final int maxRetries;
+  private final Duration retryInitialDelay;
+  private final Duration retryMaxDelay;
+  private final int maxHedgedRequestsPercent;
+
+  private HttpClientSettings(
+      final int maxRequests,
+      final int maxRequestsPerHost,
+      final int maxIdleConnections,
+      @Nonnull final Duration keepAlive,
+      @Nonnull final Duration connectTimeout,
+      @Nonnull final Duration readTimeout,
+      @Nonnull final Duration writeTimeout,
+      final int maxRetries,
+      @Nonnull final Duration retryInitialDelay,
+      @Nonnull final Duration retryMaxDelay,
+      final int maxHedgedRequestsPercent) {
+    this.maxRequests = maxRequests;
+    this.maxRequestsPerHost = maxRequestsPerHost;
+    this.maxIdleConnections = maxIdleConnections;
+    this.keepAlive = keepAlive;
+    this.connectTimeout = connectTimeout;
+    this.readTimeout = readTimeout;
+    this.writeTimeout = writeTimeout;
+    this.maxRetries = maxRetries;
+    this.retryInitialDelay = retryInitialDelay;
+    this.retryMaxDelay = retryMaxDelay;
+    this.maxHedgedRequestsPercent = maxHedgedRequestsPercent;
+  }
+
+  /**
+   * Reads the settings with the given prefix (e.g. "target.") from the properties. Settings which
+   * are not set keep the value of the given defaults.
+   *
+   * @throws IllegalArgumentException if a setting is not a number or is negative.
+   */
+  @Nonnull
+  public static HttpClientSettings of(
+      @Nonnull final Properties properties,
+      @Nonnull final String prefix,
+      @Nonnull final HttpClientSettings defaults) {
+    return new HttpClientSettings(
+        (int) read(properties, prefix, MAX_REQUESTS, defaults.maxRequests),
+        (int) read(properties, prefix, MAX_REQUESTS_PER_HOST, defaults.maxRequestsPerHost),
+        (int) read(properties, prefix, MAX_IDLE_CONNECTIONS, defaults.maxIdleConnections),
+        readDuration(properties, prefix, KEEP_ALIVE_MILLIS, defaults.keepAlive),
+        readDuration(properties, prefix, CONNECT_TIMEOUT_MILLIS, defaults.connectTimeout),
+        readDuration(properties, prefix, READ_TIMEOUT_MILLIS, defaults.readTimeout),
+        readDuration(properties, prefix, WRITE_TIMEOUT_MILLIS, defaults.writeTimeout),
+        (int) read(properties, prefix, MAX_RETRIES, defaults.maxRetries),
+        readDuration(properties, prefix, RETRY_INITIAL_DELAY_MILLIS, defaults.retryInitialDelay),
+        readDuration(properties, prefix, RETRY_MAX_DELAY_MILLIS, defaults.retryMaxDelay),
+        (int)
+            read(
+                properties,
+                prefix,
+                MAX_HEDGED_REQUESTS_PERCENT,
+                defaults.maxHedgedRequestsPercent));
+  }
+
+  /**
+   * Returns the name of the environment variable of a setting, e.g. "TARGET_MAX_REQUESTS" for the
+   * prefix "target." and the setting "maxRequests".
+   */
+  @Nonnull
+  public static String toEnvironmentVariableName(
+      @Nonnull final String propertiesPrefix, @Nonnull final String settingName) {
+    return propertiesPrefix.toUpperCase().replace(".", "_")
+        + settingName.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+  }
+
+  /** Returns the names of all settings, e.g. to read them from the environment variables. */
+  @Nonnull
+  public static String[] getSettingNames() {
+    return SETTING_NAMES.clone();
+  }
+
+  private static long read(
+      @Nonnull final Properties properties,
+      @Nonnull final String prefix,
+      @Nonnull final String settingName,
+      final long defaultValue) {
+    final String value = properties.getProperty(prefix + settingName);
+    if (value == null || value.isBlank()) {
+      return defaultValue;
+    }
+    try {
+      final long number = Long.parseLong(value.trim());
+      if (number >= 0 && number <= Integer.MAX_VALUE) {
+        return number;
+      }
+    } catch (NumberFormatException exception) {
+      // handled below like a negative number.
+    }
+    throw new IllegalArgumentException(
+        format(
+            "Invalid property value '%s' of '%s%s'. It must be a non-negative number.",
+            value, prefix, settingName));
+  }
+
+  @Nonnull
+  private static Duration readDuration(
+      @Nonnull final Properties properties,
+      @Nonnull final String prefix,
+      @Nonnull final String settingName,
+      @Nonnull final Duration defaultValue) {
+    return Duration.ofMillis(read(properties, prefix, settingName, defaultValue.toMillis()));
+  }
+
+  public int getMaxRequests() {
+    return maxRequests;
+  }
+
+  public int getMaxRequestsPerHost() {
+    return maxRequestsPerHost;
+  }
+
+  public int getMaxIdleConnections() {
+    return maxIdleConnections;
+  }
+
+  @Nonnull
+  public Duration getKeepAlive() {
+    return keepAlive;
+  }
+
+  @Nonnull
+  public Duration getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  @Nonnull
+  public Duration getReadTimeout() {
+    return readTimeout;
+  }
+
+  @Nonnull
+  public Duration getWriteTimeout() {
+    return writeTimeout;
+  }
+
+  public int getMaxRetries() {
+    return maxRetries;
+  }
+
+  @Nonnull
+  public Duration getRetryInitialDelay() {
+    return retryInitialDelay;
+  }
+
+  @Nonnull
+  public Duration getRetryMaxDelay() {
+    return retryMaxDelay;
+  }
+
+  /**
+   * Returns the maximum number of hedged requests in percent of the GET requests, or 0 if hedging
+   * is disabled, which is the default (see {@link
+   * com.commercetools.project.sync.hedging.HedgingMiddleware}).
+   */
+  public int getMaxHedgedRequestsPercent() {
+    return maxHedgedRequestsPercent;
+  }
+}
@@ -13,6 +13,7 @@ import com.commercetools.api.models.inventory.InventoryEntryUpdateAction;
 import com.commercetools.api.models.inventory.InventoryPagedQueryResponse;
 import com.commercetools.api.predicates.query.inventory.InventoryEntryQueryBuilderDsl;
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.cache.CacheBudget;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.commons.exceptions.SyncException;
@@ -65,13 +66,15 @@ public final class InventoryEntrySyncer
             Optional<InventoryEntry>,
             List<InventoryEntryUpdateAction>>
         logErrorCallback =
-            (exception, newResourceDraft, oldResource, updateActions) ->
-                logErrorCallback(
-                    LOGGER,
-                    "inventory entry",
-                    exception,
-                    oldResource.map(InventoryEntry::getSku).orElse(IDENTIFIER_NOT_PRESENT),
-                    updateActions);
+            (exception, newResourceDraft, oldResource, updateActions) -> {
+              logErrorCallback(
+                  LOGGER,
+                  "inventory entry",
+                  exception,
+                  oldResource.map(InventoryEntry::getSku).orElse(IDENTIFIER_NOT_PRESENT),
+                  updateActions);
+              recordFailure(InventorySync.class, exception, newResourceDraft, updateActions);
+            };
     final TriConsumer<SyncException, Optional<InventoryEntryDraft>, Optional<InventoryEntry>>
         logWarningCallback =
             (exception, newResourceDraft, oldResource) ->
@@ -82,6 +85,7 @@ public final class InventoryEntrySyncer
                     oldResource.map(InventoryEntry::getSku).orElse(IDENTIFIER_NOT_PRESENT));
     final InventorySyncOptions syncOptions =
         InventorySyncOptionsBuilder.of(targetClient)
+            .cacheSize(CacheBudget.current().getSyncOptionsCacheSize())
             .errorCallback(logErrorCallback)
             .warningCallback(logWarningCallback)
             .build();
@@ -98,7 +102,7 @@ public final class InventoryEntrySyncer
   @Override
   protected CompletionStage<List<InventoryEntryDraft>> transform(
       @Nonnull final List<InventoryEntry> page) {
-    return toInventoryEntryDrafts(getSourceClient(), referenceIdToKeyCache, page);
+    return toInventoryEntryDrafts(getSourceClient(), getReferenceIdToKeyCache(), page);
   }
 
   @Nonnull
@@ -107,6 +111,12 @@ public final class InventoryEntrySyncer
     return getSourceClient().inventory().get();
   }
 
+  @Nonnull
+  @Override
+  protected String getMessageResourceTypeId() {
+    return "inventory-entry";
+  }
+
   @Nonnull
   @Override
   protected Logger getLoggerInstance() {
@@ -0,0 +1,71 @@
+package com.commercetools.project.sync.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.List;
+import java.util.Locale;
+import javax.annotation.Nonnull;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * An {@link AsyncAppender}, which hands the log events of the sync threads to a bounded queue and
+ * writes them on its own thread, so that the sync threads don't wait for the console. When the
+ * remaining capacity of the queue falls below the {@code discardingThreshold}, it drops the
+ * TRACE, DEBUG and INFO events, and with the {@link OverflowPolicy#DROP_WARN} policy also the WARN
+ * events once less than a quarter of the threshold is left. ERROR events and the events marked
+ * with {@link #NEVER_DISCARDED}, e.g. the summaries at the end of a sync, are never dropped: they
+ * wait for space in the queue. Every dropped event is counted in {@link DroppedLogEvents}.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+  /** Marks the log events which are never dropped, whatever their level. */
+  public static final Marker NEVER_DISCARDED = MarkerFactory.getMarker("NEVER_DISCARDED");
+
+  /** Which levels are dropped when the queue is nearly full. */
+  public enum OverflowPolicy {
+    /** Drops TRACE, DEBUG and INFO events. */
+    DROP_INFO,
+    /** Drops TRACE, DEBUG and INFO events first and WARN events when the queue is fuller. */
+    DROP_WARN
+  }
+
+  private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_INFO;
+
+  /** Sets the overflow policy by its name, e.g. "DROP_WARN", as configured in the logback.xml. */
+  public void setOverflowPolicy(@Nonnull final String overflowPolicy) {
+    this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT));
+  }
+
+  @Nonnull
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  /**
+   * Decides if an event is dropped, which is only asked when the remaining capacity of the queue
+   * is below the discarding threshold.
+   */
+  @Override
+  protected boolean isDiscardable(@Nonnull final ILoggingEvent event) {
+    if (isNeverDiscarded(event)) {
+      return false;
+    }
+    final Level level = event.getLevel();
+    final boolean isDiscarded =
+        level.toInt() <= Level.INFO_INT
+            || (overflowPolicy == OverflowPolicy.DROP_WARN
+                && level.toInt() == Level.WARN_INT
+                && getRemainingCapacity() < getDiscardingThreshold() / 4);
+    if (isDiscarded) {
+      DroppedLogEvents.increment(level.toString());
+    }
+    return isDiscarded;
+  }
+
+  private static boolean isNeverDiscarded(@Nonnull final ILoggingEvent event) {
+    final List<Marker> markers = event.getMarkerList();
+    return markers != null && markers.stream().anyMatch(marker -> marker.contains(NEVER_DISCARDED));
+  }
+}
@@ -0,0 +1,48 @@
+package com.commercetools.project.sync.logging;
+
+import static java.lang.String.format;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+/**
+ * Counts the log events per level which the {@link DropCountingAsyncAppender} dropped because its
+ * queue was full, so they can be reported at the end of a run. It doesn't depend on logback, so it
+ * can be read wherever the run is completed.
+ */
+public final class DroppedLogEvents {
+  private static final Map<String, LongAdder> DROPPED_EVENTS_BY_LEVEL = new ConcurrentHashMap<>();
+
+  private DroppedLogEvents() {}
+
+  static void increment(@Nonnull final String level) {
+    DROPPED_EVENTS_BY_LEVEL.computeIfAbsent(level, key -> new LongAdder()).increment();
+  }
+
+  /** Returns the number of dropped events per level, e.g. "INFO", sorted by level name. */
+  @Nonnull
+  public static Map<String, Long> getDroppedEventsByLevel() {
+    return DROPPED_EVENTS_BY_LEVEL.entrySet().stream()
+        .collect(
+            Collectors.toMap(
+                Map.Entry::getKey,
+                entry -> entry.getValue().sum(),
+                (first, second) -> first,
+                TreeMap::new));
+  }
+
+  public static long getDroppedEvents() {
+    return DROPPED_EVENTS_BY_LEVEL.values().stream().mapToLong(LongAdder::sum).sum();
+  }
+
+  @Nonnull
+  public static String getReportMessage() {
+    return format(
+        "Logging summary: %d log events %s were dropped because the log queue was full.",
+        getDroppedEvents(), getDroppedEventsByLevel());
+  }
+}
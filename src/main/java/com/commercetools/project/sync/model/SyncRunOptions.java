@@ -0,0 +1,260 @@
+package com.commercetools.project.sync.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Holds the options of a sync run which are passed to the CLI in addition to the sync modules, the
+ * runner name and the full sync flag, e.g. the directory of the persisted target key cache.
+ */
+public final class SyncRunOptions {
+  public static final int DEFAULT_MICRO_BATCH_SIZE = 100;
+  public static final long DEFAULT_MICRO_BATCH_LATENCY_MILLIS = 1000;
+  public static final int DEFAULT_PRODUCT_TYPE_PARTITIONS = 1;
+
+  private String targetKeyCacheDirectory;
+  private String referenceCacheDirectory;
+  private String[] deleteSyncOptionValues;
+  private boolean isDeleteDryRun;
+  private boolean isChangeFeedSync;
+  private boolean isGraphQlSource;
+  private String changeEventFile;
+  private int microBatchSize = DEFAULT_MICRO_BATCH_SIZE;
+  private long microBatchLatencyMillis = DEFAULT_MICRO_BATCH_LATENCY_MILLIS;
+  private String deadLetterDirectory;
+  private boolean isReplay;
+  private int productTypePartitions = DEFAULT_PRODUCT_TYPE_PARTITIONS;
+  private boolean isPriceFastPath;
+
+  @Nonnull
+  public static SyncRunOptions of() {
+    return new SyncRunOptions();
+  }
+
+  /**
+   * The directory where the key to (id, version) cache of the target project is persisted between
+   * runs. If {@code null}, no target key cache is used.
+   */
+  @Nullable
+  public String getTargetKeyCacheDirectory() {
+    return targetKeyCacheDirectory;
+  }
+
+  @Nonnull
+  public SyncRunOptions withTargetKeyCacheDirectory(
+      @Nullable final String targetKeyCacheDirectory) {
+    this.targetKeyCacheDirectory = targetKeyCacheDirectory;
+    return this;
+  }
+
+  /**
+   * The directory of the memory-mapped file which keeps the reference id to key cache of the source
+   * project off heap and between runs. If {@code null}, the references are cached on the heap.
+   */
+  @Nullable
+  public String getReferenceCacheDirectory() {
+    return referenceCacheDirectory;
+  }
+
+  @Nonnull
+  public SyncRunOptions withReferenceCacheDirectory(
+      @Nullable final String referenceCacheDirectory) {
+    this.referenceCacheDirectory = referenceCacheDirectory;
+    return this;
+  }
+
+  /**
+   * The sync modules (e.g. "categories" or "all") whose target resources are deleted if their key
+   * doesn't exist in the source project. If {@code null}, nothing is deleted.
+   */
+  @Nullable
+  public String[] getDeleteSyncOptionValues() {
+    return deleteSyncOptionValues;
+  }
+
+  @Nonnull
+  public SyncRunOptions withDeleteSyncOptionValues(
+      @Nullable final String[] deleteSyncOptionValues) {
+    this.deleteSyncOptionValues = deleteSyncOptionValues;
+    return this;
+  }
+
+  /** Whether the resources to delete are only counted instead of being deleted. */
+  public boolean isDeleteDryRun() {
+    return isDeleteDryRun;
+  }
+
+  @Nonnull
+  public SyncRunOptions withDeleteDryRun(final boolean isDeleteDryRun) {
+    this.isDeleteDryRun = isDeleteDryRun;
+    return this;
+  }
+
+  /**
+   * Whether a delta sync reads the resources changed since the last sync from the message feed of
+   * the source project instead of querying them by their {@code lastModifiedAt} timestamp.
+   */
+  public boolean isChangeFeedSync() {
+    return isChangeFeedSync;
+  }
+
+  @Nonnull
+  public SyncRunOptions withChangeFeedSync(final boolean isChangeFeedSync) {
+    this.isChangeFeedSync = isChangeFeedSync;
+    return this;
+  }
+
+  /**
+   * Whether the source products and categories are read with GraphQL queries which select only the
+   * fields needed to build their drafts instead of the REST queries.
+   */
+  public boolean isGraphQlSource() {
+    return isGraphQlSource;
+  }
+
+  @Nonnull
+  public SyncRunOptions withGraphQlSource(final boolean isGraphQlSource) {
+    this.isGraphQlSource = isGraphQlSource;
+    return this;
+  }
+
+  /**
+   * The file of newline delimited JSON change events which is consumed instead of running a sync
+   * of all resources. If {@code null}, no events are consumed.
+   */
+  @Nullable
+  public String getChangeEventFile() {
+    return changeEventFile;
+  }
+
+  @Nonnull
+  public SyncRunOptions withChangeEventFile(@Nullable final String changeEventFile) {
+    this.changeEventFile = changeEventFile;
+    return this;
+  }
+
+  /** The number of distinct resources which triggers the flush of a micro-batch of events. */
+  public int getMicroBatchSize() {
+    return microBatchSize;
+  }
+
+  @Nonnull
+  public SyncRunOptions withMicroBatchSize(final int microBatchSize) {
+    this.microBatchSize = microBatchSize;
+    return this;
+  }
+
+  /** The maximum time in milliseconds an event waits in a micro-batch before it is flushed. */
+  public long getMicroBatchLatencyMillis() {
+    return microBatchLatencyMillis;
+  }
+
+  @Nonnull
+  public SyncRunOptions withMicroBatchLatencyMillis(final long microBatchLatencyMillis) {
+    this.microBatchLatencyMillis = microBatchLatencyMillis;
+    return this;
+  }
+
+  /**
+   * The directory where the drafts which failed to sync are written as dead letters, one file per
+   * sync module. If {@code null}, failed drafts are only logged.
+   */
+  @Nullable
+  public String getDeadLetterDirectory() {
+    return deadLetterDirectory;
+  }
+
+  @Nonnull
+  public SyncRunOptions withDeadLetterDirectory(@Nullable final String deadLetterDirectory) {
+    this.deadLetterDirectory = deadLetterDirectory;
+    return this;
+  }
+
+  /**
+   * Whether only the resources of the dead letters of the previous run are synced again instead of
+   * running a sync of all resources.
+   */
+  public boolean isReplay() {
+    return isReplay;
+  }
+
+  @Nonnull
+  public SyncRunOptions withReplay(final boolean isReplay) {
+    this.isReplay = isReplay;
+    return this;
+  }
+
+  /**
+   * The number of partitions of product types whose products are read and synced concurrently by a
+   * query sync of products. With a single partition, the products are read by a single query.
+   */
+  public int getProductTypePartitions() {
+    return productTypePartitions;
+  }
+
+  @Nonnull
+  public SyncRunOptions withProductTypePartitions(final int productTypePartitions) {
+    this.productTypePartitions = productTypePartitions;
+    return this;
+  }
+
+  /**
+   * Whether a change feed sync of products syncs only the prices of the products with only price
+   * changes, instead of fetching and comparing all their fields.
+   */
+  public boolean isPriceFastPath() {
+    return isPriceFastPath;
+  }
+
+  @Nonnull
+  public SyncRunOptions withPriceFastPath(final boolean isPriceFastPath) {
+    this.isPriceFastPath = isPriceFastPath;
+    return this;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SyncRunOptions)) {
+      return false;
+    }
+    final SyncRunOptions that = (SyncRunOptions) o;
+    return isDeleteDryRun == that.isDeleteDryRun
+        && isChangeFeedSync == that.isChangeFeedSync
+        && isGraphQlSource == that.isGraphQlSource
+        && microBatchSize == that.microBatchSize
+        && microBatchLatencyMillis == that.microBatchLatencyMillis
+        && isReplay == that.isReplay
+        && productTypePartitions == that.productTypePartitions
+        && isPriceFastPath == that.isPriceFastPath
+        && Objects.equals(deadLetterDirectory, that.deadLetterDirectory)
+        && Objects.equals(changeEventFile, that.changeEventFile)
+        && Objects.equals(targetKeyCacheDirectory, that.targetKeyCacheDirectory)
+        && Objects.equals(referenceCacheDirectory, that.referenceCacheDirectory)
+        && Arrays.equals(deleteSyncOptionValues, that.deleteSyncOptionValues);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        targetKeyCacheDirectory,
+        referenceCacheDirectory,
+        Arrays.hashCode(deleteSyncOptionValues),
+        isDeleteDryRun,
+        isChangeFeedSync,
+        isGraphQlSource,
+        changeEventFile,
+        microBatchSize,
+        microBatchLatencyMillis,
+        deadLetterDirectory,
+        isReplay,
+        productTypePartitions,
+        isPriceFastPath);
+  }
+
+  private SyncRunOptions() {}
+}
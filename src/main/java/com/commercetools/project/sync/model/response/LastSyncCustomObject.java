@@ -6,10 +6,15 @@ import com.commercetools.sync.commons.helpers.BaseSyncStatistics;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public final class LastSyncCustomObject<T extends BaseSyncStatistics> {
+  /** The number of runs kept in the run history, older runs are dropped. */
+  public static final int MAX_RUN_HISTORY_SIZE = 10;
 
   @JsonIgnoreProperties({
     "latestBatchStartTime",
@@ -25,6 +30,7 @@ public final class LastSyncCustomObject<T extends BaseSyncStatistics> {
   private ZonedDateTime lastSyncTimestamp;
   private String applicationVersion;
   private long lastSyncDurationInMillis;
+  private List<SyncRunRecord> runHistory = new ArrayList<>();
 
   private LastSyncCustomObject(
       @Nonnull final ZonedDateTime lastSyncTimestamp,
@@ -90,6 +96,31 @@ public final class LastSyncCustomObject<T extends BaseSyncStatistics> {
     return lastSyncDurationInMillis;
   }
 
+  /** Returns the statistics of the last runs, ordered from the oldest to the most recent run. */
+  @Nonnull
+  public List<SyncRunRecord> getRunHistory() {
+    return runHistory;
+  }
+
+  /**
+   * Sets the run history to the given history of the previous runs followed by the given run. The
+   * history is a ring buffer of {@value #MAX_RUN_HISTORY_SIZE} runs, so the oldest runs are dropped
+   * once it is full.
+   *
+   * @param previousRunHistory the run history of the previous checkpoint.
+   * @param runRecord the statistics of the current run.
+   */
+  public void appendToRunHistory(
+      @Nonnull final List<SyncRunRecord> previousRunHistory,
+      @Nonnull final SyncRunRecord runRecord) {
+    final List<SyncRunRecord> newRunHistory = new ArrayList<>(previousRunHistory);
+    newRunHistory.add(runRecord);
+    this.runHistory =
+        new ArrayList<>(
+            newRunHistory.subList(
+                Math.max(0, newRunHistory.size() - MAX_RUN_HISTORY_SIZE), newRunHistory.size()));
+  }
+
   // Setters are needed for the 'com.fasterxml.jackson' deserialization, for example, when fetching
   // from CTP custom objects.
   public void setLastSyncTimestamp(@Nonnull final ZonedDateTime lastSyncTimestamp) {
@@ -109,6 +140,10 @@ public final class LastSyncCustomObject<T extends BaseSyncStatistics> {
     this.lastSyncDurationInMillis = lastSyncDurationInMillis;
   }
 
+  public void setRunHistory(@Nullable final List<SyncRunRecord> runHistory) {
+    this.runHistory = runHistory == null ? new ArrayList<>() : runHistory;
+  }
+
   // TODO: Also include statistics in equals comparison after
   // https://github.com/commercetools/commercetools-sync-java/issues/376 is resolved
   // https://github.com/commercetools/commercetools-project-sync/issues/28
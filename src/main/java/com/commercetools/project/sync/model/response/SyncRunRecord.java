@@ -0,0 +1,254 @@
+package com.commercetools.project.sync.model.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The statistics of one delta sync run of a sync module, kept in the run history of the {@link
+ * LastSyncCustomObject}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class SyncRunRecord {
+  private ZonedDateTime syncTimestamp;
+  private long durationInMillis;
+  private long processed;
+  private long failed;
+  private int pageSize;
+  private long pageCount;
+  private long averagePageLatencyInMillis;
+  private long maxPageLatencyInMillis;
+  private Map<String, Long> failuresByCause = new TreeMap<>();
+  private long retries;
+  private long throttledRetries;
+  private long retriedResources;
+
+  // Needed for the 'com.fasterxml.jackson' deserialization, for example, when fetching
+  // from CTP custom objects.
+  public SyncRunRecord() {}
+
+  private SyncRunRecord(
+      @Nonnull final ZonedDateTime syncTimestamp,
+      final long durationInMillis,
+      final long processed,
+      final long failed,
+      final int pageSize,
+      final long pageCount,
+      final long averagePageLatencyInMillis,
+      final long maxPageLatencyInMillis) {
+    this.syncTimestamp = syncTimestamp;
+    this.durationInMillis = durationInMillis;
+    this.processed = processed;
+    this.failed = failed;
+    this.pageSize = pageSize;
+    this.pageCount = pageCount;
+    this.averagePageLatencyInMillis = averagePageLatencyInMillis;
+    this.maxPageLatencyInMillis = maxPageLatencyInMillis;
+  }
+
+  @Nonnull
+  public static SyncRunRecord of(
+      @Nonnull final ZonedDateTime syncTimestamp,
+      final long durationInMillis,
+      final long processed,
+      final long failed,
+      final int pageSize,
+      final long pageCount,
+      final long averagePageLatencyInMillis,
+      final long maxPageLatencyInMillis) {
+    return new SyncRunRecord(
+        syncTimestamp,
+        durationInMillis,
+        processed,
+        failed,
+        pageSize,
+        pageCount,
+        averagePageLatencyInMillis,
+        maxPageLatencyInMillis);
+  }
+
+  public ZonedDateTime getSyncTimestamp() {
+    return syncTimestamp;
+  }
+
+  public long getDurationInMillis() {
+    return durationInMillis;
+  }
+
+  public long getProcessed() {
+    return processed;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public long getPageCount() {
+    return pageCount;
+  }
+
+  public long getAveragePageLatencyInMillis() {
+    return averagePageLatencyInMillis;
+  }
+
+  public long getMaxPageLatencyInMillis() {
+    return maxPageLatencyInMillis;
+  }
+
+  /**
+   * Returns the number of failed resources per cause, e.g. {@code
+   * ConcurrentModificationException:409}, see {@code FailureHistogram}.
+   */
+  @Nonnull
+  public Map<String, Long> getFailuresByCause() {
+    return failuresByCause;
+  }
+
+  /**
+   * Returns the number of retried requests of the source and target client to the endpoints of the
+   * module during the run, see {@code RetryStatistics#getSyncModuleRetries(String)}. Retries of
+   * shared endpoints, e.g. of GraphQL queries, are not counted, since the modules of the same stage
+   * run in parallel.
+   */
+  public long getRetries() {
+    return retries;
+  }
+
+  /** Returns the number of retries of throttled (429) requests, see {@link #getRetries()}. */
+  public long getThrottledRetries() {
+    return throttledRetries;
+  }
+
+  /**
+   * Returns the number of times a resource was synced once more after a transient error, see
+   * {@code RetryQueue}.
+   */
+  public long getRetriedResources() {
+    return retriedResources;
+  }
+
+  /**
+   * Adds the failure and retry statistics of the run to this record.
+   *
+   * @param failuresByCause the number of failed resources per cause.
+   * @param retries the number of retried requests.
+   * @param throttledRetries the number of retried throttled requests.
+   * @param retriedResources the number of resources synced once more after a transient error.
+   * @return this record.
+   */
+  @Nonnull
+  public SyncRunRecord withFailureStatistics(
+      @Nonnull final Map<String, Long> failuresByCause,
+      final long retries,
+      final long throttledRetries,
+      final long retriedResources) {
+    this.failuresByCause = new TreeMap<>(failuresByCause);
+    this.retries = retries;
+    this.throttledRetries = throttledRetries;
+    this.retriedResources = retriedResources;
+    return this;
+  }
+
+  /** Returns the number of processed resources per second of the run. */
+  public double getThroughputPerSecond() {
+    return durationInMillis <= 0 ? 0 : processed * 1000d / durationInMillis;
+  }
+
+  // Setters are needed for the 'com.fasterxml.jackson' deserialization, for example, when fetching
+  // from CTP custom objects.
+  public void setSyncTimestamp(@Nonnull final ZonedDateTime syncTimestamp) {
+    this.syncTimestamp = syncTimestamp;
+  }
+
+  public void setDurationInMillis(final long durationInMillis) {
+    this.durationInMillis = durationInMillis;
+  }
+
+  public void setProcessed(final long processed) {
+    this.processed = processed;
+  }
+
+  public void setFailed(final long failed) {
+    this.failed = failed;
+  }
+
+  public void setPageSize(final int pageSize) {
+    this.pageSize = pageSize;
+  }
+
+  public void setPageCount(final long pageCount) {
+    this.pageCount = pageCount;
+  }
+
+  public void setAveragePageLatencyInMillis(final long averagePageLatencyInMillis) {
+    this.averagePageLatencyInMillis = averagePageLatencyInMillis;
+  }
+
+  public void setMaxPageLatencyInMillis(final long maxPageLatencyInMillis) {
+    this.maxPageLatencyInMillis = maxPageLatencyInMillis;
+  }
+
+  public void setFailuresByCause(@Nullable final Map<String, Long> failuresByCause) {
+    this.failuresByCause = failuresByCause == null ? new TreeMap<>() : failuresByCause;
+  }
+
+  public void setRetries(final long retries) {
+    this.retries = retries;
+  }
+
+  public void setThrottledRetries(final long throttledRetries) {
+    this.throttledRetries = throttledRetries;
+  }
+
+  public void setRetriedResources(final long retriedResources) {
+    this.retriedResources = retriedResources;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SyncRunRecord)) {
+      return false;
+    }
+    SyncRunRecord that = (SyncRunRecord) o;
+    return getDurationInMillis() == that.getDurationInMillis()
+        && getProcessed() == that.getProcessed()
+        && getFailed() == that.getFailed()
+        && getPageSize() == that.getPageSize()
+        && getPageCount() == that.getPageCount()
+        && getAveragePageLatencyInMillis() == that.getAveragePageLatencyInMillis()
+        && getMaxPageLatencyInMillis() == that.getMaxPageLatencyInMillis()
+        && getRetries() == that.getRetries()
+        && getThrottledRetries() == that.getThrottledRetries()
+        && getRetriedResources() == that.getRetriedResources()
+        && Objects.equals(getFailuresByCause(), that.getFailuresByCause())
+        && Objects.equals(getSyncTimestamp(), that.getSyncTimestamp());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        getSyncTimestamp(),
+        getDurationInMillis(),
+        getProcessed(),
+        getFailed(),
+        getPageSize(),
+        getPageCount(),
+        getAveragePageLatencyInMillis(),
+        getMaxPageLatencyInMillis(),
+        getFailuresByCause(),
+        getRetries(),
+        getThrottledRetries(),
+        getRetriedResources());
+  }
+}
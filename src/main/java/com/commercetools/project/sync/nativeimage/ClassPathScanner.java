@@ -0,0 +1,99 @@
+package com.commercetools.project.sync.nativeimage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/** Lists the classes of the jars and directories of a class path which are in given packages. */
+final class ClassPathScanner {
+  private static final String CLASS_SUFFIX = ".class";
+  private static final String JAR_SUFFIX = ".jar";
+
+  private ClassPathScanner() {}
+
+  /**
+   * Returns the names of the classes below the given package paths, e.g. {@code
+   * com/commercetools/api/models/}, sorted and without duplicates. The descriptors {@code
+   * module-info} and {@code package-info} and paths which are neither jars nor directories are
+   * skipped.
+   */
+  @Nonnull
+  static Set<String> findClassNames(
+      @Nonnull final List<Path> classPath, @Nonnull final List<String> packagePaths) {
+    final Set<String> classNames = new TreeSet<>();
+    for (Path entry : classPath) {
+      if (Files.isDirectory(entry)) {
+        addClassNamesOfDirectory(entry, packagePaths, classNames);
+      } else if (entry.toString().endsWith(JAR_SUFFIX) && Files.isRegularFile(entry)) {
+        addClassNamesOfJar(entry, packagePaths, classNames);
+      }
+    }
+    return classNames;
+  }
+
+  private static void addClassNamesOfDirectory(
+      @Nonnull final Path directory,
+      @Nonnull final List<String> packagePaths,
+      @Nonnull final Set<String> classNames) {
+    try (Stream<Path> files = Files.walk(directory)) {
+      files
+          .filter(Files::isRegularFile)
+          .map(file -> directory.relativize(file).toString().replace('\\', '/'))
+          .map(resourceName -> toClassName(resourceName, packagePaths))
+          .forEach(
+              className -> {
+                if (className != null) {
+                  classNames.add(className);
+                }
+              });
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  private static void addClassNamesOfJar(
+      @Nonnull final Path jar,
+      @Nonnull final List<String> packagePaths,
+      @Nonnull final Set<String> classNames) {
+    try (JarFile jarFile = new JarFile(jar.toFile())) {
+      final Enumeration<JarEntry> entries = jarFile.entries();
+      while (entries.hasMoreElements()) {
+        final String className = toClassName(entries.nextElement().getName(), packagePaths);
+        if (className != null) {
+          classNames.add(className);
+        }
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  /**
+   * Returns the class name of the given resource, e.g. {@code com.commercetools.api.models.Foo}
+   * for {@code com/commercetools/api/models/Foo.class}, or null if it isn't a class of the given
+   * packages.
+   */
+  @Nullable
+  static String toClassName(
+      @Nonnull final String resourceName, @Nonnull final List<String> packagePaths) {
+    if (!resourceName.endsWith(CLASS_SUFFIX)
+        || resourceName.endsWith("module-info" + CLASS_SUFFIX)
+        || resourceName.endsWith("package-info" + CLASS_SUFFIX)
+        || packagePaths.stream().noneMatch(resourceName::startsWith)) {
+      return null;
+    }
+    return resourceName
+        .substring(0, resourceName.length() - CLASS_SUFFIX.length())
+        .replace('/', '.');
+  }
+}
@@ -0,0 +1,59 @@
+package com.commercetools.project.sync.nativeimage;
+
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.graalvm.nativeimage.hosted.Feature;
+import org.graalvm.nativeimage.hosted.RuntimeReflection;
+
+/**
+ * Registers the classes which Jackson reads and writes by reflection in the native image of the
+ * sync: the models of the commercetools SDK, the models of this project and the sync statistics
+ * of sync-java, which the {@code BaseSyncStatisticsDeserializer} loads by the class name stored in
+ * the last sync custom object. There are thousands of SDK models, so they are found by scanning the
+ * class path of the image at build time instead of being listed in the {@code reflect-config.json}.
+ *
+ * <p>It is enabled by the {@code native-image.properties} of this project and is only loaded by
+ * the native-image builder, which provides the GraalVM SDK.
+ */
+public final class ReflectiveModelsFeature implements Feature {
+  private static final List<String> MODEL_PACKAGE_PATHS =
+      List.of(
+          "com/commercetools/api/models/",
+          "com/commercetools/project/sync/model/",
+          "com/commercetools/sync/");
+  private static final String SYNC_PACKAGE = "com.commercetools.sync.";
+  private static final String BASE_SYNC_STATISTICS =
+      "com.commercetools.sync.commons.helpers.BaseSyncStatistics";
+
+  @Override
+  public String getDescription() {
+    return "Registers the Jackson models of the commercetools project sync for reflection.";
+  }
+
+  @Override
+  public void beforeAnalysis(@Nonnull final BeforeAnalysisAccess access) {
+    final Class<?> baseSyncStatistics = access.findClassByName(BASE_SYNC_STATISTICS);
+    for (String className :
+        ClassPathScanner.findClassNames(access.getApplicationClassPath(), MODEL_PACKAGE_PATHS)) {
+      final Class<?> modelClass = access.findClassByName(className);
+      if (modelClass == null) {
+        continue;
+      }
+      // of sync-java only the statistics are serialized, the syncs and services are not
+      if (!className.startsWith(SYNC_PACKAGE) || baseSyncStatistics.isAssignableFrom(modelClass)) {
+        register(modelClass);
+      }
+    }
+  }
+
+  private static void register(@Nonnull final Class<?> modelClass) {
+    try {
+      RuntimeReflection.register(modelClass);
+      RuntimeReflection.register(modelClass.getDeclaredConstructors());
+      RuntimeReflection.register(modelClass.getDeclaredMethods());
+      RuntimeReflection.register(modelClass.getDeclaredFields());
+    } catch (LinkageError error) {
+      // the members refer to an optional dependency which isn't part of the image
+    }
+  }
+}
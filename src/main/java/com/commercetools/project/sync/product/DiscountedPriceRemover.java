@@ -0,0 +1,68 @@
+package com.commercetools.project.sync.product;
+
+import com.commercetools.api.models.common.DiscountedPriceDraft;
+import com.commercetools.api.models.common.PriceDraft;
+import com.commercetools.api.models.common.PriceDraftBuilder;
+import com.commercetools.api.models.product.ProductDraft;
+import com.commercetools.api.models.product.ProductDraftBuilder;
+import com.commercetools.api.models.product.ProductVariantDraft;
+import com.commercetools.api.models.product.ProductVariantDraftBuilder;
+import com.commercetools.project.sync.DraftPostProcessor;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+/**
+ * Currently java-sync does not support discounted price sync. This workaround is to remove
+ * discounted prices from syncing. Only the prices with a discounted value and the variants and
+ * product drafts containing them are copied.
+ *
+ * <p>Issue: https://github.com/commercetools/commercetools-project-sync/issues/363
+ */
+final class DiscountedPriceRemover implements DraftPostProcessor<ProductDraft> {
+  static final DiscountedPriceRemover INSTANCE = new DiscountedPriceRemover();
+
+  @Nonnull
+  @Override
+  public ProductDraft process(@Nonnull final ProductDraft productDraft) {
+    final ProductVariantDraft masterVariant = productDraft.getMasterVariant();
+    final ProductVariantDraft processedMasterVariant =
+        masterVariant == null ? null : removeDiscountedFromPrices(masterVariant);
+    final List<ProductVariantDraft> variants = productDraft.getVariants();
+    final List<ProductVariantDraft> processedVariants =
+        variants == null
+            ? null
+            : DraftPostProcessor.processAll(variants, this::removeDiscountedFromPrices);
+    if (processedMasterVariant == masterVariant && processedVariants == variants) {
+      return productDraft;
+    }
+    return ProductDraftBuilder.of(productDraft)
+        .masterVariant(processedMasterVariant)
+        .variants(processedVariants)
+        .build();
+  }
+
+  @Nonnull
+  private ProductVariantDraft removeDiscountedFromPrices(
+      @Nonnull final ProductVariantDraft productVariantDraft) {
+    final List<PriceDraft> prices = productVariantDraft.getPrices();
+    if (prices == null) {
+      return productVariantDraft;
+    }
+    final List<PriceDraft> processedPrices =
+        DraftPostProcessor.processAll(prices, DiscountedPriceRemover::removeDiscounted);
+    if (processedPrices == prices) {
+      return productVariantDraft;
+    }
+    return ProductVariantDraftBuilder.of(productVariantDraft).prices(processedPrices).build();
+  }
+
+  @Nonnull
+  private static PriceDraft removeDiscounted(@Nonnull final PriceDraft priceDraft) {
+    if (priceDraft.getDiscounted() == null) {
+      return priceDraft;
+    }
+    return PriceDraftBuilder.of(priceDraft).discounted((DiscountedPriceDraft) null).build();
+  }
+
+  private DiscountedPriceRemover() {}
+}
@@ -0,0 +1,36 @@
+package com.commercetools.project.sync.product;
+
+import com.commercetools.api.models.product.ProductProjectionImpl;
+import com.commercetools.api.models.product.ProductVariantImpl;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * A Jackson module for the object mapper of the source client, which skips the fields of product
+ * projections that are never used to build the product drafts. The parser skips the subtrees of
+ * these fields without allocating any objects for them, which reduces the allocations of large
+ * pages of product projections.
+ *
+ * <p>Only fields that the draft conversion doesn't read are skipped. For instance, {@code
+ * searchKeywords} are kept, as they are synced to the target products.
+ */
+public final class LeanProductProjectionModule extends SimpleModule {
+  private static final long serialVersionUID = 1L;
+
+  public LeanProductProjectionModule() {
+    super(LeanProductProjectionModule.class.getSimpleName());
+    setMixInAnnotation(ProductProjectionImpl.class, LeanProductProjection.class);
+    setMixInAnnotation(ProductVariantImpl.class, LeanProductVariant.class);
+  }
+
+  @JsonIgnoreProperties({"reviewRatingStatistics", "createdBy", "lastModifiedBy"})
+  private abstract static class LeanProductProjection {}
+
+  @JsonIgnoreProperties({
+    "availability",
+    "scopedPrice",
+    "scopedPriceDiscounted",
+    "isMatchingVariant"
+  })
+  private abstract static class LeanProductVariant {}
+}
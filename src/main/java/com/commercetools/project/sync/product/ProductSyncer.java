@@ -1,41 +1,54 @@
 package com.commercetools.project.sync.product;
 
+import static com.commercetools.api.client.QueryUtils.queryAll;
 import static com.commercetools.project.sync.util.SyncUtils.IDENTIFIER_NOT_PRESENT;
 import static com.commercetools.project.sync.util.SyncUtils.getCompletionExceptionCause;
 import static com.commercetools.project.sync.util.SyncUtils.logErrorCallback;
 import static com.commercetools.project.sync.util.SyncUtils.logWarningCallback;
 import static com.commercetools.sync.products.utils.ProductTransformUtils.toProductDrafts;
+import static java.lang.String.format;
 
 import com.commercetools.api.client.ByProjectKeyProductProjectionsGet;
 import com.commercetools.api.client.ProjectApiRoot;
 import com.commercetools.api.models.WithKey;
-import com.commercetools.api.models.common.DiscountedPriceDraft;
-import com.commercetools.api.models.common.PriceDraft;
-import com.commercetools.api.models.common.PriceDraftBuilder;
 import com.commercetools.api.models.product.ProductDraft;
-import com.commercetools.api.models.product.ProductDraftBuilder;
 import com.commercetools.api.models.product.ProductProjection;
 import com.commercetools.api.models.product.ProductProjectionPagedQueryResponse;
 import com.commercetools.api.models.product.ProductUpdateAction;
-import com.commercetools.api.models.product.ProductVariantDraft;
-import com.commercetools.api.models.product.ProductVariantDraftBuilder;
+import com.commercetools.api.models.product_type.ProductType;
 import com.commercetools.api.predicates.query.product.ProductProjectionQueryBuilderDsl;
+import com.commercetools.project.sync.DeletionSupport;
+import com.commercetools.project.sync.DraftPostProcessor;
+import com.commercetools.project.sync.PartitionSupport;
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.cache.CacheBudget;
+import com.commercetools.project.sync.changefeed.ChangeFeed;
+import com.commercetools.project.sync.changefeed.ChangeFeedReader;
+import com.commercetools.project.sync.graphql.GraphQlSourceReader;
 import com.commercetools.project.sync.model.ProductSyncCustomRequest;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.commons.exceptions.SyncException;
 import com.commercetools.sync.commons.utils.QuadConsumer;
 import com.commercetools.sync.commons.utils.TriConsumer;
+import com.commercetools.sync.products.ActionGroup;
 import com.commercetools.sync.products.ProductSync;
 import com.commercetools.sync.products.ProductSyncOptions;
 import com.commercetools.sync.products.ProductSyncOptionsBuilder;
+import com.commercetools.sync.products.SyncFilter;
 import com.commercetools.sync.products.helpers.ProductSyncStatistics;
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -52,22 +65,49 @@ public final class ProductSyncer
         ProductSyncOptions,
         ByProjectKeyProductProjectionsGet,
         ProductProjectionPagedQueryResponse,
-        ProductSync> {
+        ProductSync>
+    implements DeletionSupport<ByProjectKeyProductProjectionsGet>, PartitionSupport<ProductSync> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ProductSyncer.class);
+  private static final int PRICE_FAST_PATH_BATCH_SIZE = 100;
+
+  /** The types of the messages of price changes, which are synced by the price fast path. */
+  static final Set<String> PRICE_MESSAGE_TYPES =
+      Set.of(
+          "ProductPriceAdded",
+          "ProductPriceChanged",
+          "ProductPriceRemoved",
+          "ProductPricesSet",
+          "ProductPriceKeySet",
+          "ProductPriceDiscountsSet",
+          "ProductPriceExternalDiscountSet",
+          "ProductPriceCustomFieldAdded",
+          "ProductPriceCustomFieldChanged",
+          "ProductPriceCustomFieldRemoved",
+          "ProductPriceCustomFieldsSet",
+          "ProductPriceCustomFieldsRemoved");
 
   private final ProductSyncCustomRequest productSyncCustomRequest;
+  private final ProductSyncOptions syncOptions;
+  private final int productTypePartitions;
+  private final boolean isPriceFastPath;
 
   /** Instantiates a {@link Syncer} instance. */
   private ProductSyncer(
       @Nonnull final ProductSync productSync,
+      @Nonnull final ProductSyncOptions syncOptions,
       @Nonnull final ProjectApiRoot sourceClient,
       @Nonnull final ProjectApiRoot targetClient,
       @Nonnull final CustomObjectService customObjectService,
       @Nonnull final Clock clock,
-      @Nullable final ProductSyncCustomRequest productSyncCustomRequest) {
+      @Nullable final ProductSyncCustomRequest productSyncCustomRequest,
+      final int productTypePartitions,
+      final boolean isPriceFastPath) {
     super(productSync, sourceClient, targetClient, customObjectService, clock);
+    this.syncOptions = syncOptions;
     this.productSyncCustomRequest = productSyncCustomRequest;
+    this.productTypePartitions = productTypePartitions;
+    this.isPriceFastPath = isPriceFastPath;
   }
 
   @Nonnull
@@ -76,6 +116,24 @@ public final class ProductSyncer
       @Nonnull final ProjectApiRoot targetClient,
       @Nonnull final Clock clock,
       @Nullable final ProductSyncCustomRequest productSyncCustomRequest) {
+    return of(sourceClient, targetClient, clock, productSyncCustomRequest, 1, false);
+  }
+
+  /**
+   * Same as {@link #of(ProjectApiRoot, ProjectApiRoot, Clock, ProductSyncCustomRequest)}, but if
+   * {@code productTypePartitions} is greater than one, the products of a query sync are partitioned
+   * by their product type into the given number of groups of product types, which are read and
+   * synced concurrently. If {@code isPriceFastPath} is {@code true}, a change feed sync syncs only
+   * the prices of the products with only price changes, see {@link #syncFastPath(ChangeFeed)}.
+   */
+  @Nonnull
+  public static ProductSyncer of(
+      @Nonnull final ProjectApiRoot sourceClient,
+      @Nonnull final ProjectApiRoot targetClient,
+      @Nonnull final Clock clock,
+      @Nullable final ProductSyncCustomRequest productSyncCustomRequest,
+      final int productTypePartitions,
+      final boolean isPriceFastPath) {
 
     final QuadConsumer<
             SyncException,
@@ -87,6 +145,7 @@ public final class ProductSyncer
               final String resourceKey =
                   oldResource.map(WithKey::getKey).orElse(IDENTIFIER_NOT_PRESENT);
               logErrorCallback(LOGGER, "product", exception, resourceKey, updateActions);
+              recordFailure(ProductSync.class, exception, newResourceDraft, updateActions);
             };
 
     final TriConsumer<SyncException, Optional<ProductDraft>, Optional<ProductProjection>>
@@ -95,7 +154,7 @@ public final class ProductSyncer
                 logWarningCallback(LOGGER, "product", exception, oldResource);
     final ProductSyncOptions syncOptions =
         ProductSyncOptionsBuilder.of(targetClient)
-            .cacheSize(1000000)
+            .cacheSize(CacheBudget.current().getSyncOptionsCacheSize())
             .errorCallback(logErrorCallback)
             .warningCallback(logWarningCallback)
             .build();
@@ -106,17 +165,20 @@ public final class ProductSyncer
 
     return new ProductSyncer(
         productSync,
+        syncOptions,
         sourceClient,
         targetClient,
         customObjectService,
         clock,
-        productSyncCustomRequest);
+        productSyncCustomRequest,
+        productTypePartitions,
+        isPriceFastPath);
   }
 
   @Nonnull
   @Override
   protected CompletionStage<List<ProductDraft>> transform(@Nonnull List<ProductProjection> page) {
-    return toProductDrafts(getSourceClient(), referenceIdToKeyCache, page)
+    return toProductDrafts(getSourceClient(), getReferenceIdToKeyCache(), page)
         .handle(
             (productDrafts, throwable) -> {
               if (throwable != null) {
@@ -125,53 +187,14 @@ public final class ProductSyncer
                 }
                 return Collections.emptyList();
               }
-              return removeDiscountedFromPrices(productDrafts);
+              return productDrafts;
             });
   }
 
-  /**
-   * Currently java-sync does not support discounted price sync. This workaround is to remove
-   * discounted prices from syncing.
-   *
-   * <p>Issue: https://github.com/commercetools/commercetools-project-sync/issues/363
-   */
-  private List<ProductDraft> removeDiscountedFromPrices(
-      @Nonnull final List<ProductDraft> productDrafts) {
-    return productDrafts.stream()
-        .map(
-            productDraft -> {
-              final List<ProductVariantDraft> productVariants =
-                  productDraft.getVariants().stream()
-                      .map(this::createProductVariantDraftWithoutDiscounted)
-                      .collect(Collectors.toList());
-              final ProductVariantDraft masterVariant = productDraft.getMasterVariant();
-              ProductVariantDraft masterVariantDraft = null;
-              if (masterVariant != null) {
-                masterVariantDraft = createProductVariantDraftWithoutDiscounted(masterVariant);
-              }
-              return ProductDraftBuilder.of(productDraft)
-                  .masterVariant(masterVariantDraft)
-                  .variants(productVariants)
-                  .build();
-            })
-        .collect(Collectors.toList());
-  }
-
-  private ProductVariantDraft createProductVariantDraftWithoutDiscounted(
-      @Nonnull final ProductVariantDraft productVariantDraft) {
-    final List<PriceDraft> prices = productVariantDraft.getPrices();
-    List<PriceDraft> priceDrafts = null;
-    if (prices != null) {
-      priceDrafts =
-          prices.stream()
-              .map(
-                  priceDraft ->
-                      PriceDraftBuilder.of(priceDraft)
-                          .discounted((DiscountedPriceDraft) null)
-                          .build())
-              .collect(Collectors.toList());
-    }
-    return ProductVariantDraftBuilder.of(productVariantDraft).prices(priceDrafts).build();
+  @Nonnull
+  @Override
+  protected DraftPostProcessor<ProductDraft> getDraftPostProcessor() {
+    return DiscountedPriceRemover.INSTANCE;
   }
 
   @Nonnull
@@ -192,6 +215,283 @@ public final class ProductSyncer
     return productProjectionsGet;
   }
 
+  /**
+   * Returns the lean GraphQL reader of the staged product projections. Custom where predicates of
+   * the {@link ProductSyncCustomRequest} are predicates on product projections, which don't apply
+   * to the products of the GraphQL query, so products are always queried with REST if one is given.
+   */
+  @Nullable
+  @Override
+  protected GraphQlSourceReader<ProductProjection> getGraphQlSourceReader() {
+    if (productSyncCustomRequest != null && productSyncCustomRequest.getWhere() != null) {
+      return null;
+    }
+    return GraphQlSourceReader.ofProducts(getSourceClient(), getReferenceIdToKeyCache());
+  }
+
+  /**
+   * Returns the predicates of the product type partitions, e.g. {@code productType(id in
+   * ("type-1", "type-3"))}, if more than one partition is configured. The product types of the
+   * source project are distributed round-robin over the partitions, so each partition is read by
+   * its own cursor.
+   *
+   * <p>Products which reference products of another partition, e.g. by a product reference
+   * attribute, are synced concurrently with them. If a referencing product is synced before the
+   * referenced product is created, it waits in the unresolved references of sync-java, and the
+   * sync of the other partition may create the referenced product before the waiting product is
+   * stored, so the referencing product is only synced by the next run. Product types whose products
+   * reference each other should therefore not be partitioned.
+   */
+  @Nullable
+  @Override
+  public CompletionStage<List<String>> getPartitionPredicates() {
+    if (productTypePartitions <= 1) {
+      return null;
+    }
+    final List<String> productTypeIds = Collections.synchronizedList(new ArrayList<>());
+    return queryAll(
+            getSourceClient().productTypes().get(),
+            (List<ProductType> page) -> page.forEach(type -> productTypeIds.add(type.getId())))
+        .thenApply(ignored -> toPartitionPredicates(productTypeIds, productTypePartitions));
+  }
+
+  @Nonnull
+  static List<String> toPartitionPredicates(
+      @Nonnull final List<String> productTypeIds, final int partitions) {
+    final List<List<String>> partitionedIds = new ArrayList<>();
+    for (int index = 0; index < productTypeIds.size(); index++) {
+      if (index < partitions) {
+        partitionedIds.add(new ArrayList<>());
+      }
+      partitionedIds.get(index % partitions).add(productTypeIds.get(index));
+    }
+    return partitionedIds.stream()
+        .map(ids -> format("productType(%s)", toIdPredicate(ids)))
+        .collect(Collectors.toList());
+  }
+
+  /** Returns the predicate of the given ids, e.g. {@code id in ("id-1", "id-2")}. */
+  @Nonnull
+  static String toIdPredicate(@Nonnull final List<String> ids) {
+    return ids.stream()
+        .map(id -> "\"" + id + "\"")
+        .collect(Collectors.joining(", ", "id in (", ")"));
+  }
+
+  /**
+   * Returns a product sync with the callbacks of the sync of this syncer, whose caches get the
+   * share of one partition of the cache size of the sync of this syncer.
+   */
+  @Nonnull
+  @Override
+  public ProductSync createPartitionSync(final int partitionCount) {
+    return new ProductSync(
+        ProductSyncOptionsBuilder.of(getTargetClient())
+            .cacheSize(
+                CacheBudget.getPartitionCacheSize(syncOptions.getCacheSize(), partitionCount))
+            .errorCallback(syncOptions.getErrorCallback())
+            .warningCallback(syncOptions.getWarningCallback())
+            .build());
+  }
+
+  /** Adds the products with missing parents of the other statistics, too. */
+  @Override
+  protected void addStatistics(@Nonnull final ProductSyncStatistics otherStatistics) {
+    super.addStatistics(otherStatistics);
+    final ProductSyncStatistics statistics = getSync().getStatistics();
+    otherStatistics
+        .getProductKeysWithMissingParents()
+        .forEach(
+            (parentKey, productKeys) ->
+                productKeys.forEach(
+                    productKey -> statistics.addMissingDependency(parentKey, productKey)));
+  }
+
+  /**
+   * If the price fast path is enabled, syncs only the prices of the products whose changes in the
+   * change feed are all {@link #PRICE_MESSAGE_TYPES price changes}. These products are read with a
+   * GraphQL query which selects only the key, sku and prices of their variants, and are synced by a
+   * product sync whose sync filter only allows price update actions, so their other fields are
+   * neither fetched nor compared, and their references are not resolved.
+   *
+   * <p>Many update actions, e.g. {@code setAttribute}, create no message, so a product is only
+   * price synced if its price messages cover every one of its versions since the last sync: the
+   * version before its first message in the feed must have a message as well, which is then older
+   * than the feed, and its current version must be the version of its last price message, i.e. it
+   * wasn't updated after its last price change. Products which don't exist in the target project
+   * are not created from these partial drafts, but are left to the regular path, as are all of
+   * them if a query fails.
+   */
+  @Nonnull
+  @Override
+  protected CompletionStage<Set<String>> syncFastPath(@Nonnull final ChangeFeed changeFeed) {
+    final List<String> priceOnlyProductIds =
+        isPriceFastPath
+            ? changeFeed.getChangedResourceIdsWithOnlyMessageTypes(PRICE_MESSAGE_TYPES)
+            : Collections.emptyList();
+    final Map<String, Long> previousVersionsById = new HashMap<>();
+    priceOnlyProductIds.forEach(
+        productId ->
+            changeFeed
+                .getFirstResourceVersion(productId)
+                .filter(firstVersion -> firstVersion > 1)
+                .ifPresent(firstVersion -> previousVersionsById.put(productId, firstVersion - 1)));
+    if (previousVersionsById.isEmpty()) {
+      return super.syncFastPath(changeFeed);
+    }
+    final Set<String> missingProductKeys = ConcurrentHashMap.newKeySet();
+    final ProductSync priceSync = createPriceSync(missingProductKeys);
+    final Set<String> syncedProductIds = ConcurrentHashMap.newKeySet();
+    final Map<String, String> productIdsByKey = new ConcurrentHashMap<>();
+    return ChangeFeedReader.readResourceIdsWithMessagesOfVersions(
+            getSourceClient(), previousVersionsById)
+        .thenCompose(
+            productIdsWithPreviousMessage ->
+                syncPrices(
+                    priceOnlyProductIds.stream()
+                        .filter(productIdsWithPreviousMessage::contains)
+                        .collect(Collectors.toList()),
+                    changeFeed,
+                    priceSync,
+                    syncedProductIds,
+                    productIdsByKey))
+        .handle(
+            (ignored, throwable) -> {
+              if (throwable != null) {
+                // The regular path syncs and counts all products again, so the statistics of the
+                // price sync are dropped.
+                if (LOGGER.isWarnEnabled()) {
+                  LOGGER.warn(
+                      "Failed to sync the prices of the products with only price changes. The "
+                          + "products are synced with all their fields instead.",
+                      getCompletionExceptionCause(throwable));
+                }
+                return Collections.emptySet();
+              }
+              missingProductKeys.stream()
+                  .map(productIdsByKey::get)
+                  .filter(Objects::nonNull)
+                  .forEach(syncedProductIds::remove);
+              addStatistics(
+                  withoutMissingProducts(priceSync.getStatistics(), missingProductKeys.size()));
+              if (LOGGER.isInfoEnabled()) {
+                LOGGER.info(
+                    format(
+                        "Synced only the prices of %d of %d changed products, which only had "
+                            + "price changes.",
+                        syncedProductIds.size(), changeFeed.getChangedResourceCount()));
+              }
+              return syncedProductIds;
+            });
+  }
+
+  /**
+   * Reads the prices of the products with the given ids and syncs the products whose messages in
+   * the change feed cover all their versions up to their current version with the given price
+   * sync.
+   */
+  @Nonnull
+  private CompletionStage<Void> syncPrices(
+      @Nonnull final List<String> productIds,
+      @Nonnull final ChangeFeed changeFeed,
+      @Nonnull final ProductSync priceSync,
+      @Nonnull final Set<String> syncedProductIds,
+      @Nonnull final Map<String, String> productIdsByKey) {
+    final GraphQlSourceReader<ProductProjection> priceReader =
+        GraphQlSourceReader.ofProductPrices(getSourceClient(), getReferenceIdToKeyCache());
+    CompletionStage<Void> syncStage = CompletableFuture.completedFuture(null);
+    for (int index = 0; index < productIds.size(); index += PRICE_FAST_PATH_BATCH_SIZE) {
+      final String where =
+          toIdPredicate(
+              productIds.subList(
+                  index, Math.min(index + PRICE_FAST_PATH_BATCH_SIZE, productIds.size())));
+      syncStage =
+          syncStage.thenCompose(
+              ignored ->
+                  priceReader.readAll(
+                      where,
+                      PRICE_FAST_PATH_BATCH_SIZE,
+                      page -> {
+                        final List<ProductProjection> priceOnlyProducts =
+                            page.stream()
+                                .filter(
+                                    product ->
+                                        changeFeed.hasMessagesOfAllVersionsUpTo(
+                                            product.getId(), product.getVersion()))
+                                .collect(Collectors.toList());
+                        priceOnlyProducts.forEach(
+                            product -> {
+                              syncedProductIds.add(product.getId());
+                              if (product.getKey() != null) {
+                                productIdsByKey.put(product.getKey(), product.getId());
+                              }
+                            });
+                        syncPage(priceSync, priceOnlyProducts);
+                      }));
+    }
+    return syncStage;
+  }
+
+  /**
+   * Returns the statistics of the price sync without the products which don't exist in the target
+   * project. The price sync counts them as processed without creating them, and the regular path
+   * syncs and counts them again.
+   */
+  @Nonnull
+  private static ProductSyncStatistics withoutMissingProducts(
+      @Nonnull final ProductSyncStatistics priceSyncStatistics, final int missingProductCount) {
+    final ProductSyncStatistics statistics = new ProductSyncStatistics();
+    statistics.incrementProcessed(priceSyncStatistics.getProcessed().get() - missingProductCount);
+    statistics.incrementCreated(priceSyncStatistics.getCreated().get());
+    statistics.incrementUpdated(priceSyncStatistics.getUpdated().get());
+    statistics.incrementFailed(priceSyncStatistics.getFailed().get());
+    return statistics;
+  }
+
+  /** Returns a product sync with the options of {@link #createPriceSyncOptions(Set)}. */
+  @Nonnull
+  ProductSync createPriceSync(@Nonnull final Set<String> missingProductKeys) {
+    return new ProductSync(createPriceSyncOptions(missingProductKeys));
+  }
+
+  /**
+   * Returns product sync options with the callbacks of the sync of this syncer, which only build
+   * price update actions and add the keys of the drafts of products which don't exist in the target
+   * project to the given set instead of creating them.
+   */
+  @Nonnull
+  ProductSyncOptions createPriceSyncOptions(@Nonnull final Set<String> missingProductKeys) {
+    return ProductSyncOptionsBuilder.of(getTargetClient())
+        .cacheSize(syncOptions.getCacheSize())
+        .errorCallback(syncOptions.getErrorCallback())
+        .warningCallback(syncOptions.getWarningCallback())
+        .syncFilter(SyncFilter.ofWhiteList(ActionGroup.PRICES))
+        .beforeCreateCallback(
+            productDraft -> {
+              missingProductKeys.add(productDraft.getKey());
+              return null;
+            })
+        .build();
+  }
+
+  @Nonnull
+  @Override
+  protected String getMessageResourceTypeId() {
+    return "product";
+  }
+
+  @Nonnull
+  @Override
+  public ByProjectKeyProductProjectionsGet getTargetQuery() {
+    return getTargetClient().productProjections().get().addStaged(true);
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<?> deleteTargetResource(@Nonnull final String id, final long version) {
+    return getTargetClient().products().withId(id).delete().withVersion(version).execute();
+  }
+
   @Nonnull
   @Override
   protected Logger getLoggerInstance() {
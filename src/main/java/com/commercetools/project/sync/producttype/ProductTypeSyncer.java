@@ -10,7 +10,9 @@ import com.commercetools.api.models.product_type.ProductTypeDraft;
 import com.commercetools.api.models.product_type.ProductTypePagedQueryResponse;
 import com.commercetools.api.models.product_type.ProductTypeUpdateAction;
 import com.commercetools.api.predicates.query.product_type.ProductTypeQueryBuilderDsl;
+import com.commercetools.project.sync.DeletionSupport;
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.cache.CacheBudget;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.commons.exceptions.SyncException;
@@ -39,7 +41,8 @@ public final class ProductTypeSyncer
         ProductTypeSyncOptions,
         ByProjectKeyProductTypesGet,
         ProductTypePagedQueryResponse,
-        ProductTypeSync> {
+        ProductTypeSync>
+    implements DeletionSupport<ByProjectKeyProductTypesGet> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ProductTypeSyncer.class);
 
@@ -65,14 +68,17 @@ public final class ProductTypeSyncer
             Optional<ProductType>,
             List<ProductTypeUpdateAction>>
         logErrorCallback =
-            (exception, newResourceDraft, oldResource, updateActions) ->
-                logErrorCallback(LOGGER, "product type", exception, oldResource, updateActions);
+            (exception, newResourceDraft, oldResource, updateActions) -> {
+              logErrorCallback(LOGGER, "product type", exception, oldResource, updateActions);
+              recordFailure(ProductTypeSync.class, exception, newResourceDraft, updateActions);
+            };
     final TriConsumer<SyncException, Optional<ProductTypeDraft>, Optional<ProductType>>
         logWarningCallback =
             (exception, newResourceDraft, oldResource) ->
                 logWarningCallback(LOGGER, "product type", exception, oldResource);
     final ProductTypeSyncOptions syncOptions =
         ProductTypeSyncOptionsBuilder.of(targetClient)
+            .cacheSize(CacheBudget.current().getSyncOptionsCacheSize())
             .errorCallback(logErrorCallback)
             .warningCallback(logWarningCallback)
             .build();
@@ -90,7 +96,7 @@ public final class ProductTypeSyncer
   protected CompletionStage<List<ProductTypeDraft>> transform(
       @Nonnull final List<ProductType> page) {
     return ProductTypeTransformUtils.toProductTypeDrafts(
-        getSourceClient(), referenceIdToKeyCache, page);
+        getSourceClient(), getReferenceIdToKeyCache(), page);
   }
 
   @Nonnull
@@ -99,6 +105,18 @@ public final class ProductTypeSyncer
     return getSourceClient().productTypes().get();
   }
 
+  @Nonnull
+  @Override
+  public ByProjectKeyProductTypesGet getTargetQuery() {
+    return getTargetClient().productTypes().get();
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<?> deleteTargetResource(@Nonnull final String id, final long version) {
+    return getTargetClient().productTypes().withId(id).delete().withVersion(version).execute();
+  }
+
   @Nonnull
   @Override
   protected Logger getLoggerInstance() {
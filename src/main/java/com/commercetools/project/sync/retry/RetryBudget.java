@@ -0,0 +1,63 @@
+package com.commercetools.project.sync.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the retries of a client per run, so a degraded project doesn't get multiplied load from
+ * retried requests. A retry is allowed as long as the number of retries stays below {@code
+ * minRetries} plus {@code retryRatio} times the number of requests sent so far. The same budget
+ * caps the extra requests of the {@link
+ * com.commercetools.project.sync.hedging.HedgingMiddleware}.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class RetryBudget {
+  public static final long DEFAULT_MIN_RETRIES = 100;
+  public static final double DEFAULT_RETRY_RATIO = 0.1;
+
+  private final long minRetries;
+  private final double retryRatio;
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong retries = new AtomicLong();
+
+  private RetryBudget(final long minRetries, final double retryRatio) {
+    this.minRetries = minRetries;
+    this.retryRatio = retryRatio;
+  }
+
+  public static RetryBudget of() {
+    return of(DEFAULT_MIN_RETRIES, DEFAULT_RETRY_RATIO);
+  }
+
+  public static RetryBudget of(final long minRetries, final double retryRatio) {
+    if (minRetries < 0 || retryRatio < 0) {
+      throw new IllegalArgumentException("The retry budget must not be negative.");
+    }
+    return new RetryBudget(minRetries, retryRatio);
+  }
+
+  public void recordRequest() {
+    requests.incrementAndGet();
+  }
+
+  /** Takes one retry from the budget, or returns {@code false} if the budget is exhausted. */
+  public boolean tryAcquire() {
+    while (true) {
+      final long currentRetries = retries.get();
+      if (currentRetries >= minRetries + (long) (retryRatio * requests.get())) {
+        return false;
+      }
+      if (retries.compareAndSet(currentRetries, currentRetries + 1)) {
+        return true;
+      }
+    }
+  }
+
+  public long getRequests() {
+    return requests.get();
+  }
+
+  public long getRetries() {
+    return retries.get();
+  }
+}
@@ -0,0 +1,234 @@
+package com.commercetools.project.sync.retry;
+
+import static com.commercetools.project.sync.util.SyncUtils.getCompletionExceptionCause;
+import static io.vrap.rmf.base.client.utils.CompletableFutureUtils.exceptionallyCompletedFuture;
+import static java.lang.String.format;
+
+import io.vrap.rmf.base.client.ApiHttpException;
+import io.vrap.rmf.base.client.ApiHttpHeaders;
+import io.vrap.rmf.base.client.ApiHttpRequest;
+import io.vrap.rmf.base.client.ApiHttpResponse;
+import io.vrap.rmf.base.client.http.Middleware;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Retries requests which failed with a throttling (429) or a transient server error (500, 502, 503
+ * and 504) status code:
+ *
+ * <ul>
+ *   <li>The delay before a retry grows exponentially from the initial delay up to the maximum
+ *       delay, with full jitter, i.e. a random delay between zero and the exponential delay. This
+ *       spreads the retries of concurrent requests which failed at the same time.
+ *   <li>If the response has a {@code Retry-After} header (in seconds or as HTTP date), its delay
+ *       is used instead, capped at the maximum delay.
+ *   <li>Every retry takes one from the {@link RetryBudget} of the client. Once the budget is
+ *       exhausted, failed requests are not retried anymore.
+ * </ul>
+ *
+ * <p>The retries are counted per resource in the {@link RetryStatistics} of the client.
+ */
+public final class RetryMiddleware implements Middleware {
+  private static final Logger LOGGER = LoggerFactory.getLogger(RetryMiddleware.class);
+
+  public static final int DEFAULT_MAX_RETRIES = 5;
+  public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofMillis(200);
+  public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(30);
+
+  static final int TOO_MANY_REQUESTS = 429;
+  static final List<Integer> RETRYABLE_STATUS_CODES =
+      List.of(TOO_MANY_REQUESTS, 500, 502, 503, 504);
+  private static final String RETRY_AFTER_HEADER = "Retry-After";
+  private static final Pattern RESOURCE_PATH = Pattern.compile("^/[^/]+/([^/?]+)");
+  private static final int MAX_BACKOFF_EXPONENT = 20;
+
+  private final int maxRetries;
+  private final long initialDelayInMillis;
+  private final long maxDelayInMillis;
+  private final RetryBudget retryBudget;
+  private final RetryStatistics statistics;
+  private final DoubleSupplier random;
+  private final Clock clock;
+
+  RetryMiddleware(
+      final int maxRetries,
+      @Nonnull final Duration initialDelay,
+      @Nonnull final Duration maxDelay,
+      @Nonnull final RetryBudget retryBudget,
+      @Nonnull final RetryStatistics statistics,
+      @Nonnull final DoubleSupplier random,
+      @Nonnull final Clock clock) {
+    this.maxRetries = maxRetries;
+    this.initialDelayInMillis = initialDelay.toMillis();
+    this.maxDelayInMillis = maxDelay.toMillis();
+    this.retryBudget = retryBudget;
+    this.statistics = statistics;
+    this.random = random;
+    this.clock = clock;
+  }
+
+  /**
+   * Creates a retry middleware with the default retries, delays and retry budget.
+   *
+   * @param clientName the name of the client, e.g. "source", whose {@link RetryStatistics} count
+   *     the retries.
+   * @return the retry middleware.
+   */
+  @Nonnull
+  public static RetryMiddleware of(@Nonnull final String clientName) {
+    return of(
+        clientName,
+        DEFAULT_MAX_RETRIES,
+        DEFAULT_INITIAL_DELAY,
+        DEFAULT_MAX_DELAY,
+        RetryBudget.of());
+  }
+
+  @Nonnull
+  public static RetryMiddleware of(
+      @Nonnull final String clientName,
+      final int maxRetries,
+      @Nonnull final Duration initialDelay,
+      @Nonnull final Duration maxDelay,
+      @Nonnull final RetryBudget retryBudget) {
+    return new RetryMiddleware(
+        maxRetries,
+        initialDelay,
+        maxDelay,
+        retryBudget,
+        RetryStatistics.of(clientName),
+        () -> ThreadLocalRandom.current().nextDouble(),
+        Clock.systemUTC());
+  }
+
+  @Override
+  public CompletableFuture<ApiHttpResponse<byte[]>> invoke(
+      @Nonnull final ApiHttpRequest request,
+      @Nonnull final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next) {
+    retryBudget.recordRequest();
+    return invoke(request, next, 0);
+  }
+
+  @Nonnull
+  private CompletableFuture<ApiHttpResponse<byte[]>> invoke(
+      @Nonnull final ApiHttpRequest request,
+      @Nonnull final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next,
+      final int retry) {
+    return next.apply(request)
+        .handle(
+            (response, throwable) -> {
+              final int statusCode = getStatusCode(response, throwable);
+              if (!RETRYABLE_STATUS_CODES.contains(statusCode) || retry >= maxRetries) {
+                return complete(response, throwable);
+              }
+              if (!retryBudget.tryAcquire()) {
+                statistics.incrementDeniedRetries();
+                return complete(response, throwable);
+              }
+              statistics.incrementRetries(getResource(request), statusCode == TOO_MANY_REQUESTS);
+              final long delayInMillis =
+                  getDelayInMillis(retry, getRetryAfterInMillis(response, throwable));
+              if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(
+                    format(
+                        "Retrying %s %s after %d ms (retry %d of %d, status code %d).",
+                        request.getMethod(),
+                        request.getUri(),
+                        delayInMillis,
+                        retry + 1,
+                        maxRetries,
+                        statusCode));
+              }
+              return CompletableFuture.runAsync(
+                      () -> {},
+                      CompletableFuture.delayedExecutor(delayInMillis, TimeUnit.MILLISECONDS))
+                  .thenCompose(ignored -> invoke(request, next, retry + 1));
+            })
+        .thenCompose(Function.identity());
+  }
+
+  @Nonnull
+  private static CompletableFuture<ApiHttpResponse<byte[]>> complete(
+      @Nullable final ApiHttpResponse<byte[]> response, @Nullable final Throwable throwable) {
+    return throwable == null
+        ? CompletableFuture.completedFuture(response)
+        : exceptionallyCompletedFuture(getCompletionExceptionCause(throwable));
+  }
+
+  /**
+   * Returns the delay before the given retry: the {@code Retry-After} delay if there is one,
+   * otherwise a random delay between zero and the exponential delay. Both are capped at the maximum
+   * delay.
+   */
+  long getDelayInMillis(final int retry, @Nullable final Long retryAfterInMillis) {
+    if (retryAfterInMillis != null) {
+      return Math.min(retryAfterInMillis, maxDelayInMillis);
+    }
+    final long exponentialDelay =
+        Math.min(maxDelayInMillis, initialDelayInMillis << Math.min(retry, MAX_BACKOFF_EXPONENT));
+    return (long) (random.getAsDouble() * exponentialDelay);
+  }
+
+  @Nullable
+  Long getRetryAfterInMillis(
+      @Nullable final ApiHttpResponse<byte[]> response, @Nullable final Throwable throwable) {
+    ApiHttpHeaders headers = response == null ? null : response.getHeaders();
+    if (throwable != null) {
+      final Throwable cause = getCompletionExceptionCause(throwable);
+      headers = cause instanceof ApiHttpException ? ((ApiHttpException) cause).getHeaders() : null;
+    }
+    final String retryAfter = headers == null ? null : headers.getFirst(RETRY_AFTER_HEADER);
+    if (retryAfter == null || retryAfter.isBlank()) {
+      return null;
+    }
+    try {
+      return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+    } catch (NumberFormatException notSeconds) {
+      try {
+        final ZonedDateTime retryAt =
+            ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+        return Math.max(0, Duration.between(clock.instant(), retryAt.toInstant()).toMillis());
+      } catch (DateTimeParseException invalidDate) {
+        return null;
+      }
+    }
+  }
+
+  private static int getStatusCode(
+      @Nullable final ApiHttpResponse<byte[]> response, @Nullable final Throwable throwable) {
+    if (throwable != null) {
+      final Throwable cause = getCompletionExceptionCause(throwable);
+      return cause instanceof ApiHttpException ? ((ApiHttpException) cause).getStatusCode() : 0;
+    }
+    return response == null ? 0 : response.getStatusCode();
+  }
+
+  @Nonnull
+  private static String getResource(@Nonnull final ApiHttpRequest request) {
+    if (request.getUri() == null) {
+      return "unknown";
+    }
+    final Matcher resourcePath = RESOURCE_PATH.matcher(request.getUri().getPath());
+    return resourcePath.find() ? resourcePath.group(1) : "unknown";
+  }
+
+  @Nonnull
+  public RetryStatistics getStatistics() {
+    return statistics;
+  }
+}
@@ -0,0 +1,126 @@
+package com.commercetools.project.sync.retry;
+
+import static com.commercetools.project.sync.util.SyncUtils.getSyncModuleName;
+
+import com.commercetools.api.models.WithKey;
+import com.commercetools.sync.commons.BaseSync;
+import com.commercetools.sync.commons.exceptions.SyncException;
+import io.vrap.rmf.base.client.ApiHttpException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Collects the keys of the resources of a sync module, e.g. "ProductSync", which failed with a
+ * transient error: a concurrent modification (409), a transient server error (502, 503 and 504)
+ * which the {@link RetryMiddleware} couldn't resolve, or a timeout. The error callbacks of the
+ * syncers offer their failures, and the syncer of the module drains the queue at the end of the
+ * module to sync these resources once more, instead of leaving them inconsistent until the next
+ * run.
+ *
+ * <p>The recording of a queued failure, e.g. its dead letter, is deferred until the retries of the
+ * resource are over: a retry which syncs the resource again {@link #removePendingFailure(String)
+ * removes} it, and the failures which are still pending once the retries are over are {@link
+ * #recordPendingFailures() recorded}.
+ *
+ * <p>There is one instance per sync module name. This class is thread-safe.
+ */
+public final class RetryQueue {
+  static final List<Integer> RETRIABLE_STATUS_CODES = List.of(409, 502, 503, 504);
+
+  private static final Map<String, RetryQueue> QUEUES_BY_SYNC_MODULE_NAME =
+      new ConcurrentHashMap<>();
+
+  private final Set<String> keys = new LinkedHashSet<>();
+  private final Map<String, Runnable> pendingFailuresByKey = new LinkedHashMap<>();
+
+  private RetryQueue() {}
+
+  /** Returns the queue of the given sync, e.g. {@code ProductSync}. */
+  @Nonnull
+  public static RetryQueue of(@Nonnull final Class<? extends BaseSync> syncClass) {
+    return QUEUES_BY_SYNC_MODULE_NAME.computeIfAbsent(
+        getSyncModuleName(syncClass), syncModuleName -> new RetryQueue());
+  }
+
+  /**
+   * Queues the key of the failed draft of the given sync if the error is transient, and defers the
+   * given recording of the failure until the retries of the draft are over. Otherwise, the failure
+   * is recorded right away. Drafts without a key can't be fetched again and are not queued.
+   */
+  public static <D> void offer(
+      @Nonnull final Class<? extends BaseSync> syncClass,
+      @Nonnull final SyncException exception,
+      @Nonnull final Optional<D> newResourceDraft,
+      @Nonnull final Runnable failureRecorder) {
+    final D draft = newResourceDraft.orElse(null);
+    final String key = draft instanceof WithKey ? ((WithKey) draft).getKey() : null;
+    if (key != null && isRetriable(exception)) {
+      of(syncClass).add(key, failureRecorder);
+    } else {
+      failureRecorder.run();
+    }
+  }
+
+  /**
+   * Returns true if the given error or one of its causes is a transient error, which may not occur
+   * again if the resource is synced once more.
+   */
+  static boolean isRetriable(@Nullable final Throwable throwable) {
+    Throwable cause = throwable;
+    while (cause != null) {
+      if (cause instanceof ApiHttpException) {
+        return RETRIABLE_STATUS_CODES.contains(((ApiHttpException) cause).getStatusCode());
+      }
+      if (cause instanceof TimeoutException
+          || cause instanceof HttpTimeoutException
+          || cause instanceof SocketTimeoutException) {
+        return true;
+      }
+      cause = cause.getCause() == cause ? null : cause.getCause();
+    }
+    return false;
+  }
+
+  synchronized void add(@Nonnull final String key, @Nonnull final Runnable failureRecorder) {
+    keys.add(key);
+    pendingFailuresByKey.put(key, failureRecorder);
+  }
+
+  /** Removes and returns the distinct queued keys in the order they were queued. */
+  @Nonnull
+  public synchronized List<String> drain() {
+    final List<String> drainedKeys = new ArrayList<>(keys);
+    keys.clear();
+    return drainedKeys;
+  }
+
+  /**
+   * Removes the pending failure of the given key, e.g. because the resource is synced once more.
+   *
+   * @return {@code true} if the key had a pending failure.
+   */
+  public synchronized boolean removePendingFailure(@Nonnull final String key) {
+    return pendingFailuresByKey.remove(key) != null;
+  }
+
+  /** Records and removes the pending failures, e.g. once the retries of the module are over. */
+  public void recordPendingFailures() {
+    final List<Runnable> failureRecorders;
+    synchronized (this) {
+      failureRecorders = new ArrayList<>(pendingFailuresByKey.values());
+      pendingFailuresByKey.clear();
+    }
+    failureRecorders.forEach(Runnable::run);
+  }
+}
@@ -0,0 +1,162 @@
+package com.commercetools.project.sync.retry;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+/**
+ * Counts the retries of the requests of a client per resource, e.g. "products" or "categories",
+ * which is the first path segment after the project key. There is one instance per client name, so
+ * the retries of the source and the target client can be reported at the end of a run.
+ *
+ * <p>The retries are also exposed per sync module, e.g. "ProductSync", by the resources of the REST
+ * endpoints which only the module syncs, see {@link #getRetriesBySyncModule()}. The retries of
+ * shared endpoints, e.g. of GraphQL queries or of the custom objects of the last sync, aren't
+ * attributed to a module.
+ */
+public final class RetryStatistics {
+  private static final Map<String, RetryStatistics> STATISTICS_BY_CLIENT_NAME =
+      new ConcurrentHashMap<>();
+  private static final Map<String, List<String>> RESOURCES_BY_SYNC_MODULE =
+      Map.ofEntries(
+          Map.entry("CartDiscountSync", List.of("cart-discounts")),
+          Map.entry("CategorySync", List.of("categories")),
+          Map.entry("CustomerSync", List.of("customers")),
+          Map.entry("InventorySync", List.of("inventory")),
+          Map.entry("ProductSync", List.of("products", "product-projections")),
+          Map.entry("ProductTypeSync", List.of("product-types")),
+          Map.entry("ShoppingListSync", List.of("shopping-lists")),
+          Map.entry("StateSync", List.of("states")),
+          Map.entry("TaxCategorySync", List.of("tax-categories")),
+          Map.entry("TypeSync", List.of("types")));
+
+  private final String clientName;
+  private final Map<String, LongAdder> retriesByResource = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> throttledRetriesByResource = new ConcurrentHashMap<>();
+  private final LongAdder deniedRetries = new LongAdder();
+
+  private RetryStatistics(@Nonnull final String clientName) {
+    this.clientName = clientName;
+  }
+
+  /** Returns the statistics of the client with the given name, e.g. "source" or "target". */
+  @Nonnull
+  public static RetryStatistics of(@Nonnull final String clientName) {
+    return STATISTICS_BY_CLIENT_NAME.computeIfAbsent(clientName, RetryStatistics::new);
+  }
+
+  @Nonnull
+  public static Collection<RetryStatistics> getAll() {
+    return new ArrayList<>(STATISTICS_BY_CLIENT_NAME.values());
+  }
+
+  /**
+   * Returns the number of retries of all clients so far per sync module, e.g. "ProductSync", sorted
+   * by sync module. Only the modules with retries are contained.
+   */
+  @Nonnull
+  public static Map<String, Long> getRetriesBySyncModule() {
+    final Map<String, Long> retriesBySyncModule = new TreeMap<>();
+    RESOURCES_BY_SYNC_MODULE
+        .keySet()
+        .forEach(
+            syncModuleName -> {
+              final long retries = getSyncModuleRetries(syncModuleName);
+              if (retries > 0) {
+                retriesBySyncModule.put(syncModuleName, retries);
+              }
+            });
+    return retriesBySyncModule;
+  }
+
+  /**
+   * Returns the number of retries of all clients so far of the requests to the endpoints of the
+   * given sync module, e.g. "ProductSync".
+   */
+  public static long getSyncModuleRetries(@Nonnull final String syncModuleName) {
+    return sumOfResources(syncModuleName, statistics -> statistics.retriesByResource);
+  }
+
+  /** Returns the number of throttled (429) retries of {@link #getSyncModuleRetries(String)}. */
+  public static long getSyncModuleThrottledRetries(@Nonnull final String syncModuleName) {
+    return sumOfResources(syncModuleName, statistics -> statistics.throttledRetriesByResource);
+  }
+
+  private static long sumOfResources(
+      @Nonnull final String syncModuleName,
+      @Nonnull final Function<RetryStatistics, Map<String, LongAdder>> countsByResource) {
+    final List<String> resources =
+        RESOURCES_BY_SYNC_MODULE.getOrDefault(syncModuleName, Collections.emptyList());
+    return getAll().stream()
+        .map(countsByResource)
+        .flatMap(counts -> resources.stream().map(counts::get))
+        .filter(Objects::nonNull)
+        .mapToLong(LongAdder::sum)
+        .sum();
+  }
+
+  void incrementRetries(@Nonnull final String resource, final boolean isThrottled) {
+    retriesByResource.computeIfAbsent(resource, key -> new LongAdder()).increment();
+    if (isThrottled) {
+      throttledRetriesByResource.computeIfAbsent(resource, key -> new LongAdder()).increment();
+    }
+  }
+
+  void incrementDeniedRetries() {
+    deniedRetries.increment();
+  }
+
+  @Nonnull
+  public String getClientName() {
+    return clientName;
+  }
+
+  /** Returns the number of retries per resource, sorted by resource. */
+  @Nonnull
+  public Map<String, Long> getRetriesByResource() {
+    return retriesByResource.entrySet().stream()
+        .collect(
+            Collectors.toMap(
+                Map.Entry::getKey,
+                entry -> entry.getValue().sum(),
+                (first, second) -> first,
+                TreeMap::new));
+  }
+
+  public long getRetries() {
+    return retriesByResource.values().stream().mapToLong(LongAdder::sum).sum();
+  }
+
+  /** Returns the number of retries of throttled (429) requests. */
+  public long getThrottledRetries() {
+    return throttledRetriesByResource.values().stream().mapToLong(LongAdder::sum).sum();
+  }
+
+  /** Returns the number of retries which were not done because the retry budget was exhausted. */
+  public long getDeniedRetries() {
+    return deniedRetries.sum();
+  }
+
+  @Nonnull
+  public String getReportMessage() {
+    return format(
+        "Retry summary of the %s client: %d retries (%d throttled) %s and %d retries denied by the "
+            + "retry budget.",
+        clientName,
+        getRetries(),
+        getThrottledRetries(),
+        getRetriesByResource(),
+        getDeniedRetries());
+  }
+}
@@ -12,7 +12,9 @@ import com.commercetools.api.models.shopping_list.ShoppingListDraft;
 import com.commercetools.api.models.shopping_list.ShoppingListPagedQueryResponse;
 import com.commercetools.api.models.shopping_list.ShoppingListUpdateAction;
 import com.commercetools.api.predicates.query.shopping_list.ShoppingListQueryBuilderDsl;
+import com.commercetools.project.sync.DeletionSupport;
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.cache.CacheBudget;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.commons.exceptions.SyncException;
@@ -40,7 +42,8 @@ public final class ShoppingListSyncer
         ShoppingListSyncOptions,
         ByProjectKeyShoppingListsGet,
         ShoppingListPagedQueryResponse,
-        ShoppingListSync> {
+        ShoppingListSync>
+    implements DeletionSupport<ByProjectKeyShoppingListsGet> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ShoppingListSyncer.class);
 
@@ -64,13 +67,15 @@ public final class ShoppingListSyncer
             Optional<ShoppingList>,
             List<ShoppingListUpdateAction>>
         logErrorCallback =
-            (exception, newResourceDraft, oldResource, updateActions) ->
-                logErrorCallback(
-                    LOGGER,
-                    "shoppingList",
-                    exception,
-                    oldResource.map(ShoppingList::getKey).orElse(IDENTIFIER_NOT_PRESENT),
-                    updateActions);
+            (exception, newResourceDraft, oldResource, updateActions) -> {
+              logErrorCallback(
+                  LOGGER,
+                  "shoppingList",
+                  exception,
+                  oldResource.map(ShoppingList::getKey).orElse(IDENTIFIER_NOT_PRESENT),
+                  updateActions);
+              recordFailure(ShoppingListSync.class, exception, newResourceDraft, updateActions);
+            };
 
     final TriConsumer<SyncException, Optional<ShoppingListDraft>, Optional<ShoppingList>>
         logWarningCallback =
@@ -83,6 +88,7 @@ public final class ShoppingListSyncer
 
     final ShoppingListSyncOptions shoppingListSyncOptions =
         ShoppingListSyncOptionsBuilder.of(targetClient)
+            .cacheSize(CacheBudget.current().getSyncOptionsCacheSize())
             .errorCallback(logErrorCallback)
             .warningCallback(logWarningCallback)
             .build();
@@ -98,7 +104,7 @@ public final class ShoppingListSyncer
   @Nonnull
   @Override
   protected CompletionStage<List<ShoppingListDraft>> transform(@Nonnull List<ShoppingList> page) {
-    return toShoppingListDrafts(getSourceClient(), referenceIdToKeyCache, page);
+    return toShoppingListDrafts(getSourceClient(), getReferenceIdToKeyCache(), page);
   }
 
   @Nonnull
@@ -107,6 +113,18 @@ public final class ShoppingListSyncer
     return getSourceClient().shoppingLists().get().addExpand("lineItems[*].variant");
   }
 
+  @Nonnull
+  @Override
+  public ByProjectKeyShoppingListsGet getTargetQuery() {
+    return getTargetClient().shoppingLists().get();
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<?> deleteTargetResource(@Nonnull final String id, final long version) {
+    return getTargetClient().shoppingLists().withId(id).delete().withVersion(version).execute();
+  }
+
   @Nonnull
   @Override
   protected Logger getLoggerInstance() {
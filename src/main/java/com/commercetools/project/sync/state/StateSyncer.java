@@ -11,7 +11,9 @@ import com.commercetools.api.models.state.StateDraft;
 import com.commercetools.api.models.state.StatePagedQueryResponse;
 import com.commercetools.api.models.state.StateUpdateAction;
 import com.commercetools.api.predicates.query.state.StateQueryBuilderDsl;
+import com.commercetools.project.sync.DeletionSupport;
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.cache.CacheBudget;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.commons.exceptions.SyncException;
@@ -39,7 +41,8 @@ public final class StateSyncer
         StateSyncOptions,
         ByProjectKeyStatesGet,
         StatePagedQueryResponse,
-        StateSync> {
+        StateSync>
+    implements DeletionSupport<ByProjectKeyStatesGet> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(StateSyncer.class);
 
@@ -59,13 +62,16 @@ public final class StateSyncer
     final QuadConsumer<
             SyncException, Optional<StateDraft>, Optional<State>, List<StateUpdateAction>>
         logErrorCallback =
-            (exception, newResourceDraft, oldResource, updateActions) ->
-                logErrorCallback(LOGGER, "state", exception, oldResource, updateActions);
+            (exception, newResourceDraft, oldResource, updateActions) -> {
+              logErrorCallback(LOGGER, "state", exception, oldResource, updateActions);
+              recordFailure(StateSync.class, exception, newResourceDraft, updateActions);
+            };
     final TriConsumer<SyncException, Optional<StateDraft>, Optional<State>> logWarningCallback =
         (exception, newResourceDraft, oldResource) ->
             logWarningCallback(LOGGER, "state", exception, oldResource);
     StateSyncOptions syncOptions =
         StateSyncOptionsBuilder.of(targetClient)
+            .cacheSize(CacheBudget.current().getSyncOptionsCacheSize())
             .errorCallback(logErrorCallback)
             .warningCallback(logWarningCallback)
             .build();
@@ -77,7 +83,7 @@ public final class StateSyncer
   @Nonnull
   @Override
   protected CompletionStage<List<StateDraft>> transform(@Nonnull List<State> states) {
-    return toStateDrafts(getSourceClient(), referenceIdToKeyCache, states);
+    return toStateDrafts(getSourceClient(), getReferenceIdToKeyCache(), states);
   }
 
   @Nonnull
@@ -86,6 +92,18 @@ public final class StateSyncer
     return getSourceClient().states().get();
   }
 
+  @Nonnull
+  @Override
+  public ByProjectKeyStatesGet getTargetQuery() {
+    return getTargetClient().states().get();
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<?> deleteTargetResource(@Nonnull final String id, final long version) {
+    return getTargetClient().states().withId(id).delete().withVersion(version).execute();
+  }
+
   @Nonnull
   @Override
   protected Logger getLoggerInstance() {
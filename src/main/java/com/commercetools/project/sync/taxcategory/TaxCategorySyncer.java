@@ -14,7 +14,9 @@ import com.commercetools.api.models.tax_category.TaxRate;
 import com.commercetools.api.models.tax_category.TaxRateDraft;
 import com.commercetools.api.models.tax_category.TaxRateDraftBuilder;
 import com.commercetools.api.predicates.query.tax_category.TaxCategoryQueryBuilderDsl;
+import com.commercetools.project.sync.DeletionSupport;
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.cache.CacheBudget;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.commons.exceptions.SyncException;
@@ -44,7 +46,8 @@ public final class TaxCategorySyncer
         TaxCategorySyncOptions,
         ByProjectKeyTaxCategoriesGet,
         TaxCategoryPagedQueryResponse,
-        TaxCategorySync> {
+        TaxCategorySync>
+    implements DeletionSupport<ByProjectKeyTaxCategoriesGet> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TaxCategorySyncer.class);
 
@@ -69,14 +72,17 @@ public final class TaxCategorySyncer
             Optional<TaxCategory>,
             List<TaxCategoryUpdateAction>>
         logErrorCallback =
-            (exception, newResourceDraft, oldResource, updateActions) ->
-                logErrorCallback(LOGGER, "tax category", exception, oldResource, updateActions);
+            (exception, newResourceDraft, oldResource, updateActions) -> {
+              logErrorCallback(LOGGER, "tax category", exception, oldResource, updateActions);
+              recordFailure(TaxCategorySync.class, exception, newResourceDraft, updateActions);
+            };
     final TriConsumer<SyncException, Optional<TaxCategoryDraft>, Optional<TaxCategory>>
         logWarningCallback =
             (exception, newResourceDraft, oldResource) ->
                 logWarningCallback(LOGGER, "tax category", exception, oldResource);
     final TaxCategorySyncOptions syncOptions =
         TaxCategorySyncOptionsBuilder.of(targetClient)
+            .cacheSize(CacheBudget.current().getSyncOptionsCacheSize())
             .errorCallback(logErrorCallback)
             .warningCallback(logWarningCallback)
             .build();
@@ -134,6 +140,18 @@ public final class TaxCategorySyncer
     return getSourceClient().taxCategories().get();
   }
 
+  @Nonnull
+  @Override
+  public ByProjectKeyTaxCategoriesGet getTargetQuery() {
+    return getTargetClient().taxCategories().get();
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<?> deleteTargetResource(@Nonnull final String id, final long version) {
+    return getTargetClient().taxCategories().withId(id).delete().withVersion(version).execute();
+  }
+
   @Nonnull
   @Override
   protected Logger getLoggerInstance() {
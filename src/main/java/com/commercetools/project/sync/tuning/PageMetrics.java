@@ -0,0 +1,60 @@
+package com.commercetools.project.sync.tuning;
+
+import java.time.Clock;
+import javax.annotation.Nonnull;
+
+/**
+ * Records the fetch latencies of the pages of a query sync, i.e. the time from requesting a page
+ * until it was received. This class is not thread-safe, the pages of a query are fetched one after
+ * another.
+ */
+public final class PageMetrics {
+  private final int pageSize;
+  private final Clock clock;
+  private long fetchStartMillis;
+  private long pageCount;
+  private long totalLatencyInMillis;
+  private long maxLatencyInMillis;
+
+  public PageMetrics(final int pageSize, @Nonnull final Clock clock) {
+    this.pageSize = pageSize;
+    this.clock = clock;
+    this.fetchStartMillis = clock.millis();
+  }
+
+  /** Marks the start of fetching the next page. */
+  public void startFetch() {
+    fetchStartMillis = clock.millis();
+  }
+
+  /** Records the latency of the page fetched since the last {@link #startFetch()}. */
+  public void recordFetchedPage() {
+    final long latencyInMillis = Math.max(0, clock.millis() - fetchStartMillis);
+    pageCount++;
+    totalLatencyInMillis += latencyInMillis;
+    maxLatencyInMillis = Math.max(maxLatencyInMillis, latencyInMillis);
+  }
+
+  /** Adds the pages of the given metrics, e.g. of a partition of the query, to these metrics. */
+  public void add(@Nonnull final PageMetrics other) {
+    pageCount += other.pageCount;
+    totalLatencyInMillis += other.totalLatencyInMillis;
+    maxLatencyInMillis = Math.max(maxLatencyInMillis, other.maxLatencyInMillis);
+  }
+
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public long getPageCount() {
+    return pageCount;
+  }
+
+  public long getAverageLatencyInMillis() {
+    return pageCount == 0 ? 0 : totalLatencyInMillis / pageCount;
+  }
+
+  public long getMaxLatencyInMillis() {
+    return maxLatencyInMillis;
+  }
+}
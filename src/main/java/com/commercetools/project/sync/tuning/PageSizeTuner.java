@@ -0,0 +1,63 @@
+package com.commercetools.project.sync.tuning;
+
+import com.commercetools.project.sync.model.response.SyncRunRecord;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+
+/**
+ * Seeds the page size of a query sync from the run history of the previous delta syncs instead of
+ * starting every run with the default page size.
+ */
+public final class PageSizeTuner {
+  /** The default page size of the queries, which is also the maximum limit of the API. */
+  public static final int DEFAULT_PAGE_SIZE = 500;
+
+  static final int MIN_PAGE_SIZE = 20;
+  static final long MAX_AVERAGE_PAGE_LATENCY_IN_MILLIS = 10_000;
+
+  /**
+   * Returns the page size for the next run. If the pages of the most recent run took longer than
+   * {@value #MAX_AVERAGE_PAGE_LATENCY_IN_MILLIS} ms on average, its page size is halved (but not
+   * below {@value #MIN_PAGE_SIZE}). Otherwise the page size of the run with the highest throughput
+   * is reused. Runs without fetched pages, e.g. change feed syncs, are ignored. Without such runs,
+   * the default page size is returned.
+   *
+   * @param runHistory the run history ordered from the oldest to the most recent run.
+   * @return the seeded page size.
+   */
+  public static int seedPageSize(@Nonnull final List<SyncRunRecord> runHistory) {
+    SyncRunRecord mostRecentRun = null;
+    for (SyncRunRecord runRecord : runHistory) {
+      if (isQueryRun(runRecord)) {
+        mostRecentRun = runRecord;
+      }
+    }
+    if (mostRecentRun == null) {
+      return DEFAULT_PAGE_SIZE;
+    }
+    if (mostRecentRun.getAveragePageLatencyInMillis() > MAX_AVERAGE_PAGE_LATENCY_IN_MILLIS) {
+      return clamp(mostRecentRun.getPageSize() / 2);
+    }
+    // on equal throughput, the more recent run wins.
+    final Optional<SyncRunRecord> fastestRun =
+        runHistory.stream()
+            .filter(PageSizeTuner::isQueryRun)
+            .reduce(
+                (older, newer) ->
+                    newer.getThroughputPerSecond() >= older.getThroughputPerSecond()
+                        ? newer
+                        : older);
+    return fastestRun.map(runRecord -> clamp(runRecord.getPageSize())).orElse(DEFAULT_PAGE_SIZE);
+  }
+
+  private static boolean isQueryRun(@Nonnull final SyncRunRecord runRecord) {
+    return runRecord.getPageCount() > 0 && runRecord.getPageSize() > 0;
+  }
+
+  private static int clamp(final int pageSize) {
+    return Math.max(MIN_PAGE_SIZE, Math.min(DEFAULT_PAGE_SIZE, pageSize));
+  }
+
+  private PageSizeTuner() {}
+}
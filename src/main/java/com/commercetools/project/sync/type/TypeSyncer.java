@@ -11,7 +11,9 @@ import com.commercetools.api.models.type.TypeDraftBuilder;
 import com.commercetools.api.models.type.TypePagedQueryResponse;
 import com.commercetools.api.models.type.TypeUpdateAction;
 import com.commercetools.api.predicates.query.type.TypeQueryBuilderDsl;
+import com.commercetools.project.sync.DeletionSupport;
 import com.commercetools.project.sync.Syncer;
+import com.commercetools.project.sync.cache.CacheBudget;
 import com.commercetools.project.sync.service.CustomObjectService;
 import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
 import com.commercetools.sync.commons.exceptions.SyncException;
@@ -42,7 +44,8 @@ public final class TypeSyncer
         TypeSyncOptions,
         ByProjectKeyTypesGet,
         TypePagedQueryResponse,
-        TypeSync> {
+        TypeSync>
+    implements DeletionSupport<ByProjectKeyTypesGet> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TypeSyncer.class);
 
@@ -64,13 +67,16 @@ public final class TypeSyncer
 
     final QuadConsumer<SyncException, Optional<TypeDraft>, Optional<Type>, List<TypeUpdateAction>>
         logErrorCallback =
-            (exception, newResourceDraft, oldResource, updateActions) ->
-                logErrorCallback(LOGGER, "type", exception, oldResource, updateActions);
+            (exception, newResourceDraft, oldResource, updateActions) -> {
+              logErrorCallback(LOGGER, "type", exception, oldResource, updateActions);
+              recordFailure(TypeSync.class, exception, newResourceDraft, updateActions);
+            };
     final TriConsumer<SyncException, Optional<TypeDraft>, Optional<Type>> logWarningCallback =
         (exception, newResourceDraft, oldResource) ->
             logWarningCallback(LOGGER, "type", exception, oldResource);
     final TypeSyncOptions syncOptions =
         TypeSyncOptionsBuilder.of(targetClient)
+            .cacheSize(CacheBudget.current().getSyncOptionsCacheSize())
             .errorCallback(logErrorCallback)
             .warningCallback(logWarningCallback)
             .build();
@@ -88,6 +94,18 @@ public final class TypeSyncer
     return getSourceClient().types().get();
   }
 
+  @Nonnull
+  @Override
+  public ByProjectKeyTypesGet getTargetQuery() {
+    return getTargetClient().types().get();
+  }
+
+  @Nonnull
+  @Override
+  public CompletionStage<?> deleteTargetResource(@Nonnull final String id, final long version) {
+    return getTargetClient().types().withId(id).delete().withVersion(version).execute();
+  }
+
   @Nonnull
   @Override
   protected Logger getLoggerInstance() {
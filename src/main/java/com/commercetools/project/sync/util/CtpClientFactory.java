@@ -0,0 +1,156 @@
+package com.commercetools.project.sync.util;
+
+import com.commercetools.api.client.ProjectApiRoot;
+import com.commercetools.api.defaultconfig.ApiRootBuilder;
+import com.commercetools.api.json.ApiModuleOptions;
+import com.commercetools.http.okhttp4.CtOkHttp4Client;
+import com.commercetools.project.sync.cache.TargetKeyCacheMiddleware;
+import com.commercetools.project.sync.hedging.HedgingMiddleware;
+import com.commercetools.project.sync.http.EndpointMetricsMiddleware;
+import com.commercetools.project.sync.http.HttpClientMetrics;
+import com.commercetools.project.sync.http.HttpClientSettings;
+import com.commercetools.project.sync.product.LeanProductProjectionModule;
+import com.commercetools.project.sync.retry.RetryBudget;
+import com.commercetools.project.sync.retry.RetryMiddleware;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vrap.rmf.base.client.ResponseSerializer;
+import io.vrap.rmf.base.client.http.Middleware;
+import io.vrap.rmf.base.client.oauth2.ClientCredentials;
+import io.vrap.rmf.base.client.utils.json.JsonUtils;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+
+/**
+ * Builds the source and target clients of the sync from explicit URLs and credentials. {@link
+ * CtpClientUtils} builds the clients of a run with it from the properties or the environment
+ * variables, and tests and benchmarks build clients of a stand-in of the commercetools API with
+ * the same middlewares.
+ */
+public final class CtpClientFactory {
+
+  /**
+   * Creates a source client of the given project like the one of a run, with the default settings
+   * of the source HTTP client.
+   */
+  @Nonnull
+  public static ProjectApiRoot createSourceClient(
+      @Nonnull final String authUrl,
+      @Nonnull final String apiUrl,
+      @Nonnull final ClientCredentials credentials,
+      @Nonnull final String projectKey) {
+    return createClient(
+        authUrl,
+        apiUrl,
+        credentials,
+        projectKey,
+        "source",
+        HttpClientSettings.SOURCE_DEFAULTS,
+        true);
+  }
+
+  /**
+   * Creates a target client of the given project like the one of a run, with the default settings
+   * of the target HTTP client and the {@link TargetKeyCacheMiddleware}.
+   */
+  @Nonnull
+  public static ProjectApiRoot createTargetClient(
+      @Nonnull final String authUrl,
+      @Nonnull final String apiUrl,
+      @Nonnull final ClientCredentials credentials,
+      @Nonnull final String projectKey) {
+    return createClient(
+        authUrl,
+        apiUrl,
+        credentials,
+        projectKey,
+        "target",
+        HttpClientSettings.TARGET_DEFAULTS,
+        false,
+        new TargetKeyCacheMiddleware());
+  }
+
+  /**
+   * Creates a client of the given project with the middlewares of the sync, i.e. the retry, the
+   * hedging and the endpoint metrics middleware, with the given extra middlewares in between.
+   *
+   * @param clientName the name of the client in the metrics and the logs, e.g. "source".
+   * @param isLeanDeserialization whether product projections are deserialized with the {@link
+   *     LeanProductProjectionModule}, which only the source client does.
+   */
+  @Nonnull
+  static ProjectApiRoot createClient(
+      @Nonnull final String authUrl,
+      @Nonnull final String apiUrl,
+      @Nonnull final ClientCredentials credentials,
+      @Nonnull final String projectKey,
+      @Nonnull final String clientName,
+      @Nonnull final HttpClientSettings httpClientSettings,
+      final boolean isLeanDeserialization,
+      @Nonnull final Middleware... middlewares) {
+    final ApiModuleOptions options =
+        ApiModuleOptions.of().withDateAttributeAsString(true).withDateCustomFieldAsString(true);
+    final ObjectMapper mapper = JsonUtils.createObjectMapper(options);
+    if (isLeanDeserialization) {
+      mapper.registerModule(new LeanProductProjectionModule());
+    }
+
+    ApiRootBuilder apiRootBuilder =
+        ApiRootBuilder.of(createHttpClient(clientName, httpClientSettings))
+            .defaultClient(credentials, authUrl, apiUrl)
+            .withSerializer(ResponseSerializer.of(mapper))
+            .addMiddleware(
+                RetryMiddleware.of(
+                    clientName,
+                    httpClientSettings.getMaxRetries(),
+                    httpClientSettings.getRetryInitialDelay(),
+                    httpClientSettings.getRetryMaxDelay(),
+                    RetryBudget.of()));
+    if (httpClientSettings.getMaxHedgedRequestsPercent() > 0) {
+      apiRootBuilder =
+          apiRootBuilder.addMiddleware(
+              HedgingMiddleware.of(clientName, httpClientSettings.getMaxHedgedRequestsPercent()));
+    }
+    for (Middleware middleware : middlewares) {
+      apiRootBuilder = apiRootBuilder.addMiddleware(middleware);
+    }
+    return apiRootBuilder.addMiddleware(EndpointMetricsMiddleware.of(clientName)).build(projectKey);
+  }
+
+  /**
+   * Creates an HTTP client with its own dispatcher and connection pool, so the source and the
+   * target client can be tuned independently, and registers their {@link HttpClientMetrics}.
+   */
+  private static CtOkHttp4Client createHttpClient(
+      @Nonnull final String clientName, @Nonnull final HttpClientSettings settings) {
+    final Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(settings.getMaxRequests());
+    dispatcher.setMaxRequestsPerHost(settings.getMaxRequestsPerHost());
+    final ConnectionPool connectionPool =
+        new ConnectionPool(
+            settings.getMaxIdleConnections(),
+            settings.getKeepAlive().toMillis(),
+            TimeUnit.MILLISECONDS);
+    final HttpClientMetrics metrics =
+        HttpClientMetrics.register(clientName, dispatcher, connectionPool);
+
+    return new CtOkHttp4Client(
+        settings.getMaxRequests(),
+        settings.getMaxRequestsPerHost(),
+        builder ->
+            builder
+                .dispatcher(dispatcher)
+                .connectionPool(connectionPool)
+                .connectTimeout(settings.getConnectTimeout())
+                .readTimeout(settings.getReadTimeout())
+                .writeTimeout(settings.getWriteTimeout())
+                .addInterceptor(
+                    chain -> {
+                      metrics.sample();
+                      return chain.proceed(chain.request());
+                    }));
+  }
+
+  private CtpClientFactory() {}
+}
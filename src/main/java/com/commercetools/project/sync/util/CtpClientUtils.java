@@ -3,17 +3,13 @@ package com.commercetools.project.sync.util;
 import static java.lang.String.format;
 
 import com.commercetools.api.client.ProjectApiRoot;
-import com.commercetools.api.defaultconfig.ApiRootBuilder;
 import com.commercetools.api.defaultconfig.ServiceRegion;
-import com.commercetools.api.json.ApiModuleOptions;
-import com.commercetools.http.okhttp4.CtOkHttp4Client;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.vrap.rmf.base.client.ResponseSerializer;
+import com.commercetools.project.sync.cache.TargetKeyCacheMiddleware;
+import com.commercetools.project.sync.http.HttpClientSettings;
+import io.vrap.rmf.base.client.http.Middleware;
 import io.vrap.rmf.base.client.oauth2.ClientCredentials;
-import io.vrap.rmf.base.client.utils.json.JsonUtils;
 import java.io.InputStream;
 import java.util.InvalidPropertiesFormatException;
-import java.util.List;
 import java.util.Properties;
 import javax.annotation.Nonnull;
 
@@ -30,14 +26,19 @@ public final class CtpClientUtils {
   public static final ProjectApiRoot CTP_TARGET_CLIENT = getCtpTargetClient();
 
   private static ProjectApiRoot getCtpSourceClient() {
-    return getCtpClient("source.");
+    return getCtpClient("source.", HttpClientSettings.SOURCE_DEFAULTS, true);
   }
 
   private static ProjectApiRoot getCtpTargetClient() {
-    return getCtpClient("target.");
+    return getCtpClient(
+        "target.", HttpClientSettings.TARGET_DEFAULTS, false, new TargetKeyCacheMiddleware());
   }
 
-  private static ProjectApiRoot getCtpClient(@Nonnull final String propertiesPrefix) {
+  private static ProjectApiRoot getCtpClient(
+      @Nonnull final String propertiesPrefix,
+      @Nonnull final HttpClientSettings defaultHttpClientSettings,
+      final boolean isLeanDeserialization,
+      @Nonnull final Middleware... middlewares) {
     try {
       InputStream propStream =
           CtpClientUtils.class.getClassLoader().getResourceAsStream(CTP_CREDENTIALS_PROPERTIES);
@@ -86,7 +87,18 @@ public final class CtpClientUtils {
               .withScopes(scopes)
               .build();
 
-      return createCtpClient(authUrl, apiUrl, credentials, projectKey);
+      final HttpClientSettings httpClientSettings =
+          HttpClientSettings.of(properties, propertiesPrefix, defaultHttpClientSettings);
+
+      return CtpClientFactory.createClient(
+          authUrl,
+          apiUrl,
+          credentials,
+          projectKey,
+          propertiesPrefix.replace(".", ""),
+          httpClientSettings,
+          isLeanDeserialization,
+          middlewares);
     } catch (Exception exception) {
       throw new IllegalStateException(
           format(
@@ -97,26 +109,6 @@ public final class CtpClientUtils {
     }
   }
 
-  private static ProjectApiRoot createCtpClient(
-      @Nonnull String authUrl,
-      @Nonnull String apiUrl,
-      @Nonnull ClientCredentials credentials,
-      @Nonnull String projectKey) {
-    final ApiModuleOptions options =
-        ApiModuleOptions.of().withDateAttributeAsString(true).withDateCustomFieldAsString(true);
-    final ObjectMapper mapper = JsonUtils.createObjectMapper(options);
-
-    return ApiRootBuilder.of(new CtOkHttp4Client(200, 200))
-        .defaultClient(credentials, authUrl, apiUrl)
-        .withSerializer(ResponseSerializer.of(mapper))
-        .withPolicies(
-            policyBuilder ->
-                policyBuilder.withRetry(
-                    retryPolicyBuilder ->
-                        retryPolicyBuilder.maxRetries(5).statusCodes(List.of(500, 502, 503, 504))))
-        .build(projectKey);
-  }
-
   private static Properties loadFromEnvVars(final String propertiesPrefix) {
     final Properties properties = new Properties();
 
@@ -145,6 +137,15 @@ public final class CtpClientUtils {
       properties.put(propertiesPrefix + PROPERTIES_KEY_SCOPES_SUFFIX, scopes);
     }
 
+    for (String settingName : HttpClientSettings.getSettingNames()) {
+      final String setting =
+          getPropertyFromEnv(
+              HttpClientSettings.toEnvironmentVariableName(propertiesPrefix, settingName));
+      if (setting != null) {
+        properties.put(propertiesPrefix + settingName, setting);
+      }
+    }
+
     return properties;
   }
 
@@ -0,0 +1,147 @@
+package com.commercetools.project.sync.util;
+
+import static java.lang.String.format;
+
+import com.commercetools.sync.commons.exceptions.SyncException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+/**
+ * Counts the errors of the sync of a resource, e.g. "product", grouped by error type, which is the
+ * class of the cause of the {@link SyncException}. There is one instance per resource name. Only
+ * the first {@value #EXAMPLES_PER_ERROR_TYPE} errors of each type are logged in full, with their
+ * update actions and stack trace; the rest are only counted and logged as a summary at every
+ * power of ten and at the end of a run. A run in which 50k products miss the same reference thus
+ * logs a few lines for it instead of 50k stack traces.
+ *
+ * <p>The errors are counted per run, see {@link #clearAll()}. When change events are consumed, the
+ * examples are taken per micro-batch instead, see {@link #startNewSamples()}, so that errors which
+ * first occur after hours of consumption are still logged in full.
+ */
+public final class ErrorAggregator {
+  static final int EXAMPLES_PER_ERROR_TYPE = 10;
+
+  private static final Map<String, ErrorAggregator> AGGREGATORS_BY_RESOURCE_NAME =
+      new ConcurrentHashMap<>();
+
+  private final String resourceName;
+  private final Map<String, AtomicLong> errorsByType = new ConcurrentHashMap<>();
+  private final Map<String, AtomicLong> sampledErrorsByType = new ConcurrentHashMap<>();
+
+  private ErrorAggregator(@Nonnull final String resourceName) {
+    this.resourceName = resourceName;
+  }
+
+  /** Returns the aggregator of the resource with the given name, e.g. "product". */
+  @Nonnull
+  public static ErrorAggregator of(@Nonnull final String resourceName) {
+    return AGGREGATORS_BY_RESOURCE_NAME.computeIfAbsent(resourceName, ErrorAggregator::new);
+  }
+
+  @Nonnull
+  public static Collection<ErrorAggregator> getAll() {
+    return new ArrayList<>(AGGREGATORS_BY_RESOURCE_NAME.values());
+  }
+
+  /** Removes the errors counted by all aggregators, e.g. at the start of a run. */
+  public static void clearAll() {
+    AGGREGATORS_BY_RESOURCE_NAME.clear();
+  }
+
+  /**
+   * Starts a new sample of the errors of all aggregators, e.g. for a micro-batch of change events:
+   * the first {@value #EXAMPLES_PER_ERROR_TYPE} errors of each type after this call are logged in
+   * full again. The errors counted for the report of the run are kept.
+   */
+  public static void startNewSamples() {
+    AGGREGATORS_BY_RESOURCE_NAME.values()
+        .forEach(errorAggregator -> errorAggregator.sampledErrorsByType.clear());
+  }
+
+  /**
+   * Returns the type of the given error, the simple class name of its cause, e.g. {@code
+   * ReferenceResolutionException}, or of the exception itself if it has no cause.
+   */
+  @Nonnull
+  public static String getErrorType(@Nonnull final SyncException exception) {
+    final Throwable cause =
+        exception.getCause() == null
+            ? exception
+            : SyncUtils.getCompletionExceptionCause(exception.getCause());
+    return cause.getClass().getSimpleName();
+  }
+
+  /**
+   * Counts an error of the given type and returns the number of errors of the type in the current
+   * sample, see {@link #startNewSamples()}.
+   */
+  long record(@Nonnull final String errorType) {
+    errorsByType.computeIfAbsent(errorType, key -> new AtomicLong()).incrementAndGet();
+    return sampledErrorsByType
+        .computeIfAbsent(errorType, key -> new AtomicLong())
+        .incrementAndGet();
+  }
+
+  /** Returns true if the error with the given number of its type should be logged in full. */
+  static boolean isExample(final long errorNumber) {
+    return errorNumber <= EXAMPLES_PER_ERROR_TYPE;
+  }
+
+  /**
+   * Returns true if a summary should be logged after the error with the given number of its type,
+   * which is the case at every power of ten beyond the examples, e.g. 100, 1000 and 10000.
+   */
+  static boolean isSummaryDue(final long errorNumber) {
+    if (isExample(errorNumber)) {
+      return false;
+    }
+    long powerOfTen = 10;
+    while (powerOfTen < errorNumber) {
+      powerOfTen *= 10;
+    }
+    return powerOfTen == errorNumber;
+  }
+
+  @Nonnull
+  String getSummaryMessage(@Nonnull final String errorType, final long errors) {
+    return format(
+        "%d errors of type %s when trying to sync %s so far. Only the first %d of them were logged "
+            + "with their update actions and stack trace.",
+        errors, errorType, resourceName, EXAMPLES_PER_ERROR_TYPE);
+  }
+
+  @Nonnull
+  public String getResourceName() {
+    return resourceName;
+  }
+
+  /** Returns the number of errors per error type, sorted by error type. */
+  @Nonnull
+  public Map<String, Long> getErrorsByType() {
+    return errorsByType.entrySet().stream()
+        .collect(
+            Collectors.toMap(
+                Map.Entry::getKey,
+                entry -> entry.getValue().get(),
+                (first, second) -> first,
+                TreeMap::new));
+  }
+
+  public long getErrors() {
+    return errorsByType.values().stream().mapToLong(AtomicLong::get).sum();
+  }
+
+  @Nonnull
+  public String getReportMessage() {
+    return format(
+        "Error summary of the %s sync: %d errors %s. Only the first %d errors of each type per run "
+            + "or micro-batch were logged with their update actions and stack trace.",
+        resourceName, getErrors(), getErrorsByType(), EXAMPLES_PER_ERROR_TYPE);
+  }
+}
@@ -0,0 +1,83 @@
+package com.commercetools.project.sync.util;
+
+import static com.commercetools.project.sync.util.SyncUtils.getSyncModuleName;
+
+import com.commercetools.sync.commons.BaseSync;
+import com.commercetools.sync.commons.exceptions.SyncException;
+import io.vrap.rmf.base.client.ApiHttpException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Counts the failures of a sync module, e.g. "ProductSync", per cause: the error type of the
+ * {@link ErrorAggregator} followed by the HTTP status code of the failed request, if any, e.g.
+ * {@code ConcurrentModificationException:409} or {@code ReferenceResolutionException}. The counts
+ * of a run are persisted in the run history of the last sync custom object of the module.
+ *
+ * <p>There is one instance per sync module name. This class is thread-safe.
+ */
+public final class FailureHistogram {
+  private static final Map<String, FailureHistogram> HISTOGRAMS_BY_SYNC_MODULE_NAME =
+      new ConcurrentHashMap<>();
+
+  private final Map<String, LongAdder> failuresByCause = new ConcurrentHashMap<>();
+
+  private FailureHistogram() {}
+
+  /** Returns the histogram of the given sync, e.g. {@code ProductSync}. */
+  @Nonnull
+  public static FailureHistogram of(@Nonnull final Class<? extends BaseSync> syncClass) {
+    return HISTOGRAMS_BY_SYNC_MODULE_NAME.computeIfAbsent(
+        getSyncModuleName(syncClass), syncModuleName -> new FailureHistogram());
+  }
+
+  /** Counts the failure of the given sync with the cause of the given error. */
+  public static void record(
+      @Nonnull final Class<? extends BaseSync> syncClass, @Nonnull final SyncException exception) {
+    of(syncClass)
+        .failuresByCause
+        .computeIfAbsent(getCause(exception), cause -> new LongAdder())
+        .increment();
+  }
+
+  @Nonnull
+  static String getCause(@Nonnull final SyncException exception) {
+    final Integer statusCode = getStatusCode(exception);
+    final String errorType = ErrorAggregator.getErrorType(exception);
+    return statusCode == null ? errorType : errorType + ":" + statusCode;
+  }
+
+  @Nullable
+  private static Integer getStatusCode(@Nullable final Throwable throwable) {
+    Throwable cause = throwable;
+    while (cause != null) {
+      if (cause instanceof ApiHttpException) {
+        return ((ApiHttpException) cause).getStatusCode();
+      }
+      cause = cause.getCause() == cause ? null : cause.getCause();
+    }
+    return null;
+  }
+
+  /** Returns the number of failures per cause, sorted by cause. */
+  @Nonnull
+  public Map<String, Long> getFailuresByCause() {
+    return failuresByCause.entrySet().stream()
+        .collect(
+            Collectors.toMap(
+                Map.Entry::getKey,
+                entry -> entry.getValue().sum(),
+                (first, second) -> first,
+                TreeMap::new));
+  }
+
+  /** Drops the counted failures, e.g. of a previous run of the module in the same process. */
+  public void clear() {
+    failuresByCause.clear();
+  }
+}
@@ -12,7 +12,6 @@ import com.commercetools.sync.commons.exceptions.SyncException;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionException;
-import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
@@ -26,6 +25,7 @@ public final class SyncUtils {
   public static final String APPLICATION_DEFAULT_VERSION = "development-SNAPSHOT";
   public static final String DEFAULT_RUNNER_NAME = "runnerName";
   public static final String IDENTIFIER_NOT_PRESENT = "<<not present>>";
+  static final int MAX_UPDATE_ACTIONS_LENGTH = 2_000;
 
   @Nonnull
   public static String getSyncModuleName(@Nonnull final Class<? extends BaseSync> syncClass) {
@@ -44,46 +44,82 @@ public final class SyncUtils {
     return isBlank(implementationVersion) ? APPLICATION_DEFAULT_VERSION : implementationVersion;
   }
 
+  /**
+   * Logs the error of the sync of a resource, if it is one of the first errors of its type, or
+   * else only counts it in the {@link ErrorAggregator} of the resource. See {@link
+   * #logErrorCallback(Logger, String, SyncException, String, List)}.
+   */
   public static <T extends WithKey, U extends ResourceUpdateAction> void logErrorCallback(
       @Nonnull final Logger logger,
       @Nonnull final String resourceName,
       @Nonnull final SyncException exception,
       @Nonnull final Optional<T> resource,
       @Nullable final List<U> updateActions) {
-    String updateActionsString = "[]";
-    if (updateActions != null && !updateActions.isEmpty()) {
-      updateActionsString =
-          updateActions.stream().map(Object::toString).collect(Collectors.joining(","));
-    }
-    if (logger.isErrorEnabled()) {
-      logger.error(
-          format(
-              "Error when trying to sync %s. Existing key: %s. Update actions: %s",
-              resourceName,
-              resource.map(WithKey::getKey).orElse(IDENTIFIER_NOT_PRESENT),
-              updateActionsString),
-          exception);
-    }
+    logErrorCallback(
+        logger,
+        resourceName,
+        exception,
+        resource.map(WithKey::getKey).orElse(IDENTIFIER_NOT_PRESENT),
+        updateActions);
   }
 
+  /**
+   * Logs the error of the sync of a resource with its update actions and stack trace, if it is one
+   * of the first errors of its type, or else only counts it in the {@link ErrorAggregator} of the
+   * resource, which logs a summary at every power of ten. The update actions are only rendered for
+   * the logged errors, up to {@value #MAX_UPDATE_ACTIONS_LENGTH} characters.
+   */
   public static <U extends ResourceUpdateAction> void logErrorCallback(
       @Nonnull final Logger logger,
       @Nonnull final String resourceName,
       @Nonnull final SyncException exception,
       @Nonnull final String resourceIdentifier,
       @Nullable final List<U> updateActions) {
-    String updateActionsString = "[]";
-    if (updateActions != null && !updateActions.isEmpty()) {
-      updateActionsString =
-          updateActions.stream().map(Object::toString).collect(Collectors.joining(","));
+    final ErrorAggregator errorAggregator = ErrorAggregator.of(resourceName);
+    final String errorType = ErrorAggregator.getErrorType(exception);
+    final long errorNumber = errorAggregator.record(errorType);
+    if (!logger.isErrorEnabled()) {
+      return;
     }
-    if (logger.isErrorEnabled()) {
+    if (ErrorAggregator.isExample(errorNumber)) {
       logger.error(
           format(
               "Error when trying to sync %s. Existing key: %s. Update actions: %s",
-              resourceName, resourceIdentifier, updateActionsString),
+              resourceName, resourceIdentifier, renderUpdateActions(updateActions)),
           exception);
+    } else if (ErrorAggregator.isSummaryDue(errorNumber)) {
+      logger.error(errorAggregator.getSummaryMessage(errorType, errorNumber));
+    }
+  }
+
+  /**
+   * Joins the update actions with commas, but stops after {@value #MAX_UPDATE_ACTIONS_LENGTH}
+   * characters and appends the number of the update actions left out, e.g. {@code ... (120 more
+   * update actions)}.
+   */
+  @Nonnull
+  public static String renderUpdateActions(
+      @Nullable final List<? extends ResourceUpdateAction> updateActions) {
+    if (updateActions == null || updateActions.isEmpty()) {
+      return "[]";
+    }
+    final StringBuilder rendered = new StringBuilder();
+    int renderedActions = 0;
+    while (renderedActions < updateActions.size()
+        && rendered.length() < MAX_UPDATE_ACTIONS_LENGTH) {
+      if (renderedActions > 0) {
+        rendered.append(',');
+      }
+      rendered.append(updateActions.get(renderedActions++));
+    }
+    if (rendered.length() > MAX_UPDATE_ACTIONS_LENGTH) {
+      rendered.setLength(MAX_UPDATE_ACTIONS_LENGTH);
+      rendered.append("...");
+    }
+    if (renderedActions < updateActions.size()) {
+      rendered.append(format(" (%d more update actions)", updateActions.size() - renderedActions));
     }
+    return rendered.toString();
   }
 
   public static <T extends WithKey> void logWarningCallback(
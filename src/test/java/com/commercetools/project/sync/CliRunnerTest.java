@@ -23,6 +23,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -34,6 +35,7 @@ import static org.mockito.Mockito.when;
 import com.commercetools.api.client.ByProjectKeyProductProjectionsGet;
 import com.commercetools.api.client.ProjectApiRoot;
 import com.commercetools.project.sync.exception.CliException;
+import com.commercetools.project.sync.model.SyncRunOptions;
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import io.vrap.rmf.base.client.ApiHttpResponse;
@@ -250,7 +252,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "products"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"products"}, null, false, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"products"}, null, false, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).productProjections();
   }
 
@@ -266,7 +269,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "products", "-f"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"products"}, null, true, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"products"}, null, true, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).productProjections();
   }
 
@@ -456,7 +460,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "taxCategories"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"taxCategories"}, null, false, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"taxCategories"}, null, false, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).taxCategories();
   }
 
@@ -472,7 +477,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "taxCategories", "-f"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"taxCategories"}, null, true, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"taxCategories"}, null, true, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).taxCategories();
   }
 
@@ -487,7 +493,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "customers"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"customers"}, null, false, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"customers"}, null, false, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).customers();
   }
 
@@ -502,7 +509,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "customers", "-f"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"customers"}, null, true, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"customers"}, null, true, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).customers();
   }
 
@@ -517,7 +525,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "shoppingLists"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"shoppingLists"}, null, false, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"shoppingLists"}, null, false, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).shoppingLists();
   }
 
@@ -533,7 +542,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "shoppingLists", "-f"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"shoppingLists"}, null, true, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"shoppingLists"}, null, true, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).shoppingLists();
   }
 
@@ -549,7 +559,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "customObjects"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"customObjects"}, null, false, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"customObjects"}, null, false, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).customObjects();
   }
 
@@ -564,7 +575,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "customObjects", "-f"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"customObjects"}, null, true, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"customObjects"}, null, true, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).customObjects();
   }
 
@@ -580,7 +592,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "cartDiscounts", "-f"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"cartDiscounts"}, null, true, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"cartDiscounts"}, null, true, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).cartDiscounts();
   }
 
@@ -595,7 +608,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "states", "-f"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"states"}, null, true, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"states"}, null, true, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).states();
   }
 
@@ -610,7 +624,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"--sync", "products"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"products"}, null, false, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"products"}, null, false, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).productProjections();
   }
 
@@ -627,7 +642,7 @@ class CliRunnerTest {
 
     // assertions
     verify(syncerFactory, times(1))
-        .sync(new String[] {"products"}, "Runner123", false, false, null);
+        .sync(new String[] {"products"}, "Runner123", false, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).productProjections();
   }
 
@@ -646,10 +661,285 @@ class CliRunnerTest {
             syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"products"}, "Runner123", true, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"products"}, "Runner123", true, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).productProjections();
   }
 
+  @Test
+  void run_WithDeleteAndDeleteDryRun_ShouldPassDeleteOptionsToSync() {
+    // preparation
+    final SyncerFactory syncerFactory =
+        spy(SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock()));
+    doReturn(CompletableFuture.completedFuture(null))
+        .when(syncerFactory)
+        .sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
+
+    // test
+    CliRunner.of()
+        .run(
+            new String[] {"-s", "categories", "--delete", "categories", "types", "--deleteDryRun"},
+            syncerFactory);
+
+    // assertions
+    verify(syncerFactory, times(1))
+        .sync(
+            new String[] {"categories"},
+            null,
+            false,
+            false,
+            null,
+            SyncRunOptions.of()
+                .withDeleteSyncOptionValues(new String[] {"categories", "types"})
+                .withDeleteDryRun(true));
+  }
+
+  @Test
+  void run_WithChangeFeed_ShouldPassChangeFeedOptionToSync() {
+    // preparation
+    final SyncerFactory syncerFactory =
+        spy(SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock()));
+    doReturn(CompletableFuture.completedFuture(null))
+        .when(syncerFactory)
+        .sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "products", "--changeFeed"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, times(1))
+        .sync(
+            new String[] {"products"},
+            null,
+            false,
+            false,
+            null,
+            SyncRunOptions.of().withChangeFeedSync(true));
+  }
+
+  @Test
+  void run_WithGraphQlSource_ShouldPassGraphQlSourceOptionToSync() {
+    // preparation
+    final SyncerFactory syncerFactory =
+        spy(SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock()));
+    doReturn(CompletableFuture.completedFuture(null))
+        .when(syncerFactory)
+        .sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "products", "--graphQlSource"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, times(1))
+        .sync(
+            new String[] {"products"},
+            null,
+            false,
+            false,
+            null,
+            SyncRunOptions.of().withGraphQlSource(true));
+  }
+
+  @Test
+  void run_WithReferenceCacheDir_ShouldPassReferenceCacheDirectoryToSync() {
+    // preparation
+    final SyncerFactory syncerFactory =
+        spy(SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock()));
+    doReturn(CompletableFuture.completedFuture(null))
+        .when(syncerFactory)
+        .sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
+
+    // test
+    CliRunner.of()
+        .run(
+            new String[] {"-s", "products", "--referenceCacheDir", "/var/cache/project-sync"},
+            syncerFactory);
+
+    // assertions
+    verify(syncerFactory, times(1))
+        .sync(
+            new String[] {"products"},
+            null,
+            false,
+            false,
+            null,
+            SyncRunOptions.of().withReferenceCacheDirectory("/var/cache/project-sync"));
+  }
+
+  @Test
+  void run_WithConsumeEvents_ShouldPassMicroBatchOptionsToSync() {
+    // preparation
+    final SyncerFactory syncerFactory =
+        spy(SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock()));
+    doReturn(CompletableFuture.completedFuture(null))
+        .when(syncerFactory)
+        .sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
+
+    // test
+    CliRunner.of()
+        .run(
+            new String[] {
+              "-s",
+              "products",
+              "--consumeEvents",
+              "events.ndjson",
+              "--microBatchSize",
+              "50",
+              "--microBatchLatencyMillis",
+              "200"
+            },
+            syncerFactory);
+
+    // assertions
+    verify(syncerFactory, times(1))
+        .sync(
+            new String[] {"products"},
+            null,
+            false,
+            false,
+            null,
+            SyncRunOptions.of()
+                .withChangeEventFile("events.ndjson")
+                .withMicroBatchSize(50)
+                .withMicroBatchLatencyMillis(200));
+  }
+
+  @Test
+  void run_WithInvalidMicroBatchSize_ShouldNotSync() {
+    // preparation
+    final SyncerFactory syncerFactory =
+        spy(SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock()));
+
+    // test
+    CliRunner.of()
+        .run(
+            new String[] {
+              "-s", "products", "--consumeEvents", "events.ndjson", "--microBatchSize", "0"
+            },
+            syncerFactory);
+
+    // assertions
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
+  }
+
+  @Test
+  void run_WithReplay_ShouldPassDeadLetterOptionsToSync() {
+    // preparation
+    final SyncerFactory syncerFactory =
+        spy(SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock()));
+    doReturn(CompletableFuture.completedFuture(null))
+        .when(syncerFactory)
+        .sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
+
+    // test
+    CliRunner.of()
+        .run(
+            new String[] {
+              "-s", "products", "--deadLetterDir", "/var/lib/project-sync", "--replay"
+            },
+            syncerFactory);
+
+    // assertions
+    verify(syncerFactory, times(1))
+        .sync(
+            new String[] {"products"},
+            null,
+            false,
+            false,
+            null,
+            SyncRunOptions.of()
+                .withDeadLetterDirectory("/var/lib/project-sync")
+                .withReplay(true));
+  }
+
+  @Test
+  void run_WithReplayWithoutDeadLetterDir_ShouldNotSync() {
+    // preparation
+    final SyncerFactory syncerFactory =
+        spy(SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock()));
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "products", "--replay"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
+  }
+
+  @Test
+  void run_WithProductTypePartitions_ShouldPassPartitionsToSync() {
+    // preparation
+    final SyncerFactory syncerFactory =
+        spy(SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock()));
+    doReturn(CompletableFuture.completedFuture(null))
+        .when(syncerFactory)
+        .sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
+
+    // test
+    CliRunner.of()
+        .run(new String[] {"-s", "products", "--productTypePartitions", "4"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, times(1))
+        .sync(
+            new String[] {"products"},
+            null,
+            false,
+            false,
+            null,
+            SyncRunOptions.of().withProductTypePartitions(4));
+  }
+
+  @Test
+  void run_WithInvalidProductTypePartitions_ShouldNotSync() {
+    // preparation
+    final SyncerFactory syncerFactory =
+        spy(SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock()));
+
+    // test
+    CliRunner.of()
+        .run(new String[] {"-s", "products", "--productTypePartitions", "0"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
+  }
+
+  @Test
+  void run_WithPriceFastPath_ShouldPassPriceFastPathToSync() {
+    // preparation
+    final SyncerFactory syncerFactory =
+        spy(SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock()));
+    doReturn(CompletableFuture.completedFuture(null))
+        .when(syncerFactory)
+        .sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
+
+    // test
+    CliRunner.of()
+        .run(new String[] {"-s", "products", "--changeFeed", "--priceFastPath"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, times(1))
+        .sync(
+            new String[] {"products"},
+            null,
+            false,
+            false,
+            null,
+            SyncRunOptions.of().withChangeFeedSync(true).withPriceFastPath(true));
+  }
+
+  @Test
+  void run_WithPriceFastPathWithoutChangeFeed_ShouldNotSync() {
+    // preparation
+    final SyncerFactory syncerFactory =
+        spy(SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock()));
+
+    // test
+    CliRunner.of().run(new String[] {"-s", "products", "--priceFastPath"}, syncerFactory);
+
+    // assertions
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
+  }
+
   @Test
   void run_WithUnknownArgument_ShouldPrintAndLogError() {
     // preparation
@@ -663,7 +953,7 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-u"}, syncerFactory);
 
     // Assert error log
-    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), anyBoolean(), any());
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
   }
 
   @Test
@@ -705,7 +995,7 @@ class CliRunnerTest {
             format(
                 "-%s,--%s %s",
                 VERSION_OPTION_SHORT, VERSION_OPTION_LONG, VERSION_OPTION_DESCRIPTION));
-    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), anyBoolean(), any());
+    verify(syncerFactory, never()).sync(any(), any(), anyBoolean(), anyBoolean(), any(), any());
   }
 
   @Test
@@ -720,7 +1010,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "all"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"all"}, null, false, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"all"}, null, false, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).productTypes();
     verify(sourceClient, times(1)).types();
     verify(sourceClient, times(1)).taxCategories();
@@ -746,7 +1037,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "all", "-r", "myRunner"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"all"}, "myRunner", false, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"all"}, "myRunner", false, false, null, SyncRunOptions.of());
     verify(sourceClient, times(1)).productTypes();
     verify(sourceClient, times(1)).types();
     verify(sourceClient, times(1)).taxCategories();
@@ -772,7 +1064,8 @@ class CliRunnerTest {
     CliRunner.of().run(new String[] {"-s", "all", "-f"}, syncerFactory);
 
     // assertions
-    verify(syncerFactory, times(1)).sync(new String[] {"all"}, null, true, false, null);
+    verify(syncerFactory, times(1))
+        .sync(new String[] {"all"}, null, true, false, null, SyncRunOptions.of());
 
     final InOrder inOrder = Mockito.inOrder(sourceClient);
 
@@ -56,6 +56,7 @@ import com.commercetools.project.sync.customer.CustomerSyncer;
 import com.commercetools.project.sync.customobject.CustomObjectSyncer;
 import com.commercetools.project.sync.exception.CliException;
 import com.commercetools.project.sync.inventoryentry.InventoryEntrySyncer;
+import com.commercetools.project.sync.model.SyncRunOptions;
 import com.commercetools.project.sync.product.ProductSyncer;
 import com.commercetools.project.sync.producttype.ProductTypeSyncer;
 import com.commercetools.project.sync.shoppinglist.ShoppingListSyncer;
@@ -188,6 +189,66 @@ class SyncerFactoryTest {
                 SYNC_MODULE_OPTION_DESCRIPTION));
   }
 
+  @Test
+  void sync_WithDeleteOfModuleWithoutDeletionSupport_ShouldCompleteExceptionallyWithCliException() {
+    final SyncRunOptions syncRunOptions =
+        SyncRunOptions.of()
+            .withDeleteSyncOptionValues(new String[] {"categories", "inventoryEntries"});
+
+    assertThat(
+            SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock())
+                .sync(
+                    new String[] {"inventoryEntries"},
+                    "myRunnerName",
+                    false,
+                    false,
+                    null,
+                    syncRunOptions))
+        .failsWithin(1, TimeUnit.SECONDS)
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseExactlyInstanceOf(CliException.class)
+        .withMessageContaining(
+            "The module \"inventoryEntries\" doesn't support the \"--delete\" option.");
+  }
+
+  @Test
+  void sync_WithProductTypePartitionsWithoutProducts_ShouldCompleteExceptionallyWithCliException() {
+    assertThat(
+            SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock())
+                .sync(
+                    new String[] {"categories"},
+                    "myRunnerName",
+                    false,
+                    false,
+                    null,
+                    SyncRunOptions.of().withProductTypePartitions(4)))
+        .failsWithin(1, TimeUnit.SECONDS)
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseExactlyInstanceOf(CliException.class)
+        .withMessageContaining(
+            "The \"--productTypePartitions\" option requires a synced module which supports "
+                + "partitions, e.g. \"products\".");
+  }
+
+  @Test
+  void sync_WithProductTypePartitionsAndGraphQlSource_ShouldCompleteExceptionally() {
+    assertThat(
+            SyncerFactory.of(() -> sourceClient, () -> targetClient, getMockedClock())
+                .sync(
+                    new String[] {"products"},
+                    "myRunnerName",
+                    false,
+                    false,
+                    null,
+                    SyncRunOptions.of().withProductTypePartitions(4).withGraphQlSource(true)))
+        .failsWithin(1, TimeUnit.SECONDS)
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseExactlyInstanceOf(CliException.class)
+        .withMessageContaining(
+            "The \"--productTypePartitions\" option can't be combined with the "
+                + "\"--graphQlSource\" option.");
+  }
+
   @Test
   void sync_WithUnknownOptionValue_ShouldCompleteExceptionallyWithIllegalArgumentException() {
     final String[] unknownOptionValue = {"anyOption"};
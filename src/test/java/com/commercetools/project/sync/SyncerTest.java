@@ -0,0 +1,55 @@
+package com.commercetools.project.sync;
+
+import static com.commercetools.project.sync.util.TestUtils.readObjectFromResource;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercetools.api.models.category.Category;
+import com.commercetools.sync.commons.utils.CaffeineReferenceIdToKeyCacheImpl;
+import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SyncerTest {
+
+  @AfterEach
+  void tearDown() {
+    Syncer.setReferenceIdToKeyCache(Syncer.createDefaultReferenceIdToKeyCache());
+  }
+
+  @Test
+  void refreshReferenceKeys_WithChangedKey_ShouldReplaceCachedKey() {
+    // preparation
+    final ReferenceIdToKeyCache referenceIdToKeyCache = new CaffeineReferenceIdToKeyCacheImpl();
+    Syncer.setReferenceIdToKeyCache(referenceIdToKeyCache);
+    final Category category = readObjectFromResource("category-key-2.json", Category.class);
+    referenceIdToKeyCache.add(category.getId(), "categoryKey1");
+
+    // test
+    Syncer.refreshReferenceKeys(List.of(category));
+
+    // assertions
+    assertThat(referenceIdToKeyCache.get(category.getId())).isEqualTo("categoryKey2");
+  }
+
+  @Test
+  void getReportMessage_WithoutResolvedRetries_ShouldReturnReportOfSync() {
+    // test
+    final String reportMessage = Syncer.getReportMessage("Summary.", 10, 2, 0);
+
+    // assertion
+    assertThat(reportMessage).isEqualTo("Summary.");
+  }
+
+  @Test
+  void getReportMessage_WithResolvedRetries_ShouldNotCountPreviousFailures() {
+    // test
+    final String reportMessage = Syncer.getReportMessage("Summary.", 12, 3, 2);
+
+    // assertion
+    assertThat(reportMessage)
+        .isEqualTo(
+            "Summary. 2 of them were synced once more after a transient error, so 10 distinct "
+                + "resources were processed and 1 failed.");
+  }
+}
@@ -0,0 +1,63 @@
+package com.commercetools.project.sync.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class BoundedReferenceIdToKeyCacheTest {
+
+  @Test
+  void add_BeyondMaxSize_ShouldEvictLeastRecentlyUsedEntry() {
+    // preparation
+    final BoundedReferenceIdToKeyCache cache = new BoundedReferenceIdToKeyCache(2);
+    cache.add("id-1", "key-1");
+    cache.add("id-2", "key-2");
+    cache.get("id-1");
+
+    // test
+    cache.add("id-3", "key-3");
+
+    // assertions
+    assertThat(cache.get("id-1")).isEqualTo("key-1");
+    assertThat(cache.get("id-2")).isNull();
+    assertThat(cache.get("id-3")).isEqualTo("key-3");
+    assertThat(cache.getSize()).isEqualTo(2);
+    assertThat(cache.getEvictions()).isEqualTo(1);
+  }
+
+  @Test
+  void containsKey_ShouldCountHitsAndMisses() {
+    // preparation
+    final BoundedReferenceIdToKeyCache cache = new BoundedReferenceIdToKeyCache(10);
+    cache.addAll(Map.of("id-1", "key-1", "id-2", "key-2"));
+
+    // test
+    cache.containsKey("id-1");
+    cache.containsKey("id-2");
+    cache.containsKey("id-3");
+    cache.containsKey("id-1");
+
+    // assertions
+    assertThat(cache.getHits()).isEqualTo(3);
+    assertThat(cache.getMisses()).isEqualTo(1);
+    assertThat(cache.getHitRate()).isEqualTo(0.75);
+  }
+
+  @Test
+  void removeAndClearCache_ShouldRemoveEntries() {
+    // preparation
+    final BoundedReferenceIdToKeyCache cache = new BoundedReferenceIdToKeyCache(10);
+    cache.add("id-1", "key-1");
+    cache.add("id-2", "key-2");
+
+    // test
+    cache.remove("id-1");
+
+    // assertions
+    assertThat(cache.containsKey("id-1")).isFalse();
+    assertThat(cache.getSize()).isEqualTo(1);
+    cache.clearCache();
+    assertThat(cache.getSize()).isZero();
+  }
+}
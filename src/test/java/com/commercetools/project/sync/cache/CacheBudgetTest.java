@@ -0,0 +1,62 @@
+package com.commercetools.project.sync.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CacheBudgetTest {
+  private static final long ONE_GIBIBYTE = 1024L * 1024 * 1024;
+
+  @Test
+  void getCacheSizes_WithOneGibibyteHeap_ShouldSplitBudgetBetweenModules() {
+    // preparation
+    final CacheBudget cacheBudget = new CacheBudget(ONE_GIBIBYTE, 2);
+
+    // test and assertions
+    assertThat(cacheBudget.getReferenceCacheSize()).isEqualTo(1_073_741);
+    assertThat(cacheBudget.getSyncOptionsCacheSize()).isEqualTo(536_870);
+    assertThat(cacheBudget.getReportMessage())
+        .isEqualTo(
+            "Cache budget: 409 MiB of the maximum heap of 1024 MiB, 1073741 entries for the "
+                + "reference id to key cache and 536870 entries per module for the sync option "
+                + "caches of 2 concurrent module(s).");
+  }
+
+  @Test
+  void getCacheSizes_WithSmallHeap_ShouldNotGoBelowMinimum() {
+    // preparation
+    final CacheBudget cacheBudget = new CacheBudget(16 * 1024 * 1024, 10);
+
+    // test and assertions
+    assertThat(cacheBudget.getReferenceCacheSize()).isEqualTo(CacheBudget.MIN_CACHE_SIZE);
+    assertThat(cacheBudget.getSyncOptionsCacheSize()).isEqualTo(CacheBudget.MIN_CACHE_SIZE);
+  }
+
+  @Test
+  void getCacheSizes_WithLargeHeap_ShouldNotExceedMaximum() {
+    // preparation
+    final CacheBudget cacheBudget = new CacheBudget(64 * ONE_GIBIBYTE, 1);
+
+    // test and assertions
+    assertThat(cacheBudget.getReferenceCacheSize()).isEqualTo(CacheBudget.MAX_CACHE_SIZE);
+    assertThat(cacheBudget.getSyncOptionsCacheSize()).isEqualTo(CacheBudget.MAX_CACHE_SIZE);
+  }
+
+  @Test
+  void getPartitionCacheSize_ShouldSplitModuleCacheSizeBetweenPartitions() {
+    assertThat(CacheBudget.getPartitionCacheSize(100_000, 4)).isEqualTo(25_000);
+    assertThat(CacheBudget.getPartitionCacheSize(100_000, 0)).isEqualTo(100_000);
+    assertThat(CacheBudget.getPartitionCacheSize(100_000, 20))
+        .isEqualTo(CacheBudget.MIN_CACHE_SIZE);
+  }
+
+  @Test
+  void allocateFor_WithNoModules_ShouldAllocateForOneModule() {
+    // test
+    final CacheBudget cacheBudget = CacheBudget.allocateFor(0);
+
+    // assertions
+    assertThat(cacheBudget.getConcurrentModules()).isEqualTo(1);
+    assertThat(CacheBudget.current()).isSameAs(cacheBudget);
+  }
+}
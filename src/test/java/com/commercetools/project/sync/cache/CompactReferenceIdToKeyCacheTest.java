@@ -0,0 +1,88 @@
+package com.commercetools.project.sync.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CompactReferenceIdToKeyCacheTest {
+
+  @Test
+  void get_WithAddedIds_ShouldReturnKeys() {
+    // preparation
+    final CompactReferenceIdToKeyCache cache = new CompactReferenceIdToKeyCache(100_000);
+    final List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      final String id = UUID.randomUUID().toString();
+      ids.add(id);
+      cache.add(id, "key-" + i);
+    }
+
+    // test and assertions
+    for (int i = 0; i < ids.size(); i++) {
+      assertThat(cache.containsKey(ids.get(i))).isTrue();
+      assertThat(cache.get(ids.get(i))).isEqualTo("key-" + i);
+    }
+    assertThat(cache.getSize()).isEqualTo(1_000);
+    assertThat(cache.getHits()).isEqualTo(1_000);
+  }
+
+  @Test
+  void remove_ShouldKeepOtherIdsOfProbeSequence() {
+    // preparation
+    final CompactReferenceIdToKeyCache cache = new CompactReferenceIdToKeyCache(100_000);
+    final List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      final String id = UUID.randomUUID().toString();
+      ids.add(id);
+      cache.add(id, "key-" + i);
+    }
+
+    // test
+    for (int i = 0; i < ids.size(); i += 2) {
+      cache.remove(ids.get(i));
+    }
+
+    // assertions
+    for (int i = 0; i < ids.size(); i++) {
+      assertThat(cache.get(ids.get(i))).isEqualTo(i % 2 == 0 ? null : "key-" + i);
+    }
+    assertThat(cache.getSize()).isEqualTo(5_000);
+  }
+
+  @Test
+  void add_BeyondMaxSize_ShouldEvictEntries() {
+    // preparation
+    final int maxSize = CompactReferenceIdToKeyCache.PARTITIONS * 10;
+    final CompactReferenceIdToKeyCache cache = new CompactReferenceIdToKeyCache(maxSize);
+
+    // test
+    for (int i = 0; i < 10_000; i++) {
+      cache.add(UUID.randomUUID().toString(), "key-" + i);
+    }
+
+    // assertions
+    assertThat(cache.getSize()).isEqualTo(maxSize);
+    assertThat(cache.getEvictions()).isEqualTo(10_000 - maxSize);
+  }
+
+  @Test
+  void add_WithIdsOtherThanUuids_ShouldCacheThemToo() {
+    // preparation
+    final CompactReferenceIdToKeyCache cache = new CompactReferenceIdToKeyCache(100);
+    final String upperCaseUuid = UUID.randomUUID().toString().toUpperCase();
+
+    // test
+    cache.addAll(Map.of("id-1", "key-1", upperCaseUuid, "key-2"));
+
+    // assertions
+    assertThat(cache.get("id-1")).isEqualTo("key-1");
+    assertThat(cache.get(upperCaseUuid)).isEqualTo("key-2");
+    assertThat(cache.get(upperCaseUuid.toLowerCase())).isNull();
+    cache.clearCache();
+    assertThat(cache.getSize()).isZero();
+  }
+}
@@ -0,0 +1,112 @@
+package com.commercetools.project.sync.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedReferenceIdToKeyCacheTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void open_WithPersistedCache_ShouldKeepEntriesOfPreviousRun() {
+    // preparation
+    final Path file = tempDir.resolve("source.reference-keys.bin");
+    final List<String> ids = new ArrayList<>();
+    try (MappedReferenceIdToKeyCache cache = MappedReferenceIdToKeyCache.open(file, 1 << 12)) {
+      for (int i = 0; i < 1_000; i++) {
+        final String id = UUID.randomUUID().toString();
+        ids.add(id);
+        cache.add(id, "key-" + i);
+      }
+      cache.remove(ids.get(0));
+    }
+
+    // test
+    try (MappedReferenceIdToKeyCache cache = MappedReferenceIdToKeyCache.open(file, 16)) {
+
+      // assertions
+      assertThat(cache.getSize()).isEqualTo(999);
+      assertThat(cache.getMaxSize()).isEqualTo(3_072);
+      assertThat(cache.containsKey(ids.get(0))).isFalse();
+      for (int i = 1; i < ids.size(); i++) {
+        assertThat(cache.get(ids.get(i))).isEqualTo("key-" + i);
+      }
+    }
+  }
+
+  @Test
+  void add_WithFullTable_ShouldRejectNewEntries() {
+    try (MappedReferenceIdToKeyCache cache =
+        MappedReferenceIdToKeyCache.open(tempDir.resolve("keys.bin"), 8)) {
+      // test
+      for (int i = 0; i < 10; i++) {
+        cache.add(UUID.randomUUID().toString(), "key-" + i);
+      }
+
+      // assertions
+      assertThat(cache.getSize()).isEqualTo(6);
+      assertThat(cache.getEvictions()).isEqualTo(4);
+    }
+  }
+
+  @Test
+  void add_WithUncacheableIdOrKey_ShouldNotCacheIt() {
+    try (MappedReferenceIdToKeyCache cache =
+        MappedReferenceIdToKeyCache.open(tempDir.resolve("keys.bin"), 8)) {
+      // preparation
+      final String id = UUID.randomUUID().toString();
+      final String tooLongKey = "k".repeat(MappedReferenceIdToKeyCache.MAX_KEY_BYTES + 1);
+
+      // test
+      cache.add("not-a-uuid", "key");
+      cache.add(id, tooLongKey);
+
+      // assertions
+      assertThat(cache.get("not-a-uuid")).isNull();
+      assertThat(cache.get(id)).isNull();
+      assertThat(cache.getSize()).isZero();
+    }
+  }
+
+  @Test
+  void open_WithForeignFile_ShouldStartEmpty() throws IOException {
+    // preparation
+    final Path file = tempDir.resolve("keys.bin");
+    Files.write(file, "not a reference cache file".repeat(10).getBytes(StandardCharsets.UTF_8));
+
+    // test
+    try (MappedReferenceIdToKeyCache cache = MappedReferenceIdToKeyCache.open(file, 8)) {
+
+      // assertions
+      assertThat(cache.getSize()).isZero();
+      assertThat(cache.getMaxSize()).isEqualTo(6);
+    }
+  }
+
+  @Test
+  void clearCache_ShouldRemoveAllEntries() {
+    try (MappedReferenceIdToKeyCache cache =
+        MappedReferenceIdToKeyCache.open(tempDir.resolve("keys.bin"), 64)) {
+      // preparation
+      final String id = UUID.randomUUID().toString();
+      cache.add(id, "key");
+      cache.add(UUID.randomUUID().toString(), "other-key");
+
+      // test
+      cache.clearCache();
+
+      // assertions
+      assertThat(cache.containsKey(id)).isFalse();
+      assertThat(cache.getSize()).isZero();
+    }
+  }
+}
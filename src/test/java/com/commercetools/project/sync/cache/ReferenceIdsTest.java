@@ -0,0 +1,28 @@
+package com.commercetools.project.sync.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ReferenceIdsTest {
+
+  @Test
+  void isUuid_ShouldOnlyAcceptCanonicalLowercaseUuids() {
+    assertThat(ReferenceIds.isUuid("5c1fa6a1-0b0e-4b4e-9b7a-1f0c3a4d2e10")).isTrue();
+    assertThat(ReferenceIds.isUuid("5C1FA6A1-0B0E-4B4E-9B7A-1F0C3A4D2E10")).isFalse();
+    assertThat(ReferenceIds.isUuid("1-1-1-1-1")).isFalse();
+    assertThat(ReferenceIds.isUuid("5c1fa6a1x0b0e-4b4e-9b7a-1f0c3a4d2e10")).isFalse();
+  }
+
+  @Test
+  void mostAndLeastSigBits_ShouldMatchParsedUuid() {
+    // preparation
+    final UUID uuid = UUID.randomUUID();
+
+    // test and assertions
+    assertThat(ReferenceIds.mostSigBits(uuid.toString())).isEqualTo(uuid.getMostSignificantBits());
+    assertThat(ReferenceIds.leastSigBits(uuid.toString()))
+        .isEqualTo(uuid.getLeastSignificantBits());
+  }
+}
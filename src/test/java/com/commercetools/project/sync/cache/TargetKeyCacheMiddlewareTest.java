@@ -0,0 +1,223 @@
+package com.commercetools.project.sync.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vrap.rmf.base.client.ApiHttpException;
+import io.vrap.rmf.base.client.ApiHttpHeaders;
+import io.vrap.rmf.base.client.ApiHttpMethod;
+import io.vrap.rmf.base.client.ApiHttpRequest;
+import io.vrap.rmf.base.client.ApiHttpResponse;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TargetKeyCacheMiddlewareTest {
+  private static final String GRAPHQL_URI = "https://api.example.com/target-project/graphql";
+  private static final String CATEGORY_LOOKUP =
+      "{\"query\":\"query fetchIdKeyPairs($where: String, $limit: Int) "
+          + "{ categories(limit: $limit, where: $where) { results { id key } } }\","
+          + "\"variables\":{\"limit\":500,\"where\":\"key in (\\\"cat-key\\\")\"}}";
+  private static final String CATEGORY_LOOKUP_RESPONSE =
+      "{\"data\":{\"categories\":{\"results\":[{\"id\":\"cat-id\",\"key\":\"cat-key\"}]}}}";
+
+  @TempDir Path tempDir;
+
+  private TargetKeyCache cache;
+  private final List<ApiHttpRequest> sentRequests = new ArrayList<>();
+
+  @BeforeEach
+  void setup() {
+    cache = TargetKeyCache.load(tempDir.resolve("keys.tsv.gz"));
+    TargetKeyCacheMiddleware.activate(cache);
+    sentRequests.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    TargetKeyCacheMiddleware.deactivate();
+  }
+
+  @Test
+  void invoke_WithKeyLookupOfUncachedKey_ShouldSendRequestAndCacheResult() {
+    // preparation
+    final ApiHttpRequest request = postRequest(GRAPHQL_URI, CATEGORY_LOOKUP);
+
+    // test
+    new TargetKeyCacheMiddleware()
+        .invoke(request, respondWith(200, CATEGORY_LOOKUP_RESPONSE))
+        .join();
+
+    // assertion
+    assertThat(sentRequests).containsExactly(request);
+    assertThat(cache.get("categories", "cat-key"))
+        .hasValueSatisfying(entry -> assertThat(entry.getId()).isEqualTo("cat-id"));
+  }
+
+  @Test
+  void invoke_WithKeyLookupOfCachedKey_ShouldAnswerFromCache() {
+    // preparation
+    cache.put("categories", "cat-key", "cat-id");
+
+    // test
+    final ApiHttpResponse<byte[]> response =
+        new TargetKeyCacheMiddleware()
+            .invoke(postRequest(GRAPHQL_URI, CATEGORY_LOOKUP), respondWith(500, ""))
+            .join();
+
+    // assertion
+    assertThat(sentRequests).isEmpty();
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(new String(response.getBody(), StandardCharsets.UTF_8))
+        .isEqualTo(CATEGORY_LOOKUP_RESPONSE);
+  }
+
+  @Test
+  void invoke_WithSuccessfulCreate_ShouldCacheCreatedResource() {
+    // test
+    new TargetKeyCacheMiddleware()
+        .invoke(
+            postRequest(
+                "https://api.example.com/target-project/product-types", "{\"key\":\"pt-key\"}"),
+            respondWith(200, "{\"id\":\"pt-id\",\"key\":\"pt-key\",\"version\":1}"))
+        .join();
+
+    // assertion
+    assertThat(cache.get("productTypes", "pt-key"))
+        .hasValueSatisfying(entry -> assertThat(entry.getId()).isEqualTo("pt-id"));
+  }
+
+  @Test
+  void invoke_WithVersionConflict_ShouldInvalidateAndVerifyEntry() {
+    // preparation
+    cache.put("categories", "cat-key", "cat-id");
+    final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next =
+        request -> {
+          sentRequests.add(request);
+          return ApiHttpMethod.GET.equals(request.getMethod())
+              ? CompletableFuture.completedFuture(
+                  response(200, "{\"id\":\"cat-id\",\"key\":\"cat-key\",\"version\":7}"))
+              : CompletableFuture.completedFuture(response(409, "{}"));
+        };
+
+    // test
+    new TargetKeyCacheMiddleware()
+        .invoke(
+            postRequest("https://api.example.com/target-project/categories/cat-id", "{}"), next)
+        .join();
+
+    // assertion
+    assertThat(sentRequests).hasSize(2);
+    assertThat(cache.getInvalidations()).isEqualTo(1);
+    assertThat(cache.get("categories", "cat-key"))
+        .hasValueSatisfying(entry -> assertThat(entry.getId()).isEqualTo("cat-id"));
+  }
+
+  @Test
+  void invoke_WithNotFound_ShouldInvalidateEntryOfDeletedResource() {
+    // preparation
+    cache.put("categories", "cat-key", "cat-id");
+
+    // test
+    new TargetKeyCacheMiddleware()
+        .invoke(
+            postRequest("https://api.example.com/target-project/categories/cat-id", "{}"),
+            respondWith(404, "{}"))
+        .join();
+
+    // assertion
+    assertThat(sentRequests)
+        .hasSize(2)
+        .last()
+        .satisfies(request -> assertThat(request.getMethod()).isEqualTo(ApiHttpMethod.GET));
+    assertThat(cache.getInvalidations()).isEqualTo(1);
+    assertThat(cache.get("categories", "cat-key")).isEmpty();
+  }
+
+  @Test
+  void invoke_WithBadRequestOfMissingReference_ShouldReplaceEntryOfReferencedResource() {
+    // preparation
+    final String staleId = "0b5c3d2e-8f1a-4c6b-9d7e-2a3b4c5d6e7f";
+    final String recreatedId = "1c6d4e3f-9a2b-4d7c-8e8f-3b4c5d6e7f80";
+    cache.put("productTypes", "pt-key", staleId);
+    cache.put("categories", "cat-key", "cat-id");
+    final Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> next =
+        request -> {
+          sentRequests.add(request);
+          return ApiHttpMethod.GET.equals(request.getMethod())
+              ? CompletableFuture.completedFuture(
+                  response(200, "{\"id\":\"" + recreatedId + "\",\"key\":\"pt-key\"}"))
+              : CompletableFuture.failedFuture(
+                  new ApiHttpException(
+                      400,
+                      "{\"statusCode\":400,\"errors\":[{\"code\":\"ReferencedResourceNotFound\","
+                          + "\"typeId\":\"product-type\",\"id\":\""
+                          + staleId
+                          + "\"}]}",
+                      new ApiHttpHeaders()));
+        };
+
+    // test
+    new TargetKeyCacheMiddleware()
+        .invoke(
+            postRequest(
+                "https://api.example.com/target-project/products", "{\"key\":\"product-key\"}"),
+            next)
+        .exceptionally(throwable -> null)
+        .join();
+
+    // assertion
+    assertThat(sentRequests)
+        .hasSize(2)
+        .last()
+        .satisfies(
+            request -> {
+              assertThat(request.getMethod()).isEqualTo(ApiHttpMethod.GET);
+              assertThat(request.getUri())
+                  .hasToString("https://api.example.com/target-project/product-types/key=pt-key");
+            });
+    assertThat(cache.getInvalidations()).isEqualTo(1);
+    assertThat(cache.get("productTypes", "pt-key"))
+        .hasValueSatisfying(entry -> assertThat(entry.getId()).isEqualTo(recreatedId));
+    assertThat(cache.get("categories", "cat-key")).isPresent();
+  }
+
+  @Test
+  void toResourceType_ShouldConvertPathSegmentToGraphQlField() {
+    assertThat(TargetKeyCacheMiddleware.toResourceType("product-types")).isEqualTo("productTypes");
+    assertThat(TargetKeyCacheMiddleware.toResourceType("categories")).isEqualTo("categories");
+  }
+
+  @Test
+  void toPathSegment_ShouldConvertGraphQlFieldToPathSegment() {
+    assertThat(TargetKeyCacheMiddleware.toPathSegment("productTypes")).isEqualTo("product-types");
+    assertThat(TargetKeyCacheMiddleware.toPathSegment("categories")).isEqualTo("categories");
+  }
+
+  private static ApiHttpRequest postRequest(final String uri, final String body) {
+    return new ApiHttpRequest(
+        ApiHttpMethod.POST,
+        URI.create(uri),
+        new ApiHttpHeaders(),
+        body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static ApiHttpResponse<byte[]> response(final int statusCode, final String body) {
+    return new ApiHttpResponse<>(statusCode, null, body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> respondWith(
+      final int statusCode, final String body) {
+    return request -> {
+      sentRequests.add(request);
+      return CompletableFuture.completedFuture(response(statusCode, body));
+    };
+  }
+}
@@ -0,0 +1,104 @@
+package com.commercetools.project.sync.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TargetKeyCacheTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void load_WithNonExistingFile_ShouldReturnEmptyCache() {
+    final TargetKeyCache cache = TargetKeyCache.load(tempDir.resolve("keys.tsv.gz"));
+
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void load_WithPersistedCache_ShouldWarmStartWithPersistedEntries() {
+    // preparation
+    final Path file = tempDir.resolve("keys.tsv.gz");
+    final TargetKeyCache cache = TargetKeyCache.load(file);
+    cache.put("categories", "cat-key", "cat-id");
+    cache.put("productTypes", "pt-key", "pt-id");
+    cache.persist();
+
+    // test
+    final TargetKeyCache loadedCache = TargetKeyCache.load(file);
+
+    // assertion
+    assertThat(loadedCache.size()).isEqualTo(2);
+    assertThat(loadedCache.get("categories", "cat-key"))
+        .hasValueSatisfying(entry -> assertThat(entry.getId()).isEqualTo("cat-id"));
+    assertThat(loadedCache.get("productTypes", "pt-key"))
+        .hasValueSatisfying(entry -> assertThat(entry.getId()).isEqualTo("pt-id"));
+  }
+
+  @Test
+  void load_WithCorruptFile_ShouldReturnEmptyCache() throws IOException {
+    // preparation
+    final Path file = tempDir.resolve("keys.tsv.gz");
+    Files.write(file, "not gzipped".getBytes(StandardCharsets.UTF_8));
+
+    // test
+    final TargetKeyCache cache = TargetKeyCache.load(file);
+
+    // assertion
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void get_ShouldCountHitsAndMisses() {
+    final TargetKeyCache cache = TargetKeyCache.load(tempDir.resolve("keys.tsv.gz"));
+    cache.put("categories", "cat-key", "cat-id");
+
+    assertThat(cache.get("categories", "cat-key")).isPresent();
+    assertThat(cache.get("categories", "other-key")).isEmpty();
+    assertThat(cache.get("types", "cat-key")).isEmpty();
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(2);
+  }
+
+  @Test
+  void put_WithChangedKey_ShouldRemoveOldKey() {
+    final TargetKeyCache cache = TargetKeyCache.load(tempDir.resolve("keys.tsv.gz"));
+    cache.put("categories", "old-key", "cat-id");
+
+    cache.put("categories", "new-key", "cat-id");
+
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.get("categories", "old-key")).isEmpty();
+    assertThat(cache.get("categories", "new-key")).isPresent();
+  }
+
+  @Test
+  void put_WithRecreatedResource_ShouldReplaceId() {
+    final TargetKeyCache cache = TargetKeyCache.load(tempDir.resolve("keys.tsv.gz"));
+    cache.put("categories", "cat-key", "old-id");
+
+    cache.put("categories", "cat-key", "new-id");
+
+    assertThat(cache.getById("old-id")).isEmpty();
+    assertThat(cache.get("categories", "cat-key"))
+        .hasValueSatisfying(entry -> assertThat(entry.getId()).isEqualTo("new-id"));
+  }
+
+  @Test
+  void invalidateById_ShouldRemoveEntryAndCountInvalidation() {
+    final TargetKeyCache cache = TargetKeyCache.load(tempDir.resolve("keys.tsv.gz"));
+    cache.put("categories", "cat-key", "cat-id");
+
+    final TargetKeyCache.Entry removedEntry = cache.invalidateById("cat-id");
+
+    assertThat(removedEntry).isNotNull();
+    assertThat(cache.get("categories", "cat-key")).isEmpty();
+    assertThat(cache.invalidateById("cat-id")).isNull();
+    assertThat(cache.getInvalidations()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,116 @@
+package com.commercetools.project.sync.changefeed;
+
+import static com.commercetools.project.sync.util.TestUtils.withTestClient;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercetools.api.client.ProjectApiRoot;
+import io.vrap.rmf.base.client.ApiHttpResponse;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class ChangeFeedReaderTest {
+
+  @Test
+  void read_WithMessagesOfSameResource_ShouldQueryMessagesAndCollapseThem() {
+    // preparation
+    final List<String> requestedUris = new ArrayList<>();
+    final String messagesResponse =
+        "{\"limit\":500,\"offset\":0,\"count\":3,\"results\":["
+            + message("message-1", "category-1", 1, "key-1")
+            + ","
+            + message("message-2", "category-2", 1, "key-2")
+            + ","
+            + message("message-3", "category-1", 2, "key-1")
+            + "]}";
+    final ProjectApiRoot sourceClient =
+        withTestClient(
+            "sourceProjectKey",
+            (uri, method, body) -> {
+              requestedUris.add(uri);
+              final String response =
+                  uri.contains("/messages") ? messagesResponse : "{\"results\":[]}";
+              return CompletableFuture.completedFuture(
+                  new ApiHttpResponse<>(200, null, response.getBytes(StandardCharsets.UTF_8)));
+            });
+    final ZonedDateTime upperBound = ZonedDateTime.parse("2024-01-02T00:00:00Z");
+
+    // test
+    final ChangeFeed changeFeed =
+        ChangeFeedReader.read(sourceClient, "category", upperBound.minusDays(1), upperBound)
+            .toCompletableFuture()
+            .join();
+
+    // assertion
+    assertThat(requestedUris)
+        .singleElement()
+        .satisfies(
+            uri -> {
+              assertThat(uri).contains("/messages");
+              assertThat(uri).contains("var.typeId=category");
+            });
+    assertThat(changeFeed.getMessageCount()).isEqualTo(3);
+    assertThat(changeFeed.getChangedResourceIds()).containsExactly("category-1", "category-2");
+    assertThat(changeFeed.getSequenceNumber("category-1")).contains(2L);
+    assertThat(changeFeed.hasMessagesOfAllVersionsUpTo("category-1", 2L)).isTrue();
+  }
+
+  @Test
+  void readResourceIdsWithMessagesOfVersions_ShouldQueryMessagesOfVersions() {
+    // preparation
+    final List<String> requestedUris = new ArrayList<>();
+    final String messagesResponse =
+        "{\"limit\":500,\"offset\":0,\"count\":1,\"results\":["
+            + message("message-1", "category-1", 3, "key-1")
+            + "]}";
+    final ProjectApiRoot sourceClient =
+        withTestClient(
+            "sourceProjectKey",
+            (uri, method, body) -> {
+              requestedUris.add(uri);
+              return CompletableFuture.completedFuture(
+                  new ApiHttpResponse<>(
+                      200, null, messagesResponse.getBytes(StandardCharsets.UTF_8)));
+            });
+
+    // test
+    final Set<String> resourceIds =
+        ChangeFeedReader.readResourceIdsWithMessagesOfVersions(
+                sourceClient, Map.of("category-1", 3L))
+            .toCompletableFuture()
+            .join();
+
+    // assertion
+    assertThat(requestedUris)
+        .singleElement()
+        .satisfies(
+            uri -> {
+              assertThat(uri).contains("/messages");
+              assertThat(URLDecoder.decode(uri, StandardCharsets.UTF_8))
+                  .contains("(resource(id = \"category-1\") and resourceVersion = 3)");
+            });
+    assertThat(resourceIds).containsExactly("category-1");
+  }
+
+  private static String message(
+      final String id, final String resourceId, final long sequenceNumber, final String key) {
+    return "{\"id\":\""
+        + id
+        + "\",\"version\":1,\"sequenceNumber\":"
+        + sequenceNumber
+        + ",\"resource\":{\"typeId\":\"category\",\"id\":\""
+        + resourceId
+        + "\"},\"resourceVersion\":"
+        + sequenceNumber
+        + ",\"resourceUserProvidedIdentifiers\":{\"key\":\""
+        + key
+        + "\"},\"type\":\"CategorySlugChanged\",\"createdAt\":\"2024-01-01T10:00:00.000Z\","
+        + "\"lastModifiedAt\":\"2024-01-01T10:00:00.000Z\"}";
+  }
+}
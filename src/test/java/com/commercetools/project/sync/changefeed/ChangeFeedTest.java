@@ -0,0 +1,97 @@
+package com.commercetools.project.sync.changefeed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ChangeFeedTest {
+
+  @Test
+  void add_WithRepeatedMessagesOfSameResource_ShouldCollapseToOneChangedResource() {
+    // preparation
+    final ChangeFeed changeFeed = new ChangeFeed();
+
+    // test
+    changeFeed.add("id-1", 2L, "key-1");
+    changeFeed.add("id-2", 1L, "key-2");
+    changeFeed.add("id-1", 5L, "new-key-1");
+    changeFeed.add("id-1", 3L, "old-key-1");
+
+    // assertion
+    assertThat(changeFeed.getMessageCount()).isEqualTo(4);
+    assertThat(changeFeed.getChangedResourceCount()).isEqualTo(2);
+    assertThat(changeFeed.getChangedResourceIds()).containsExactly("id-1", "id-2");
+    assertThat(changeFeed.getSequenceNumber("id-1")).contains(5L);
+    assertThat(changeFeed.getResourceKey("id-1")).contains("new-key-1");
+  }
+
+  @Test
+  void add_WithMessageWithoutKey_ShouldKeepLastKnownKey() {
+    // preparation
+    final ChangeFeed changeFeed = new ChangeFeed();
+
+    // test
+    changeFeed.add("id-1", 1L, "key-1");
+    changeFeed.add("id-1", 2L, null);
+
+    // assertion
+    assertThat(changeFeed.getSequenceNumber("id-1")).contains(2L);
+    assertThat(changeFeed.getResourceKey("id-1")).contains("key-1");
+  }
+
+  @Test
+  void getChangedResourceIdsWithOnlyMessageTypes_ShouldSkipResourcesWithOtherMessages() {
+    // preparation
+    final ChangeFeed changeFeed = new ChangeFeed();
+    changeFeed.add("id-1", 1L, "key-1", "ProductPriceChanged");
+    changeFeed.add("id-1", 2L, "key-1", "ProductPriceAdded");
+    changeFeed.add("id-2", 1L, "key-2", "ProductPriceChanged");
+    changeFeed.add("id-2", 2L, "key-2", "ProductSlugChanged");
+    changeFeed.add("id-3", 1L, "key-3");
+
+    // test
+    final List<String> changedResourceIds =
+        changeFeed.getChangedResourceIdsWithOnlyMessageTypes(
+            Set.of("ProductPriceChanged", "ProductPriceAdded"));
+
+    // assertion
+    assertThat(changedResourceIds).containsExactly("id-1");
+  }
+
+  @Test
+  void hasMessagesOfAllVersionsUpTo_WithMessagesOfAllVersions_ShouldReturnTrue() {
+    // preparation
+    final ChangeFeed changeFeed = new ChangeFeed();
+    changeFeed.add("id-1", 2L, "key-1", "ProductPriceChanged", 5L);
+    changeFeed.add("id-1", 1L, "key-1", "ProductPriceAdded", 4L);
+    changeFeed.add("id-1", 3L, "key-1", "ProductPriceChanged", 5L);
+
+    // test and assertions
+    assertThat(changeFeed.getFirstResourceVersion("id-1")).contains(4L);
+    assertThat(changeFeed.hasMessagesOfAllVersionsUpTo("id-1", 5L)).isTrue();
+  }
+
+  @Test
+  void hasMessagesOfAllVersionsUpTo_WithUpdatesWithoutMessages_ShouldReturnFalse() {
+    // preparation
+    final ChangeFeed changeFeed = new ChangeFeed();
+    changeFeed.add("id-1", 1L, "key-1", "ProductPriceChanged", 4L);
+    changeFeed.add("id-1", 2L, "key-1", "ProductPriceChanged", 6L);
+    changeFeed.add("id-2", 1L, "key-2", "ProductPriceChanged", 2L);
+    changeFeed.add("id-3", 1L, "key-3", "ProductPriceChanged");
+
+    // test and assertions
+    assertThat(changeFeed.hasMessagesOfAllVersionsUpTo("id-1", 6L)).isFalse();
+    assertThat(changeFeed.hasMessagesOfAllVersionsUpTo("id-2", 3L)).isFalse();
+    assertThat(changeFeed.hasMessagesOfAllVersionsUpTo("id-3", 1L)).isFalse();
+    assertThat(changeFeed.getFirstResourceVersion("id-3")).isEmpty();
+    assertThat(changeFeed.hasMessagesOfAllVersionsUpTo("id-4", 1L)).isFalse();
+  }
+
+  @Test
+  void getSequenceNumber_WithUnknownResource_ShouldReturnEmpty() {
+    assertThat(new ChangeFeed().getSequenceNumber("id-1")).isEmpty();
+  }
+}
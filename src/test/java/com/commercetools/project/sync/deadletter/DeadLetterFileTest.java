@@ -0,0 +1,97 @@
+package com.commercetools.project.sync.deadletter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercetools.api.models.state.StateDraft;
+import com.commercetools.api.models.state.StateDraftBuilder;
+import com.commercetools.api.models.state.StateTypeEnum;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DeadLetterFileTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void readKeys_WithWrittenDeadLetters_ShouldReturnDistinctKeysInOrder() {
+    // preparation
+    final Path file = tempDir.resolve("dead-letters").resolve("project.states.ndjson.gz");
+    final StateDraft draft =
+        StateDraftBuilder.of().key("state-1").type(StateTypeEnum.PRODUCT_STATE).build();
+    try (DeadLetterFile deadLetterFile = DeadLetterFile.create(file)) {
+      deadLetterFile.write("state-2", "SyncException", "failed", "[]", null);
+      deadLetterFile.write("state-1", "ReferenceResolutionException", "missing", "[]", draft);
+      deadLetterFile.write(null, "SyncException", "failed", "[]", null);
+      deadLetterFile.write("state-2", "SyncException", "failed again", "[]", null);
+
+      // assertion
+      assertThat(deadLetterFile.getDeadLetters()).isEqualTo(4);
+    }
+
+    // test and assertion
+    assertThat(DeadLetterFile.readKeys(file)).containsExactly("state-2", "state-1");
+  }
+
+  @Test
+  void create_WithExistingFile_ShouldReplaceDeadLettersOfPreviousRun() {
+    // preparation
+    final Path file = tempDir.resolve("project.states.ndjson.gz");
+    try (DeadLetterFile deadLetterFile = DeadLetterFile.create(file)) {
+      deadLetterFile.write("state-1", "SyncException", "failed", "[]", null);
+    }
+
+    // test
+    DeadLetterFile.create(file).close();
+
+    // assertion
+    assertThat(DeadLetterFile.readKeys(file)).isEmpty();
+  }
+
+  @Test
+  void createKeepingUnsynced_WithExistingFile_ShouldKeepDeadLettersOfUnsyncedResources() {
+    // preparation
+    final Path file = tempDir.resolve("project.states.ndjson.gz");
+    try (DeadLetterFile deadLetterFile = DeadLetterFile.create(file)) {
+      deadLetterFile.write("state-1", "SyncException", "failed", "[]", null);
+      deadLetterFile.write("state-2", "SyncException", "failed", "[]", null);
+      deadLetterFile.write("state-3", "SyncException", "failed", "[]", null);
+    }
+
+    // test
+    try (DeadLetterFile deadLetterFile = DeadLetterFile.createKeepingUnsynced(file)) {
+      deadLetterFile.markSynced("state-1");
+      deadLetterFile.markSynced("state-3");
+      deadLetterFile.write("state-3", "SyncException", "failed again", "[]", null);
+    }
+
+    // assertion
+    assertThat(DeadLetterFile.readKeys(file)).containsExactly("state-3", "state-2");
+    assertThat(tempDir.resolve("project.states.ndjson.gz.previous")).doesNotExist();
+  }
+
+  @Test
+  void readKeys_WithMissingFile_ShouldReturnNoKeys() {
+    // test and assertion
+    assertThat(DeadLetterFile.readKeys(tempDir.resolve("missing.ndjson.gz"))).isEmpty();
+  }
+
+  @Test
+  void readKeys_WithInvalidAndTruncatedLines_ShouldReturnKeysOfValidLines() throws IOException {
+    // preparation
+    final Path file = tempDir.resolve("project.states.ndjson.gz");
+    try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(file))) {
+      outputStream.write(
+          ("{\"key\":\"state-1\"}\n\nnot json\n{\"key\":\"state-2\"}\n{\"key\":\"sta")
+              .getBytes(StandardCharsets.UTF_8));
+    }
+
+    // test and assertion
+    assertThat(DeadLetterFile.readKeys(file)).containsExactly("state-1", "state-2");
+  }
+}
@@ -0,0 +1,81 @@
+package com.commercetools.project.sync.deadletter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercetools.api.models.state.StateDraft;
+import com.commercetools.api.models.state.StateDraftBuilder;
+import com.commercetools.api.models.state.StateTypeEnum;
+import com.commercetools.api.models.state.StateUpdateAction;
+import com.commercetools.sync.commons.exceptions.ReferenceResolutionException;
+import com.commercetools.sync.commons.exceptions.SyncException;
+import com.commercetools.sync.states.StateSync;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DeadLettersTest {
+
+  @TempDir Path tempDir;
+
+  @AfterEach
+  void tearDown() {
+    DeadLetters.deactivate("StateSync");
+  }
+
+  @Test
+  void write_WithActiveFile_ShouldWriteKeyOfDraft() {
+    // preparation
+    final Path file = tempDir.resolve("project.states.ndjson.gz");
+    final StateDraft draft =
+        StateDraftBuilder.of().key("state-1").type(StateTypeEnum.PRODUCT_STATE).build();
+    try (DeadLetterFile deadLetterFile = DeadLetterFile.create(file)) {
+      DeadLetters.activate("StateSync", deadLetterFile);
+
+      // test
+      DeadLetters.write(
+          StateSync.class,
+          new SyncException("failed", new ReferenceResolutionException("missing")),
+          Optional.of(draft),
+          Collections.<StateUpdateAction>emptyList());
+
+      // assertion
+      assertThat(DeadLetters.deactivate("StateSync")).isSameAs(deadLetterFile);
+    }
+    assertThat(DeadLetterFile.readKeys(file)).containsExactly("state-1");
+  }
+
+  @Test
+  void writeKeys_WithActiveFile_ShouldWriteAllKeys() {
+    // preparation
+    final Path file = tempDir.resolve("project.states.ndjson.gz");
+    try (DeadLetterFile deadLetterFile = DeadLetterFile.create(file)) {
+      DeadLetters.activate("StateSync", deadLetterFile);
+
+      // test
+      DeadLetters.writeKeys(
+          "StateSync",
+          List.of("state-1", "state-2"),
+          new CompletionException(new IllegalStateException("fetch failed")));
+
+      // assertion
+      assertThat(deadLetterFile.getDeadLetters()).isEqualTo(2);
+    }
+    assertThat(DeadLetterFile.readKeys(file)).containsExactly("state-1", "state-2");
+  }
+
+  @Test
+  void write_WithoutActiveFile_ShouldNotFail() {
+    // test and assertion
+    DeadLetters.write(
+        StateSync.class,
+        new SyncException("failed"),
+        Optional.empty(),
+        Collections.<StateUpdateAction>emptyList());
+    assertThat(DeadLetters.deactivate("StateSync")).isNull();
+  }
+}
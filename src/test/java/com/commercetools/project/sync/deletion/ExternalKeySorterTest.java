@@ -0,0 +1,97 @@
+package com.commercetools.project.sync.deletion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExternalKeySorterTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void sort_WithRecordsFittingInMemory_ShouldSortWithoutSpilling() {
+    // preparation
+    final ExternalKeySorter sorter = new ExternalKeySorter(10, tempDir);
+    Stream.of("c", "a", "b").forEach(sorter::add);
+
+    // test
+    final List<String> sortedRecords = toList(sorter.sort());
+
+    // assertion
+    assertThat(sortedRecords).containsExactly("a", "b", "c");
+    assertThat(sorter.getNumberOfRuns()).isZero();
+  }
+
+  @Test
+  void sort_WithMoreRecordsThanMemoryLimit_ShouldMergeSpilledRuns() {
+    // preparation
+    final ExternalKeySorter sorter = new ExternalKeySorter(3, tempDir);
+    Stream.of("key-5", "key-1", "key-9", "key-3", "key-7", "key-2", "key-8", "key-4", "key-6")
+        .forEach(sorter::add);
+
+    // test
+    final List<String> sortedRecords = toList(sorter.sort());
+
+    // assertion
+    assertThat(sorter.getNumberOfRuns()).isEqualTo(3);
+    assertThat(sortedRecords)
+        .containsExactly(
+            "key-1", "key-2", "key-3", "key-4", "key-5", "key-6", "key-7", "key-8", "key-9");
+  }
+
+  @Test
+  void sort_WithRecordsWithPayload_ShouldSortByKeyOnly() {
+    // preparation
+    final ExternalKeySorter sorter = new ExternalKeySorter(2, tempDir);
+    Stream.of("b\tid-1\t1", "a-b\tid-2\t3", "a\tid-3\t2").forEach(sorter::add);
+
+    // test
+    final List<String> sortedRecords = toList(sorter.sort());
+
+    // assertion
+    assertThat(sortedRecords).containsExactly("a\tid-3\t2", "a-b\tid-2\t3", "b\tid-1\t1");
+  }
+
+  @Test
+  void sort_WithDuplicateKeysInDifferentRuns_ShouldReturnKeyOnce() {
+    // preparation
+    final ExternalKeySorter sorter = new ExternalKeySorter(2, tempDir);
+    Stream.of("a", "b", "a", "c", "b").forEach(sorter::add);
+
+    // test
+    final List<String> sortedRecords = toList(sorter.sort());
+
+    // assertion
+    assertThat(sortedRecords).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  void close_WithSpilledRuns_ShouldDeleteTemporaryFiles() throws IOException {
+    // preparation
+    final ExternalKeySorter sorter = new ExternalKeySorter(1, tempDir);
+    Stream.of("a", "b").forEach(sorter::add);
+    toList(sorter.sort());
+
+    // test
+    sorter.close();
+
+    // assertion
+    try (Stream<Path> files = Files.list(tempDir)) {
+      assertThat(files).isEmpty();
+    }
+  }
+
+  private static List<String> toList(final Iterator<String> iterator) {
+    final List<String> list = new ArrayList<>();
+    iterator.forEachRemaining(list::add);
+    return list;
+  }
+}
@@ -0,0 +1,61 @@
+package com.commercetools.project.sync.deletion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class KeySetDifferenceTest {
+
+  @Test
+  void forEachOnlyInTarget_WithOverlappingKeys_ShouldReturnTargetRecordsMissingInSource() {
+    // preparation
+    final List<String> sourceKeys = Arrays.asList("a", "c", "d", "f");
+    final List<String> targetRecords =
+        Arrays.asList("a\tid-a\t1", "b\tid-b\t2", "d\tid-d\t1", "e\tid-e\t5");
+    final List<String> onlyInTarget = new ArrayList<>();
+
+    // test
+    final long count =
+        KeySetDifference.forEachOnlyInTarget(
+            sourceKeys.iterator(), targetRecords.iterator(), onlyInTarget::add);
+
+    // assertion
+    assertThat(count).isEqualTo(2);
+    assertThat(onlyInTarget).containsExactly("b\tid-b\t2", "e\tid-e\t5");
+  }
+
+  @Test
+  void forEachOnlyInTarget_WithEmptySource_ShouldReturnAllTargetRecords() {
+    // preparation
+    final List<String> targetRecords = Arrays.asList("a\tid-a\t1", "b\tid-b\t2");
+    final List<String> onlyInTarget = new ArrayList<>();
+
+    // test
+    KeySetDifference.forEachOnlyInTarget(
+        Collections.emptyIterator(), targetRecords.iterator(), onlyInTarget::add);
+
+    // assertion
+    assertThat(onlyInTarget).containsExactlyElementsOf(targetRecords);
+  }
+
+  @Test
+  void forEachOnlyInTarget_WithSameKeys_ShouldReturnNoRecords() {
+    // preparation
+    final List<String> onlyInTarget = new ArrayList<>();
+
+    // test
+    final long count =
+        KeySetDifference.forEachOnlyInTarget(
+            Arrays.asList("a", "b").iterator(),
+            Arrays.asList("a\tid-a\t1", "b\tid-b\t2").iterator(),
+            onlyInTarget::add);
+
+    // assertion
+    assertThat(count).isZero();
+    assertThat(onlyInTarget).isEmpty();
+  }
+}
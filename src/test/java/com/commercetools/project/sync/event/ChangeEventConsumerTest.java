@@ -0,0 +1,149 @@
+package com.commercetools.project.sync.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ChangeEventConsumerTest {
+
+  @Test
+  void consume_WithClosedQueue_ShouldSyncAllEventsInMicroBatches() throws InterruptedException {
+    // preparation
+    final InMemoryChangeEventQueue queue = new InMemoryChangeEventQueue();
+    queue.offer(ChangeEvent.of("products", "product-1"));
+    queue.offer(ChangeEvent.of("products", "product-2"));
+    queue.offer(ChangeEvent.of("products", "product-1"));
+    queue.offer(ChangeEvent.of("categories", "category-1"));
+    queue.offer(ChangeEvent.of("products", "product-3"));
+    queue.close();
+    final List<String> syncedBatches = Collections.synchronizedList(new ArrayList<>());
+    final ChangeEventConsumer consumer =
+        new ChangeEventConsumer(
+            queue,
+            new MicroBatchCoalescer(2, Duration.ofSeconds(10), Clock.systemUTC()),
+            (syncOptionValue, resourceKeys) -> {
+              syncedBatches.add(syncOptionValue + resourceKeys);
+              return CompletableFuture.completedFuture(null);
+            },
+            List.of(),
+            Clock.systemUTC());
+
+    // test
+    consumer.consume();
+
+    // assertion
+    assertThat(syncedBatches)
+        .containsExactly(
+            "products[product-1, product-2]",
+            "products[product-1]",
+            "categories[category-1]",
+            "products[product-3]");
+    assertThat(consumer.getFlushedBatchCount()).isEqualTo(3);
+  }
+
+  @Test
+  void consume_WithModulesOfDifferentStages_ShouldSyncStagesOneAfterAnother()
+      throws InterruptedException {
+    // preparation
+    final InMemoryChangeEventQueue queue = new InMemoryChangeEventQueue();
+    queue.offer(ChangeEvent.of("products", "product-1"));
+    queue.offer(ChangeEvent.of("categories", "category-1"));
+    queue.close();
+    final List<String> syncSteps = Collections.synchronizedList(new ArrayList<>());
+    final ChangeEventConsumer consumer =
+        new ChangeEventConsumer(
+            queue,
+            new MicroBatchCoalescer(10, Duration.ofSeconds(10), Clock.systemUTC()),
+            (syncOptionValue, resourceKeys) -> {
+              syncSteps.add("started " + syncOptionValue);
+              return CompletableFuture.runAsync(
+                  () -> syncSteps.add("completed " + syncOptionValue),
+                  CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+            },
+            List.of(List.of("categories"), List.of("products")),
+            Clock.systemUTC());
+
+    // test
+    consumer.consume();
+
+    // assertion
+    assertThat(syncSteps)
+        .containsExactly(
+            "started categories", "completed categories", "started products", "completed products");
+    assertThat(consumer.getFlushedBatchCount()).isEqualTo(1);
+  }
+
+  @Test
+  void consume_WithFailingBatch_ShouldContinueWithNextBatches() throws InterruptedException {
+    // preparation
+    final InMemoryChangeEventQueue queue = new InMemoryChangeEventQueue();
+    queue.offer(ChangeEvent.of("products", "product-1"));
+    queue.offer(ChangeEvent.of("products", "product-2"));
+    queue.close();
+    final List<String> syncedKeys = new ArrayList<>();
+    final ChangeEventConsumer consumer =
+        new ChangeEventConsumer(
+            queue,
+            new MicroBatchCoalescer(1, Duration.ofSeconds(10), Clock.systemUTC()),
+            (syncOptionValue, resourceKeys) -> {
+              syncedKeys.addAll(resourceKeys);
+              return resourceKeys.contains("product-1")
+                  ? CompletableFuture.failedFuture(new RuntimeException("sync failed"))
+                  : CompletableFuture.completedFuture(null);
+            },
+            List.of(),
+            Clock.systemUTC());
+
+    // test
+    consumer.consume();
+
+    // assertion
+    assertThat(syncedKeys).containsExactly("product-1", "product-2");
+    assertThat(consumer.getFlushedBatchCount()).isEqualTo(2);
+  }
+
+  @Test
+  void consume_WithEventsArrivingAfterStart_ShouldFlushOnMaxLatency() throws Exception {
+    // preparation
+    final InMemoryChangeEventQueue queue = new InMemoryChangeEventQueue();
+    final List<List<String>> syncedBatches = Collections.synchronizedList(new ArrayList<>());
+    final ChangeEventConsumer consumer =
+        new ChangeEventConsumer(
+            queue,
+            new MicroBatchCoalescer(100, Duration.ofMillis(20), Clock.systemUTC()),
+            (syncOptionValue, resourceKeys) -> {
+              syncedBatches.add(resourceKeys);
+              return CompletableFuture.completedFuture(null);
+            },
+            List.of(),
+            Clock.systemUTC());
+    final CompletableFuture<Void> consumption =
+        CompletableFuture.runAsync(
+            () -> {
+              try {
+                consumer.consume();
+              } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+              }
+            });
+
+    // test
+    queue.offer(ChangeEvent.of("products", "product-1"));
+    while (syncedBatches.isEmpty()) {
+      Thread.sleep(5);
+    }
+    queue.close();
+    consumption.get();
+
+    // assertion
+    assertThat(syncedBatches).containsExactly(List.of("product-1"));
+    assertThat(consumption).isCompleted();
+  }
+}
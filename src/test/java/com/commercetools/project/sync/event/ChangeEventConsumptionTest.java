@@ -0,0 +1,43 @@
+package com.commercetools.project.sync.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class ChangeEventConsumptionTest {
+
+  @Test
+  void close_ShouldSyncRemainingEventsOnConsumerThreadAndComplete() {
+    // preparation
+    final InMemoryChangeEventQueue queue = new InMemoryChangeEventQueue();
+    final List<String> syncingThreadNames = Collections.synchronizedList(new ArrayList<>());
+    final List<List<String>> syncedBatches = Collections.synchronizedList(new ArrayList<>());
+    final ChangeEventConsumer consumer =
+        new ChangeEventConsumer(
+            queue,
+            new MicroBatchCoalescer(100, Duration.ofMillis(100), Clock.systemUTC()),
+            (syncOptionValue, resourceKeys) -> {
+              syncingThreadNames.add(Thread.currentThread().getName());
+              syncedBatches.add(resourceKeys);
+              return CompletableFuture.completedFuture(null);
+            },
+            List.of(),
+            Clock.systemUTC());
+    final ChangeEventConsumption consumption = ChangeEventConsumption.start(consumer, queue);
+    queue.offer(ChangeEvent.of("products", "product-1"));
+
+    // test
+    consumption.close();
+
+    // assertions
+    assertThat(consumption.getCompletion()).isCompleted();
+    assertThat(syncedBatches).containsExactly(List.of("product-1"));
+    assertThat(syncingThreadNames).containsOnly(ChangeEventConsumption.THREAD_NAME);
+  }
+}
@@ -0,0 +1,130 @@
+package com.commercetools.project.sync.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileChangeEventQueueTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void poll_WithoutFollow_ShouldReadAllValidEventsUntilEndOfFile() throws Exception {
+    // preparation
+    final Path file = tempDir.resolve("events.ndjson");
+    Files.write(
+        file,
+        ("{\"resource\":\"products\",\"key\":\"product-1\"}\n"
+                + "not json\n"
+                + "{\"resource\":\"products\"}\n"
+                + "\n"
+                + "{\"resource\":\"categories\",\"key\":\"category-1\"}")
+            .getBytes(StandardCharsets.UTF_8));
+
+    try (FileChangeEventQueue queue = FileChangeEventQueue.of(file, false)) {
+      // test
+      final List<ChangeEvent> events = queue.poll(10, Duration.ofMillis(10));
+
+      // assertion
+      assertThat(events)
+          .containsExactly(
+              ChangeEvent.of("products", "product-1"), ChangeEvent.of("categories", "category-1"));
+      assertThat(queue.isDrained()).isTrue();
+    }
+  }
+
+  @Test
+  void poll_WithMaxEvents_ShouldReturnAtMostMaxEvents() throws Exception {
+    // preparation
+    final Path file = tempDir.resolve("events.ndjson");
+    Files.write(
+        file,
+        ("{\"resource\":\"products\",\"key\":\"product-1\"}\n"
+                + "{\"resource\":\"products\",\"key\":\"product-2\"}\n")
+            .getBytes(StandardCharsets.UTF_8));
+
+    try (FileChangeEventQueue queue = FileChangeEventQueue.of(file, false)) {
+      // test
+      final List<ChangeEvent> firstEvents = queue.poll(1, Duration.ofMillis(10));
+      final List<ChangeEvent> secondEvents = queue.poll(1, Duration.ofMillis(10));
+
+      // assertion
+      assertThat(firstEvents).containsExactly(ChangeEvent.of("products", "product-1"));
+      assertThat(secondEvents).containsExactly(ChangeEvent.of("products", "product-2"));
+      assertThat(queue.isDrained()).isTrue();
+    }
+  }
+
+  @Test
+  void poll_WithFollow_ShouldReadAppendedEventsUntilClosed() throws Exception {
+    // preparation
+    final Path file = tempDir.resolve("events.ndjson");
+    Files.write(
+        file,
+        "{\"resource\":\"products\",\"key\":\"product-1\"}\n".getBytes(StandardCharsets.UTF_8));
+    final FileChangeEventQueue queue = FileChangeEventQueue.of(file, true);
+    final List<ChangeEvent> firstEvents = queue.poll(10, Duration.ofMillis(10));
+
+    // test
+    Files.write(
+        file,
+        "{\"resource\":\"products\",\"key\":\"product-2\"}".getBytes(StandardCharsets.UTF_8),
+        StandardOpenOption.APPEND);
+    final List<ChangeEvent> eventsBeforeLineBreak = queue.poll(10, Duration.ofMillis(10));
+    queue.close();
+    final List<ChangeEvent> eventsAfterClose = queue.poll(10, Duration.ofMillis(10));
+
+    // assertion
+    assertThat(firstEvents).containsExactly(ChangeEvent.of("products", "product-1"));
+    assertThat(queue.isDrained()).isTrue();
+    assertThat(eventsBeforeLineBreak).isEmpty();
+    assertThat(eventsAfterClose).containsExactly(ChangeEvent.of("products", "product-2"));
+  }
+
+  @Test
+  void close_WhilePollingInFollowMode_ShouldNotWaitForPollTimeout() throws Exception {
+    // preparation
+    final Path file = tempDir.resolve("events.ndjson");
+    Files.write(file, new byte[0]);
+    final FileChangeEventQueue queue = FileChangeEventQueue.of(file, true);
+    final CompletableFuture<List<ChangeEvent>> poll =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return queue.poll(10, Duration.ofMinutes(1));
+              } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(exception);
+              }
+            });
+    Thread.sleep(100);
+
+    // test
+    final CompletableFuture<Void> close = CompletableFuture.runAsync(queue::close);
+
+    // assertion
+    assertThat(close).succeedsWithin(Duration.ofSeconds(5));
+    assertThat(poll.get(5, TimeUnit.SECONDS)).isEmpty();
+    assertThat(queue.isDrained()).isTrue();
+  }
+
+  @Test
+  void of_WithNonExistingFile_ShouldThrowUncheckedIOException() {
+    assertThatThrownBy(() -> FileChangeEventQueue.of(tempDir.resolve("missing.ndjson"), false))
+        .isInstanceOf(UncheckedIOException.class)
+        .hasCauseInstanceOf(IOException.class);
+  }
+}
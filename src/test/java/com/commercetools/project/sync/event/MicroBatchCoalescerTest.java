@@ -0,0 +1,97 @@
+package com.commercetools.project.sync.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MicroBatchCoalescerTest {
+  private Clock clock;
+
+  @BeforeEach
+  void setup() {
+    clock = mock(Clock.class);
+    when(clock.millis()).thenReturn(1_000L);
+  }
+
+  @Test
+  void add_WithRepeatedEventsOfSameResource_ShouldCoalesceThem() {
+    // preparation
+    final MicroBatchCoalescer coalescer = new MicroBatchCoalescer(10, Duration.ofSeconds(1), clock);
+
+    // test
+    coalescer.add(ChangeEvent.of("products", "product-1"));
+    coalescer.add(ChangeEvent.of("products", "product-2"));
+    coalescer.add(ChangeEvent.of("products", "product-1"));
+    coalescer.add(ChangeEvent.of("categories", "product-1"));
+
+    // assertion
+    assertThat(coalescer.size()).isEqualTo(3);
+    assertThat(coalescer.getCoalescedEventCount()).isEqualTo(1);
+    assertThat(coalescer.getRemainingCapacity()).isEqualTo(7);
+    final Map<String, List<String>> batch = coalescer.flush();
+    assertThat(batch)
+        .containsOnlyKeys("products", "categories")
+        .containsEntry("products", List.of("product-1", "product-2"))
+        .containsEntry("categories", List.of("product-1"));
+    assertThat(coalescer.isEmpty()).isTrue();
+  }
+
+  @Test
+  void shouldFlush_WithFullBatch_ShouldReturnTrue() {
+    // preparation
+    final MicroBatchCoalescer coalescer = new MicroBatchCoalescer(2, Duration.ofSeconds(1), clock);
+
+    // test
+    coalescer.add(ChangeEvent.of("products", "product-1"));
+    final boolean shouldFlushBeforeFull = coalescer.shouldFlush();
+    coalescer.add(ChangeEvent.of("products", "product-2"));
+
+    // assertion
+    assertThat(shouldFlushBeforeFull).isFalse();
+    assertThat(coalescer.shouldFlush()).isTrue();
+    assertThat(coalescer.getRemainingCapacity()).isZero();
+  }
+
+  @Test
+  void shouldFlush_WithOldestEventReachingMaxLatency_ShouldReturnTrue() {
+    // preparation
+    final MicroBatchCoalescer coalescer =
+        new MicroBatchCoalescer(10, Duration.ofMillis(500), clock);
+    coalescer.add(ChangeEvent.of("products", "product-1"));
+    when(clock.millis()).thenReturn(1_200L);
+    coalescer.add(ChangeEvent.of("products", "product-2"));
+
+    // test and assertion
+    assertThat(coalescer.getTimeUntilFlush()).isEqualTo(Duration.ofMillis(300));
+    assertThat(coalescer.shouldFlush()).isFalse();
+
+    when(clock.millis()).thenReturn(1_500L);
+    assertThat(coalescer.getTimeUntilFlush()).isEqualTo(Duration.ZERO);
+    assertThat(coalescer.shouldFlush()).isTrue();
+  }
+
+  @Test
+  void shouldFlush_WithEmptyBatch_ShouldReturnFalse() {
+    final MicroBatchCoalescer coalescer =
+        new MicroBatchCoalescer(10, Duration.ofMillis(500), clock);
+
+    when(clock.millis()).thenReturn(60_000L);
+
+    assertThat(coalescer.shouldFlush()).isFalse();
+    assertThat(coalescer.getTimeUntilFlush()).isEqualTo(Duration.ofMillis(500));
+  }
+
+  @Test
+  void new_WithBatchSizeBelowOne_ShouldThrowIllegalArgumentException() {
+    assertThatThrownBy(() -> new MicroBatchCoalescer(0, Duration.ofSeconds(1), clock))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
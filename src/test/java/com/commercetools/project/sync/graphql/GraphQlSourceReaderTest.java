@@ -0,0 +1,238 @@
+package com.commercetools.project.sync.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.commercetools.api.client.ByProjectKeyGraphqlPost;
+import com.commercetools.api.client.ByProjectKeyGraphqlRequestBuilder;
+import com.commercetools.api.client.ProjectApiRoot;
+import com.commercetools.api.models.category.Category;
+import com.commercetools.api.models.common.CentPrecisionMoney;
+import com.commercetools.api.models.graph_ql.GraphQLRequest;
+import com.commercetools.api.models.graph_ql.GraphQLResponse;
+import com.commercetools.api.models.product.ProductProjection;
+import com.commercetools.api.models.product.ProductVariant;
+import com.commercetools.sync.commons.utils.CaffeineReferenceIdToKeyCacheImpl;
+import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
+import io.vrap.rmf.base.client.ApiHttpResponse;
+import io.vrap.rmf.base.client.utils.json.JsonUtils;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+
+class GraphQlSourceReaderTest {
+  private static final String CATEGORY_RESPONSE =
+      "{\"data\":{\"categories\":{\"results\":[{\"id\":\"cat-id\",\"version\":3,"
+          + "\"key\":\"cat-key\",\"createdAt\":\"2021-01-01T00:00:00.000Z\","
+          + "\"lastModifiedAt\":\"2021-01-02T00:00:00.000Z\",\"orderHint\":\"0.1\","
+          + "\"nameAllLocales\":[{\"locale\":\"en\",\"value\":\"name\"}],"
+          + "\"slugAllLocales\":[{\"locale\":\"en\",\"value\":\"slug\"}],"
+          + "\"descriptionAllLocales\":null,"
+          + "\"parent\":{\"id\":\"parent-id\",\"key\":\"parent-key\"},"
+          + "\"custom\":{\"type\":{\"id\":\"type-id\",\"key\":\"type-key\"},"
+          + "\"customFieldsRaw\":[{\"name\":\"field\",\"value\":\"value\"}]},"
+          + "\"assets\":[]}]}}}";
+  private static final String PRODUCT_RESPONSE =
+      "{\"data\":{\"products\":{\"results\":[{\"id\":\"product-id\",\"version\":2,"
+          + "\"key\":\"product-key\",\"createdAt\":\"2021-01-01T00:00:00.000Z\","
+          + "\"lastModifiedAt\":\"2021-01-02T00:00:00.000Z\",\"priceMode\":\"Embedded\","
+          + "\"productType\":{\"id\":\"product-type-id\",\"key\":\"product-type-key\"},"
+          + "\"taxCategory\":null,\"state\":null,"
+          + "\"masterData\":{\"published\":true,\"hasStagedChanges\":false,\"staged\":{"
+          + "\"nameAllLocales\":[{\"locale\":\"en\",\"value\":\"name\"}],"
+          + "\"slugAllLocales\":[{\"locale\":\"en\",\"value\":\"slug\"}],"
+          + "\"searchKeywords\":[{\"locale\":\"en\",\"searchKeywords\":"
+          + "[{\"text\":\"keyword\",\"suggestTokenizer\":null}]}],"
+          + "\"categories\":[{\"id\":\"cat-id\",\"key\":\"cat-key\"}],"
+          + "\"categoryOrderHints\":[{\"categoryId\":\"cat-id\",\"orderHint\":\"0.5\"}],"
+          + "\"masterVariant\":{\"id\":1,\"sku\":\"sku-1\",\"prices\":[{\"id\":\"price-id\","
+          + "\"value\":{\"type\":\"centPrecision\",\"currencyCode\":\"EUR\",\"centAmount\":100,"
+          + "\"fractionDigits\":2},\"country\":\"DE\","
+          + "\"channel\":{\"id\":\"channel-id\",\"key\":\"channel-key\"},"
+          + "\"customerGroup\":null,\"custom\":null}],\"images\":[],\"assets\":[],"
+          + "\"attributesRaw\":[{\"name\":\"color\",\"value\":\"red\"}]},"
+          + "\"variants\":[]}}}]}}}";
+
+  private static final String PRODUCT_PRICE_RESPONSE =
+      "{\"data\":{\"products\":{\"results\":[{\"id\":\"product-id\",\"version\":2,"
+          + "\"key\":\"product-key\",\"createdAt\":\"2021-01-01T00:00:00.000Z\","
+          + "\"lastModifiedAt\":\"2021-01-02T00:00:00.000Z\","
+          + "\"productType\":{\"id\":\"product-type-id\",\"key\":\"product-type-key\"},"
+          + "\"masterData\":{\"published\":false,\"staged\":{"
+          + "\"masterVariant\":{\"id\":1,\"key\":\"variant-1\",\"sku\":\"sku-1\","
+          + "\"prices\":[{\"id\":\"price-id\",\"value\":{\"type\":\"centPrecision\","
+          + "\"currencyCode\":\"EUR\",\"centAmount\":100,\"fractionDigits\":2},"
+          + "\"customerGroup\":{\"id\":\"customer-group-id\",\"key\":\"customer-group-key\"},"
+          + "\"channel\":null,\"custom\":null}]},"
+          + "\"variants\":[{\"id\":2,\"key\":\"variant-2\",\"sku\":\"sku-2\",\"prices\":[]}]"
+          + "}}}]}}}";
+
+  private final ReferenceIdToKeyCache referenceIdToKeyCache =
+      new CaffeineReferenceIdToKeyCacheImpl();
+
+  @Test
+  void readAll_WithCategories_ShouldConvertToRestCategoriesAndCacheReferencedKeys() {
+    // preparation
+    final ProjectApiRoot sourceClient = mockGraphQlResponse(CATEGORY_RESPONSE);
+    final List<Category> categories = new ArrayList<>();
+
+    // test
+    GraphQlSourceReader.ofCategories(sourceClient, referenceIdToKeyCache)
+        .readAll(null, 500, categories::addAll)
+        .toCompletableFuture()
+        .join();
+
+    // assertions
+    assertThat(categories)
+        .singleElement()
+        .satisfies(
+            category -> {
+              assertThat(category.getKey()).isEqualTo("cat-key");
+              assertThat(category.getVersion()).isEqualTo(3L);
+              assertThat(category.getName().get("en")).isEqualTo("name");
+              assertThat(category.getDescription()).isNull();
+              assertThat(category.getParent().getId()).isEqualTo("parent-id");
+              assertThat(category.getCustom().getType().getId()).isEqualTo("type-id");
+              assertThat(category.getCustom().getFields().values()).containsKey("field");
+            });
+    assertThat(referenceIdToKeyCache.get("parent-id")).isEqualTo("parent-key");
+    assertThat(referenceIdToKeyCache.get("type-id")).isEqualTo("type-key");
+  }
+
+  @Test
+  void readAll_WithProducts_ShouldConvertToStagedProductProjectionsAndCacheReferencedKeys() {
+    // preparation
+    final ProjectApiRoot sourceClient = mockGraphQlResponse(PRODUCT_RESPONSE);
+    final List<ProductProjection> productProjections = new ArrayList<>();
+
+    // test
+    GraphQlSourceReader.ofProducts(sourceClient, referenceIdToKeyCache)
+        .readAll(null, 500, productProjections::addAll)
+        .toCompletableFuture()
+        .join();
+
+    // assertions
+    assertThat(productProjections)
+        .singleElement()
+        .satisfies(
+            productProjection -> {
+              assertThat(productProjection.getKey()).isEqualTo("product-key");
+              assertThat(productProjection.getPublished()).isTrue();
+              assertThat(productProjection.getProductType().getId()).isEqualTo("product-type-id");
+              assertThat(productProjection.getTaxCategory()).isNull();
+              assertThat(productProjection.getCategories())
+                  .singleElement()
+                  .satisfies(category -> assertThat(category.getId()).isEqualTo("cat-id"));
+              assertThat(productProjection.getCategoryOrderHints().values())
+                  .containsEntry("cat-id", "0.5");
+              assertThat(productProjection.getSearchKeywords().values().get("en"))
+                  .singleElement()
+                  .satisfies(keyword -> assertThat(keyword.getText()).isEqualTo("keyword"));
+              final ProductVariant masterVariant = productProjection.getMasterVariant();
+              assertThat(masterVariant.getSku()).isEqualTo("sku-1");
+              assertThat(masterVariant.getAttributes())
+                  .singleElement()
+                  .satisfies(attribute -> assertThat(attribute.getName()).isEqualTo("color"));
+              assertThat(masterVariant.getPrices())
+                  .singleElement()
+                  .satisfies(
+                      price -> {
+                        assertThat(price.getValue()).isInstanceOf(CentPrecisionMoney.class);
+                        assertThat(price.getValue().getCentAmount()).isEqualTo(100L);
+                        assertThat(price.getChannel().getId()).isEqualTo("channel-id");
+                      });
+            });
+    assertThat(referenceIdToKeyCache.get("product-type-id")).isEqualTo("product-type-key");
+    assertThat(referenceIdToKeyCache.get("cat-id")).isEqualTo("cat-key");
+    assertThat(referenceIdToKeyCache.get("channel-id")).isEqualTo("channel-key");
+  }
+
+  @Test
+  void readAll_WithProductPrices_ShouldConvertToProductProjectionsWithOnlyPrices() {
+    // preparation
+    final ProjectApiRoot sourceClient = mockGraphQlResponse(PRODUCT_PRICE_RESPONSE);
+    final List<ProductProjection> productProjections = new ArrayList<>();
+
+    // test
+    GraphQlSourceReader.ofProductPrices(sourceClient, referenceIdToKeyCache)
+        .readAll("id in (\"product-id\")", 500, productProjections::addAll)
+        .toCompletableFuture()
+        .join();
+
+    // assertions
+    assertThat(productProjections)
+        .singleElement()
+        .satisfies(
+            productProjection -> {
+              assertThat(productProjection.getKey()).isEqualTo("product-key");
+              assertThat(productProjection.getPublished()).isFalse();
+              assertThat(productProjection.getProductType().getId()).isEqualTo("product-type-id");
+              assertThat(productProjection.getName().values()).isEmpty();
+              assertThat(productProjection.getCategories()).isEmpty();
+              final ProductVariant masterVariant = productProjection.getMasterVariant();
+              assertThat(masterVariant.getKey()).isEqualTo("variant-1");
+              assertThat(masterVariant.getAttributes()).isEmpty();
+              assertThat(masterVariant.getPrices())
+                  .singleElement()
+                  .satisfies(
+                      price ->
+                          assertThat(price.getCustomerGroup().getId())
+                              .isEqualTo("customer-group-id"));
+              assertThat(productProjection.getVariants())
+                  .singleElement()
+                  .satisfies(variant -> assertThat(variant.getSku()).isEqualTo("sku-2"));
+            });
+    assertThat(referenceIdToKeyCache.get("product-type-id")).isEqualTo("product-type-key");
+    assertThat(referenceIdToKeyCache.get("customer-group-id")).isEqualTo("customer-group-key");
+  }
+
+  @Test
+  void readAll_WithGraphQlErrors_ShouldCompleteExceptionally() {
+    // preparation
+    final ProjectApiRoot sourceClient =
+        mockGraphQlResponse("{\"errors\":[{\"message\":\"Query too complex\"}]}");
+
+    // test
+    final CompletableFuture<Void> readStage =
+        GraphQlSourceReader.ofProducts(sourceClient, referenceIdToKeyCache)
+            .readAll(null, 500, page -> {})
+            .toCompletableFuture();
+
+    // assertions
+    assertThat(readStage)
+        .failsWithin(Duration.ZERO)
+        .withThrowableOfType(ExecutionException.class)
+        .havingCause()
+        .isInstanceOf(IllegalStateException.class)
+        .withMessageContaining("Query too complex");
+  }
+
+  @Test
+  void getPageWhere_ShouldAddPredicateOfIdsAfterLastId() {
+    assertThat(GraphQlSourceReader.getPageWhere(null, null)).isNull();
+    assertThat(GraphQlSourceReader.getPageWhere(null, "id-1")).isEqualTo("id > \"id-1\"");
+    assertThat(GraphQlSourceReader.getPageWhere("key = \"a\"", "id-1"))
+        .isEqualTo("(key = \"a\") and id > \"id-1\"");
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ProjectApiRoot mockGraphQlResponse(final String jsonResponse) {
+    final ProjectApiRoot sourceClient = mock(ProjectApiRoot.class);
+    final ApiHttpResponse<GraphQLResponse> apiHttpResponse = mock(ApiHttpResponse.class);
+    when(apiHttpResponse.getBody())
+        .thenReturn(JsonUtils.fromJsonString(jsonResponse, GraphQLResponse.class));
+    final ByProjectKeyGraphqlRequestBuilder byProjectKeyGraphqlRequestBuilder = mock();
+    when(sourceClient.graphql()).thenReturn(byProjectKeyGraphqlRequestBuilder);
+    final ByProjectKeyGraphqlPost byProjectKeyGraphqlPost = mock();
+    when(byProjectKeyGraphqlRequestBuilder.post(any(GraphQLRequest.class)))
+        .thenReturn(byProjectKeyGraphqlPost);
+    when(byProjectKeyGraphqlPost.execute())
+        .thenReturn(CompletableFuture.completedFuture(apiHttpResponse));
+    return sourceClient;
+  }
+}
@@ -0,0 +1,175 @@
+package com.commercetools.project.sync.hedging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercetools.project.sync.retry.RetryBudget;
+import io.vrap.rmf.base.client.ApiHttpHeaders;
+import io.vrap.rmf.base.client.ApiHttpMethod;
+import io.vrap.rmf.base.client.ApiHttpRequest;
+import io.vrap.rmf.base.client.ApiHttpResponse;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HedgingMiddlewareTest {
+  private static final ApiHttpRequest GET_REQUEST =
+      new ApiHttpRequest(
+          ApiHttpMethod.GET,
+          URI.create("https://api.example.com/project-key/product-projections?limit=500"),
+          new ApiHttpHeaders(),
+          (byte[]) null);
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2023-01-01T10:00:00Z"), ZoneOffset.UTC);
+
+  private final List<CompletableFuture<ApiHttpResponse<byte[]>>> sentRequests = new ArrayList<>();
+  private final List<Runnable> scheduledHedges = new ArrayList<>();
+  private HedgingStatistics statistics;
+
+  @BeforeEach
+  void setup() {
+    sentRequests.clear();
+    scheduledHedges.clear();
+    statistics = HedgingStatistics.of(UUID.randomUUID().toString());
+  }
+
+  @Test
+  void invoke_WithTooFewObservedLatencies_ShouldNotHedge() {
+    // preparation
+    final HedgingMiddleware hedgingMiddleware = hedgingMiddleware(RetryBudget.of());
+
+    // test
+    hedgingMiddleware.invoke(GET_REQUEST, pendingResponse());
+
+    // assertion
+    assertThat(scheduledHedges).isEmpty();
+    assertThat(sentRequests).hasSize(1);
+  }
+
+  @Test
+  void invoke_WithSlowRequest_ShouldHedgeAndUseFirstResponse() {
+    // preparation
+    final HedgingMiddleware hedgingMiddleware = warmedUpHedgingMiddleware(RetryBudget.of());
+
+    // test
+    final CompletableFuture<ApiHttpResponse<byte[]>> result =
+        hedgingMiddleware.invoke(GET_REQUEST, pendingResponse());
+    scheduledHedges.forEach(Runnable::run);
+    sentRequests.get(1).complete(response(200, "hedged"));
+    sentRequests.get(0).complete(response(200, "original"));
+
+    // assertions
+    assertThat(sentRequests).hasSize(2);
+    assertThat(new String(result.join().getBody(), StandardCharsets.UTF_8)).isEqualTo("hedged");
+    assertThat(statistics.getHedgedRequests()).isEqualTo(1);
+    assertThat(statistics.getWonHedgedRequests()).isEqualTo(1);
+  }
+
+  @Test
+  void invoke_WithRequestAnsweringBeforeHedgeDelay_ShouldNotHedge() {
+    // preparation
+    final HedgingMiddleware hedgingMiddleware = warmedUpHedgingMiddleware(RetryBudget.of());
+
+    // test
+    final CompletableFuture<ApiHttpResponse<byte[]>> result =
+        hedgingMiddleware.invoke(GET_REQUEST, pendingResponse());
+    sentRequests.get(0).complete(response(200, "original"));
+    scheduledHedges.forEach(Runnable::run);
+
+    // assertions
+    assertThat(sentRequests).hasSize(1);
+    assertThat(new String(result.join().getBody(), StandardCharsets.UTF_8)).isEqualTo("original");
+    assertThat(statistics.getHedgedRequests()).isZero();
+  }
+
+  @Test
+  void invoke_WithFailedOriginalRequest_ShouldAwaitHedgedRequest() {
+    // preparation
+    final HedgingMiddleware hedgingMiddleware = warmedUpHedgingMiddleware(RetryBudget.of());
+
+    // test
+    final CompletableFuture<ApiHttpResponse<byte[]>> result =
+        hedgingMiddleware.invoke(GET_REQUEST, pendingResponse());
+    scheduledHedges.forEach(Runnable::run);
+    sentRequests.get(0).completeExceptionally(new IllegalStateException("connection reset"));
+
+    // assertions
+    assertThat(result).isNotDone();
+    sentRequests.get(1).complete(response(200, "hedged"));
+    assertThat(result.join().getStatusCode()).isEqualTo(200);
+  }
+
+  @Test
+  void invoke_WithExhaustedBudget_ShouldNotHedge() {
+    // preparation
+    final HedgingMiddleware hedgingMiddleware = warmedUpHedgingMiddleware(RetryBudget.of(0, 0));
+
+    // test
+    hedgingMiddleware.invoke(GET_REQUEST, pendingResponse());
+    scheduledHedges.forEach(Runnable::run);
+
+    // assertions
+    assertThat(sentRequests).hasSize(1);
+    assertThat(statistics.getHedgedRequests()).isZero();
+    assertThat(statistics.getDeniedHedgedRequests()).isEqualTo(1);
+  }
+
+  @Test
+  void invoke_WithPostRequest_ShouldNotHedge() {
+    // preparation
+    final HedgingMiddleware hedgingMiddleware = warmedUpHedgingMiddleware(RetryBudget.of());
+    final ApiHttpRequest postRequest =
+        new ApiHttpRequest(
+            ApiHttpMethod.POST,
+            URI.create("https://api.example.com/project-key/product-projections"),
+            new ApiHttpHeaders(),
+            "{}".getBytes(StandardCharsets.UTF_8));
+
+    // test
+    hedgingMiddleware.invoke(postRequest, pendingResponse());
+
+    // assertion
+    assertThat(scheduledHedges).isEmpty();
+  }
+
+  private HedgingMiddleware hedgingMiddleware(final RetryBudget hedgingBudget) {
+    return new HedgingMiddleware(
+        hedgingBudget,
+        statistics,
+        delayInMillis -> runnable -> scheduledHedges.add(runnable),
+        CLOCK);
+  }
+
+  private HedgingMiddleware warmedUpHedgingMiddleware(final RetryBudget hedgingBudget) {
+    final HedgingMiddleware hedgingMiddleware = hedgingMiddleware(hedgingBudget);
+    for (int i = 0; i < HedgingMiddleware.MIN_SAMPLES; i++) {
+      hedgingMiddleware
+          .invoke(
+              GET_REQUEST,
+              request -> CompletableFuture.completedFuture(response(200, "warm-up")))
+          .join();
+    }
+    scheduledHedges.clear();
+    return hedgingMiddleware;
+  }
+
+  private Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> pendingResponse() {
+    return request -> {
+      final CompletableFuture<ApiHttpResponse<byte[]>> response = new CompletableFuture<>();
+      sentRequests.add(response);
+      return response;
+    };
+  }
+
+  private static ApiHttpResponse<byte[]> response(final int statusCode, final String body) {
+    return new ApiHttpResponse<>(statusCode, null, body.getBytes(StandardCharsets.UTF_8));
+  }
+}
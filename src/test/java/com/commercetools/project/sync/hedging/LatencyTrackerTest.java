@@ -0,0 +1,50 @@
+package com.commercetools.project.sync.hedging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyTrackerTest {
+
+  @Test
+  void getPercentileInMillis_WithTooFewSamples_ShouldReturnNull() {
+    final LatencyTracker latencyTracker = new LatencyTracker(100, 10, 0.95);
+
+    for (int i = 0; i < 9; i++) {
+      latencyTracker.record(100);
+    }
+
+    assertThat(latencyTracker.getPercentileInMillis()).isNull();
+  }
+
+  @Test
+  void getPercentileInMillis_WithEnoughSamples_ShouldReturnPercentile() {
+    // preparation
+    final LatencyTracker latencyTracker = new LatencyTracker(100, 20, 0.95);
+
+    // test
+    for (int latency = 20; latency >= 1; latency--) {
+      latencyTracker.record(latency);
+    }
+
+    // assertion
+    assertThat(latencyTracker.getPercentileInMillis()).isEqualTo(19L);
+  }
+
+  @Test
+  void record_WithFullWindow_ShouldForgetOldestLatencies() {
+    // preparation
+    final LatencyTracker latencyTracker = new LatencyTracker(20, 10, 0.5);
+    for (int i = 0; i < 20; i++) {
+      latencyTracker.record(1000);
+    }
+
+    // test
+    for (int i = 0; i < LatencyTracker.RECOMPUTE_INTERVAL * 2; i++) {
+      latencyTracker.record(10);
+    }
+
+    // assertion
+    assertThat(latencyTracker.getPercentileInMillis()).isEqualTo(10L);
+  }
+}
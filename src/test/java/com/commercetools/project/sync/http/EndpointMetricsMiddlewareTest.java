@@ -0,0 +1,147 @@
+package com.commercetools.project.sync.http;
+
+import static io.vrap.rmf.base.client.utils.CompletableFutureUtils.exceptionallyCompletedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercetools.project.sync.util.TestUtils;
+import io.vrap.rmf.base.client.ApiHttpHeaders;
+import io.vrap.rmf.base.client.ApiHttpMethod;
+import io.vrap.rmf.base.client.ApiHttpRequest;
+import io.vrap.rmf.base.client.ApiHttpResponse;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EndpointMetricsMiddlewareTest {
+  private final AtomicLong nanoTime = new AtomicLong();
+  private final AtomicLong uptimeInMillis = new AtomicLong();
+  private EndpointMetrics metrics;
+  private EndpointMetricsMiddleware middleware;
+
+  @BeforeEach
+  void setup() {
+    metrics = EndpointMetrics.of(UUID.randomUUID().toString());
+    middleware = new EndpointMetricsMiddleware(metrics, nanoTime::get, uptimeInMillis::get);
+  }
+
+  @Test
+  void invoke_WithSuccessfulRequest_ShouldRecordLatencyBytesAndStatusCode() {
+    // preparation
+    final ApiHttpRequest request =
+        request(ApiHttpMethod.POST, "https://api.example.com/project-key/categories/cat-id", "{}");
+
+    // test
+    middleware
+        .invoke(
+            request,
+            ignored -> {
+              nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(42));
+              return CompletableFuture.completedFuture(
+                  new ApiHttpResponse<>(200, null, "{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+            })
+        .join();
+
+    // assertions
+    assertThat(metrics.getEndpointStatistics())
+        .singleElement()
+        .satisfies(
+            statistics -> {
+              assertThat(statistics.getEndpoint()).isEqualTo("POST /categories/{id}");
+              assertThat(statistics.getRequests()).isEqualTo(1);
+              assertThat(statistics.getTotalLatencyInMillis()).isEqualTo(42);
+              assertThat(statistics.getRequestBytes()).isEqualTo(2);
+              assertThat(statistics.getResponseBytes()).isEqualTo(8);
+              assertThat(statistics.getResponsesByStatusCode()).containsEntry(200, 1L);
+            });
+  }
+
+  @Test
+  void invoke_WithFailedRequest_ShouldRecordStatusCodeOfException() {
+    // preparation
+    final ApiHttpRequest request =
+        request(ApiHttpMethod.GET, "https://api.example.com/project-key/product-projections", null);
+
+    // test
+    middleware
+        .invoke(
+            request, ignored -> exceptionallyCompletedFuture(TestUtils.createBadGatewayException()))
+        .handle((response, throwable) -> throwable)
+        .join();
+
+    // assertion
+    assertThat(metrics.getEndpointStatistics())
+        .singleElement()
+        .satisfies(
+            statistics -> {
+              assertThat(statistics.getEndpoint()).isEqualTo("GET /product-projections");
+              assertThat(statistics.getResponsesByStatusCode()).containsEntry(500, 1L);
+            });
+  }
+
+  @Test
+  void toEndpoint_WithGraphQlRequest_ShouldNameQueriedField() {
+    final ApiHttpRequest request =
+        request(
+            ApiHttpMethod.POST,
+            "https://api.example.com/project-key/graphql",
+            "{\"query\":\"query fetchIdKeyPairs($where: String, $limit: Int) "
+                + "{ categories(limit: $limit, where: $where) { results { id key } } }\"}");
+
+    assertThat(EndpointMetricsMiddleware.toEndpoint(request))
+        .isEqualTo("POST /graphql {categories}");
+  }
+
+  @Test
+  void toPathTemplate_ShouldReplaceProjectKeyIdsKeysAndContainers() {
+    assertThat(toPathTemplate("/project-key/categories")).isEqualTo("/categories");
+    assertThat(toPathTemplate("/project-key/product-types/key=pt-key"))
+        .isEqualTo("/product-types/key={key}");
+    assertThat(toPathTemplate("/project-key/products/1234/images"))
+        .isEqualTo("/products/{id}/images");
+    assertThat(toPathTemplate("/project-key/custom-objects/container/key"))
+        .isEqualTo("/custom-objects/{container}/{key}");
+    assertThat(toPathTemplate("/oauth")).isEqualTo("/unknown");
+  }
+
+  private static String toPathTemplate(final String path) {
+    return EndpointMetricsMiddleware.toPathTemplate(URI.create("https://api.example.com" + path));
+  }
+
+  @Test
+  void invoke_WithSeveralRequests_ShouldKeepUptimeOfFirstRequest() {
+    // preparation
+    final ApiHttpRequest request =
+        request(ApiHttpMethod.GET, "https://api.example.com/project-key/product-projections", null);
+    uptimeInMillis.set(850);
+
+    // test
+    middleware
+        .invoke(
+            request,
+            ignored -> CompletableFuture.completedFuture(new ApiHttpResponse<>(200, null, null)))
+        .join();
+    uptimeInMillis.set(2_000);
+    middleware
+        .invoke(
+            request,
+            ignored -> CompletableFuture.completedFuture(new ApiHttpResponse<>(200, null, null)))
+        .join();
+
+    // assertion
+    assertThat(metrics.getFirstRequestUptimeInMillis()).isEqualTo(850);
+  }
+
+  private static ApiHttpRequest request(
+      final ApiHttpMethod method, final String uri, final String body) {
+    return new ApiHttpRequest(
+        method,
+        URI.create(uri),
+        new ApiHttpHeaders(),
+        body == null ? null : body.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,52 @@
+package com.commercetools.project.sync.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class EndpointStatisticsTest {
+
+  @Test
+  void getLatencyPercentileInMillis_ShouldReturnUpperBoundOfBucket() {
+    // preparation
+    final EndpointStatistics statistics = new EndpointStatistics("GET /categories");
+    for (int i = 0; i < 90; i++) {
+      statistics.record(15, 0, 100, 200);
+    }
+    for (int i = 0; i < 10; i++) {
+      statistics.record(700, 0, 100, 200);
+    }
+
+    // test and assertions
+    assertThat(statistics.getLatencyPercentileInMillis(0.5)).isEqualTo(20);
+    assertThat(statistics.getLatencyPercentileInMillis(0.95)).isEqualTo(700);
+    assertThat(statistics.getMaxLatencyInMillis()).isEqualTo(700);
+  }
+
+  @Test
+  void getLatencyPercentileInMillis_WithLatencyBeyondLastBucket_ShouldReturnMaxLatency() {
+    // preparation
+    final EndpointStatistics statistics = new EndpointStatistics("GET /categories");
+    statistics.record(90_000, 0, 0, 504);
+
+    // test and assertion
+    assertThat(statistics.getLatencyPercentileInMillis(0.99)).isEqualTo(90_000);
+  }
+
+  @Test
+  void getReportMessage_ShouldContainEndpointAndStatusCodes() {
+    // preparation
+    final EndpointStatistics statistics = new EndpointStatistics("GET /categories");
+    statistics.record(15, 0, 1024 * 1024, 200);
+    statistics.record(15, 0, 0, 404);
+
+    // test
+    final String reportMessage = statistics.getReportMessage("source");
+
+    // assertion
+    assertThat(reportMessage)
+        .startsWith(
+            "Endpoint summary of the source client for GET /categories: 2 requests {200=1, 404=1}, "
+                + "latency p50 15 ms, p95 15 ms, p99 15 ms, max 15 ms, total 30 ms");
+  }
+}
@@ -0,0 +1,50 @@
+package com.commercetools.project.sync.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import org.junit.jupiter.api.Test;
+
+class HttpClientMetricsTest {
+
+  @Test
+  void register_ShouldReplaceMetricsOfClientWithSameName() {
+    // preparation
+    final HttpClientMetrics firstMetrics =
+        HttpClientMetrics.register(
+            "metrics-test", new Dispatcher(), new ConnectionPool(1, 1, TimeUnit.SECONDS));
+
+    // test
+    final HttpClientMetrics secondMetrics =
+        HttpClientMetrics.register(
+            "metrics-test", new Dispatcher(), new ConnectionPool(1, 1, TimeUnit.SECONDS));
+
+    // assertion
+    assertThat(HttpClientMetrics.getAll()).contains(secondMetrics).doesNotContain(firstMetrics);
+  }
+
+  @Test
+  void sample_WithIdleClient_ShouldReportNoUtilization() {
+    // preparation
+    final Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(20);
+    final HttpClientMetrics metrics =
+        new HttpClientMetrics("source", dispatcher, new ConnectionPool(5, 1, TimeUnit.MINUTES));
+
+    // test
+    metrics.sample();
+
+    // assertions
+    assertThat(metrics.getPeakRunningRequests()).isZero();
+    assertThat(metrics.getPeakQueuedRequests()).isZero();
+    assertThat(metrics.getPeakConnections()).isZero();
+    assertThat(metrics.getPeakUtilization()).isZero();
+    assertThat(metrics.getReportMessage())
+        .isEqualTo(
+            "HTTP client summary of the source client: peak of 0 running requests of max 20 (0% "
+                + "utilization), peak of 0 queued requests and peak of 0 connections "
+                + "(0 idle now).");
+  }
+}
@@ -0,0 +1,62 @@
+package com.commercetools.project.sync.http;
+
+import static com.commercetools.project.sync.http.HttpClientSettings.SOURCE_DEFAULTS;
+import static com.commercetools.project.sync.http.HttpClientSettings.TARGET_DEFAULTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+class HttpClientSettingsTest {
+
+  @Test
+  void of_WithoutSettings_ShouldReturnDefaults() {
+    final HttpClientSettings settings =
+        HttpClientSettings.of(new Properties(), "source.", SOURCE_DEFAULTS);
+
+    assertThat(settings.getMaxRequests()).isEqualTo(SOURCE_DEFAULTS.getMaxRequests());
+    assertThat(settings.getReadTimeout()).isEqualTo(SOURCE_DEFAULTS.getReadTimeout());
+    assertThat(settings.getMaxRetries()).isEqualTo(SOURCE_DEFAULTS.getMaxRetries());
+  }
+
+  @Test
+  void of_WithSettingsOfPrefix_ShouldOverrideOnlyTheseSettings() {
+    // preparation
+    final Properties properties = new Properties();
+    properties.put("target.maxRequests", "32");
+    properties.put("target.readTimeoutMillis", "5000");
+    properties.put("target.maxRetries", "0");
+    properties.put("source.maxRequestsPerHost", "8");
+
+    // test
+    final HttpClientSettings settings =
+        HttpClientSettings.of(properties, "target.", TARGET_DEFAULTS);
+
+    // assertions
+    assertThat(settings.getMaxRequests()).isEqualTo(32);
+    assertThat(settings.getReadTimeout()).isEqualTo(Duration.ofSeconds(5));
+    assertThat(settings.getMaxRetries()).isZero();
+    assertThat(settings.getMaxRequestsPerHost()).isEqualTo(TARGET_DEFAULTS.getMaxRequestsPerHost());
+    assertThat(settings.getWriteTimeout()).isEqualTo(TARGET_DEFAULTS.getWriteTimeout());
+  }
+
+  @Test
+  void of_WithInvalidSetting_ShouldThrowIllegalArgumentException() {
+    final Properties properties = new Properties();
+    properties.put("source.connectTimeoutMillis", "-1");
+
+    assertThatThrownBy(() -> HttpClientSettings.of(properties, "source.", SOURCE_DEFAULTS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("source.connectTimeoutMillis");
+  }
+
+  @Test
+  void toEnvironmentVariableName_ShouldConvertPrefixAndSettingName() {
+    assertThat(HttpClientSettings.toEnvironmentVariableName("target.", "maxRequestsPerHost"))
+        .isEqualTo("TARGET_MAX_REQUESTS_PER_HOST");
+    assertThat(HttpClientSettings.toEnvironmentVariableName("source.", "maxRetries"))
+        .isEqualTo("SOURCE_MAX_RETRIES");
+  }
+}
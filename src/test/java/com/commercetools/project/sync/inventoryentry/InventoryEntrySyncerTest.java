@@ -20,6 +20,7 @@ import com.commercetools.api.models.inventory.InventoryEntry;
 import com.commercetools.api.models.inventory.InventoryEntryDraft;
 import com.commercetools.api.models.inventory.InventoryPagedQueryResponse;
 import com.commercetools.api.models.inventory.InventoryPagedQueryResponseBuilder;
+import com.commercetools.project.sync.SyncModuleOption;
 import com.commercetools.sync.commons.utils.CaffeineReferenceIdToKeyCacheImpl;
 import com.commercetools.sync.commons.utils.ReferenceIdToKeyCache;
 import com.commercetools.sync.inventories.InventorySync;
@@ -60,6 +61,12 @@ class InventoryEntrySyncerTest {
     // assertions
     assertThat(inventorySyncer).isNotNull();
     assertThat(inventorySyncer.getSync()).isInstanceOf(InventorySync.class);
+    assertThat(inventorySyncer.supportsDeletion())
+        .isEqualTo(SyncModuleOption.INVENTORY_ENTRY_SYNC.supportsDeletion())
+        .isFalse();
+    assertThat(inventorySyncer.supportsPartitions())
+        .isEqualTo(SyncModuleOption.INVENTORY_ENTRY_SYNC.supportsPartitions())
+        .isFalse();
   }
 
   @Test
@@ -0,0 +1,61 @@
+package com.commercetools.project.sync.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import java.util.Map;
+import net.logstash.logback.marker.Markers;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+
+class DropCountingAsyncAppenderTest {
+
+  @Test
+  void isDiscardable_WithInfoEvent_ShouldDropAndCountEvent() {
+    // preparation
+    final DropCountingAsyncAppender appender = new DropCountingAsyncAppender();
+    final long droppedEvents = DroppedLogEvents.getDroppedEvents();
+
+    // test
+    final boolean isDiscardable = appender.isDiscardable(createEvent(Level.INFO, null));
+
+    // assertions
+    assertThat(isDiscardable).isTrue();
+    assertThat(DroppedLogEvents.getDroppedEvents()).isEqualTo(droppedEvents + 1);
+  }
+
+  @Test
+  void isDiscardable_WithNeverDiscardedMarker_ShouldNotDropEvent() {
+    // preparation
+    final DropCountingAsyncAppender appender = new DropCountingAsyncAppender();
+    appender.setOverflowPolicy("DROP_WARN");
+    final Marker summaryMarker =
+        Markers.append("errorsByType", Map.of("ConcurrentModification", 2))
+            .and(DropCountingAsyncAppender.NEVER_DISCARDED);
+    final long droppedEvents = DroppedLogEvents.getDroppedEvents();
+
+    // test
+    final boolean isInfoDiscardable =
+        appender.isDiscardable(createEvent(Level.INFO, summaryMarker));
+    final boolean isWarnDiscardable =
+        appender.isDiscardable(createEvent(Level.WARN, DropCountingAsyncAppender.NEVER_DISCARDED));
+
+    // assertions
+    assertThat(isInfoDiscardable).isFalse();
+    assertThat(isWarnDiscardable).isFalse();
+    assertThat(DroppedLogEvents.getDroppedEvents()).isEqualTo(droppedEvents);
+  }
+
+  private static LoggingEvent createEvent(final Level level, final Marker marker) {
+    final LoggingEvent event = new LoggingEvent();
+    event.setLoggerContext(new LoggerContext());
+    event.setLevel(level);
+    event.setMessage("summary");
+    if (marker != null) {
+      event.addMarker(marker);
+    }
+    return event;
+  }
+}
@@ -0,0 +1,30 @@
+package com.commercetools.project.sync.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class DroppedLogEventsTest {
+
+  @Test
+  void increment_WithSeveralLevels_ShouldCountDroppedEventsPerLevel() {
+    // preparation
+    final long droppedEvents = DroppedLogEvents.getDroppedEvents();
+    final long droppedInfoEvents =
+        DroppedLogEvents.getDroppedEventsByLevel().getOrDefault("INFO", 0L);
+
+    // test
+    DroppedLogEvents.increment("INFO");
+    DroppedLogEvents.increment("INFO");
+    DroppedLogEvents.increment("WARN");
+
+    // assertions
+    assertThat(DroppedLogEvents.getDroppedEvents()).isEqualTo(droppedEvents + 3);
+    assertThat(DroppedLogEvents.getDroppedEventsByLevel())
+        .containsEntry("INFO", droppedInfoEvents + 2)
+        .containsKey("WARN");
+    assertThat(DroppedLogEvents.getReportMessage())
+        .startsWith("Logging summary: " + (droppedEvents + 3) + " log events {")
+        .endsWith("} were dropped because the log queue was full.");
+  }
+}
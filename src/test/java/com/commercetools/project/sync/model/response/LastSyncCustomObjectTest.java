@@ -1,10 +1,19 @@
 package com.commercetools.project.sync.model.response;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 import com.commercetools.project.sync.util.SyncUtils;
 import com.commercetools.sync.products.helpers.ProductSyncStatistics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vrap.rmf.base.client.utils.json.JsonUtils;
 import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 class LastSyncCustomObjectTest {
@@ -29,6 +38,69 @@ class LastSyncCustomObjectTest {
     assertThat(lastSyncCustomObject.getLastSyncStatistics()).isEqualTo(lastSyncStatistics);
   }
 
+  @Test
+  void appendToRunHistory_WithFullRunHistory_ShouldDropOldestRun() {
+    // preparation
+    final ZonedDateTime lastSyncTimestamp = ZonedDateTime.now();
+    final List<SyncRunRecord> previousRunHistory =
+        IntStream.range(0, LastSyncCustomObject.MAX_RUN_HISTORY_SIZE)
+            .mapToObj(index -> SyncRunRecord.of(lastSyncTimestamp, index, 1, 0, 500, 1, 10, 10))
+            .collect(Collectors.toList());
+    final SyncRunRecord runRecord = SyncRunRecord.of(lastSyncTimestamp, 100, 2, 0, 250, 1, 5, 5);
+    final LastSyncCustomObject<ProductSyncStatistics> lastSyncCustomObject =
+        LastSyncCustomObject.of(lastSyncTimestamp, new ProductSyncStatistics(), 100);
+
+    // test
+    lastSyncCustomObject.appendToRunHistory(previousRunHistory, runRecord);
+
+    // assertions
+    assertThat(lastSyncCustomObject.getRunHistory())
+        .hasSize(LastSyncCustomObject.MAX_RUN_HISTORY_SIZE)
+        .doesNotContain(previousRunHistory.get(0))
+        .endsWith(runRecord);
+    assertThat(previousRunHistory).hasSize(LastSyncCustomObject.MAX_RUN_HISTORY_SIZE);
+  }
+
+  @Test
+  void appendToRunHistory_WithEmptyRunHistory_ShouldOnlyContainRun() {
+    // preparation
+    final ZonedDateTime lastSyncTimestamp = ZonedDateTime.now();
+    final SyncRunRecord runRecord = SyncRunRecord.of(lastSyncTimestamp, 100, 2, 0, 250, 1, 5, 5);
+    final LastSyncCustomObject<ProductSyncStatistics> lastSyncCustomObject =
+        LastSyncCustomObject.of(lastSyncTimestamp, new ProductSyncStatistics(), 100);
+
+    // test
+    lastSyncCustomObject.appendToRunHistory(Collections.emptyList(), runRecord);
+
+    // assertions
+    assertThat(lastSyncCustomObject.getRunHistory()).containsExactly(runRecord);
+    assertThat(runRecord.getThroughputPerSecond()).isEqualTo(20d);
+  }
+
+  @Test
+  void withFailureStatistics_ShouldBeKeptInJsonOfRunRecord() throws JsonProcessingException {
+    // preparation
+    final ObjectMapper objectMapper = JsonUtils.getConfiguredObjectMapper();
+    final Map<String, Long> failuresByCause =
+        Map.of("ReferenceResolutionException", 1L, "ConcurrentModificationException:409", 2L);
+    final SyncRunRecord runRecord =
+        SyncRunRecord.of(ZonedDateTime.now(), 100, 2, 3, 250, 1, 5, 5)
+            .withFailureStatistics(failuresByCause, 12, 10, 4);
+
+    // test
+    final SyncRunRecord readRunRecord =
+        objectMapper.readValue(objectMapper.writeValueAsString(runRecord), SyncRunRecord.class);
+
+    // assertions
+    assertThat(readRunRecord.getFailuresByCause())
+        .containsExactly(
+            entry("ConcurrentModificationException:409", 2L),
+            entry("ReferenceResolutionException", 1L));
+    assertThat(readRunRecord.getRetries()).isEqualTo(12);
+    assertThat(readRunRecord.getThrottledRetries()).isEqualTo(10);
+    assertThat(readRunRecord.getRetriedResources()).isEqualTo(4);
+  }
+
   @Test
   void equals_WithEqualInstances_ShouldReturnTrue() {
     // preparation
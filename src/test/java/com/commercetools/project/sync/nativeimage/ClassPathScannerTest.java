@@ -0,0 +1,62 @@
+package com.commercetools.project.sync.nativeimage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClassPathScannerTest {
+  private static final List<String> PACKAGE_PATHS = List.of("com/commercetools/api/models/");
+
+  @TempDir Path tempDir;
+
+  @Test
+  void findClassNames_WithJarAndDirectory_ShouldReturnClassesOfPackages() throws IOException {
+    // preparation
+    final Path jar = tempDir.resolve("models.jar");
+    try (JarOutputStream jarStream = new JarOutputStream(Files.newOutputStream(jar))) {
+      addEntry(jarStream, "com/commercetools/api/models/category/Category.class");
+      addEntry(jarStream, "com/commercetools/api/models/category/package-info.class");
+      addEntry(jarStream, "com/commercetools/api/client/ProjectApiRoot.class");
+      addEntry(jarStream, "com/commercetools/api/models/category/category.json");
+    }
+    final Path classes = tempDir.resolve("classes");
+    final Path product = classes.resolve("com/commercetools/api/models/product/Product.class");
+    Files.createDirectories(product.getParent());
+    Files.createFile(product);
+    final Path missing = tempDir.resolve("missing.jar");
+
+    // test
+    final List<String> classNames =
+        List.copyOf(ClassPathScanner.findClassNames(List.of(jar, classes, missing), PACKAGE_PATHS));
+
+    // assertion
+    assertThat(classNames)
+        .containsExactly(
+            "com.commercetools.api.models.category.Category",
+            "com.commercetools.api.models.product.Product");
+  }
+
+  @Test
+  void toClassName_WithDescriptors_ShouldReturnNull() {
+    // test and assertion
+    assertThat(ClassPathScanner.toClassName("module-info.class", List.of(""))).isNull();
+    assertThat(
+            ClassPathScanner.toClassName(
+                "com/commercetools/api/models/package-info.class", PACKAGE_PATHS))
+        .isNull();
+  }
+
+  private static void addEntry(final JarOutputStream jarStream, final String name)
+      throws IOException {
+    jarStream.putNextEntry(new JarEntry(name));
+    jarStream.write(new byte[] {0});
+    jarStream.closeEntry();
+  }
+}
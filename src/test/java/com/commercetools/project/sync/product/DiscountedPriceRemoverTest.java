@@ -0,0 +1,84 @@
+package com.commercetools.project.sync.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercetools.api.models.common.DiscountedPriceDraftBuilder;
+import com.commercetools.api.models.common.LocalizedString;
+import com.commercetools.api.models.common.MoneyBuilder;
+import com.commercetools.api.models.common.PriceDraft;
+import com.commercetools.api.models.common.PriceDraftBuilder;
+import com.commercetools.api.models.product.ProductDraft;
+import com.commercetools.api.models.product.ProductDraftBuilder;
+import com.commercetools.api.models.product.ProductVariantDraft;
+import com.commercetools.api.models.product.ProductVariantDraftBuilder;
+import com.commercetools.api.models.product_discount.ProductDiscountReferenceBuilder;
+import com.commercetools.api.models.product_type.ProductTypeResourceIdentifierBuilder;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DiscountedPriceRemoverTest {
+  private static final PriceDraft PRICE =
+      PriceDraftBuilder.of()
+          .value(MoneyBuilder.of().currencyCode("EUR").centAmount(1000L).build())
+          .build();
+  private static final PriceDraft DISCOUNTED_PRICE =
+      PriceDraftBuilder.of(PRICE)
+          .discounted(
+              DiscountedPriceDraftBuilder.of()
+                  .value(MoneyBuilder.of().currencyCode("EUR").centAmount(800L).build())
+                  .discount(ProductDiscountReferenceBuilder.of().id("discount-id").build())
+                  .build())
+          .build();
+
+  @Test
+  void process_WithoutDiscountedPrices_ShouldReturnSameDraft() {
+    // preparation
+    final ProductDraft productDraft =
+        productDraft(variant("sku-1", PRICE), List.of(variant("sku-2", PRICE)));
+
+    // test
+    final ProductDraft processedDraft = DiscountedPriceRemover.INSTANCE.process(productDraft);
+
+    // assertion
+    assertThat(processedDraft).isSameAs(productDraft);
+  }
+
+  @Test
+  void process_WithDiscountedPriceOfVariant_ShouldOnlyCopyChangedObjects() {
+    // preparation
+    final ProductVariantDraft masterVariant = variant("sku-1", PRICE);
+    final ProductVariantDraft unchangedVariant = variant("sku-2", PRICE);
+    final ProductVariantDraft discountedVariant = variant("sku-3", PRICE, DISCOUNTED_PRICE);
+    final ProductDraft productDraft =
+        productDraft(masterVariant, List.of(unchangedVariant, discountedVariant));
+
+    // test
+    final ProductDraft processedDraft = DiscountedPriceRemover.INSTANCE.process(productDraft);
+
+    // assertions
+    assertThat(processedDraft).isNotSameAs(productDraft);
+    assertThat(processedDraft.getMasterVariant()).isSameAs(masterVariant);
+    assertThat(processedDraft.getVariants().get(0)).isSameAs(unchangedVariant);
+    final List<PriceDraft> prices = processedDraft.getVariants().get(1).getPrices();
+    assertThat(prices.get(0)).isSameAs(PRICE);
+    assertThat(prices.get(1).getDiscounted()).isNull();
+    assertThat(prices.get(1).getValue()).isEqualTo(DISCOUNTED_PRICE.getValue());
+    assertThat(discountedVariant.getPrices().get(1).getDiscounted()).isNotNull();
+  }
+
+  private static ProductVariantDraft variant(final String sku, final PriceDraft... prices) {
+    return ProductVariantDraftBuilder.of().sku(sku).prices(List.of(prices)).build();
+  }
+
+  private static ProductDraft productDraft(
+      final ProductVariantDraft masterVariant, final List<ProductVariantDraft> variants) {
+    return ProductDraftBuilder.of()
+        .key("product-key")
+        .productType(ProductTypeResourceIdentifierBuilder.of().key("product-type-key").build())
+        .name(LocalizedString.ofEnglish("name"))
+        .slug(LocalizedString.ofEnglish("slug"))
+        .masterVariant(masterVariant)
+        .variants(variants)
+        .build();
+  }
+}
@@ -0,0 +1,57 @@
+package com.commercetools.project.sync.product;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercetools.api.models.product.ProductProjection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vrap.rmf.base.client.utils.json.JsonUtils;
+import org.junit.jupiter.api.Test;
+
+class LeanProductProjectionModuleTest {
+  private static final String PRODUCT_PROJECTION =
+      "{\"id\":\"product-id\",\"version\":2,\"key\":\"product-key\","
+          + "\"productType\":{\"typeId\":\"product-type\",\"id\":\"product-type-id\"},"
+          + "\"name\":{\"en\":\"name\"},\"slug\":{\"en\":\"slug\"},"
+          + "\"searchKeywords\":{\"en\":[{\"text\":\"keyword\"}]},"
+          + "\"reviewRatingStatistics\":{\"averageRating\":4.5,\"count\":2},"
+          + "\"createdBy\":{\"isPlatformClient\":true},"
+          + "\"masterVariant\":{\"id\":1,\"sku\":\"sku-1\","
+          + "\"availability\":{\"isOnStock\":true,\"availableQuantity\":3,"
+          + "\"channels\":{\"channel-id\":{\"isOnStock\":true}}},"
+          + "\"isMatchingVariant\":true},"
+          + "\"variants\":[]}";
+
+  @Test
+  void readValue_WithLeanModule_ShouldSkipFieldsNotUsedForDrafts() throws JsonProcessingException {
+    // preparation
+    final ObjectMapper mapper =
+        JsonUtils.createObjectMapper().registerModule(new LeanProductProjectionModule());
+
+    // test
+    final ProductProjection productProjection =
+        mapper.readValue(PRODUCT_PROJECTION, ProductProjection.class);
+
+    // assertions
+    assertThat(productProjection.getReviewRatingStatistics()).isNull();
+    assertThat(productProjection.getCreatedBy()).isNull();
+    assertThat(productProjection.getMasterVariant().getAvailability()).isNull();
+    assertThat(productProjection.getMasterVariant().getIsMatchingVariant()).isNull();
+    assertThat(productProjection.getKey()).isEqualTo("product-key");
+    assertThat(productProjection.getMasterVariant().getSku()).isEqualTo("sku-1");
+    assertThat(productProjection.getSearchKeywords().values().get("en"))
+        .hasSize(1)
+        .allSatisfy(keyword -> assertThat(keyword.getText()).isEqualTo("keyword"));
+  }
+
+  @Test
+  void readValue_WithoutLeanModule_ShouldReadAllFields() throws JsonProcessingException {
+    // test
+    final ProductProjection productProjection =
+        JsonUtils.createObjectMapper().readValue(PRODUCT_PROJECTION, ProductProjection.class);
+
+    // assertions
+    assertThat(productProjection.getReviewRatingStatistics()).isNotNull();
+    assertThat(productProjection.getMasterVariant().getAvailability()).isNotNull();
+  }
+}
@@ -4,27 +4,44 @@ import static com.commercetools.project.sync.util.TestUtils.createBadGatewayExce
 import static com.commercetools.project.sync.util.TestUtils.getMockedClock;
 import static com.commercetools.project.sync.util.TestUtils.mockResourceIdsGraphQlRequest;
 import static com.commercetools.project.sync.util.TestUtils.readObjectFromResource;
+import static com.commercetools.project.sync.util.TestUtils.stubClientsCustomObjectService;
 import static com.commercetools.project.sync.util.TestUtils.withTestClient;
+import static java.lang.String.format;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.commercetools.api.client.ByProjectKeyGraphqlPost;
 import com.commercetools.api.client.ByProjectKeyProductProjectionsGet;
 import com.commercetools.api.client.ProjectApiRoot;
 import com.commercetools.api.defaultconfig.ApiRootBuilder;
+import com.commercetools.api.models.custom_object.CustomObjectDraft;
 import com.commercetools.api.models.graph_ql.GraphQLRequest;
 import com.commercetools.api.models.product.Product;
 import com.commercetools.api.models.product.ProductDraft;
 import com.commercetools.api.models.product.ProductMixin;
 import com.commercetools.api.models.product.ProductProjection;
 import com.commercetools.api.models.product.ProductProjectionType;
+import com.commercetools.project.sync.DraftPostProcessor;
+import com.commercetools.project.sync.SyncModuleOption;
+import com.commercetools.project.sync.changefeed.ChangeFeed;
 import com.commercetools.project.sync.model.ProductSyncCustomRequest;
+import com.commercetools.project.sync.model.response.LastSyncCustomObject;
 import com.commercetools.sync.commons.exceptions.ReferenceTransformException;
 import com.commercetools.sync.products.ProductSync;
+import com.commercetools.sync.products.ProductSyncOptions;
+import com.commercetools.sync.products.helpers.ProductSyncStatistics;
 import com.commercetools.sync.products.utils.AttributeUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.github.valfirst.slf4jtest.TestLogger;
@@ -35,13 +52,18 @@ import io.vrap.rmf.base.client.error.BadGatewayException;
 import io.vrap.rmf.base.client.utils.CompletableFutureUtils;
 import io.vrap.rmf.base.client.utils.json.JsonUtils;
 import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import javax.annotation.Nonnull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
 
 class ProductSyncerTest {
 
@@ -66,6 +88,12 @@ class ProductSyncerTest {
     assertThat(productSyncer).isNotNull();
     assertThat(productSyncer.getQuery()).isEqualTo(getMock);
     assertThat(productSyncer.getSync()).isExactlyInstanceOf(ProductSync.class);
+    assertThat(productSyncer.supportsDeletion())
+        .isEqualTo(SyncModuleOption.PRODUCT_SYNC.supportsDeletion())
+        .isTrue();
+    assertThat(productSyncer.supportsPartitions())
+        .isEqualTo(SyncModuleOption.PRODUCT_SYNC.supportsPartitions())
+        .isTrue();
   }
 
   @Test
@@ -195,7 +223,7 @@ class ProductSyncerTest {
   }
 
   @Test
-  void transform_WithDiscountedPrices_ShouldRemoveDiscountedPrices() {
+  void transformAndPostProcess_WithDiscountedPrices_ShouldRemoveDiscountedPrices() {
     // preparation
     final ProjectApiRoot sourceClient = mock(ProjectApiRoot.class);
     final ProductSyncer productSyncer =
@@ -210,7 +238,9 @@ class ProductSyncerTest {
 
     // test
     final List<ProductDraft> draftsFromPageStage =
-        productSyncer.transform(singletonList(productProjection)).toCompletableFuture().join();
+        DraftPostProcessor.processAll(
+            productSyncer.transform(singletonList(productProjection)).toCompletableFuture().join(),
+            productSyncer.getDraftPostProcessor());
 
     final Optional<ProductDraft> productDraftKey1 =
         draftsFromPageStage.stream()
@@ -309,4 +339,314 @@ class ProductSyncerTest {
     assertThat(query.getLimit().get(0)).isEqualTo("100");
     assertThat(query.getWhere()).contains(customQuery);
   }
+
+  @Test
+  void toPartitionPredicates_ShouldDistributeProductTypesRoundRobin() {
+    // preparation
+    final List<String> productTypeIds = List.of("type-1", "type-2", "type-3", "type-4", "type-5");
+
+    // test
+    final List<String> predicates = ProductSyncer.toPartitionPredicates(productTypeIds, 2);
+
+    // assertion
+    assertThat(predicates)
+        .containsExactly(
+            "productType(id in (\"type-1\", \"type-3\", \"type-5\"))",
+            "productType(id in (\"type-2\", \"type-4\"))");
+  }
+
+  @Test
+  void toPartitionPredicates_WithFewerProductTypesThanPartitions_ShouldNotCreateEmptyPartitions() {
+    // test and assertion
+    assertThat(ProductSyncer.toPartitionPredicates(List.of("type-1"), 4))
+        .containsExactly("productType(id in (\"type-1\"))");
+  }
+
+  @Test
+  void sync_WithProductTypePartitions_ShouldAddPartitionStatisticsBeforeUpdatingLastSync() {
+    // preparation
+    final ProjectApiRoot sourceClient =
+        withTestClient(
+            "testProjectKey",
+            (uri, method, requestBody) -> {
+              final String responseBody;
+              if (uri.contains("product-types")) {
+                responseBody = "{\"results\":[{\"id\":\"type-1\"},{\"id\":\"type-2\"}]}";
+              } else if (uri.contains("product-projections")) {
+                responseBody = "{\"results\":[{\"id\":\"product-1\"}]}";
+              } else {
+                responseBody = "{\"results\":[]}";
+              }
+              return CompletableFuture.completedFuture(
+                  new ApiHttpResponse<>(200, null, responseBody.getBytes(StandardCharsets.UTF_8)));
+            });
+    final ProjectApiRoot targetClient = mock(ProjectApiRoot.class);
+    when(targetClient.getProjectKey()).thenReturn("testTargetProjectKey");
+    stubClientsCustomObjectService(targetClient, ZonedDateTime.now());
+
+    final ProductSyncStatistics partitionStatistics1 = new ProductSyncStatistics();
+    partitionStatistics1.incrementProcessed(2);
+    partitionStatistics1.incrementCreated(2);
+    final ProductSyncStatistics partitionStatistics2 = new ProductSyncStatistics();
+    partitionStatistics2.incrementProcessed(3);
+    partitionStatistics2.incrementUpdated(1);
+    partitionStatistics2.incrementFailed(1);
+    partitionStatistics2.addMissingDependency("parent-key", "product-3");
+    final ProductSync partitionSync1 = mockPartitionSync(partitionStatistics1);
+    final ProductSync partitionSync2 = mockPartitionSync(partitionStatistics2);
+
+    final ProductSyncer productSyncer =
+        spy(ProductSyncer.of(sourceClient, targetClient, getMockedClock(), null, 2, false));
+    doReturn(partitionSync1, partitionSync2).when(productSyncer).createPartitionSync(2);
+    doReturn(CompletableFuture.completedFuture(Collections.emptyList()))
+        .when(productSyncer)
+        .transform(any());
+
+    // test
+    productSyncer.sync("myRunnerName", false).toCompletableFuture().join();
+
+    // assertions
+    final ProductSyncStatistics statistics = productSyncer.getSync().getStatistics();
+    assertThat(statistics.getProcessed()).hasValue(5);
+    assertThat(statistics.getCreated()).hasValue(2);
+    assertThat(statistics.getUpdated()).hasValue(1);
+    assertThat(statistics.getFailed()).hasValue(1);
+    assertThat(statistics.getNumberOfProductsWithMissingParents()).isEqualTo(1);
+
+    final ArgumentMatcher<CustomObjectDraft> isLastSyncCustomObjectDraft =
+        draft -> draft.getValue() instanceof LastSyncCustomObject;
+    verify(targetClient.customObjects(), times(1)).post(argThat(isLastSyncCustomObjectDraft));
+    for (ProductSync partitionSync : List.of(partitionSync1, partitionSync2)) {
+      final InOrder inOrder = inOrder(partitionSync, targetClient.customObjects());
+      inOrder.verify(partitionSync).sync(any());
+      inOrder.verify(targetClient.customObjects()).post(argThat(isLastSyncCustomObjectDraft));
+    }
+  }
+
+  @Nonnull
+  private static ProductSync mockPartitionSync(@Nonnull final ProductSyncStatistics statistics) {
+    final ProductSync partitionSync = mock(ProductSync.class);
+    when(partitionSync.sync(any())).thenReturn(CompletableFuture.completedFuture(statistics));
+    when(partitionSync.getStatistics()).thenReturn(statistics);
+    return partitionSync;
+  }
+
+  @Test
+  void syncFastPath_WithPriceOnlyProducts_ShouldSyncPricesAndExcludeThemFromFullSync() {
+    // preparation
+    final ProductSyncer productSyncer = spyPriceFastPathSyncer(mockProductPricesResponse());
+    final List<ProductDraft> drafts =
+        List.of(mockProductDraft("product-key-1"), mockProductDraft("product-key-2"));
+    doReturn(CompletableFuture.completedFuture(drafts)).when(productSyncer).transform(any());
+    final ProductSync priceSync = stubPriceSync(productSyncer, Set.of());
+
+    // test
+    final Set<String> syncedProductIds =
+        productSyncer.syncFastPath(mockChangeFeed()).toCompletableFuture().join();
+
+    // assertions
+    assertThat(syncedProductIds).containsExactlyInAnyOrder("product-1", "product-2");
+    verify(priceSync).sync(drafts);
+  }
+
+  @Test
+  void syncFastPath_WithProductsMissingInTarget_ShouldLeaveThemToFullSync() {
+    // preparation
+    final ProductSyncer productSyncer = spyPriceFastPathSyncer(mockProductPricesResponse());
+    final List<ProductDraft> drafts =
+        List.of(mockProductDraft("product-key-1"), mockProductDraft("product-key-2"));
+    doReturn(CompletableFuture.completedFuture(drafts)).when(productSyncer).transform(any());
+    stubPriceSync(productSyncer, Set.of("product-key-2"));
+
+    // test
+    final Set<String> syncedProductIds =
+        productSyncer.syncFastPath(mockChangeFeed()).toCompletableFuture().join();
+
+    // assertions
+    assertThat(syncedProductIds).containsExactly("product-1");
+    assertThat(productSyncer.getSync().getStatistics().getProcessed()).hasValue(1);
+  }
+
+  @Test
+  void syncFastPath_WithUpdatesWithoutMessages_ShouldLeaveProductsToFullSync() {
+    // preparation: product-1 was updated after its last price message, and the update of
+    // product-2 before its first price message in the feed created no message.
+    final ProjectApiRoot sourceClient =
+        mockSourceClient(
+            previousMessage("product-1", 1),
+            productPricesResult("product-1", "product-key-1", 3));
+    final ProductSyncer productSyncer = spyPriceFastPathSyncer(sourceClient);
+    doReturn(CompletableFuture.completedFuture(List.of())).when(productSyncer).transform(any());
+    final ProductSync priceSync = stubPriceSync(productSyncer, Set.of());
+
+    // test
+    final Set<String> syncedProductIds =
+        productSyncer.syncFastPath(mockChangeFeed()).toCompletableFuture().join();
+
+    // assertions
+    assertThat(syncedProductIds).isEmpty();
+    verify(productSyncer).transform(List.of());
+    verify(priceSync).sync(List.of());
+  }
+
+  @Test
+  void syncFastPath_WithErrorOnGraphQlRequest_ShouldLeaveAllProductsToFullSync() {
+    // preparation
+    final String messagesResponse =
+        toMessagesResponse(previousMessage("product-1", 1) + "," + previousMessage("product-2", 2));
+    final BadGatewayException badGatewayException = createBadGatewayException();
+    final ProjectApiRoot sourceClient =
+        withTestClient(
+            "testProjectKey",
+            (uri, method, requestBody) ->
+                uri.contains("/messages")
+                    ? CompletableFuture.completedFuture(
+                        new ApiHttpResponse<>(
+                            200, null, messagesResponse.getBytes(StandardCharsets.UTF_8)))
+                    : CompletableFutureUtils.failed(badGatewayException));
+    final ProductSyncer productSyncer = spyPriceFastPathSyncer(sourceClient);
+
+    // test
+    final Set<String> syncedProductIds =
+        productSyncer.syncFastPath(mockChangeFeed()).toCompletableFuture().join();
+
+    // assertions
+    assertThat(syncedProductIds).isEmpty();
+    verify(productSyncer, never()).transform(any());
+    assertThat(productSyncer.getSync().getStatistics().getProcessed()).hasValue(0);
+    assertThat(testLogger.getAllLoggingEvents())
+        .anySatisfy(
+            loggingEvent -> {
+              assertThat(loggingEvent.getMessage())
+                  .isEqualTo(
+                      "Failed to sync the prices of the products with only price changes. The "
+                          + "products are synced with all their fields instead.");
+              assertThat(loggingEvent.getThrowable()).isPresent();
+            });
+  }
+
+  @Nonnull
+  private static ProductSyncer spyPriceFastPathSyncer(@Nonnull final ProjectApiRoot sourceClient) {
+    return spy(
+        ProductSyncer.of(
+            sourceClient, mock(ProjectApiRoot.class), getMockedClock(), null, 1, true));
+  }
+
+  /**
+   * Returns a source client whose messages of the versions before the change feed are the ones of
+   * the products with only price changes of {@link #mockChangeFeed()}, and whose products are
+   * these products at the versions of their last price messages.
+   */
+  @Nonnull
+  private static ProjectApiRoot mockProductPricesResponse() {
+    return mockSourceClient(
+        previousMessage("product-1", 1) + "," + previousMessage("product-2", 2),
+        productPricesResult("product-1", "product-key-1", 2)
+            + ","
+            + productPricesResult("product-2", "product-key-2", 3));
+  }
+
+  @Nonnull
+  private static ProjectApiRoot mockSourceClient(
+      @Nonnull final String messages, @Nonnull final String productPricesResults) {
+    final String messagesResponse = toMessagesResponse(messages);
+    final String productsResponse =
+        "{\"data\":{\"products\":{\"results\":[" + productPricesResults + "]}}}";
+    return withTestClient(
+        "testProjectKey",
+        (uri, method, requestBody) -> {
+          final String response = uri.contains("/messages") ? messagesResponse : productsResponse;
+          return CompletableFuture.completedFuture(
+              new ApiHttpResponse<>(200, null, response.getBytes(StandardCharsets.UTF_8)));
+        });
+  }
+
+  @Nonnull
+  private static String toMessagesResponse(@Nonnull final String messages) {
+    return "{\"limit\":500,\"offset\":0,\"count\":2,\"results\":[" + messages + "]}";
+  }
+
+  /** Returns a message of the given version of the product, which is older than the change feed. */
+  @Nonnull
+  private static String previousMessage(@Nonnull final String productId, final long version) {
+    return format(
+        "{\"id\":\"message-%s\",\"version\":1,\"sequenceNumber\":%d,"
+            + "\"resource\":{\"typeId\":\"product\",\"id\":\"%s\"},\"resourceVersion\":%d,"
+            + "\"type\":\"ProductUnpublished\",\"createdAt\":\"2024-01-01T10:00:00.000Z\","
+            + "\"lastModifiedAt\":\"2024-01-01T10:00:00.000Z\"}",
+        productId, version, productId, version);
+  }
+
+  @Nonnull
+  private static String productPricesResult(
+      @Nonnull final String productId, @Nonnull final String productKey, final long version) {
+    return format(
+        "{\"id\":\"%s\",\"version\":%d,\"key\":\"%s\","
+            + "\"productType\":{\"id\":\"product-type-id\",\"key\":\"product-type-key\"},"
+            + "\"masterData\":{\"published\":false,\"staged\":{"
+            + "\"masterVariant\":{\"id\":1,\"sku\":\"%s-sku\",\"prices\":[]},"
+            + "\"variants\":[]}}}",
+        productId, version, productKey, productKey);
+  }
+
+  /**
+   * Returns a change feed with two products which only have price changes, product-1 at version 2
+   * and product-2 at version 3, and a product which also has other changes.
+   */
+  @Nonnull
+  private static ChangeFeed mockChangeFeed() {
+    final ChangeFeed changeFeed = new ChangeFeed();
+    changeFeed.add("product-1", 1, "product-key-1", "ProductPriceChanged", 2L);
+    changeFeed.add("product-2", 2, "product-key-2", "ProductPriceAdded", 3L);
+    changeFeed.add("product-3", 3, "product-key-3", "ProductPriceChanged", 4L);
+    changeFeed.add("product-3", 4, "product-key-3", "ProductPublished", 5L);
+    return changeFeed;
+  }
+
+  @Nonnull
+  private static ProductDraft mockProductDraft(@Nonnull final String key) {
+    final ProductDraft productDraft = mock(ProductDraft.class);
+    when(productDraft.getKey()).thenReturn(key);
+    return productDraft;
+  }
+
+  /**
+   * Stubs the price sync of the given syncer with a mock, which counts the drafts as processed and
+   * passes the drafts with the given keys to the before create callback of the real price sync
+   * options, as a product sync does for the drafts of products which don't exist in the target
+   * project.
+   */
+  @Nonnull
+  private static ProductSync stubPriceSync(
+      @Nonnull final ProductSyncer productSyncer, @Nonnull final Set<String> missingTargetKeys) {
+    final ProductSync priceSync = mock(ProductSync.class);
+    final ProductSyncStatistics priceSyncStatistics = new ProductSyncStatistics();
+    when(priceSync.getStatistics()).thenReturn(priceSyncStatistics);
+    doAnswer(
+            invocation -> {
+              final ProductSyncOptions priceSyncOptions =
+                  productSyncer.createPriceSyncOptions(invocation.getArgument(0));
+              when(priceSync.sync(any()))
+                  .thenAnswer(
+                      syncInvocation -> {
+                        final List<ProductDraft> drafts = syncInvocation.getArgument(0);
+                        priceSyncStatistics.incrementProcessed(drafts.size());
+                        drafts.stream()
+                            .filter(draft -> missingTargetKeys.contains(draft.getKey()))
+                            .forEach(priceSyncOptions::applyBeforeCreateCallback);
+                        return CompletableFuture.completedFuture(priceSync.getStatistics());
+                      });
+              return priceSync;
+            })
+        .when(productSyncer)
+        .createPriceSync(any());
+    return priceSync;
+  }
+
+  @Test
+  void toIdPredicate_ShouldQuoteIds() {
+    // test and assertion
+    assertThat(ProductSyncer.toIdPredicate(List.of("id-1", "id-2")))
+        .isEqualTo("id in (\"id-1\", \"id-2\")");
+  }
 }
@@ -0,0 +1,39 @@
+package com.commercetools.project.sync.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+  @Test
+  void tryAcquire_WithinMinRetries_ShouldAllowRetries() {
+    final RetryBudget retryBudget = RetryBudget.of(2, 0);
+
+    assertThat(retryBudget.tryAcquire()).isTrue();
+    assertThat(retryBudget.tryAcquire()).isTrue();
+    assertThat(retryBudget.tryAcquire()).isFalse();
+    assertThat(retryBudget.getRetries()).isEqualTo(2);
+  }
+
+  @Test
+  void tryAcquire_WithMoreRequests_ShouldGrowBudgetByRatio() {
+    // preparation
+    final RetryBudget retryBudget = RetryBudget.of(0, 0.1);
+    for (int i = 0; i < 20; i++) {
+      retryBudget.recordRequest();
+    }
+
+    // test and assertion
+    assertThat(retryBudget.tryAcquire()).isTrue();
+    assertThat(retryBudget.tryAcquire()).isTrue();
+    assertThat(retryBudget.tryAcquire()).isFalse();
+    assertThat(retryBudget.getRequests()).isEqualTo(20);
+  }
+
+  @Test
+  void of_WithNegativeRatio_ShouldThrowIllegalArgumentException() {
+    assertThatThrownBy(() -> RetryBudget.of(1, -0.1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
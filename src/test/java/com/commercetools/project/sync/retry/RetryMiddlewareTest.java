@@ -0,0 +1,165 @@
+package com.commercetools.project.sync.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.vrap.rmf.base.client.ApiHttpHeaders;
+import io.vrap.rmf.base.client.ApiHttpMethod;
+import io.vrap.rmf.base.client.ApiHttpRequest;
+import io.vrap.rmf.base.client.ApiHttpResponse;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class RetryMiddlewareTest {
+  private static final ApiHttpRequest REQUEST =
+      new ApiHttpRequest(
+          ApiHttpMethod.GET,
+          URI.create("https://api.example.com/project-key/products?limit=500"),
+          new ApiHttpHeaders(),
+          (byte[]) null);
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2023-01-01T10:00:00Z"), ZoneOffset.UTC);
+
+  private final AtomicInteger sentRequests = new AtomicInteger();
+
+  @Test
+  void invoke_WithThrottledResponses_ShouldRetryUntilSuccess() {
+    // preparation
+    final RetryStatistics statistics = RetryStatistics.of(UUID.randomUUID().toString());
+    final RetryMiddleware retryMiddleware = retryMiddleware(5, RetryBudget.of(), statistics);
+
+    // test
+    final ApiHttpResponse<byte[]> response =
+        retryMiddleware.invoke(REQUEST, respondWith(429, 503, 200)).join();
+
+    // assertion
+    assertThat(response.getStatusCode()).isEqualTo(200);
+    assertThat(sentRequests).hasValue(3);
+    assertThat(statistics.getRetries()).isEqualTo(2);
+    assertThat(statistics.getThrottledRetries()).isEqualTo(1);
+    assertThat(statistics.getRetriesByResource()).containsEntry("products", 2L);
+  }
+
+  @Test
+  void invoke_WithNonRetryableStatusCode_ShouldNotRetry() {
+    // preparation
+    final RetryStatistics statistics = RetryStatistics.of(UUID.randomUUID().toString());
+    final RetryMiddleware retryMiddleware = retryMiddleware(5, RetryBudget.of(), statistics);
+
+    // test
+    final ApiHttpResponse<byte[]> response =
+        retryMiddleware.invoke(REQUEST, respondWith(409, 200)).join();
+
+    // assertion
+    assertThat(response.getStatusCode()).isEqualTo(409);
+    assertThat(sentRequests).hasValue(1);
+    assertThat(statistics.getRetries()).isZero();
+  }
+
+  @Test
+  void invoke_WithMaxRetriesReached_ShouldReturnLastResponse() {
+    // preparation
+    final RetryStatistics statistics = RetryStatistics.of(UUID.randomUUID().toString());
+    final RetryMiddleware retryMiddleware = retryMiddleware(2, RetryBudget.of(), statistics);
+
+    // test
+    final ApiHttpResponse<byte[]> response =
+        retryMiddleware.invoke(REQUEST, respondWith(500, 502, 504, 200)).join();
+
+    // assertion
+    assertThat(response.getStatusCode()).isEqualTo(504);
+    assertThat(sentRequests).hasValue(3);
+  }
+
+  @Test
+  void invoke_WithExhaustedRetryBudget_ShouldNotRetry() {
+    // preparation
+    final RetryStatistics statistics = RetryStatistics.of(UUID.randomUUID().toString());
+    final RetryMiddleware retryMiddleware = retryMiddleware(5, RetryBudget.of(1, 0), statistics);
+
+    // test
+    final ApiHttpResponse<byte[]> response =
+        retryMiddleware.invoke(REQUEST, respondWith(503, 503, 200)).join();
+
+    // assertion
+    assertThat(response.getStatusCode()).isEqualTo(503);
+    assertThat(sentRequests).hasValue(2);
+    assertThat(statistics.getRetries()).isEqualTo(1);
+    assertThat(statistics.getDeniedRetries()).isEqualTo(1);
+  }
+
+  @Test
+  void getDelayInMillis_WithoutRetryAfter_ShouldReturnJitteredExponentialDelay() {
+    final RetryMiddleware retryMiddleware =
+        new RetryMiddleware(
+            5,
+            Duration.ofMillis(100),
+            Duration.ofMillis(1_000),
+            RetryBudget.of(),
+            RetryStatistics.of(UUID.randomUUID().toString()),
+            () -> 0.5,
+            CLOCK);
+
+    assertThat(retryMiddleware.getDelayInMillis(0, null)).isEqualTo(50);
+    assertThat(retryMiddleware.getDelayInMillis(2, null)).isEqualTo(200);
+    assertThat(retryMiddleware.getDelayInMillis(10, null)).isEqualTo(500);
+    assertThat(retryMiddleware.getDelayInMillis(0, 3_000L)).isEqualTo(1_000);
+    assertThat(retryMiddleware.getDelayInMillis(0, 300L)).isEqualTo(300);
+  }
+
+  @Test
+  void getRetryAfterInMillis_WithSecondsOrHttpDate_ShouldParseDelay() {
+    final RetryMiddleware retryMiddleware =
+        retryMiddleware(5, RetryBudget.of(), RetryStatistics.of(UUID.randomUUID().toString()));
+
+    assertThat(retryMiddleware.getRetryAfterInMillis(responseWithRetryAfter("2"), null))
+        .isEqualTo(2_000L);
+    assertThat(
+            retryMiddleware.getRetryAfterInMillis(
+                responseWithRetryAfter("Sun, 01 Jan 2023 10:00:05 GMT"), null))
+        .isEqualTo(5_000L);
+    assertThat(retryMiddleware.getRetryAfterInMillis(responseWithRetryAfter("soon"), null))
+        .isNull();
+    assertThat(retryMiddleware.getRetryAfterInMillis(new ApiHttpResponse<>(429, null, null), null))
+        .isNull();
+  }
+
+  private static RetryMiddleware retryMiddleware(
+      final int maxRetries,
+      final RetryBudget retryBudget,
+      final RetryStatistics retryStatistics) {
+    return new RetryMiddleware(
+        maxRetries,
+        Duration.ofMillis(1),
+        Duration.ofMillis(10),
+        retryBudget,
+        retryStatistics,
+        () -> 0.5,
+        CLOCK);
+  }
+
+  private static ApiHttpResponse<byte[]> responseWithRetryAfter(final String retryAfter) {
+    return new ApiHttpResponse<>(
+        429, new ApiHttpHeaders().withHeader("Retry-After", retryAfter), null);
+  }
+
+  private Function<ApiHttpRequest, CompletableFuture<ApiHttpResponse<byte[]>>> respondWith(
+      final Integer... statusCodes) {
+    final Deque<Integer> remainingStatusCodes = new ArrayDeque<>(Arrays.asList(statusCodes));
+    return request -> {
+      sentRequests.incrementAndGet();
+      return CompletableFuture.completedFuture(
+          new ApiHttpResponse<>(remainingStatusCodes.poll(), null, new byte[0]));
+    };
+  }
+}
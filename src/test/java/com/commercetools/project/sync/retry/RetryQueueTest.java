@@ -0,0 +1,106 @@
+package com.commercetools.project.sync.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercetools.api.models.state.StateDraft;
+import com.commercetools.api.models.state.StateDraftBuilder;
+import com.commercetools.api.models.state.StateTypeEnum;
+import com.commercetools.sync.commons.exceptions.ReferenceResolutionException;
+import com.commercetools.sync.commons.exceptions.SyncException;
+import com.commercetools.sync.states.StateSync;
+import io.vrap.rmf.base.client.ApiHttpException;
+import io.vrap.rmf.base.client.ApiHttpHeaders;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RetryQueueTest {
+
+  private final AtomicInteger recordedFailures = new AtomicInteger();
+
+  @AfterEach
+  void tearDown() {
+    RetryQueue.of(StateSync.class).drain();
+    RetryQueue.of(StateSync.class).recordPendingFailures();
+  }
+
+  @Test
+  void isRetriable_WithTransientErrors_ShouldBeTrue() {
+    // test and assertion
+    assertThat(RetryQueue.isRetriable(httpException(409))).isTrue();
+    assertThat(RetryQueue.isRetriable(new CompletionException(httpException(503)))).isTrue();
+    assertThat(RetryQueue.isRetriable(new SyncException("failed", new TimeoutException())))
+        .isTrue();
+  }
+
+  @Test
+  void isRetriable_WithPermanentErrors_ShouldBeFalse() {
+    // test and assertion
+    assertThat(RetryQueue.isRetriable(httpException(400))).isFalse();
+    assertThat(
+            RetryQueue.isRetriable(
+                new SyncException("failed", new ReferenceResolutionException("missing"))))
+        .isFalse();
+    assertThat(RetryQueue.isRetriable(null)).isFalse();
+  }
+
+  @Test
+  void offer_WithTransientAndPermanentErrors_ShouldQueueDistinctKeysOfTransientErrors() {
+    // preparation
+    final SyncException transientException =
+        new SyncException("failed", new CompletionException(httpException(409)));
+
+    // test
+    offer(transientException, Optional.of(stateDraft("state-1")));
+    offer(
+        new SyncException("failed", new ReferenceResolutionException("missing")),
+        Optional.of(stateDraft("state-2")));
+    offer(transientException, Optional.of(stateDraft("state-3")));
+    offer(transientException, Optional.of(stateDraft("state-1")));
+    offer(transientException, Optional.empty());
+
+    // assertions
+    assertThat(RetryQueue.of(StateSync.class).drain()).containsExactly("state-1", "state-3");
+    assertThat(RetryQueue.of(StateSync.class).drain()).isEmpty();
+    assertThat(recordedFailures).hasValue(2);
+  }
+
+  @Test
+  void recordPendingFailures_WithFailureRemovedByRetry_ShouldOnlyRecordRemainingFailures() {
+    // preparation
+    final SyncException transientException =
+        new SyncException("failed", new CompletionException(httpException(503)));
+    offer(transientException, Optional.of(stateDraft("state-1")));
+    offer(transientException, Optional.of(stateDraft("state-2")));
+    final RetryQueue retryQueue = RetryQueue.of(StateSync.class);
+    retryQueue.drain();
+
+    // test
+    final boolean isState1Removed = retryQueue.removePendingFailure("state-1");
+    final boolean isState3Removed = retryQueue.removePendingFailure("state-3");
+    final int recordedFailuresBeforeRetriesAreOver = recordedFailures.get();
+    retryQueue.recordPendingFailures();
+
+    // assertions
+    assertThat(isState1Removed).isTrue();
+    assertThat(isState3Removed).isFalse();
+    assertThat(recordedFailuresBeforeRetriesAreOver).isZero();
+    assertThat(recordedFailures).hasValue(1);
+  }
+
+  private void offer(final SyncException exception, final Optional<StateDraft> newResourceDraft) {
+    RetryQueue.offer(
+        StateSync.class, exception, newResourceDraft, recordedFailures::incrementAndGet);
+  }
+
+  private static ApiHttpException httpException(final int statusCode) {
+    return new ApiHttpException(statusCode, "", new ApiHttpHeaders());
+  }
+
+  private static StateDraft stateDraft(final String key) {
+    return StateDraftBuilder.of().key(key).type(StateTypeEnum.PRODUCT_STATE).build();
+  }
+}
@@ -0,0 +1,41 @@
+package com.commercetools.project.sync.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class RetryStatisticsTest {
+
+  @Test
+  void getSyncModuleRetries_ShouldCountRetriesOfEndpointsOfModuleOfAllClients() {
+    // preparation
+    final long productSyncRetriesBefore = RetryStatistics.getSyncModuleRetries("ProductSync");
+    final long productSyncThrottledRetriesBefore =
+        RetryStatistics.getSyncModuleThrottledRetries("ProductSync");
+    final long categorySyncRetriesBefore = RetryStatistics.getSyncModuleRetries("CategorySync");
+    final RetryStatistics sourceStatistics = RetryStatistics.of(UUID.randomUUID().toString());
+    final RetryStatistics targetStatistics = RetryStatistics.of(UUID.randomUUID().toString());
+
+    // test
+    sourceStatistics.incrementRetries("product-projections", false);
+    targetStatistics.incrementRetries("products", true);
+    targetStatistics.incrementRetries("graphql", true);
+
+    // assertions
+    assertThat(RetryStatistics.getSyncModuleRetries("ProductSync") - productSyncRetriesBefore)
+        .isEqualTo(2);
+    assertThat(
+            RetryStatistics.getSyncModuleThrottledRetries("ProductSync")
+                - productSyncThrottledRetriesBefore)
+        .isEqualTo(1);
+    assertThat(RetryStatistics.getSyncModuleRetries("CategorySync"))
+        .isEqualTo(categorySyncRetriesBefore);
+    assertThat(RetryStatistics.getSyncModuleRetries("CustomObjectSync")).isZero();
+    assertThat(RetryStatistics.getRetriesBySyncModule())
+        .containsKey("ProductSync")
+        .doesNotContainKey("CustomObjectSync");
+    assertThat(targetStatistics.getRetries()).isEqualTo(2);
+    assertThat(targetStatistics.getThrottledRetries()).isEqualTo(2);
+  }
+}
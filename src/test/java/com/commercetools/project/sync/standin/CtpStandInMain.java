@@ -0,0 +1,87 @@
+package com.commercetools.project.sync.standin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import javax.annotation.Nonnull;
+
+/**
+ * Runs a source and a target {@link CtpStandInServer} in their own process, e.g. for the training
+ * run of the AppCDS archive in the Dockerfile, which syncs all modules from the source to the
+ * target stand-in. The source is seeded with categories, a product type and products referencing
+ * them, so the training run creates resources in the target like a real sync.
+ *
+ * <p>Arguments: the port of the source, the port of the target and a file which is created once
+ * both stand-ins are ready. The stand-ins run until the process is terminated.
+ */
+public final class CtpStandInMain {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final int NUMBER_OF_CATEGORIES = 30;
+  private static final int NUMBER_OF_PRODUCTS = 30;
+
+  public static void main(@Nonnull final String[] args) throws IOException, InterruptedException {
+    final CtpStandInServer source = CtpStandInServer.start(Integer.parseInt(args[0]), 4);
+    final CtpStandInServer target = CtpStandInServer.start(Integer.parseInt(args[1]), 4);
+    seed(source);
+    Files.createFile(Paths.get(args[2]));
+    try {
+      new CountDownLatch(1).await();
+    } finally {
+      source.close();
+      target.close();
+    }
+  }
+
+  private static void seed(@Nonnull final CtpStandInServer source) {
+    for (int i = 0; i < NUMBER_OF_CATEGORIES; i++) {
+      final ObjectNode draft = OBJECT_MAPPER.createObjectNode().put("key", "category-" + i);
+      draft.putObject("name").put("en", "category " + i);
+      draft.putObject("slug").put("en", "category-" + i);
+      if (i % 3 == 2) {
+        draft.putObject("parent").put("typeId", "category").put("key", "category-" + (i - 1));
+      }
+      source.create("categories", draft);
+    }
+
+    final ObjectNode productTypeDraft =
+        OBJECT_MAPPER
+            .createObjectNode()
+            .put("key", "product-type")
+            .put("name", "product type")
+            .put("description", "product type");
+    productTypeDraft.putArray("attributes");
+    source.create("product-types", productTypeDraft);
+
+    for (int i = 0; i < NUMBER_OF_PRODUCTS; i++) {
+      final ObjectNode draft = OBJECT_MAPPER.createObjectNode().put("key", "product-" + i);
+      draft.putObject("productType").put("typeId", "product-type").put("key", "product-type");
+      draft.putObject("name").put("en", "product " + i);
+      draft.putObject("slug").put("en", "product-" + i);
+      draft
+          .putArray("categories")
+          .addObject()
+          .put("typeId", "category")
+          .put("key", "category-" + i % NUMBER_OF_CATEGORIES);
+      final ObjectNode price =
+          draft
+              .putObject("masterVariant")
+              .put("sku", "sku-" + i)
+              .put("key", "variant-" + i)
+              .putArray("prices")
+              .addObject()
+              .put("key", "price-" + i);
+      price
+          .putObject("value")
+          .put("type", "centPrecision")
+          .put("currencyCode", "EUR")
+          .put("centAmount", 100 + i)
+          .put("fractionDigits", 2);
+      source.create("products", draft);
+    }
+  }
+
+  private CtpStandInMain() {}
+}
@@ -0,0 +1,682 @@
+package com.commercetools.project.sync.standin;
+
+import static java.lang.String.format;
+
+import com.commercetools.api.client.ProjectApiRoot;
+import com.commercetools.api.defaultconfig.ApiRootBuilder;
+import com.commercetools.project.sync.util.CtpClientFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.vrap.rmf.base.client.oauth2.ClientCredentials;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An in-process stand-in for the commercetools HTTP API, which serves the endpoints the syncers
+ * use from in-memory {@link ResourceStore}s, so that the syncers (and {@code SyncerFactory} end to
+ * end) can be tested and benchmarked without network access and without a commercetools project.
+ *
+ * <p>The stand-in serves:
+ *
+ * <ul>
+ *   <li>the client credentials flow on {@link #getAuthUrl()}, which accepts any credentials,
+ *   <li>paged queries ({@code where}, {@code sort}, {@code limit}, {@code offset}, {@code
+ *       withTotal}) of every resource endpoint, with the predicates supported by {@link
+ *       QueryPredicate},
+ *   <li>reads, updates and deletions by id or key, and creation from drafts. References given by
+ *       key (e.g. {@code {"typeId": "category", "key": "parent"}}) are resolved to ids on creation,
+ *   <li>custom objects, including the upsert by container and key,
+ *   <li>products, which are stored as staged projections and served as projections on {@code
+ *       product-projections} and as products on {@code products},
+ *   <li>the GraphQL queries the syncers use to resolve keys to ids and vice versa, i.e. queries of
+ *       the form {@code categories(where: $where, limit: $limit) { results { id key } } }. All
+ *       other GraphQL queries are answered with a 400, so the source readers fall back to REST.
+ * </ul>
+ *
+ * <p>A fixed latency can be added to every API request with {@link #withLatency(Duration)} and a
+ * fraction of the API requests can be failed with {@link #withErrorRate(double, int)}, to exercise
+ * the retry and hedging middlewares of the clients of {@link #createSourceClient()} and {@link
+ * #createTargetClient()}, which are built like the clients of a run.
+ */
+public final class CtpStandInServer implements AutoCloseable {
+  public static final String PROJECT_KEY = "stand-in-project";
+  static final String OAUTH_TOKEN_PATH = "/oauth/token";
+  static final int DEFAULT_LIMIT = 20;
+  static final int MAX_LIMIT = 500;
+
+  private static final Pattern GRAPHQL_QUERY =
+      Pattern.compile(
+          "(\\w+)\\s*\\(((?:[^)\"]|\"(?:[^\"\\\\]|\\\\.)*\")*)\\)"
+              + "\\s*\\{\\s*results\\s*\\{([^{}]*)\\}\\s*\\}");
+  private static final Pattern GRAPHQL_ARGUMENT =
+      Pattern.compile("(\\w+)\\s*:\\s*(\\$\\w+|\"(?:[^\"\\\\]|\\\\.)*\"|\\d+)");
+  private static final Map<String, String> RESOURCE_PATHS_BY_TYPE_ID =
+      Map.ofEntries(
+          Map.entry("cart-discount", "cart-discounts"),
+          Map.entry("category", "categories"),
+          Map.entry("channel", "channels"),
+          Map.entry("customer", "customers"),
+          Map.entry("customer-group", "customer-groups"),
+          Map.entry("key-value-document", "custom-objects"),
+          Map.entry("product", "products"),
+          Map.entry("product-type", "product-types"),
+          Map.entry("shopping-list", "shopping-lists"),
+          Map.entry("state", "states"),
+          Map.entry("tax-category", "tax-categories"),
+          Map.entry("type", "types"));
+  private static final Map<String, String> RESOURCE_PATHS_BY_GRAPHQL_FIELD =
+      Map.ofEntries(
+          Map.entry("customObjects", "custom-objects"),
+          Map.entry("inventoryEntries", "inventory"),
+          Map.entry("typeDefinitions", "types"));
+  private static final Set<String> PRODUCT_FIELDS =
+      Set.of(
+          "id",
+          "version",
+          "key",
+          "productType",
+          "taxCategory",
+          "state",
+          "priceMode",
+          "createdAt",
+          "lastModifiedAt");
+
+  private final HttpServer httpServer;
+  private final ExecutorService executor;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<String, ResourceStore> stores = new ConcurrentHashMap<>();
+  private final Clock clock;
+  private final AtomicLong apiRequests = new AtomicLong();
+  private final AtomicLong injectedErrors = new AtomicLong();
+  private volatile long latencyInMillis;
+  private volatile double errorRate;
+  private volatile int errorStatusCode;
+
+  private CtpStandInServer(
+      @Nonnull final HttpServer httpServer,
+      @Nonnull final ExecutorService executor,
+      @Nonnull final Clock clock) {
+    this.httpServer = httpServer;
+    this.executor = executor;
+    this.clock = clock;
+    httpServer.createContext("/", this::handle);
+    httpServer.setExecutor(executor);
+  }
+
+  /** Starts a stand-in on a free port of the loopback interface, with 16 handler threads. */
+  @Nonnull
+  public static CtpStandInServer start() {
+    return start(16);
+  }
+
+  @Nonnull
+  public static CtpStandInServer start(final int numberOfThreads) {
+    return start(0, numberOfThreads);
+  }
+
+  /** Starts a stand-in on the given port of the loopback interface, or on a free port if 0. */
+  @Nonnull
+  public static CtpStandInServer start(final int port, final int numberOfThreads) {
+    try {
+      final HttpServer httpServer =
+          HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+      final ExecutorService executor =
+          Executors.newFixedThreadPool(
+              numberOfThreads,
+              runnable -> {
+                final Thread thread = new Thread(runnable, "ctp-stand-in");
+                thread.setDaemon(true);
+                return thread;
+              });
+      final CtpStandInServer server = new CtpStandInServer(httpServer, executor, Clock.systemUTC());
+      httpServer.start();
+      return server;
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Failed to start the commercetools stand-in.", exception);
+    }
+  }
+
+  @Nonnull
+  public String getApiUrl() {
+    return format("http://localhost:%d", httpServer.getAddress().getPort());
+  }
+
+  @Nonnull
+  public String getAuthUrl() {
+    return getApiUrl() + OAUTH_TOKEN_PATH;
+  }
+
+  /**
+   * Creates a client of the stand-in project, which only uses the default middlewares of the SDK,
+   * so every error of the stand-in reaches the caller without retries.
+   */
+  @Nonnull
+  public ProjectApiRoot createClient() {
+    return ApiRootBuilder.of()
+        .defaultClient(createCredentials(), getAuthUrl(), getApiUrl())
+        .build(PROJECT_KEY);
+  }
+
+  /**
+   * Creates a source client of the stand-in project with the middlewares of the source client of a
+   * run, i.e. the retry, hedging and endpoint metrics middlewares and the lean deserialization.
+   */
+  @Nonnull
+  public ProjectApiRoot createSourceClient() {
+    return CtpClientFactory.createSourceClient(
+        getAuthUrl(), getApiUrl(), createCredentials(), PROJECT_KEY);
+  }
+
+  /**
+   * Creates a target client of the stand-in project with the middlewares of the target client of a
+   * run, including the target key cache middleware.
+   */
+  @Nonnull
+  public ProjectApiRoot createTargetClient() {
+    return CtpClientFactory.createTargetClient(
+        getAuthUrl(), getApiUrl(), createCredentials(), PROJECT_KEY);
+  }
+
+  @Nonnull
+  private static ClientCredentials createCredentials() {
+    return ClientCredentials.of().withClientId("stand-in").withClientSecret("stand-in").build();
+  }
+
+  /** Adds the given latency to every following API request. */
+  @Nonnull
+  public CtpStandInServer withLatency(@Nonnull final Duration latency) {
+    this.latencyInMillis = latency.toMillis();
+    return this;
+  }
+
+  /** Fails the given fraction (0 to 1) of the following API requests with the given status. */
+  @Nonnull
+  public CtpStandInServer withErrorRate(final double errorRate, final int errorStatusCode) {
+    this.errorRate = errorRate;
+    this.errorStatusCode = errorStatusCode;
+    return this;
+  }
+
+  /** Returns the store of the given endpoint, e.g. {@code categories} or {@code custom-objects}. */
+  @Nonnull
+  public ResourceStore getStore(@Nonnull final String resourcePath) {
+    final String storePath = "product-projections".equals(resourcePath) ? "products" : resourcePath;
+    final Function<JsonNode, String> keyFunction =
+        "custom-objects".equals(storePath)
+            ? ResourceStore::getCustomObjectKey
+            : ResourceStore::getKey;
+    return stores.computeIfAbsent(storePath, path -> new ResourceStore(keyFunction, clock));
+  }
+
+  /**
+   * Creates a resource from the given draft like a POST to the given endpoint would, and returns
+   * it as stored, e.g. to prepare the source project of a test or benchmark.
+   */
+  @Nonnull
+  public ObjectNode create(@Nonnull final String resourcePath, @Nonnull final ObjectNode draft) {
+    final ObjectNode resource = draft.deepCopy();
+    resolveKeyReferences(resource);
+    if ("products".equals(resourcePath)) {
+      toStagedProjection(resource);
+    } else if ("categories".equals(resourcePath) && !resource.has("ancestors")) {
+      resource.putArray("ancestors");
+    }
+    return getStore(resourcePath).create(resource);
+  }
+
+  /** Returns the number of API requests served so far, without the token requests. */
+  public long getApiRequests() {
+    return apiRequests.get();
+  }
+
+  public long getInjectedErrors() {
+    return injectedErrors.get();
+  }
+
+  @Override
+  public void close() {
+    httpServer.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(@Nonnull final HttpExchange exchange) throws IOException {
+    try {
+      final String path = exchange.getRequestURI().getRawPath();
+      if (OAUTH_TOKEN_PATH.equals(path)) {
+        respond(exchange, 200, createToken());
+        return;
+      }
+      apiRequests.incrementAndGet();
+      injectLatency();
+      final double currentErrorRate = errorRate;
+      if (currentErrorRate > 0 && ThreadLocalRandom.current().nextDouble() < currentErrorRate) {
+        injectedErrors.incrementAndGet();
+        respond(
+            exchange,
+            errorStatusCode,
+            toErrorBody(errorStatusCode, "General", "Error injected by the stand-in."));
+        return;
+      }
+      try {
+        respond(exchange, 200, route(exchange, decodePath(path)));
+      } catch (StandInException exception) {
+        respond(
+            exchange,
+            exception.getStatusCode(),
+            toErrorBody(
+                exception.getStatusCode(), exception.getErrorCode(), exception.getMessage()));
+      } catch (IllegalArgumentException exception) {
+        respond(exchange, 400, toErrorBody(400, "InvalidInput", exception.getMessage()));
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  @Nonnull
+  private JsonNode route(@Nonnull final HttpExchange exchange, @Nonnull final List<String> path)
+      throws IOException {
+    final String method = exchange.getRequestMethod();
+    if (path.size() == 1 && "GET".equals(method)) {
+      return objectMapper.createObjectNode().put("key", path.get(0));
+    }
+    if (path.size() < 2) {
+      throw notFound(exchange);
+    }
+    final String resourcePath = path.get(1);
+    final Map<String, List<String>> parameters =
+        decodeParameters(exchange.getRequestURI().getRawQuery());
+    if ("graphql".equals(resourcePath) && "POST".equals(method)) {
+      return handleGraphQl(readBody(exchange));
+    }
+    if ("custom-objects".equals(resourcePath)) {
+      return routeCustomObjects(exchange, path, parameters);
+    }
+    final ResourceStore store = getStore(resourcePath);
+    if (path.size() == 2 && "GET".equals(method)) {
+      return toView(resourcePath, query(store, parameters));
+    }
+    if (path.size() == 2 && "POST".equals(method)) {
+      return toView(resourcePath, create(resourcePath, readBody(exchange)));
+    }
+    if (path.size() != 3) {
+      throw notFound(exchange);
+    }
+    final String id =
+        path.get(2).startsWith("key=")
+            ? store
+                .getByKey(path.get(2).substring("key=".length()))
+                .map(resource -> resource.get("id").asText())
+                .orElseThrow(() -> notFound(exchange))
+            : path.get(2);
+    switch (method) {
+      case "GET":
+      case "HEAD":
+        return toView(resourcePath, store.getById(id).orElseThrow(() -> notFound(exchange)));
+      case "POST":
+        final ObjectNode body = readBody(exchange);
+        return toView(
+            resourcePath,
+            store.update(id, body.path("version").asLong(), (ArrayNode) body.path("actions")));
+      case "DELETE":
+        return toView(resourcePath, store.delete(id, getVersion(parameters)));
+      default:
+        throw notFound(exchange);
+    }
+  }
+
+  @Nonnull
+  private JsonNode routeCustomObjects(
+      @Nonnull final HttpExchange exchange,
+      @Nonnull final List<String> path,
+      @Nonnull final Map<String, List<String>> parameters)
+      throws IOException {
+    final String method = exchange.getRequestMethod();
+    final ResourceStore store = getStore("custom-objects");
+    if (path.size() == 2 && "GET".equals(method)) {
+      return query(store, parameters);
+    }
+    if (path.size() == 2 && "POST".equals(method)) {
+      return store.upsert(readBody(exchange));
+    }
+    if (path.size() != 4) {
+      throw notFound(exchange);
+    }
+    final ObjectNode customObject =
+        store
+            .getByKey(ResourceStore.toCustomObjectKey(path.get(2), path.get(3)))
+            .orElseThrow(() -> notFound(exchange));
+    if ("DELETE".equals(method)) {
+      return store.delete(customObject.get("id").asText(), getVersion(parameters));
+    }
+    return customObject;
+  }
+
+  @Nonnull
+  private ObjectNode query(
+      @Nonnull final ResourceStore store, @Nonnull final Map<String, List<String>> parameters) {
+    final Map<String, List<String>> variables = new HashMap<>();
+    parameters.forEach(
+        (name, values) -> {
+          if (name.startsWith("var.")) {
+            variables.put(name.substring("var.".length()), values);
+          }
+        });
+    Predicate<JsonNode> predicate = resource -> true;
+    for (String where : parameters.getOrDefault("where", Collections.emptyList())) {
+      predicate = predicate.and(QueryPredicate.parse(where, variables));
+    }
+    final int limit = Math.min(getIntParameter(parameters, "limit", DEFAULT_LIMIT), MAX_LIMIT);
+    final int offset = getIntParameter(parameters, "offset", 0);
+    final List<ObjectNode> results =
+        store.query(
+            predicate, parameters.getOrDefault("sort", Collections.emptyList()), offset, limit);
+
+    final ObjectNode response = objectMapper.createObjectNode();
+    response.put("limit", limit).put("offset", offset).put("count", results.size());
+    if (!"false".equals(getFirstParameter(parameters, "withTotal"))) {
+      response.put(
+          "total", store.query(predicate, Collections.emptyList(), 0, Integer.MAX_VALUE).size());
+    }
+    response.putArray("results").addAll(results);
+    return response;
+  }
+
+  /**
+   * Answers the GraphQL queries which select flat fields (e.g. {@code id key}) of the results of a
+   * query field, which are the queries the reference resolution of the syncers sends.
+   */
+  @Nonnull
+  private JsonNode handleGraphQl(@Nonnull final ObjectNode request) {
+    final String query = request.path("query").asText();
+    final Matcher queryMatcher = GRAPHQL_QUERY.matcher(query);
+    if (!queryMatcher.find() || query.indexOf('{', queryMatcher.end()) >= 0) {
+      throw new StandInException(
+          400, "GraphQLError", "The stand-in only supports flat result selections.");
+    }
+    final String field = queryMatcher.group(1);
+    final Map<String, String> arguments = new HashMap<>();
+    final Matcher argumentMatcher = GRAPHQL_ARGUMENT.matcher(queryMatcher.group(2));
+    while (argumentMatcher.find()) {
+      final String value = argumentMatcher.group(2);
+      arguments.put(
+          argumentMatcher.group(1),
+          value.startsWith("$")
+              ? request.path("variables").path(value.substring(1)).asText()
+              : value.startsWith("\"")
+                  ? value.substring(1, value.length() - 1).replace("\\\"", "\"")
+                  : value);
+    }
+    final Predicate<JsonNode> predicate =
+        arguments.containsKey("where")
+            ? QueryPredicate.parse(arguments.get("where"), Collections.emptyMap())
+            : resource -> true;
+    final int limit =
+        arguments.containsKey("limit") ? Integer.parseInt(arguments.get("limit")) : DEFAULT_LIMIT;
+    final List<String> selection = Arrays.asList(queryMatcher.group(3).trim().split("\\s+"));
+
+    final ObjectNode response = objectMapper.createObjectNode();
+    final ArrayNode results = response.putObject("data").putObject(field).putArray("results");
+    getStore(toResourcePath(field))
+        .query(predicate, List.of("id asc"), 0, Math.min(limit, MAX_LIMIT))
+        .forEach(resource -> results.add(resource.retain(selection)));
+    return response;
+  }
+
+  @Nonnull
+  static String toResourcePath(@Nonnull final String graphQlField) {
+    final String resourcePath = RESOURCE_PATHS_BY_GRAPHQL_FIELD.get(graphQlField);
+    return resourcePath != null
+        ? resourcePath
+        : graphQlField.replaceAll("([a-z])([A-Z])", "$1-$2").toLowerCase();
+  }
+
+  /** Replaces the keys of the references in the given draft with the ids of the resources. */
+  private void resolveKeyReferences(@Nonnull final JsonNode node) {
+    if (node.isObject()
+        && node.path("typeId").isTextual()
+        && node.path("key").isTextual()
+        && !node.has("id")) {
+      final String resourcePath = RESOURCE_PATHS_BY_TYPE_ID.get(node.get("typeId").asText());
+      if (resourcePath != null) {
+        final String key = node.get("key").asText();
+        final ObjectNode resource =
+            getStore(resourcePath)
+                .getByKey(key)
+                .orElseThrow(
+                    () ->
+                        new StandInException(
+                            400,
+                            "ReferencedResourceNotFound",
+                            format(
+                                "The referenced object of type '%s' with key '%s' was not found.",
+                                node.get("typeId").asText(), key)));
+        ((ObjectNode) node).put("id", resource.get("id").asText()).remove("key");
+      }
+      return;
+    }
+    node.forEach(this::resolveKeyReferences);
+  }
+
+  /** Turns a product draft into the staged projection of the product it creates. */
+  private static void toStagedProjection(@Nonnull final ObjectNode product) {
+    final JsonNode publish = product.remove("publish");
+    product.put("published", publish != null && publish.asBoolean());
+    product.put("hasStagedChanges", false);
+    if (!product.has("categories")) {
+      product.putArray("categories");
+    }
+    if (!product.path("masterVariant").isObject()) {
+      product.putObject("masterVariant");
+    }
+    if (!product.path("variants").isArray()) {
+      product.putArray("variants");
+    }
+    int variantId = 1;
+    toVariant((ObjectNode) product.get("masterVariant"), variantId);
+    for (JsonNode variant : product.get("variants")) {
+      toVariant((ObjectNode) variant, ++variantId);
+    }
+  }
+
+  private static void toVariant(@Nonnull final ObjectNode variant, final int variantId) {
+    variant.put("id", variantId);
+    for (String field : List.of("prices", "images", "attributes", "assets")) {
+      if (!variant.path(field).isArray()) {
+        variant.putArray(field);
+      }
+    }
+    variant
+        .get("prices")
+        .forEach(price -> ((ObjectNode) price).put("id", UUID.randomUUID().toString()));
+  }
+
+  /** Serves the stored product projections as products on the {@code products} endpoint. */
+  @Nonnull
+  private JsonNode toView(@Nonnull final String resourcePath, @Nonnull final JsonNode resource) {
+    if (!"products".equals(resourcePath)) {
+      return resource;
+    }
+    if (resource.has("results")) {
+      final ArrayNode products = objectMapper.createArrayNode();
+      resource.get("results").forEach(projection -> products.add(toProduct(projection)));
+      ((ObjectNode) resource).set("results", products);
+      return resource;
+    }
+    return toProduct(resource);
+  }
+
+  @Nonnull
+  private ObjectNode toProduct(@Nonnull final JsonNode projection) {
+    final ObjectNode product = objectMapper.createObjectNode();
+    final ObjectNode productData = objectMapper.createObjectNode();
+    final Iterator<Map.Entry<String, JsonNode>> fields = projection.fields();
+    while (fields.hasNext()) {
+      final Map.Entry<String, JsonNode> field = fields.next();
+      if (PRODUCT_FIELDS.contains(field.getKey())) {
+        product.set(field.getKey(), field.getValue());
+      } else if (!"published".equals(field.getKey())
+          && !"hasStagedChanges".equals(field.getKey())) {
+        productData.set(field.getKey(), field.getValue());
+      }
+    }
+    final ObjectNode masterData = product.putObject("masterData");
+    masterData.put("published", projection.path("published").asBoolean());
+    masterData.put("hasStagedChanges", projection.path("hasStagedChanges").asBoolean());
+    masterData.set("current", productData);
+    masterData.set("staged", productData.deepCopy());
+    return product;
+  }
+
+  private void injectLatency() {
+    final long currentLatencyInMillis = latencyInMillis;
+    if (currentLatencyInMillis > 0) {
+      try {
+        TimeUnit.MILLISECONDS.sleep(currentLatencyInMillis);
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Nonnull
+  private ObjectNode createToken() {
+    return objectMapper
+        .createObjectNode()
+        .put("access_token", "stand-in-token")
+        .put("token_type", "Bearer")
+        .put("expires_in", Duration.ofDays(2).getSeconds())
+        .put("scope", "manage_project:" + PROJECT_KEY);
+  }
+
+  @Nonnull
+  private ObjectNode toErrorBody(
+      final int statusCode, @Nonnull final String errorCode, @Nonnull final String message) {
+    final ObjectNode body =
+        objectMapper.createObjectNode().put("statusCode", statusCode).put("message", message);
+    body.putArray("errors").addObject().put("code", errorCode).put("message", message);
+    return body;
+  }
+
+  @Nonnull
+  private ObjectNode readBody(@Nonnull final HttpExchange exchange) throws IOException {
+    try (InputStream body = exchange.getRequestBody()) {
+      final JsonNode json = objectMapper.readTree(body);
+      if (json == null || !json.isObject()) {
+        throw new IllegalArgumentException("The request body must be a JSON object.");
+      }
+      return (ObjectNode) json;
+    }
+  }
+
+  private void respond(
+      @Nonnull final HttpExchange exchange, final int statusCode, @Nonnull final JsonNode body)
+      throws IOException {
+    final byte[] bytes = objectMapper.writeValueAsBytes(body);
+    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    if ("HEAD".equals(exchange.getRequestMethod())) {
+      exchange.sendResponseHeaders(statusCode, -1);
+      return;
+    }
+    exchange.sendResponseHeaders(statusCode, bytes.length);
+    try (OutputStream responseBody = exchange.getResponseBody()) {
+      responseBody.write(bytes);
+    }
+  }
+
+  @Nonnull
+  private static StandInException notFound(@Nonnull final HttpExchange exchange) {
+    return new StandInException(
+        404,
+        "ResourceNotFound",
+        format(
+            "The stand-in has no resource for %s %s.",
+            exchange.getRequestMethod(), exchange.getRequestURI().getPath()));
+  }
+
+  @Nonnull
+  private static List<String> decodePath(@Nonnull final String rawPath) {
+    final List<String> segments = new ArrayList<>();
+    for (String segment : rawPath.split("/")) {
+      if (!segment.isEmpty()) {
+        segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+      }
+    }
+    return segments;
+  }
+
+  @Nonnull
+  static Map<String, List<String>> decodeParameters(@Nullable final String rawQuery) {
+    final Map<String, List<String>> parameters = new LinkedHashMap<>();
+    if (rawQuery == null || rawQuery.isEmpty()) {
+      return parameters;
+    }
+    for (String parameter : rawQuery.split("&")) {
+      final int separatorIndex = parameter.indexOf('=');
+      final String name = separatorIndex < 0 ? parameter : parameter.substring(0, separatorIndex);
+      final String value = separatorIndex < 0 ? "" : parameter.substring(separatorIndex + 1);
+      parameters
+          .computeIfAbsent(
+              URLDecoder.decode(name, StandardCharsets.UTF_8), ignored -> new ArrayList<>())
+          .add(URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+    return parameters;
+  }
+
+  @Nullable
+  private static String getFirstParameter(
+      @Nonnull final Map<String, List<String>> parameters, @Nonnull final String name) {
+    final List<String> values = parameters.get(name);
+    return values == null || values.isEmpty() ? null : values.get(0);
+  }
+
+  private static int getIntParameter(
+      @Nonnull final Map<String, List<String>> parameters,
+      @Nonnull final String name,
+      final int defaultValue) {
+    final String value = getFirstParameter(parameters, name);
+    return value == null ? defaultValue : Integer.parseInt(value);
+  }
+
+  private static long getVersion(@Nonnull final Map<String, List<String>> parameters) {
+    final String version = getFirstParameter(parameters, "version");
+    if (version == null) {
+      throw new IllegalArgumentException("The version query parameter is missing.");
+    }
+    return Long.parseLong(version);
+  }
+}
@@ -0,0 +1,213 @@
+package com.commercetools.project.sync.standin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.commercetools.api.client.ProjectApiRoot;
+import com.commercetools.api.models.category.Category;
+import com.commercetools.api.models.category.CategoryDraftBuilder;
+import com.commercetools.api.models.category.CategoryPagedQueryResponse;
+import com.commercetools.api.models.category.CategoryUpdateBuilder;
+import com.commercetools.api.models.common.LocalizedString;
+import com.commercetools.api.models.graph_ql.GraphQLRequestBuilder;
+import com.commercetools.api.models.graph_ql.GraphQLResponse;
+import com.commercetools.api.models.graph_ql.GraphQLVariablesMapBuilder;
+import com.commercetools.project.sync.model.response.LastSyncCustomObject;
+import com.commercetools.project.sync.service.impl.CustomObjectServiceImpl;
+import com.commercetools.sync.products.helpers.ProductSyncStatistics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vrap.rmf.base.client.ApiHttpException;
+import java.time.ZonedDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CtpStandInServerTest {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private CtpStandInServer server;
+  private ProjectApiRoot client;
+
+  @BeforeEach
+  void setup() {
+    server = CtpStandInServer.start(2);
+    client = server.createClient();
+  }
+
+  @AfterEach
+  void tearDown() {
+    client.close();
+    server.close();
+  }
+
+  @Test
+  void create_WithParentReferencedByKey_ShouldResolveParentId() {
+    // preparation
+    final ObjectNode parent = server.create("categories", categoryDraft("parent"));
+
+    // test
+    final Category category =
+        client
+            .categories()
+            .post(
+                CategoryDraftBuilder.of()
+                    .key("child")
+                    .name(LocalizedString.ofEnglish("child"))
+                    .slug(LocalizedString.ofEnglish("child"))
+                    .parent(parentBuilder -> parentBuilder.key("parent"))
+                    .build())
+            .executeBlocking()
+            .getBody();
+
+    // assertion
+    assertThat(category.getVersion()).isEqualTo(1L);
+    assertThat(category.getParent().getId()).isEqualTo(parent.get("id").asText());
+    assertThat(server.getStore("categories").getByKey("child")).isPresent();
+  }
+
+  @Test
+  void query_WithKeyPredicateAndSort_ShouldReturnMatchingResourcesInOrder() {
+    // preparation
+    server.create("categories", categoryDraft("cat-1"));
+    server.create("categories", categoryDraft("cat-2"));
+    server.create("categories", categoryDraft("cat-3"));
+
+    // test
+    final CategoryPagedQueryResponse response =
+        client
+            .categories()
+            .get()
+            .withWhere("key in :keys")
+            .withPredicateVar("keys", List.of("cat-1", "cat-3"))
+            .withSort("key desc")
+            .executeBlocking()
+            .getBody();
+
+    // assertions
+    assertThat(response.getTotal()).isEqualTo(2L);
+    assertThat(response.getResults())
+        .extracting(Category::getKey)
+        .containsExactly("cat-3", "cat-1");
+  }
+
+  @Test
+  void update_WithOutdatedVersion_ShouldFailWithConcurrentModification() {
+    // preparation
+    final String id = server.create("categories", categoryDraft("cat-1")).get("id").asText();
+
+    // test and assertion
+    assertThatThrownBy(
+            () ->
+                client
+                    .categories()
+                    .withId(id)
+                    .post(CategoryUpdateBuilder.of().version(2L).actions(List.of()).build())
+                    .executeBlocking())
+        .isInstanceOfSatisfying(
+            ApiHttpException.class,
+            exception -> assertThat(exception.getStatusCode()).isEqualTo(409));
+  }
+
+  @Test
+  void graphQl_WithKeyLookup_ShouldReturnIdsAndKeysOfMatchingResources() {
+    // preparation
+    final String id = server.create("categories", categoryDraft("cat-1")).get("id").asText();
+    server.create("categories", categoryDraft("cat-2"));
+
+    // test
+    final GraphQLResponse response =
+        client
+            .graphql()
+            .post(
+                GraphQLRequestBuilder.of()
+                    .query(
+                        "query fetchIdKeyPairs($where: String, $limit: Int) "
+                            + "{ categories(limit: $limit, where: $where) { results { id key } } }")
+                    .variables(
+                        GraphQLVariablesMapBuilder.of()
+                            .addValue("where", "key in (\"cat-1\")")
+                            .addValue("limit", 500)
+                            .build())
+                    .build())
+            .executeBlocking()
+            .getBody();
+
+    // assertion
+    final JsonNode results =
+        OBJECT_MAPPER.valueToTree(response.getData()).path("categories").path("results");
+    assertThat(results).hasSize(1);
+    assertThat(results.get(0).get("id").asText()).isEqualTo(id);
+    assertThat(results.get(0).get("key").asText()).isEqualTo("cat-1");
+    assertThat(results.get(0).has("name")).isFalse();
+  }
+
+  @Test
+  void customObjects_ShouldBeCreatedAndReadByContainerAndKey() {
+    // preparation
+    final CustomObjectServiceImpl customObjectService = new CustomObjectServiceImpl(client);
+
+    // test
+    customObjectService
+        .createLastSyncCustomObject(
+            "source-project",
+            "categorySync",
+            "runner",
+            LastSyncCustomObject.of(ZonedDateTime.now(), new ProductSyncStatistics(), 100))
+        .join();
+
+    // assertions
+    assertThat(
+            customObjectService
+                .getLastSyncCustomObject("source-project", "categorySync", "runner")
+                .join())
+        .hasValueSatisfying(
+            lastSync -> assertThat(lastSync.getLastSyncDurationInMillis()).isEqualTo(100));
+    assertThat(
+            customObjectService
+                .getLastSyncCustomObject("source-project", "productSync", "runner")
+                .join())
+        .isEmpty();
+  }
+
+  @Test
+  void withErrorRate_OfOne_ShouldFailEveryApiRequest() {
+    // preparation
+    server.withErrorRate(1.0, 503);
+
+    // test and assertion
+    assertThatThrownBy(() -> client.categories().get().executeBlocking())
+        .isInstanceOfSatisfying(
+            ApiHttpException.class,
+            exception -> assertThat(exception.getStatusCode()).isEqualTo(503));
+    assertThat(server.getInjectedErrors()).isEqualTo(server.getApiRequests());
+  }
+
+  @Test
+  void withErrorRate_WithSourceClient_ShouldRetryFailedApiRequests() {
+    // preparation
+    server.withErrorRate(1.0, 503);
+
+    // test and assertion
+    final ProjectApiRoot sourceClient = server.createSourceClient();
+    try {
+      assertThatThrownBy(() -> sourceClient.categories().get().executeBlocking())
+          .isInstanceOfSatisfying(
+              ApiHttpException.class,
+              exception -> assertThat(exception.getStatusCode()).isEqualTo(503));
+    } finally {
+      sourceClient.close();
+    }
+    assertThat(server.getApiRequests()).isGreaterThan(1);
+    assertThat(server.getInjectedErrors()).isEqualTo(server.getApiRequests());
+  }
+
+  private static ObjectNode categoryDraft(final String key) {
+    final ObjectNode draft = OBJECT_MAPPER.createObjectNode().put("key", key);
+    draft.putObject("name").put("en", key);
+    draft.putObject("slug").put("en", key);
+    return draft;
+  }
+}
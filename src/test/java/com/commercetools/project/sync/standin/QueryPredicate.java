@@ -0,0 +1,266 @@
+package com.commercetools.project.sync.standin;
+
+import static java.lang.String.format;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Parses the subset of the commercetools query predicate language the syncers send: comparisons of
+ * fields ({@code =, !=, <>, <, <=, >, >=}), {@code in} and {@code not in} lists, {@code and},
+ * {@code or}, {@code not}, parentheses and predicates on nested objects (e.g. {@code
+ * resource(typeId = "category")}). Values are string or number literals, or input variables
+ * ({@code :name}) which are read from the {@code var.name} query parameters.
+ *
+ * <p>Values are compared as instants if both sides are timestamps, as numbers if the field is a
+ * number, and as strings otherwise. Predicates on arrays (e.g. {@code variants(sku = "x")}) don't
+ * match any resource, and all other syntax is rejected with an {@link IllegalArgumentException},
+ * which the stand-in answers with a 400.
+ */
+final class QueryPredicate {
+  private final List<String> tokens;
+  private final Map<String, List<String>> variables;
+  private int position;
+
+  private QueryPredicate(
+      @Nonnull final List<String> tokens, @Nonnull final Map<String, List<String>> variables) {
+    this.tokens = tokens;
+    this.variables = variables;
+  }
+
+  @Nonnull
+  static Predicate<JsonNode> parse(
+      @Nonnull final String where, @Nonnull final Map<String, List<String>> variables) {
+    final QueryPredicate parser = new QueryPredicate(tokenize(where), variables);
+    final Predicate<JsonNode> predicate = parser.parseOr();
+    if (parser.position != parser.tokens.size()) {
+      throw unsupported(where);
+    }
+    return predicate;
+  }
+
+  private Predicate<JsonNode> parseOr() {
+    Predicate<JsonNode> predicate = parseAnd();
+    while (acceptKeyword("or")) {
+      predicate = predicate.or(parseAnd());
+    }
+    return predicate;
+  }
+
+  private Predicate<JsonNode> parseAnd() {
+    Predicate<JsonNode> predicate = parseTerm();
+    while (acceptKeyword("and")) {
+      predicate = predicate.and(parseTerm());
+    }
+    return predicate;
+  }
+
+  private Predicate<JsonNode> parseTerm() {
+    if (acceptKeyword("not")) {
+      return parseTerm().negate();
+    }
+    if (accept("(")) {
+      final Predicate<JsonNode> predicate = parseOr();
+      expect(")");
+      return predicate;
+    }
+    final String field = next();
+    if (!field.matches("[A-Za-z][A-Za-z0-9]*")) {
+      throw unsupported(field);
+    }
+    if (accept("(")) {
+      final Predicate<JsonNode> nestedPredicate = parseOr();
+      expect(")");
+      return resource ->
+          resource.path(field).isObject() && nestedPredicate.test(resource.get(field));
+    }
+    if (acceptKeyword("not")) {
+      expectKeyword("in");
+      return parseInList(field).negate();
+    }
+    if (acceptKeyword("in")) {
+      return parseInList(field);
+    }
+    final String operator = next();
+    final List<String> values = parseValues();
+    if (values.isEmpty()) {
+      throw unsupported(operator);
+    }
+    final String value = values.get(0);
+    switch (operator) {
+      case "=":
+        return resource -> matches(resource.get(field), value, result -> result == 0);
+      case "!=":
+      case "<>":
+        return resource -> !matches(resource.get(field), value, result -> result == 0);
+      case "<":
+        return resource -> matches(resource.get(field), value, result -> result < 0);
+      case "<=":
+        return resource -> matches(resource.get(field), value, result -> result <= 0);
+      case ">":
+        return resource -> matches(resource.get(field), value, result -> result > 0);
+      case ">=":
+        return resource -> matches(resource.get(field), value, result -> result >= 0);
+      default:
+        throw unsupported(operator);
+    }
+  }
+
+  private Predicate<JsonNode> parseInList(@Nonnull final String field) {
+    final List<String> values = new ArrayList<>();
+    if (accept("(")) {
+      do {
+        values.addAll(parseValues());
+      } while (accept(","));
+      expect(")");
+    } else {
+      values.addAll(parseValues());
+    }
+    return resource ->
+        values.stream()
+            .anyMatch(value -> matches(resource.get(field), value, result -> result == 0));
+  }
+
+  private List<String> parseValues() {
+    final String token = next();
+    if (token.startsWith(":")) {
+      return variables.getOrDefault(token.substring(1), Collections.emptyList());
+    }
+    if (token.startsWith("\"")) {
+      return List.of(token.substring(1, token.length() - 1).replace("\\\"", "\""));
+    }
+    if (token.matches("-?[0-9.]+") || "true".equals(token) || "false".equals(token)) {
+      return List.of(token);
+    }
+    throw unsupported(token);
+  }
+
+  /** Compares the field value with the given value; a missing field never matches. */
+  private static boolean matches(
+      @Nullable final JsonNode fieldValue,
+      @Nonnull final String value,
+      @Nonnull final IntPredicate comparisonResult) {
+    return fieldValue != null
+        && !fieldValue.isNull()
+        && !fieldValue.isContainerNode()
+        && comparisonResult.test(compare(fieldValue, value));
+  }
+
+  private static int compare(@Nonnull final JsonNode fieldValue, @Nonnull final String value) {
+    final String text = fieldValue.asText();
+    if (fieldValue.isNumber()) {
+      try {
+        return Double.compare(fieldValue.asDouble(), Double.parseDouble(value));
+      } catch (NumberFormatException exception) {
+        return text.compareTo(value);
+      }
+    }
+    final Instant instant = toInstant(text);
+    final Instant otherInstant = instant == null ? null : toInstant(value);
+    return otherInstant == null ? text.compareTo(value) : instant.compareTo(otherInstant);
+  }
+
+  @Nullable
+  private static Instant toInstant(@Nonnull final String text) {
+    if (text.length() < 17 || text.charAt(10) != 'T') {
+      return null;
+    }
+    try {
+      return Instant.parse(text);
+    } catch (DateTimeParseException exception) {
+      return null;
+    }
+  }
+
+  private static List<String> tokenize(@Nonnull final String where) {
+    final List<String> tokens = new ArrayList<>();
+    int index = 0;
+    while (index < where.length()) {
+      final char character = where.charAt(index);
+      if (Character.isWhitespace(character)) {
+        index++;
+      } else if (character == '"') {
+        int end = index + 1;
+        while (end < where.length() && where.charAt(end) != '"') {
+          end += where.charAt(end) == '\\' ? 2 : 1;
+        }
+        tokens.add(where.substring(index, Math.min(end + 1, where.length())));
+        index = end + 1;
+      } else if ("(),".indexOf(character) >= 0) {
+        tokens.add(String.valueOf(character));
+        index++;
+      } else if ("=!<>".indexOf(character) >= 0) {
+        final int end =
+            index + 1 < where.length() && "=>".indexOf(where.charAt(index + 1)) >= 0
+                ? index + 2
+                : index + 1;
+        tokens.add(where.substring(index, end));
+        index = end;
+      } else {
+        int end = index;
+        while (end < where.length()
+            && !Character.isWhitespace(where.charAt(end))
+            && "(),=!<>\"".indexOf(where.charAt(end)) < 0) {
+          end++;
+        }
+        tokens.add(where.substring(index, end));
+        index = end;
+      }
+    }
+    return tokens;
+  }
+
+  @Nullable
+  private String peek() {
+    return position < tokens.size() ? tokens.get(position) : null;
+  }
+
+  private String next() {
+    if (position >= tokens.size()) {
+      throw new IllegalArgumentException("Unexpected end of the query predicate.");
+    }
+    return tokens.get(position++);
+  }
+
+  private boolean accept(@Nonnull final String token) {
+    if (token.equals(peek())) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private boolean acceptKeyword(@Nonnull final String keyword) {
+    if (keyword.equalsIgnoreCase(peek())) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private void expect(@Nonnull final String token) {
+    if (!accept(token)) {
+      throw unsupported(String.valueOf(peek()));
+    }
+  }
+
+  private void expectKeyword(@Nonnull final String keyword) {
+    if (!acceptKeyword(keyword)) {
+      throw unsupported(String.valueOf(peek()));
+    }
+  }
+
+  private static IllegalArgumentException unsupported(@Nonnull final String token) {
+    return new IllegalArgumentException(
+        format("The stand-in doesn't support the query predicate near '%s'.", token));
+  }
+}
@@ -0,0 +1,68 @@
+package com.commercetools.project.sync.standin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+class QueryPredicateTest {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  @Test
+  void parse_WithKeyInVariable_ShouldMatchListedKeys() {
+    // preparation
+    final Map<String, List<String>> variables = Map.of("keys", List.of("a", "b"));
+
+    // test
+    final Predicate<JsonNode> predicate = QueryPredicate.parse("key in :keys", variables);
+
+    // assertions
+    assertThat(predicate.test(resource("a", "2023-01-01T00:00:00.000Z"))).isTrue();
+    assertThat(predicate.test(resource("c", "2023-01-01T00:00:00.000Z"))).isFalse();
+  }
+
+  @Test
+  void parse_WithTimeBoundsAndIdComparison_ShouldCompareInstantsAndStrings() {
+    // test
+    final Predicate<JsonNode> predicate =
+        QueryPredicate.parse(
+            "lastModifiedAt >= \"2023-01-01T00:00:00Z\" and lastModifiedAt <= :upper "
+                + "and (key > \"a\" or key = \"a\")",
+            Map.of("upper", List.of("2023-01-02T00:00:00.000Z")));
+
+    // assertions
+    assertThat(predicate.test(resource("a", "2023-01-01T12:00:00.000Z"))).isTrue();
+    assertThat(predicate.test(resource("b", "2023-01-03T00:00:00.000Z"))).isFalse();
+  }
+
+  @Test
+  void parse_WithNestedPredicate_ShouldMatchNestedObject() {
+    // preparation
+    final ObjectNode message = OBJECT_MAPPER.createObjectNode();
+    message.putObject("resource").put("typeId", "category");
+
+    // test
+    final Predicate<JsonNode> predicate =
+        QueryPredicate.parse("resource(typeId = :typeId)", Map.of("typeId", List.of("category")));
+
+    // assertion
+    assertThat(predicate.test(message)).isTrue();
+  }
+
+  @Test
+  void parse_WithUnsupportedSyntax_ShouldThrowIllegalArgumentException() {
+    assertThatThrownBy(() -> QueryPredicate.parse("key contains any", Collections.emptyMap()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static ObjectNode resource(final String key, final String lastModifiedAt) {
+    return OBJECT_MAPPER.createObjectNode().put("key", key).put("lastModifiedAt", lastModifiedAt);
+  }
+}
@@ -0,0 +1,252 @@
+package com.commercetools.project.sync.standin;
+
+import static java.lang.String.format;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The in-memory resources of one endpoint of the {@link CtpStandInServer}, e.g. {@code categories}.
+ * Resources are kept as JSON trees, indexed by id and by key (for custom objects, by container and
+ * key).
+ *
+ * <p>Creating a resource adds the system fields ({@code id}, {@code version}, {@code createdAt} and
+ * {@code lastModifiedAt}) to the draft. Updating a resource checks the version and applies the
+ * generic {@code setX}/{@code changeX} actions whose value is in the field of the same name (e.g.
+ * {@code {"action": "changeName", "name": {...}}}); all other actions only increment the version.
+ * The stand-in measures request handling, not the semantics of the update actions.
+ */
+public final class ResourceStore {
+  private final Map<String, ObjectNode> resourcesById = new LinkedHashMap<>();
+  private final Map<String, String> idsByKey = new HashMap<>();
+  private final Function<JsonNode, String> keyFunction;
+  private final Clock clock;
+
+  ResourceStore(@Nonnull final Function<JsonNode, String> keyFunction, @Nonnull final Clock clock) {
+    this.keyFunction = keyFunction;
+    this.clock = clock;
+  }
+
+  @Nullable
+  static String getKey(@Nonnull final JsonNode resource) {
+    final JsonNode key = resource.get("key");
+    return key == null || key.isNull() ? null : key.asText();
+  }
+
+  @Nonnull
+  static String getCustomObjectKey(@Nonnull final JsonNode resource) {
+    return toCustomObjectKey(resource.path("container").asText(), resource.path("key").asText());
+  }
+
+  @Nonnull
+  static String toCustomObjectKey(@Nonnull final String container, @Nonnull final String key) {
+    return container + "/" + key;
+  }
+
+  /** Stores a copy of the given draft as a new resource and returns the created resource. */
+  @Nonnull
+  public synchronized ObjectNode create(@Nonnull final ObjectNode draft) {
+    final String key = keyFunction.apply(draft);
+    if (key != null && idsByKey.containsKey(key)) {
+      throw new StandInException(
+          400, "DuplicateField", format("A duplicate value '\"%s\"' exists for field 'key'.", key));
+    }
+    final ObjectNode resource = draft.deepCopy();
+    final String now = clock.instant().toString();
+    resource.put("id", UUID.randomUUID().toString());
+    resource.put("version", 1L);
+    resource.put("createdAt", now);
+    resource.put("lastModifiedAt", now);
+    resourcesById.put(resource.get("id").asText(), resource);
+    if (key != null) {
+      idsByKey.put(key, resource.get("id").asText());
+    }
+    return resource.deepCopy();
+  }
+
+  /**
+   * Applies the given update actions to the resource with the given id and returns the updated
+   * resource.
+   *
+   * @throws StandInException with status 404 if there is no such resource, or with status 409 if
+   *     the version doesn't match.
+   */
+  @Nonnull
+  public synchronized ObjectNode update(
+      @Nonnull final String id, final long version, @Nonnull final ArrayNode actions) {
+    final ObjectNode resource = getExisting(id, version);
+    final String oldKey = keyFunction.apply(resource);
+    actions.forEach(action -> applyGenericAction(resource, action));
+    final String newKey = keyFunction.apply(resource);
+    if (oldKey != null && !oldKey.equals(newKey)) {
+      idsByKey.remove(oldKey);
+    }
+    if (newKey != null) {
+      idsByKey.put(newKey, id);
+    }
+    resource.put("version", version + 1);
+    resource.put("lastModifiedAt", clock.instant().toString());
+    return resource.deepCopy();
+  }
+
+  /**
+   * Replaces the value of the custom object with the container and key of the given draft, or
+   * creates it if it doesn't exist yet.
+   */
+  @Nonnull
+  public synchronized ObjectNode upsert(@Nonnull final ObjectNode draft) {
+    final String id = idsByKey.get(keyFunction.apply(draft));
+    if (id == null) {
+      return create(draft);
+    }
+    final ObjectNode resource = resourcesById.get(id);
+    final JsonNode expectedVersion = draft.get("version");
+    final long version =
+        expectedVersion == null ? resource.get("version").asLong() : expectedVersion.asLong();
+    getExisting(id, version).set("value", draft.get("value"));
+    resource.put("version", version + 1);
+    resource.put("lastModifiedAt", clock.instant().toString());
+    return resource.deepCopy();
+  }
+
+  @Nonnull
+  public synchronized ObjectNode delete(@Nonnull final String id, final long version) {
+    final ObjectNode resource = getExisting(id, version);
+    resourcesById.remove(id);
+    final String key = keyFunction.apply(resource);
+    if (key != null) {
+      idsByKey.remove(key);
+    }
+    return resource;
+  }
+
+  @Nonnull
+  public synchronized Optional<ObjectNode> getById(@Nonnull final String id) {
+    return Optional.ofNullable(resourcesById.get(id)).map(ObjectNode::deepCopy);
+  }
+
+  @Nonnull
+  public synchronized Optional<ObjectNode> getByKey(@Nonnull final String key) {
+    return Optional.ofNullable(idsByKey.get(key)).flatMap(this::getById);
+  }
+
+  /**
+   * Returns the resources matching all the given predicates, sorted by the given sort expressions
+   * (e.g. {@code id asc}) and sliced by offset and limit.
+   */
+  @Nonnull
+  public synchronized List<ObjectNode> query(
+      @Nonnull final Predicate<JsonNode> predicate,
+      @Nonnull final List<String> sortExpressions,
+      final int offset,
+      final int limit) {
+    return resourcesById.values().stream()
+        .filter(predicate)
+        .sorted(toComparator(sortExpressions))
+        .skip(offset)
+        .limit(limit)
+        .map(ObjectNode::deepCopy)
+        .collect(Collectors.toList());
+  }
+
+  public synchronized int size() {
+    return resourcesById.size();
+  }
+
+  private ObjectNode getExisting(@Nonnull final String id, final long version) {
+    final ObjectNode resource = resourcesById.get(id);
+    if (resource == null) {
+      throw new StandInException(
+          404, "ResourceNotFound", format("The Resource with ID '%s' was not found.", id));
+    }
+    final long currentVersion = resource.get("version").asLong();
+    if (currentVersion != version) {
+      throw new StandInException(
+          409,
+          "ConcurrentModification",
+          format(
+              "Object %s has a different version than expected. Expected: %d - Actual: %d.",
+              id, version, currentVersion));
+    }
+    return resource;
+  }
+
+  private static void applyGenericAction(
+      @Nonnull final ObjectNode resource, @Nonnull final JsonNode action) {
+    final String actionName = action.path("action").asText();
+    final String fieldName;
+    if (actionName.startsWith("set")) {
+      fieldName = decapitalize(actionName.substring(3));
+    } else if (actionName.startsWith("change")) {
+      fieldName = decapitalize(actionName.substring(6));
+    } else {
+      return;
+    }
+    if (fieldName.isEmpty() || !hasOnlyField(action, fieldName)) {
+      return;
+    }
+    final JsonNode value = action.get(fieldName);
+    if (value == null || value.isNull()) {
+      resource.remove(fieldName);
+    } else {
+      resource.set(fieldName, value);
+    }
+  }
+
+  /** Returns true if the action has no other field than its name and the given field. */
+  private static boolean hasOnlyField(
+      @Nonnull final JsonNode action, @Nonnull final String fieldName) {
+    final Iterator<String> fieldNames = action.fieldNames();
+    while (fieldNames.hasNext()) {
+      final String name = fieldNames.next();
+      if (!"action".equals(name) && !fieldName.equals(name)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Nonnull
+  private static String decapitalize(@Nonnull final String name) {
+    return name.isEmpty() ? name : Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+  @Nonnull
+  private static Comparator<ObjectNode> toComparator(@Nonnull final List<String> sortExpressions) {
+    Comparator<ObjectNode> comparator = (first, second) -> 0;
+    for (String sortExpression : sortExpressions) {
+      final String[] parts = sortExpression.trim().split("\\s+");
+      final String field = parts[0];
+      final Comparator<ObjectNode> fieldComparator =
+          Comparator.comparing(
+              resource -> toSortValue(resource.get(field)),
+              Comparator.nullsLast(Comparator.naturalOrder()));
+      comparator =
+          comparator.thenComparing(
+              parts.length > 1 && "desc".equalsIgnoreCase(parts[1])
+                  ? fieldComparator.reversed()
+                  : fieldComparator);
+    }
+    return comparator;
+  }
+
+  @Nullable
+  private static String toSortValue(@Nullable final JsonNode value) {
+    return value == null || value.isNull() ? null : value.asText();
+  }
+}
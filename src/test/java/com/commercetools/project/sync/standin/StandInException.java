@@ -0,0 +1,27 @@
+package com.commercetools.project.sync.standin;
+
+import javax.annotation.Nonnull;
+
+/** An error the {@link CtpStandInServer} answers with the given status code and error code. */
+final class StandInException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  private final int statusCode;
+  private final String errorCode;
+
+  StandInException(
+      final int statusCode, @Nonnull final String errorCode, @Nonnull final String message) {
+    super(message);
+    this.statusCode = statusCode;
+    this.errorCode = errorCode;
+  }
+
+  int getStatusCode() {
+    return statusCode;
+  }
+
+  @Nonnull
+  String getErrorCode() {
+    return errorCode;
+  }
+}
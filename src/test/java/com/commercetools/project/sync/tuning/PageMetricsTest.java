@@ -0,0 +1,57 @@
+package com.commercetools.project.sync.tuning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import org.junit.jupiter.api.Test;
+
+class PageMetricsTest {
+
+  @Test
+  void recordFetchedPage_ShouldRecordLatencySinceFetchStart() {
+    // preparation
+    final Clock clock = mock(Clock.class);
+    when(clock.millis()).thenReturn(0L, 100L, 150L, 450L);
+    final PageMetrics pageMetrics = new PageMetrics(250, clock);
+
+    // test
+    pageMetrics.recordFetchedPage();
+    pageMetrics.startFetch();
+    pageMetrics.recordFetchedPage();
+
+    // assertion
+    assertThat(pageMetrics.getPageSize()).isEqualTo(250);
+    assertThat(pageMetrics.getPageCount()).isEqualTo(2);
+    assertThat(pageMetrics.getAverageLatencyInMillis()).isEqualTo(200);
+    assertThat(pageMetrics.getMaxLatencyInMillis()).isEqualTo(300);
+  }
+
+  @Test
+  void getAverageLatencyInMillis_WithoutPages_ShouldReturnZero() {
+    final PageMetrics pageMetrics = new PageMetrics(500, Clock.systemUTC());
+
+    assertThat(pageMetrics.getPageCount()).isZero();
+    assertThat(pageMetrics.getAverageLatencyInMillis()).isZero();
+  }
+
+  @Test
+  void add_ShouldAddPagesOfOtherMetrics() {
+    // preparation
+    final Clock clock = mock(Clock.class);
+    when(clock.millis()).thenReturn(0L, 100L, 0L, 300L);
+    final PageMetrics pageMetrics = new PageMetrics(250, clock);
+    pageMetrics.recordFetchedPage();
+    final PageMetrics partitionMetrics = new PageMetrics(250, clock);
+    partitionMetrics.recordFetchedPage();
+
+    // test
+    pageMetrics.add(partitionMetrics);
+
+    // assertion
+    assertThat(pageMetrics.getPageCount()).isEqualTo(2);
+    assertThat(pageMetrics.getAverageLatencyInMillis()).isEqualTo(200);
+    assertThat(pageMetrics.getMaxLatencyInMillis()).isEqualTo(300);
+  }
+}
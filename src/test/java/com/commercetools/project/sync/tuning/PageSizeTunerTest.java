@@ -0,0 +1,65 @@
+package com.commercetools.project.sync.tuning;
+
+import static com.commercetools.project.sync.tuning.PageSizeTuner.DEFAULT_PAGE_SIZE;
+import static com.commercetools.project.sync.tuning.PageSizeTuner.MIN_PAGE_SIZE;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.commercetools.project.sync.model.response.SyncRunRecord;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class PageSizeTunerTest {
+
+  @Test
+  void seedPageSize_WithEmptyRunHistory_ShouldReturnDefaultPageSize() {
+    assertThat(PageSizeTuner.seedPageSize(Collections.emptyList())).isEqualTo(DEFAULT_PAGE_SIZE);
+  }
+
+  @Test
+  void seedPageSize_WithRunsWithoutPages_ShouldReturnDefaultPageSize() {
+    assertThat(PageSizeTuner.seedPageSize(asList(run(200, 0, 1_000, 0), run(100, 0, 500, 0))))
+        .isEqualTo(DEFAULT_PAGE_SIZE);
+  }
+
+  @Test
+  void seedPageSize_WithSlowPagesInMostRecentRun_ShouldHalvePageSize() {
+    assertThat(
+            PageSizeTuner.seedPageSize(
+                asList(run(500, 2, 2_000, 100), run(200, 2, 1_000, 20_000))))
+        .isEqualTo(100);
+    assertThat(PageSizeTuner.seedPageSize(asList(run(30, 2, 1_000, 20_000))))
+        .isEqualTo(MIN_PAGE_SIZE);
+  }
+
+  @Test
+  void seedPageSize_WithFastPages_ShouldReturnPageSizeOfRunWithHighestThroughput() {
+    // preparation
+    final SyncRunRecord slowRun = run(500, 4, 10_000, 500);
+    final SyncRunRecord fastRun = run(250, 4, 1_000, 200);
+    final SyncRunRecord changeFeedRun = run(100, 0, 100, 0);
+
+    // test
+    final int pageSize = PageSizeTuner.seedPageSize(asList(slowRun, fastRun, changeFeedRun));
+
+    // assertion
+    assertThat(pageSize).isEqualTo(250);
+  }
+
+  private static SyncRunRecord run(
+      final int pageSize,
+      final long pageCount,
+      final long durationInMillis,
+      final long averagePageLatencyInMillis) {
+    return SyncRunRecord.of(
+        ZonedDateTime.now(),
+        durationInMillis,
+        1_000,
+        0,
+        pageSize,
+        pageCount,
+        averagePageLatencyInMillis,
+        averagePageLatencyInMillis);
+  }
+}
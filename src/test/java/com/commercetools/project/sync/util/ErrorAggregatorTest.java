@@ -0,0 +1,96 @@
+package com.commercetools.project.sync.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.commercetools.sync.commons.exceptions.ReferenceResolutionException;
+import com.commercetools.sync.commons.exceptions.SyncException;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+
+class ErrorAggregatorTest {
+
+  @Test
+  void getErrorType_WithWrappedCause_ShouldReturnClassOfCause() {
+    // preparation
+    final SyncException exception =
+        new SyncException(
+            "failed", new CompletionException(new ReferenceResolutionException("missing")));
+
+    // test and assertion
+    assertThat(ErrorAggregator.getErrorType(exception)).isEqualTo("ReferenceResolutionException");
+    assertThat(ErrorAggregator.getErrorType(new SyncException("failed")))
+        .isEqualTo("SyncException");
+  }
+
+  @Test
+  void isSummaryDue_ShouldBeTrueAtPowersOfTenBeyondExamples() {
+    // test and assertion
+    assertThat(ErrorAggregator.isExample(ErrorAggregator.EXAMPLES_PER_ERROR_TYPE)).isTrue();
+    assertThat(ErrorAggregator.isExample(ErrorAggregator.EXAMPLES_PER_ERROR_TYPE + 1)).isFalse();
+    assertThat(ErrorAggregator.isSummaryDue(10)).isFalse();
+    assertThat(ErrorAggregator.isSummaryDue(99)).isFalse();
+    assertThat(ErrorAggregator.isSummaryDue(100)).isTrue();
+    assertThat(ErrorAggregator.isSummaryDue(1_000)).isTrue();
+    assertThat(ErrorAggregator.isSummaryDue(1_001)).isFalse();
+  }
+
+  @Test
+  void record_WithSeveralErrorTypes_ShouldCountEachType() {
+    // preparation
+    final String resourceName = "resource " + UUID.randomUUID();
+    final ErrorAggregator errorAggregator = ErrorAggregator.of(resourceName);
+
+    // test
+    errorAggregator.record("ReferenceResolutionException");
+    errorAggregator.record("ReferenceResolutionException");
+    final long errorNumber = errorAggregator.record("BadRequestException");
+
+    // assertions
+    assertThat(errorNumber).isEqualTo(1);
+    assertThat(ErrorAggregator.getAll()).contains(errorAggregator);
+    assertThat(errorAggregator.getErrors()).isEqualTo(3);
+    assertThat(errorAggregator.getErrorsByType())
+        .containsExactly(
+            entry("BadRequestException", 1L), entry("ReferenceResolutionException", 2L));
+    assertThat(errorAggregator.getReportMessage())
+        .isEqualTo(
+            "Error summary of the "
+                + resourceName
+                + " sync: 3 errors {BadRequestException=1, ReferenceResolutionException=2}. Only "
+                + "the first 10 errors of each type per run or micro-batch were logged with their "
+                + "update actions and stack trace.");
+  }
+
+  @Test
+  void startNewSamples_ShouldRestartExamplesButKeepErrorsOfRun() {
+    // preparation
+    final ErrorAggregator errorAggregator = ErrorAggregator.of("resource " + UUID.randomUUID());
+    for (int i = 0; i < ErrorAggregator.EXAMPLES_PER_ERROR_TYPE; i++) {
+      errorAggregator.record("ReferenceResolutionException");
+    }
+
+    // test
+    ErrorAggregator.startNewSamples();
+    final long errorNumber = errorAggregator.record("ReferenceResolutionException");
+
+    // assertions
+    assertThat(ErrorAggregator.isExample(errorNumber)).isTrue();
+    assertThat(errorAggregator.getErrors())
+        .isEqualTo(ErrorAggregator.EXAMPLES_PER_ERROR_TYPE + 1);
+  }
+
+  @Test
+  void clearAll_ShouldRemoveErrorsOfAllAggregators() {
+    // preparation
+    final ErrorAggregator errorAggregator = ErrorAggregator.of("resource " + UUID.randomUUID());
+    errorAggregator.record("ReferenceResolutionException");
+
+    // test
+    ErrorAggregator.clearAll();
+
+    // assertion
+    assertThat(ErrorAggregator.getAll()).doesNotContain(errorAggregator);
+  }
+}
@@ -0,0 +1,55 @@
+package com.commercetools.project.sync.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.commercetools.sync.commons.exceptions.ReferenceResolutionException;
+import com.commercetools.sync.commons.exceptions.SyncException;
+import com.commercetools.sync.states.StateSync;
+import io.vrap.rmf.base.client.ApiHttpException;
+import io.vrap.rmf.base.client.ApiHttpHeaders;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FailureHistogramTest {
+
+  @AfterEach
+  void tearDown() {
+    FailureHistogram.of(StateSync.class).clear();
+  }
+
+  @Test
+  void getCause_WithHttpError_ShouldAppendStatusCode() {
+    // preparation
+    final SyncException exception =
+        new SyncException(
+            "failed", new CompletionException(new ApiHttpException(409, "", new ApiHttpHeaders())));
+
+    // test and assertion
+    assertThat(FailureHistogram.getCause(exception)).isEqualTo("ApiHttpException:409");
+    assertThat(
+            FailureHistogram.getCause(
+                new SyncException("failed", new ReferenceResolutionException("missing"))))
+        .isEqualTo("ReferenceResolutionException");
+  }
+
+  @Test
+  void record_WithSeveralCauses_ShouldCountEachCauseUntilCleared() {
+    // preparation
+    final SyncException httpException =
+        new SyncException("failed", new ApiHttpException(503, "", new ApiHttpHeaders()));
+
+    // test
+    FailureHistogram.record(StateSync.class, httpException);
+    FailureHistogram.record(StateSync.class, httpException);
+    FailureHistogram.record(StateSync.class, new SyncException("failed"));
+
+    // assertions
+    final FailureHistogram failureHistogram = FailureHistogram.of(StateSync.class);
+    assertThat(failureHistogram.getFailuresByCause())
+        .containsExactly(entry("ApiHttpException:503", 2L), entry("SyncException", 1L));
+    failureHistogram.clear();
+    assertThat(failureHistogram.getFailuresByCause()).isEmpty();
+  }
+}
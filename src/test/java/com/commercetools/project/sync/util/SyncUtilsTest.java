@@ -2,7 +2,9 @@ package com.commercetools.project.sync.util;
 
 import static com.commercetools.project.sync.util.SyncUtils.*;
 import static com.commercetools.project.sync.util.TestUtils.createBadGatewayException;
+import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -16,7 +18,9 @@ import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import io.vrap.rmf.base.client.error.BadGatewayException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.CompletionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -147,6 +151,45 @@ class SyncUtilsTest {
     assertThat(loggingEvent.getThrowable().get()).isInstanceOf(SyncException.class);
   }
 
+  @Test
+  void logErrorCallback_WithManyErrorsOfSameType_ShouldLogExamplesAndSummaries() {
+    final TestLogger testLogger = TestLoggerFactory.getTestLogger(SyncUtilsTest.class);
+    final String resourceName = "resource " + UUID.randomUUID();
+    final SyncException exception =
+        new SyncException("missing reference", new IllegalStateException("missing reference"));
+
+    for (int i = 0; i < 1_000; i++) {
+      logErrorCallback(testLogger, resourceName, exception, "key " + i, null);
+    }
+
+    assertThat(testLogger.getAllLoggingEvents())
+        .hasSize(ErrorAggregator.EXAMPLES_PER_ERROR_TYPE + 2);
+    assertThat(testLogger.getAllLoggingEvents().get(0).getThrowable()).isPresent();
+    final LoggingEvent summary = testLogger.getAllLoggingEvents().get(11);
+    assertThat(summary.getMessage())
+        .isEqualTo(
+            format(
+                "1000 errors of type IllegalStateException when trying to sync %s so far. Only the "
+                    + "first 10 of them were logged with their update actions and stack trace.",
+                resourceName));
+    assertThat(summary.getThrowable()).isEmpty();
+    assertThat(ErrorAggregator.of(resourceName).getErrorsByType())
+        .containsExactly(entry("IllegalStateException", 1_000L));
+  }
+
+  @Test
+  void renderUpdateActions_WithTooManyUpdateActions_ShouldBoundRenderedLength() {
+    final ResourceUpdateAction updateAction = mock(ResourceUpdateAction.class);
+    when(updateAction.toString()).thenReturn("x".repeat(600));
+
+    final String rendered = renderUpdateActions(Collections.nCopies(10, updateAction));
+
+    assertThat(rendered)
+        .startsWith("x".repeat(600) + ",")
+        .endsWith("... (6 more update actions)")
+        .hasSize(MAX_UPDATE_ACTIONS_LENGTH + "... (6 more update actions)".length());
+  }
+
   @Test
   void logWarningCallbackStringResourceIdentifier_ShouldLogWarningWithCorrectMessage() {
     final TestLogger testLogger = TestLoggerFactory.getTestLogger(SyncUtilsTest.class);